@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * 元号の設定ファイルから元号の表を生成するビルド用のツール。
+ * <p>
+ * クラスファイルの出力先にある {@code japanese-eras.xml} と {@code japanese-eras*.properties}
+ * を読み込み、同じ場所に {@code japanese-eras.bin} を書き出します。
+ * ビルド専用のソース（{@code src/build/java}）にあり、実行時の jar には含まれません。
+ * Maven の {@code process-classes} フェーズでコンパイルして実行します。
+ * <pre>
+ * java org.glad2121.calendar.chrono.JapaneseErasCompiler target/classes
+ * </pre>
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseErasCompiler {
+
+    // ---- constructors
+
+    private JapaneseErasCompiler() {
+    }
+
+    // ---- main
+
+    /**
+     * 元号の表を生成します。
+     *
+     * @param args 設定ファイルのあるディレクトリ
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JapaneseErasCompiler <classes-dir>");
+            System.exit(2);
+        }
+        compile(Paths.get(args[0]));
+    }
+
+    /**
+     * 指定されたディレクトリの設定ファイルから元号の表を生成します。
+     *
+     * @param dir 設定ファイルのあるディレクトリ
+     * @return 生成した表のパス
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    static Path compile(Path dir) throws IOException {
+        List<JapaneseEra> eras;
+        try (InputStream in = Files.newInputStream(dir.resolve(JapaneseEras.CONFIG_PATH))) {
+            eras = JapaneseEras.SaxHandler.parse(in);
+        }
+        Map<String, Map<String, String>> bundles = readBundles(dir);
+        Path output = dir.resolve(JapaneseEras.BINARY_PATH);
+        try (OutputStream out = Files.newOutputStream(output)) {
+            JapaneseErasBinary.write(eras, bundles, out);
+        }
+        return output;
+    }
+
+    /**
+     * 指定されたディレクトリのリソースバンドルを読み込みます。
+     * <p>
+     * 親のバンドルとは合成せず、ファイルごとの内容を返します。
+     *
+     * @param dir ディレクトリ
+     * @return バンドル名ごとの内容
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    static Map<String, Map<String, String>> readBundles(Path dir) throws IOException {
+        Map<String, Map<String, String>> bundles = new TreeMap<>();
+        String glob = JapaneseEras.RESOURCE_NAME + "{,_*}.properties";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, glob)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String bundleName = fileName.substring(0, fileName.length() - ".properties".length());
+                Properties properties = new Properties();
+                try (InputStream in = Files.newInputStream(file)) {
+                    properties.load(in);
+                }
+                Map<String, String> bundle = new TreeMap<>();
+                for (String key : properties.stringPropertyNames()) {
+                    bundle.put(key, properties.getProperty(key));
+                }
+                bundles.put(bundleName, bundle);
+            }
+        }
+        return bundles;
+    }
+
+}
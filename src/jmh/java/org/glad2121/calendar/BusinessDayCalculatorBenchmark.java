@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.glad2121.calendar.chrono.JapaneseChronology;
+import org.glad2121.calendar.chrono.JapaneseDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link BusinessDayCalculator} のベンチマーク。
+ * <p>
+ * 比較のため、1日ずつ進めて営業日を数える場合も計測します。
+ *
+ * @author GLAD!!
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BusinessDayCalculatorBenchmark {
+
+    static final int SIZE = 1024;
+
+    static final int DAYS = 20;
+
+    final BusinessDayCalculator calculator = BusinessDayCalculator.STANDARD;
+
+    int index;
+
+    JapaneseDate[] dates;
+
+    JapaneseDate[] ends;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2121);
+        long min = LocalDate.of(1950, 1, 1).toEpochDay();
+        long max = LocalDate.of(2049, 12, 31).toEpochDay();
+        dates = new JapaneseDate[SIZE];
+        ends = new JapaneseDate[SIZE];
+        for (int i = 0; i < SIZE; ++i) {
+            long epochDay = min + random.nextInt((int) (max - min));
+            dates[i] = JapaneseChronology.INSTANCE.dateEpochDay(epochDay);
+            ends[i] = JapaneseChronology.INSTANCE.dateEpochDay(epochDay + random.nextInt(60));
+        }
+    }
+
+    int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    static boolean isBusinessDay(long epochDay) {
+        // 1970-01-01 は木曜日
+        int dayOfWeek = (int) Math.floorMod(epochDay + 3, 7) + 1;
+        return dayOfWeek != DayOfWeek.SATURDAY.getValue() && dayOfWeek != DayOfWeek.SUNDAY.getValue()
+                && !JapaneseHolidays.isHoliday(epochDay);
+    }
+
+    @Benchmark
+    public JapaneseDate addBusinessDays() {
+        return calculator.addBusinessDays(dates[next()], DAYS);
+    }
+
+    @Benchmark
+    public JapaneseDate addBusinessDaysLoop() {
+        long epochDay = dates[next()].toEpochDay();
+        for (int n = DAYS; n > 0; ) {
+            if (isBusinessDay(++epochDay)) {
+                --n;
+            }
+        }
+        return JapaneseChronology.INSTANCE.dateEpochDay(epochDay);
+    }
+
+    @Benchmark
+    public long businessDaysBetween() {
+        int i = next();
+        return calculator.businessDaysBetween(dates[i], ends[i]);
+    }
+
+    @Benchmark
+    public long businessDaysBetweenLoop() {
+        int i = next();
+        long count = 0;
+        for (long epochDay = dates[i].toEpochDay(), end = ends[i].toEpochDay(); epochDay < end; ++epochDay) {
+            if (isBusinessDay(epochDay)) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public JapaneseDate nextBusinessDay() {
+        return calculator.nextBusinessDay(dates[next()]);
+    }
+
+}
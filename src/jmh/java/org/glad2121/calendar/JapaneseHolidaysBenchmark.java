@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.glad2121.calendar.chrono.JapaneseChronology;
+import org.glad2121.calendar.chrono.JapaneseDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JapaneseHolidays} のベンチマーク。
+ * <p>
+ * 比較のため、日付ごとに規則を評価する場合と、
+ * 休日の {@code HashMap} を引く場合も計測します。
+ *
+ * @author GLAD!!
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JapaneseHolidaysBenchmark {
+
+    static final int SIZE = 1024;
+
+    int index;
+
+    JapaneseDate[] dates;
+
+    LocalDate[] isoDates;
+
+    Map<LocalDate, JapaneseHoliday> map = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2121);
+        long min = LocalDate.of(1950, 1, 1).toEpochDay();
+        long max = LocalDate.of(2049, 12, 31).toEpochDay();
+        dates = new JapaneseDate[SIZE];
+        isoDates = new LocalDate[SIZE];
+        for (int i = 0; i < SIZE; ++i) {
+            long epochDay = min + random.nextInt((int) (max - min));
+            dates[i] = JapaneseChronology.INSTANCE.dateEpochDay(epochDay);
+            isoDates[i] = LocalDate.ofEpochDay(epochDay);
+        }
+        for (int year = 1950; year < 2050; ++year) {
+            map.putAll(JapaneseHolidays.getHolidays(year));
+        }
+    }
+
+    int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    @Benchmark
+    public boolean isHoliday() {
+        return JapaneseHolidays.isHoliday(dates[next()]);
+    }
+
+    @Benchmark
+    public String holidayName() {
+        return JapaneseHolidays.holidayName(dates[next()]);
+    }
+
+    @Benchmark
+    public boolean isHolidayHashMap() {
+        return map.containsKey(isoDates[next()]);
+    }
+
+    @Benchmark
+    public boolean isHolidayRules() {
+        LocalDate date = isoDates[next()];
+        return JapaneseHolidays.computeYear(date.getYear())[date.getDayOfYear() - 1] != 0;
+    }
+
+}
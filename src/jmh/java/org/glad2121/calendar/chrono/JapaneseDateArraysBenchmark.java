@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JapaneseDateArrays} のベンチマーク。
+ * <p>
+ * 比較のため {@link java.time.chrono.JapaneseDate} を1件ずつ生成して変換する場合も計測します。
+ *
+ * @author GLAD!!
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JapaneseDateArraysBenchmark {
+
+    @Param({ "1024", "1048576" })
+    int size;
+
+    long[] epochDays;
+
+    int[] eras;
+
+    int[] yearsOfEra;
+
+    int[] months;
+
+    int[] days;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2121);
+        long min = JapaneseDate.START_DATE.toEpochDay();
+        long max = LocalDate.of(2100, 12, 31).toEpochDay();
+        epochDays = new long[size];
+        for (int i = 0; i < size; ++i) {
+            epochDays[i] = min + (long) (random.nextDouble() * (max - min));
+        }
+        eras = new int[size];
+        yearsOfEra = new int[size];
+        months = new int[size];
+        days = new int[size];
+        JapaneseDateArrays.toWareki(epochDays, eras, yearsOfEra, months, days);
+    }
+
+    @Benchmark
+    public int[] toWareki() {
+        JapaneseDateArrays.toWareki(epochDays, eras, yearsOfEra, months, days);
+        return days;
+    }
+
+    @Benchmark
+    public int[] toWarekiJdk() {
+        for (int i = 0; i < size; ++i) {
+            java.time.chrono.JapaneseDate date = java.time.chrono.JapaneseDate.from(LocalDate.ofEpochDay(epochDays[i]));
+            eras[i] = date.getEra().getValue() + 2;
+            yearsOfEra[i] = date.get(java.time.temporal.ChronoField.YEAR_OF_ERA);
+            months[i] = date.get(java.time.temporal.ChronoField.MONTH_OF_YEAR);
+            days[i] = date.get(java.time.temporal.ChronoField.DAY_OF_MONTH);
+        }
+        return days;
+    }
+
+    @Benchmark
+    public long[] toEpochDays() {
+        JapaneseDateArrays.toEpochDays(eras, yearsOfEra, months, days, epochDays);
+        return epochDays;
+    }
+
+}
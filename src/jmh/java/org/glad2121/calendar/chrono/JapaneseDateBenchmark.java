@@ -0,0 +1,500 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JapaneseDate} のベンチマーク。
+ * <p>
+ * 比較のため {@link java.time.chrono.JapaneseDate} の同等の操作も計測します。
+ *
+ * @author GLAD!!
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JapaneseDateBenchmark {
+
+    /**
+     * サンプルの件数（2 の累乗）。
+     */
+    static final int SIZE = 1024;
+
+    int index;
+
+    StringBuilder buffer = new StringBuilder(32);
+
+    char[] chars = new char[32];
+
+    long[] epochDays;
+
+    int[] years;
+
+    int[] months;
+
+    int[] days;
+
+    JapaneseEra[] eras;
+
+    int[] yearsOfEra;
+
+    java.time.chrono.JapaneseEra[] jdkEras;
+
+    JapaneseDate[] dates;
+
+    java.time.chrono.JapaneseDate[] jdkDates;
+
+    String[] abbrTexts;
+
+    String[] kanjiTexts;
+
+    /**
+     * このライブラリの元号による漢字の書式の文字列（JDK の元号には令和が含まれるため）。
+     */
+    String[] ownKanjiTexts;
+
+    String[] kanjiNumeralTexts;
+
+    java.time.format.DateTimeFormatter jdkFormatter;
+
+    java.time.ZoneId zone = java.time.ZoneId.of("Asia/Tokyo");
+
+    java.time.format.DateTimeFormatter strictFormatter = JapaneseDateTimeFormatters
+            .ofPattern("GGGGy年M月d日", java.util.Locale.JAPANESE)
+            .withResolverStyle(java.time.format.ResolverStyle.STRICT);
+
+    java.time.format.DateTimeFormatter lenientFormatter = JapaneseDateTimeFormatters
+            .ofPattern("GGGGy年M月d日", java.util.Locale.JAPANESE)
+            .withResolverStyle(java.time.format.ResolverStyle.LENIENT);
+
+    java.time.format.DateTimeFormatter isoFormatter =
+            java.time.format.DateTimeFormatter.ofPattern("uuuu/MM/dd");
+
+    java.text.ParsePosition position = new java.text.ParsePosition(0);
+
+    java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream(128);
+
+    byte[][] serialized;
+
+    byte[][] jdkSerialized;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2121);
+        long min = JapaneseDate.START_DATE.toEpochDay();
+        long max = LocalDate.of(2100, 12, 31).toEpochDay();
+        epochDays = new long[SIZE];
+        years = new int[SIZE];
+        months = new int[SIZE];
+        days = new int[SIZE];
+        eras = new JapaneseEra[SIZE];
+        yearsOfEra = new int[SIZE];
+        jdkEras = new java.time.chrono.JapaneseEra[SIZE];
+        dates = new JapaneseDate[SIZE];
+        jdkDates = new java.time.chrono.JapaneseDate[SIZE];
+        abbrTexts = new String[SIZE];
+        kanjiTexts = new String[SIZE];
+        ownKanjiTexts = new String[SIZE];
+        kanjiNumeralTexts = new String[SIZE];
+        jdkFormatter = java.time.format.DateTimeFormatter.ofPattern("GGGGy年M月d日", java.util.Locale.JAPANESE)
+                .withChronology(java.time.chrono.JapaneseChronology.INSTANCE);
+        for (int i = 0; i < SIZE; ++i) {
+            long epochDay = min + (long) (random.nextDouble() * (max - min));
+            LocalDate isoDate = LocalDate.ofEpochDay(epochDay);
+            JapaneseDate date = JapaneseDate.of(
+                    isoDate.getYear(), isoDate.getMonthValue(), isoDate.getDayOfMonth());
+            epochDays[i] = epochDay;
+            years[i] = isoDate.getYear();
+            months[i] = isoDate.getMonthValue();
+            days[i] = isoDate.getDayOfMonth();
+            eras[i] = date.getEra();
+            yearsOfEra[i] = date.getYearOfEra();
+            dates[i] = date;
+            jdkDates[i] = java.time.chrono.JapaneseDate.from(isoDate);
+            jdkEras[i] = jdkDates[i].getEra();
+            abbrTexts[i] = JapaneseDateFormatter.ABBREVIATED.format(date);
+            kanjiTexts[i] = jdkFormatter.format(jdkDates[i]);
+            ownKanjiTexts[i] = JapaneseDateFormatter.KANJI.format(date);
+            kanjiNumeralTexts[i] = JapaneseDateFormatter.KANJI_NUMERAL.format(date);
+        }
+        serialized = new byte[SIZE][];
+        jdkSerialized = new byte[SIZE][];
+        try {
+            for (int i = 0; i < SIZE; ++i) {
+                serialized[i] = serialize(dates[i]);
+                jdkSerialized[i] = serialize(jdkDates[i]);
+            }
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    byte[] serialize(Object object) throws java.io.IOException {
+        bytes.reset();
+        try (java.io.ObjectOutputStream out = new java.io.ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Object deserialize(byte[] data) throws java.io.IOException, ClassNotFoundException {
+        try (java.io.ObjectInputStream in =
+                new java.io.ObjectInputStream(new java.io.ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+
+    int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    // ---- factories
+
+    @Benchmark
+    public JapaneseDate ofProlepticYear() {
+        int i = next();
+        return JapaneseDate.of(years[i], months[i], days[i]);
+    }
+
+    @Benchmark
+    public java.time.chrono.JapaneseDate ofProlepticYearJdk() {
+        int i = next();
+        return java.time.chrono.JapaneseDate.of(years[i], months[i], days[i]);
+    }
+
+    @Benchmark
+    public JapaneseDate ofEra() {
+        int i = next();
+        return JapaneseDate.of(eras[i], yearsOfEra[i], months[i], days[i]);
+    }
+
+    @Benchmark
+    public java.time.chrono.JapaneseDate ofEraJdk() {
+        int i = next();
+        return java.time.chrono.JapaneseDate.of(jdkEras[i], yearsOfEra[i], months[i], days[i]);
+    }
+
+    @Benchmark
+    public JapaneseDate now() {
+        return JapaneseDate.now(zone);
+    }
+
+    @Benchmark
+    public JapaneseDate nowClock() {
+        return JapaneseDate.now(java.time.Clock.system(zone));
+    }
+
+    @Benchmark
+    public java.time.chrono.JapaneseDate nowJdk() {
+        return java.time.chrono.JapaneseDate.now(zone);
+    }
+
+    @Benchmark
+    public JapaneseDate dateEpochDay() {
+        return JapaneseChronology.INSTANCE.dateEpochDay(epochDays[next()]);
+    }
+
+    @Benchmark
+    public java.time.chrono.JapaneseDate dateEpochDayJdk() {
+        return java.time.chrono.JapaneseChronology.INSTANCE.dateEpochDay(epochDays[next()]);
+    }
+
+    // ---- arithmetic
+
+    @Benchmark
+    public JapaneseDate plusDays() {
+        return dates[next()].plusDays(100);
+    }
+
+    @Benchmark
+    public java.time.chrono.JapaneseDate plusDaysJdk() {
+        return jdkDates[next()].plus(100, java.time.temporal.ChronoUnit.DAYS);
+    }
+
+    @Benchmark
+    public JapaneseDate plusMonths() {
+        return dates[next()].plusMonths(13);
+    }
+
+    @Benchmark
+    public java.time.chrono.JapaneseDate plusMonthsJdk() {
+        return jdkDates[next()].plus(13, java.time.temporal.ChronoUnit.MONTHS);
+    }
+
+    @Benchmark
+    public JapaneseDate withYearOfEra() {
+        return dates[next()].withYearOfEra(10);
+    }
+
+    @Benchmark
+    public java.time.chrono.JapaneseDate withYearOfEraJdk() {
+        return jdkDates[next()].with(java.time.temporal.ChronoField.YEAR_OF_ERA, 10);
+    }
+
+    @Benchmark
+    public JapaneseDate firstDayOfEraYear() {
+        return dates[next()].with(JapaneseAdjusters.firstDayOfEraYear());
+    }
+
+    @Benchmark
+    public JapaneseDate firstDayOfEraYearSince() {
+        JapaneseDate date = dates[next()];
+        LocalDate since = date.getEra().getSince();
+        LocalDate firstDay = LocalDate.of(date.get(java.time.temporal.ChronoField.YEAR), 1, 1);
+        return JapaneseDate.from(firstDay.isBefore(since) ? since : firstDay);
+    }
+
+    @Benchmark
+    public java.time.chrono.JapaneseDate firstDayOfEraYearJdk() {
+        // JDK の和暦の年内の日は和暦年の中の日
+        return jdkDates[next()].with(java.time.temporal.ChronoField.DAY_OF_YEAR, 1);
+    }
+
+    @Benchmark
+    public JapaneseDate nextEraBoundary() {
+        JapaneseDate date = dates[next()];
+        return (date.getEra() == JapaneseEra.HEISEI) ? date : date.with(JapaneseAdjusters.nextEraBoundary());
+    }
+
+    @Benchmark
+    public long untilMonths() {
+        int i = next();
+        return dates[i].until(dates[(i + 1) & (SIZE - 1)], java.time.temporal.ChronoUnit.MONTHS);
+    }
+
+    @Benchmark
+    public long untilMonthsJdk() {
+        int i = next();
+        return jdkDates[i].until(jdkDates[(i + 1) & (SIZE - 1)], java.time.temporal.ChronoUnit.MONTHS);
+    }
+
+    // ---- iteration (1 year per invocation)
+
+    @Benchmark
+    public long iteratePlusDays() {
+        JapaneseDate date = dates[next()];
+        JapaneseDate end = date.plusYears(1);
+        long sum = 0;
+        for (; date.isBefore(end); date = date.plusDays(1)) {
+            sum += date.getEra().getValue() + date.getYearOfEra() + date.getMonthValue() + date.getDayOfMonth();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateCursor() {
+        JapaneseDate date = dates[next()];
+        JapaneseDateCursor cursor = date.cursorUntil(date.plusYears(1));
+        long sum = 0;
+        while (cursor.next()) {
+            sum += cursor.getEraValue() + cursor.getYearOfEra() + cursor.getMonthValue() + cursor.getDayOfMonth();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateStream() {
+        JapaneseDate date = dates[next()];
+        return date.datesUntil(date.plusYears(1)).mapToLong(JapaneseDate::getDayOfMonth).sum();
+    }
+
+    @Benchmark
+    public long iterateJdk() {
+        java.time.chrono.JapaneseDate date = jdkDates[next()];
+        java.time.chrono.JapaneseDate end = date.plus(1, java.time.temporal.ChronoUnit.YEARS);
+        long sum = 0;
+        for (; date.isBefore(end); date = date.plus(1, java.time.temporal.ChronoUnit.DAYS)) {
+            sum += date.getEra().getValue() + date.get(java.time.temporal.ChronoField.YEAR_OF_ERA)
+                    + date.get(java.time.temporal.ChronoField.MONTH_OF_YEAR)
+                    + date.get(java.time.temporal.ChronoField.DAY_OF_MONTH);
+        }
+        return sum;
+    }
+
+    // ---- fields
+
+    @Benchmark
+    public long getLongDayOfYear() {
+        return dates[next()].getLong(java.time.temporal.ChronoField.DAY_OF_YEAR);
+    }
+
+    @Benchmark
+    public long getLongDayOfYearJdk() {
+        return jdkDates[next()].getLong(java.time.temporal.ChronoField.DAY_OF_YEAR);
+    }
+
+    @Benchmark
+    public long getLongYearOfEra() {
+        return dates[next()].getLong(java.time.temporal.ChronoField.YEAR_OF_ERA);
+    }
+
+    @Benchmark
+    public long getLongYearOfEraJdk() {
+        return jdkDates[next()].getLong(java.time.temporal.ChronoField.YEAR_OF_ERA);
+    }
+
+    @Benchmark
+    public String formatIsoPattern() {
+        return isoFormatter.format(dates[next()]);
+    }
+
+    @Benchmark
+    public String formatIsoPatternJdk() {
+        return isoFormatter.format(jdkDates[next()]);
+    }
+
+    @Benchmark
+    public String formatKanjiPattern() {
+        return JapaneseDateTimeFormatters.ofPattern("GGGGy年M月d日", java.util.Locale.JAPANESE).format(dates[next()]);
+    }
+
+    @Benchmark
+    public String formatKanjiPatternJdk() {
+        return jdkFormatter.format(jdkDates[next()]);
+    }
+
+    @Benchmark
+    public JapaneseDate parseKanjiPattern() {
+        return JapaneseDateTimeFormatters.ofPattern("GGGGy年M月d日", java.util.Locale.JAPANESE)
+                .parse(ownKanjiTexts[next()], JapaneseDate::from);
+    }
+
+    @Benchmark
+    public JapaneseDate parseKanjiPatternStrict() {
+        return strictFormatter.parse(ownKanjiTexts[next()], JapaneseDate::from);
+    }
+
+    @Benchmark
+    public JapaneseDate parseKanjiPatternLenient() {
+        return lenientFormatter.parse(ownKanjiTexts[next()], JapaneseDate::from);
+    }
+
+    @Benchmark
+    public JapaneseDate resolveStrict() {
+        int i = next();
+        java.util.Map<java.time.temporal.TemporalField, Long> fields = new java.util.HashMap<>();
+        fields.put(java.time.temporal.ChronoField.ERA, (long) eras[i].getValue());
+        fields.put(java.time.temporal.ChronoField.YEAR_OF_ERA, (long) yearsOfEra[i]);
+        fields.put(java.time.temporal.ChronoField.MONTH_OF_YEAR, (long) months[i]);
+        fields.put(java.time.temporal.ChronoField.DAY_OF_MONTH, (long) days[i]);
+        return JapaneseChronology.INSTANCE.resolveDate(fields, java.time.format.ResolverStyle.STRICT);
+    }
+
+    // ---- formatting
+
+    @Benchmark
+    public String toStringAbbr() {
+        return dates[next()].toString();
+    }
+
+    @Benchmark
+    public StringBuilder formatAbbrToStringBuilder() {
+        buffer.setLength(0);
+        return JapaneseDateFormatter.ABBREVIATED.formatTo(dates[next()], buffer);
+    }
+
+    @Benchmark
+    public StringBuilder formatKanjiToStringBuilder() {
+        buffer.setLength(0);
+        return JapaneseDateFormatter.KANJI.formatTo(dates[next()], buffer);
+    }
+
+    @Benchmark
+    public int formatKanjiToCharArray() {
+        return JapaneseDateFormatter.KANJI.formatTo(dates[next()], chars, 0);
+    }
+
+    @Benchmark
+    public StringBuilder formatKanjiNumeralToStringBuilder() {
+        buffer.setLength(0);
+        return JapaneseDateFormatter.KANJI_NUMERAL.formatTo(dates[next()], buffer);
+    }
+
+    @Benchmark
+    public int formatKanjiNumeralToCharArray() {
+        return JapaneseDateFormatter.KANJI_NUMERAL.formatTo(dates[next()], chars, 0);
+    }
+
+    @Benchmark
+    public String toStringJdk() {
+        return jdkDates[next()].toString();
+    }
+
+    // ---- serialization
+
+    @Benchmark
+    public byte[] serialize() throws java.io.IOException {
+        return serialize(dates[next()]);
+    }
+
+    @Benchmark
+    public byte[] serializeJdk() throws java.io.IOException {
+        return serialize(jdkDates[next()]);
+    }
+
+    @Benchmark
+    public Object deserialize() throws Exception {
+        return deserialize(serialized[next()]);
+    }
+
+    @Benchmark
+    public Object deserializeJdk() throws Exception {
+        return deserialize(jdkSerialized[next()]);
+    }
+
+    // ---- parsing
+
+    @Benchmark
+    public long parseAbbr() {
+        String text = abbrTexts[next()];
+        return JapaneseDateParser.INSTANCE.parseEpochDay(text, 0, text.length(), position);
+    }
+
+    @Benchmark
+    public long parseKanji() {
+        String text = kanjiTexts[next()];
+        return JapaneseDateParser.INSTANCE.parseEpochDay(text, 0, text.length(), position);
+    }
+
+    @Benchmark
+    public long parseKanjiNumeral() {
+        String text = kanjiNumeralTexts[next()];
+        return JapaneseDateParser.INSTANCE.parseEpochDay(text, 0, text.length(), position);
+    }
+
+    @Benchmark
+    public java.time.chrono.JapaneseDate parseKanjiJdk() {
+        return java.time.chrono.JapaneseDate.from(jdkFormatter.parse(kanjiTexts[next()]));
+    }
+
+}
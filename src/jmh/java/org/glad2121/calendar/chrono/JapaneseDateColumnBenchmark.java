@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JapaneseDateColumn} のベンチマーク。
+ * <p>
+ * 100万行の列をメモリーにマップしたファイルから読み込みます。
+ * 日付順の列（取引日のように日付順に並んだ列）と、順不同の列を計測します。
+ *
+ * @author GLAD!!
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JapaneseDateColumnBenchmark {
+
+    static final int SIZE = 1 << 20;
+
+    @Param({ "FIXED", "DELTA" })
+    JapaneseDateColumn.Encoding encoding;
+
+    @Param({ "true", "false" })
+    boolean sorted;
+
+    long[] epochDays;
+
+    long[] chunk = new long[4096];
+
+    int[] rows;
+
+    int index;
+
+    Path file;
+
+    JapaneseDateColumn column;
+
+    ByteBuffer out;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(2121);
+        long min = JapaneseDate.START_DATE.toEpochDay();
+        long max = LocalDate.of(2100, 12, 31).toEpochDay();
+        epochDays = new long[SIZE];
+        for (int i = 0; i < SIZE; ++i) {
+            epochDays[i] = min + (long) (random.nextDouble() * (max - min));
+        }
+        if (sorted) {
+            Arrays.sort(epochDays);
+        }
+        rows = new int[1024];
+        for (int i = 0; i < rows.length; ++i) {
+            rows[i] = random.nextInt(SIZE);
+        }
+        file = Files.createTempFile("japanese-date-column", ".bin");
+        JapaneseDateColumn.write(file, epochDays, encoding);
+        column = JapaneseDateColumn.map(file);
+        out = ByteBuffer.allocateDirect(JapaneseDateColumn.encodedSize(epochDays, encoding));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long scan() {
+        long sum = 0;
+        for (int from = 0; from < SIZE; from += chunk.length) {
+            column.readEpochDays(from, chunk, 0, chunk.length);
+            for (long epochDay : chunk) {
+                sum += epochDay;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long randomAccess() {
+        index = (index + 1) & (rows.length - 1);
+        return column.getEpochDay(rows[index]);
+    }
+
+    @Benchmark
+    public int write() {
+        out.clear();
+        return JapaneseDateColumn.write(epochDays, encoding, out);
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * {@link JapaneseDate} のヒープ上のサイズを JOL で計測します。
+ * <p>
+ * 元号のオブジェクトは共有されるため、日付ごとのサイズには含めません。
+ *
+ * @author GLAD!!
+ */
+public class JapaneseDateFootprint {
+
+    /**
+     * 計測する日付の件数。
+     */
+    static final int SIZE = 100_000;
+
+    public static void main(String[] args) {
+        JapaneseDate date = JapaneseDate.of(2016, 4, 1);
+        System.out.println(ClassLayout.parseInstance(date).toPrintable());
+
+        List<JapaneseDate> dates = new ArrayList<>(SIZE);
+        long epochDay = JapaneseDate.START_DATE.toEpochDay();
+        for (int i = 0; i < SIZE; ++i) {
+            dates.add(JapaneseChronology.INSTANCE.dateEpochDay(epochDay + i));
+        }
+        GraphLayout layout = GraphLayout.parseInstance(dates.toArray())
+                .subtract(GraphLayout.parseInstance((Object[]) JapaneseEra.values()));
+        System.out.println(layout.toFootprint());
+        System.out.printf("bytes per JapaneseDate: %d%n", layout.totalSize() / SIZE);
+    }
+
+}
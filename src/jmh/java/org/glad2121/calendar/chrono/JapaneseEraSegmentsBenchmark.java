@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JapaneseEraSegments} のベンチマーク。
+ * <p>
+ * 比較のため {@link JapaneseDate} を1件ずつ生成して集計する場合も計測します。
+ *
+ * @author GLAD!!
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JapaneseEraSegmentsBenchmark {
+
+    @Param({ "1024", "1048576" })
+    int size;
+
+    long start;
+
+    long end;
+
+    long[] unsorted;
+
+    long[] sorted;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2121);
+        start = JapaneseDate.START_DATE.toEpochDay();
+        end = LocalDate.of(2101, 1, 1).toEpochDay();
+        unsorted = new long[size];
+        for (int i = 0; i < size; ++i) {
+            unsorted[i] = start + (long) (random.nextDouble() * (end - start));
+        }
+        sorted = unsorted.clone();
+        Arrays.sort(sorted);
+    }
+
+    @Benchmark
+    public int split() {
+        return JapaneseEraSegments.split(start, end).size();
+    }
+
+    @Benchmark
+    public JapaneseEraSegments.Totals countUnsorted() {
+        return JapaneseEraSegments.countByEraYear(unsorted);
+    }
+
+    @Benchmark
+    public JapaneseEraSegments.Totals countSorted() {
+        return JapaneseEraSegments.countByEraYear(sorted);
+    }
+
+    @Benchmark
+    public Map<String, Long> countDates() {
+        Map<String, Long> map = new HashMap<>();
+        for (long epochDay : unsorted) {
+            JapaneseDate date = JapaneseDate.ofEpochDay(epochDay);
+            map.merge(date.getEra().getAbbr() + date.getYearOfEra(), 1L, Long::sum);
+        }
+        return map;
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JapaneseEras} と元号の名前の参照のベンチマーク。
+ *
+ * @author GLAD!!
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JapaneseErasBenchmark {
+
+    /**
+     * サンプルの件数（2 の累乗）。
+     */
+    static final int SIZE = 1024;
+
+    @Param({"ja_JP", "en_US"})
+    String localeTag;
+
+    Locale locale;
+
+    int index;
+
+    LocalDate[] isoDates;
+
+    long[] epochDays;
+
+    JapaneseEra[] eras;
+
+    java.time.chrono.JapaneseEra[] jdkEras;
+
+    @Setup
+    public void setUp() {
+        locale = Locale.forLanguageTag(localeTag.replace('_', '-'));
+        Random random = new Random(2121);
+        long min = JapaneseDate.START_DATE.toEpochDay();
+        long max = LocalDate.of(2100, 12, 31).toEpochDay();
+        isoDates = new LocalDate[SIZE];
+        epochDays = new long[SIZE];
+        eras = new JapaneseEra[SIZE];
+        jdkEras = new java.time.chrono.JapaneseEra[SIZE];
+        for (int i = 0; i < SIZE; ++i) {
+            isoDates[i] = LocalDate.ofEpochDay(min + (long) (random.nextDouble() * (max - min)));
+            epochDays[i] = isoDates[i].toEpochDay();
+            eras[i] = JapaneseEras.current().get(isoDates[i]);
+            jdkEras[i] = java.time.chrono.JapaneseDate.from(isoDates[i]).getEra();
+        }
+    }
+
+    int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    // ---- era lookup
+
+    @Benchmark
+    public JapaneseEra getByIsoDate() {
+        return JapaneseEras.current().get(isoDates[next()]);
+    }
+
+    @Benchmark
+    public JapaneseEra getByEpochDay() {
+        return JapaneseEras.current().get(epochDays[next()]);
+    }
+
+    @Benchmark
+    public java.time.chrono.JapaneseEra getByIsoDateJdk() {
+        return java.time.chrono.JapaneseDate.from(isoDates[next()]).getEra();
+    }
+
+    // ---- localized names
+
+    @Benchmark
+    public String getShortName() {
+        return eras[next()].getShortName(locale);
+    }
+
+    @Benchmark
+    public String getLongName() {
+        return eras[next()].getLongName(locale);
+    }
+
+    @Benchmark
+    public String getDisplayNameJdk() {
+        return jdkEras[next()].getDisplayName(TextStyle.SHORT, locale);
+    }
+
+}
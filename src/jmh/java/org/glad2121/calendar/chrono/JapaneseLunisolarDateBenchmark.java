@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JapaneseLunisolarDate} のベンチマーク。
+ * <p>
+ * 比較のため {@link LocalDate} の同等の操作も計測します。
+ *
+ * @author GLAD!!
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JapaneseLunisolarDateBenchmark {
+
+    /**
+     * サンプルの件数（2 の累乗）。
+     */
+    static final int SIZE = 1024;
+
+    int index;
+
+    long[] epochDays;
+
+    JapaneseLunisolarDate[] dates;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(2121);
+        long min = JapaneseLunisolarDate.MIN_DATE.toEpochDay();
+        long max = JapaneseLunisolarDate.MAX_DATE.toEpochDay();
+        epochDays = new long[SIZE];
+        dates = new JapaneseLunisolarDate[SIZE];
+        for (int i = 0; i < SIZE; ++i) {
+            epochDays[i] = min + (long) (random.nextDouble() * (max - min + 1));
+            dates[i] = JapaneseLunisolarDate.ofEpochDay(epochDays[i]);
+        }
+    }
+
+    int next() {
+        return index = (index + 1) & (SIZE - 1);
+    }
+
+    @Benchmark
+    public JapaneseLunisolarDate ofEpochDay() {
+        return JapaneseLunisolarDate.ofEpochDay(epochDays[next()]);
+    }
+
+    @Benchmark
+    public LocalDate ofEpochDayIso() {
+        return LocalDate.ofEpochDay(epochDays[next()]);
+    }
+
+    @Benchmark
+    public long toEpochDay() {
+        JapaneseLunisolarDate date = dates[next()];
+        return JapaneseLunisolarDate.toEpochDay(
+                date.getYear(), date.getMonth(), date.isLeapMonth(), date.getDayOfMonth());
+    }
+
+    @Benchmark
+    public String format() {
+        return dates[next()].toString();
+    }
+
+}
@@ -0,0 +1,491 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.glad2121.calendar.chrono.JapaneseChronology;
+import org.glad2121.calendar.chrono.JapaneseDate;
+
+/**
+ * 営業日の計算。
+ * <p>
+ * 対象の期間の日ごとに営業日かどうかをビット列に保持し、
+ * 64日ごとにそれより前の営業日の数を累積しておきます。
+ * 営業日の数は累積値と語の中のビット数から一定時間で求め、
+ * n 営業日後の日付は累積値の二分探索と語の中のビットの選択で求めます。
+ * <p>
+ * 週末の曜日、日本の祝日（{@link JapaneseHolidays}）を休業日とするかどうか、
+ * 追加の休業日と、週末や祝日でも営業日とする日を {@link Builder} で指定します。
+ * 期間外の日付を指定すると {@link DateTimeException} をスローします。
+ * <p>
+ * このクラスは不変で、スレッドセーフです。
+ *
+ * @author GLAD!!
+ */
+public final class BusinessDayCalculator {
+
+    // ---- constants
+
+    /**
+     * 指定できる最初の年（明治6年）。
+     */
+    static final int MIN_YEAR = 1873;
+
+    /**
+     * 既定の期間の最初の年。
+     */
+    static final int DEFAULT_FIRST_YEAR = JapaneseHolidays.MIN_YEAR;
+
+    /**
+     * 既定の期間の最後の年。
+     */
+    static final int DEFAULT_LAST_YEAR = 2100;
+
+    /**
+     * 土曜日、日曜日と日本の祝日を休業日とする計算（1948年から2100年まで）。
+     */
+    public static final BusinessDayCalculator STANDARD = builder().build();
+
+    // ---- fields
+
+    /**
+     * 期間の最初の日のエポック日。
+     */
+    private final long firstEpochDay;
+
+    /**
+     * 期間の最後の日の翌日のエポック日。
+     */
+    private final long endEpochDay;
+
+    /**
+     * 期間の最初の日からの日ごとの、営業日かどうかのビット列。
+     */
+    private final long[] bits;
+
+    /**
+     * 語ごとの、その語より前の営業日の数。
+     */
+    private final int[] ranks;
+
+    /**
+     * 期間内の営業日の数。
+     */
+    private final int count;
+
+    // ---- constructors
+
+    private BusinessDayCalculator(Builder builder) {
+        this.firstEpochDay = LocalDate.of(builder.firstYear, 1, 1).toEpochDay();
+        this.endEpochDay = LocalDate.of(builder.lastYear + 1, 1, 1).toEpochDay();
+        int days = (int) (endEpochDay - firstEpochDay);
+        this.bits = new long[(days + 63) >>> 6];
+        int dayOfWeek = DayOfWeek.from(LocalDate.ofEpochDay(firstEpochDay)).ordinal();
+        for (int i = 0; i < days; ++i) {
+            long epochDay = firstEpochDay + i;
+            boolean business = !builder.weekends.contains(DayOfWeek.of(dayOfWeek + 1))
+                    && !(builder.nationalHolidays && JapaneseHolidays.isHoliday(epochDay))
+                    && !builder.holidays.contains(epochDay);
+            if (business || builder.businessDays.contains(epochDay)) {
+                bits[i >>> 6] |= 1L << i;
+            }
+            dayOfWeek = (dayOfWeek == 6) ? 0 : dayOfWeek + 1;
+        }
+        this.ranks = new int[bits.length];
+        int rank = 0;
+        for (int w = 0; w < bits.length; ++w) {
+            ranks[w] = rank;
+            rank += Long.bitCount(bits[w]);
+        }
+        this.count = rank;
+    }
+
+    /**
+     * 計算の設定を返します。
+     *
+     * @return 計算の設定
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // ---- accessors
+
+    /**
+     * 期間の最初の日を返します。
+     *
+     * @return 期間の最初の日
+     */
+    public LocalDate getFirstDate() {
+        return LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    /**
+     * 期間の最後の日を返します。
+     *
+     * @return 期間の最後の日
+     */
+    public LocalDate getLastDate() {
+        return LocalDate.ofEpochDay(endEpochDay - 1);
+    }
+
+    // ---- JapaneseDate
+
+    /**
+     * 指定された日付が営業日かどうかを返します。
+     *
+     * @param date 日付
+     * @return 営業日の場合は {@code true}
+     * @throws DateTimeException 期間外の日付の場合
+     */
+    public boolean isBusinessDay(JapaneseDate date) {
+        return isBusinessDay(date.toEpochDay());
+    }
+
+    /**
+     * 指定された日付から n 営業日後の日付を返します。
+     * <p>
+     * 指定された日付は数えません。n が負の場合は n 営業日前、{@code 0} の場合は指定された日付を返します。
+     *
+     * @param date 日付
+     * @param n    営業日数
+     * @return n 営業日後の日付
+     * @throws DateTimeException 指定された日付または結果が期間外の場合
+     */
+    public JapaneseDate addBusinessDays(JapaneseDate date, long n) {
+        return toDate(addBusinessDays(date.toEpochDay(), n));
+    }
+
+    /**
+     * 開始日から終了日の前日までの営業日の数を返します。
+     * <p>
+     * 終了日が開始日より前の場合は負の値を返します。
+     *
+     * @param start        開始日（この日を含む）
+     * @param endExclusive 終了日（この日を含まない）
+     * @return 営業日の数
+     * @throws DateTimeException 期間外の日付の場合
+     */
+    public long businessDaysBetween(ChronoLocalDate start, ChronoLocalDate endExclusive) {
+        return businessDaysBetween(start.toEpochDay(), endExclusive.toEpochDay());
+    }
+
+    /**
+     * 指定された日付の翌日以降の最初の営業日を返します。
+     *
+     * @param date 日付
+     * @return 次の営業日
+     * @throws DateTimeException 指定された日付または結果が期間外の場合
+     */
+    public JapaneseDate nextBusinessDay(JapaneseDate date) {
+        return toDate(addBusinessDays(date.toEpochDay(), 1));
+    }
+
+    /**
+     * 指定された日付の前日以前の最後の営業日を返します。
+     *
+     * @param date 日付
+     * @return 前の営業日
+     * @throws DateTimeException 指定された日付または結果が期間外の場合
+     */
+    public JapaneseDate previousBusinessDay(JapaneseDate date) {
+        return toDate(addBusinessDays(date.toEpochDay(), -1));
+    }
+
+    /**
+     * 指定された日付が営業日ならその日を、そうでなければ次の営業日を返します。
+     *
+     * @param date 日付
+     * @return 指定された日付以降の最初の営業日
+     * @throws DateTimeException 指定された日付または結果が期間外の場合
+     */
+    public JapaneseDate nextOrSameBusinessDay(JapaneseDate date) {
+        return isBusinessDay(date) ? date : nextBusinessDay(date);
+    }
+
+    /**
+     * 指定された日付が営業日ならその日を、そうでなければ前の営業日を返します。
+     *
+     * @param date 日付
+     * @return 指定された日付以前の最後の営業日
+     * @throws DateTimeException 指定された日付または結果が期間外の場合
+     */
+    public JapaneseDate previousOrSameBusinessDay(JapaneseDate date) {
+        return isBusinessDay(date) ? date : previousBusinessDay(date);
+    }
+
+    // ---- epoch days
+
+    /**
+     * 指定されたエポック日が営業日かどうかを返します。
+     *
+     * @param epochDay エポック日
+     * @return 営業日の場合は {@code true}
+     * @throws DateTimeException 期間外の日付の場合
+     */
+    public boolean isBusinessDay(long epochDay) {
+        int i = offset(epochDay);
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * 指定されたエポック日から n 営業日後のエポック日を返します。
+     *
+     * @param epochDay エポック日
+     * @param n        営業日数
+     * @return n 営業日後のエポック日
+     * @throws DateTimeException 指定された日付または結果が期間外の場合
+     * @see #addBusinessDays(JapaneseDate, long)
+     */
+    public long addBusinessDays(long epochDay, long n) {
+        int i = offset(epochDay);
+        if (n == 0) {
+            return epochDay;
+        }
+        // k 番目（0 から数える）の営業日を求める
+        long k = -1;
+        if (-count <= n && n <= count) {
+            k = (n > 0) ? rank(i) + (bits[i >>> 6] >>> i & 1) + n - 1 : rank(i) + n;
+        }
+        if (k < 0 || count <= k) {
+            throw new DateTimeException("Business day out of range: " + n + " from " + LocalDate.ofEpochDay(epochDay));
+        }
+        return firstEpochDay + select((int) k, i >>> 6);
+    }
+
+    /**
+     * 開始日から終了日の前日までの営業日の数を返します。
+     *
+     * @param startEpochDay 開始日のエポック日（この日を含む）
+     * @param endEpochDay   終了日のエポック日（この日を含まない）
+     * @return 営業日の数。終了日が開始日より前の場合は負の値
+     * @throws DateTimeException 期間外の日付の場合
+     */
+    public long businessDaysBetween(long startEpochDay, long endEpochDay) {
+        return rankOf(endEpochDay) - rankOf(startEpochDay);
+    }
+
+    // ---- index
+
+    /**
+     * 指定されたエポック日より前の期間内の営業日の数を返します。
+     * <p>
+     * 期間の最後の日の翌日も指定できます。
+     */
+    int rankOf(long epochDay) {
+        if (epochDay == endEpochDay) {
+            return count;
+        }
+        return rank(offset(epochDay));
+    }
+
+    int rank(int i) {
+        return ranks[i >>> 6] + Long.bitCount(bits[i >>> 6] & ((1L << i) - 1));
+    }
+
+    /**
+     * k 番目（0 から数える）の営業日の期間の最初の日からの日数を返します。
+     * <p>
+     * 近くの営業日を探すことが多いため、指定された語から倍々に範囲を広げてから二分探索します。
+     *
+     * @param k    営業日の番号
+     * @param hint 探索を始める語
+     */
+    int select(int k, int hint) {
+        // ranks[w] <= k となる最後の語を探す
+        int low;
+        int high;
+        if (ranks[hint] <= k) {
+            low = hint;
+            high = hint + 1;
+            for (int step = 1; high < ranks.length && ranks[high] <= k; step <<= 1) {
+                low = high;
+                high = Math.min(high + step, ranks.length);
+            }
+            --high;
+        } else {
+            high = hint - 1;
+            low = hint - 1;
+            for (int step = 1; low > 0 && ranks[low] > k; step <<= 1) {
+                high = low - 1;
+                low = Math.max(low - step, 0);
+            }
+        }
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (ranks[mid] <= k) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        long word = bits[low];
+        for (int j = k - ranks[low]; j > 0; --j) {
+            word &= word - 1;
+        }
+        return (low << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    int offset(long epochDay) {
+        if (epochDay < firstEpochDay || endEpochDay <= epochDay) {
+            throw new DateTimeException("Date out of business day calendar: " + LocalDate.ofEpochDay(epochDay));
+        }
+        return (int) (epochDay - firstEpochDay);
+    }
+
+    static JapaneseDate toDate(long epochDay) {
+        return JapaneseChronology.INSTANCE.dateEpochDay(epochDay);
+    }
+
+    // ---- java.lang.Object
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "BusinessDayCalculator[" + getFirstDate() + "/" + getLastDate() + "]";
+    }
+
+    // ---- nested class
+
+    /**
+     * 営業日の計算の設定です。
+     */
+    public static final class Builder {
+
+        int firstYear = DEFAULT_FIRST_YEAR;
+
+        int lastYear = DEFAULT_LAST_YEAR;
+
+        Set<DayOfWeek> weekends = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+        boolean nationalHolidays = true;
+
+        final Set<Long> holidays = new HashSet<>();
+
+        final Set<Long> businessDays = new HashSet<>();
+
+        Builder() {
+        }
+
+        /**
+         * 期間を指定します（既定値は1948年から2100年まで）。
+         * <p>
+         * 最初の年は {@value BusinessDayCalculator#MIN_YEAR} 年以降とします。
+         * 日本の祝日は1948年7月20日以降のものだけを休業日とします。
+         * <p>
+         * 日本の祝日を休業日とする場合は {@value JapaneseHolidays#MAX_YEAR} 年までに限ります。
+         *
+         * @param firstYear 最初の年
+         * @param lastYear  最後の年
+         * @return この設定
+         * @throws IllegalArgumentException 期間が不正な場合
+         */
+        public Builder range(int firstYear, int lastYear) {
+            if (firstYear < MIN_YEAR || lastYear < firstYear) {
+                throw new IllegalArgumentException("Invalid range: " + firstYear + "-" + lastYear);
+            }
+            this.firstYear = firstYear;
+            this.lastYear = lastYear;
+            return this;
+        }
+
+        /**
+         * 週末の曜日を指定します（既定値は土曜日と日曜日）。
+         *
+         * @param weekends 週末の曜日
+         * @return この設定
+         */
+        public Builder weekends(DayOfWeek... weekends) {
+            Set<DayOfWeek> set = EnumSet.noneOf(DayOfWeek.class);
+            for (DayOfWeek weekend : weekends) {
+                set.add(Objects.requireNonNull(weekend, "weekend"));
+            }
+            this.weekends = set;
+            return this;
+        }
+
+        /**
+         * 日本の祝日を休業日とするかどうかを指定します（既定値は {@code true}）。
+         *
+         * @param nationalHolidays 休業日とする場合は {@code true}
+         * @return この設定
+         */
+        public Builder nationalHolidays(boolean nationalHolidays) {
+            this.nationalHolidays = nationalHolidays;
+            return this;
+        }
+
+        /**
+         * 休業日を追加します。
+         *
+         * @param date 休業日
+         * @return この設定
+         */
+        public Builder addHoliday(ChronoLocalDate date) {
+            holidays.add(date.toEpochDay());
+            return this;
+        }
+
+        /**
+         * 休業日を追加します。
+         *
+         * @param dates 休業日
+         * @return この設定
+         */
+        public Builder addHolidays(Iterable<? extends ChronoLocalDate> dates) {
+            for (ChronoLocalDate date : dates) {
+                addHoliday(date);
+            }
+            return this;
+        }
+
+        /**
+         * 週末や休業日でも営業日とする日を追加します。
+         *
+         * @param date 営業日
+         * @return この設定
+         */
+        public Builder addBusinessDay(ChronoLocalDate date) {
+            businessDays.add(date.toEpochDay());
+            return this;
+        }
+
+        /**
+         * 営業日の計算を作成します。
+         *
+         * @return 営業日の計算
+         * @throws DateTimeException 日本の祝日を休業日とし、期間が扱うことのできる年を超える場合
+         */
+        public BusinessDayCalculator build() {
+            if (nationalHolidays && lastYear > JapaneseHolidays.MAX_YEAR) {
+                throw new DateTimeException("Holidays after " + JapaneseHolidays.MAX_YEAR + " are not supported");
+            }
+            return new BusinessDayCalculator(this);
+        }
+
+    }
+
+}
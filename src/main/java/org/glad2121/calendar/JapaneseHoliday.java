@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar;
+
+/**
+ * 日本の祝日と休日の種類。
+ * <p>
+ * 「国民の祝日に関する法律」の祝日、振替休日、国民の休日と、
+ * 特別な法律で定められた一度限りの休日を表します。
+ *
+ * @author GLAD!!
+ */
+public enum JapaneseHoliday {
+
+    /**
+     * 元日。
+     */
+    NEW_YEARS_DAY("元日"),
+
+    /**
+     * 成人の日。
+     */
+    COMING_OF_AGE_DAY("成人の日"),
+
+    /**
+     * 建国記念の日。
+     */
+    NATIONAL_FOUNDATION_DAY("建国記念の日"),
+
+    /**
+     * 天皇誕生日。
+     */
+    EMPERORS_BIRTHDAY("天皇誕生日"),
+
+    /**
+     * 春分の日。
+     */
+    VERNAL_EQUINOX_DAY("春分の日"),
+
+    /**
+     * 昭和の日。
+     */
+    SHOWA_DAY("昭和の日"),
+
+    /**
+     * 憲法記念日。
+     */
+    CONSTITUTION_MEMORIAL_DAY("憲法記念日"),
+
+    /**
+     * みどりの日。
+     */
+    GREENERY_DAY("みどりの日"),
+
+    /**
+     * こどもの日。
+     */
+    CHILDRENS_DAY("こどもの日"),
+
+    /**
+     * 海の日。
+     */
+    MARINE_DAY("海の日"),
+
+    /**
+     * 山の日。
+     */
+    MOUNTAIN_DAY("山の日"),
+
+    /**
+     * 敬老の日。
+     */
+    RESPECT_FOR_THE_AGED_DAY("敬老の日"),
+
+    /**
+     * 秋分の日。
+     */
+    AUTUMNAL_EQUINOX_DAY("秋分の日"),
+
+    /**
+     * 体育の日（2019年まで）。
+     */
+    HEALTH_AND_SPORTS_DAY("体育の日"),
+
+    /**
+     * スポーツの日（2020年から）。
+     */
+    SPORTS_DAY("スポーツの日"),
+
+    /**
+     * 文化の日。
+     */
+    CULTURE_DAY("文化の日"),
+
+    /**
+     * 勤労感謝の日。
+     */
+    LABOR_THANKSGIVING_DAY("勤労感謝の日"),
+
+    /**
+     * 振替休日。
+     */
+    SUBSTITUTE_HOLIDAY("振替休日"),
+
+    /**
+     * 国民の休日。
+     */
+    CITIZENS_HOLIDAY("国民の休日"),
+
+    /**
+     * 皇太子明仁親王の結婚の儀（1959年4月10日）。
+     */
+    CROWN_PRINCE_AKIHITO_WEDDING("皇太子明仁親王の結婚の儀"),
+
+    /**
+     * 昭和天皇の大喪の礼（1989年2月24日）。
+     */
+    SHOWA_EMPEROR_FUNERAL("昭和天皇の大喪の礼"),
+
+    /**
+     * 即位礼正殿の儀（1990年11月12日、2019年10月22日）。
+     */
+    ENTHRONEMENT_CEREMONY("即位礼正殿の儀"),
+
+    /**
+     * 皇太子徳仁親王の結婚の儀（1993年6月9日）。
+     */
+    CROWN_PRINCE_NARUHITO_WEDDING("皇太子徳仁親王の結婚の儀"),
+
+    /**
+     * 天皇の即位の日（2019年5月1日）。
+     */
+    ENTHRONEMENT_DAY("天皇の即位の日");
+
+    // ---- fields
+
+    /**
+     * 名前。
+     */
+    private final String name;
+
+    // ---- constructors
+
+    JapaneseHoliday(String name) {
+        this.name = name;
+    }
+
+    // ---- accessors
+
+    /**
+     * 名前を返します。
+     *
+     * @return 名前
+     */
+    public String getName() {
+        return name;
+    }
+
+}
@@ -0,0 +1,591 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar;
+
+import static org.glad2121.calendar.JapaneseHoliday.*;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.glad2121.calendar.chrono.JapaneseDate;
+
+/**
+ * 日本の祝日と休日の表。
+ * <p>
+ * 「国民の祝日に関する法律」の施行（1948年7月20日）以降の祝日、振替休日、国民の休日と、
+ * 特別な法律で定められた休日を扱います。施行より前の日付は休日ではないものとします。
+ * <p>
+ * 祝日は年ごとに計算し、エポック日を添字とするビット列と、
+ * 祝日の日付の順に並べた種類の列に変換して保持します。
+ * 休日かどうかはビットを1つ調べるだけで、種類は前の語までのビット数と語の中のビット数から求めるため、
+ * どちらも一定時間で判定できます。
+ * <p>
+ * 表は {@value #MIN_YEAR} 年から {@value #INITIAL_LAST_YEAR} 年までを最初に作成し、
+ * それ以降の日付を要求されたときに {@value #EXTENSION_YEARS} 年ずつ延長します。
+ * 春分の日と秋分の日は天文計算による近似式で求めるため、
+ * {@value #MAX_YEAR} 年より後の日付は扱いません。
+ * 近似式による日付は、前年の官報で公示される日付と異なる可能性があります。
+ * <p>
+ * このクラスはスレッドセーフです。表は不変で、延長の際は新しい表に置き換えます。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseHolidays {
+
+    // ---- constants
+
+    /**
+     * 扱う最初の年。
+     */
+    static final int MIN_YEAR = 1948;
+
+    /**
+     * 扱う最後の年。
+     */
+    static final int MAX_YEAR = 2150;
+
+    /**
+     * 最初に作成する表の最後の年。
+     */
+    static final int INITIAL_LAST_YEAR = 2050;
+
+    /**
+     * 表を延長する年数。
+     */
+    static final int EXTENSION_YEARS = 10;
+
+    /**
+     * 国民の祝日に関する法律の施行日。
+     */
+    static final LocalDate ENFORCEMENT_DATE = LocalDate.of(1948, 7, 20);
+
+    /**
+     * 振替休日の制度の施行日。
+     */
+    static final LocalDate SUBSTITUTE_HOLIDAY_START = LocalDate.of(1973, 4, 12);
+
+    /**
+     * 国民の休日の制度が適用される最初の年（1985年12月27日施行）。
+     */
+    static final int CITIZENS_HOLIDAY_START_YEAR = 1986;
+
+    /**
+     * 振替休日と国民の休日の規定が改められた年。
+     */
+    static final int REVISION_2007_YEAR = 2007;
+
+    /**
+     * 種類の一覧（種類の値 - 1 で参照）。
+     */
+    static final JapaneseHoliday[] HOLIDAYS = JapaneseHoliday.values();
+
+    // ---- static fields
+
+    /**
+     * 現在の表。
+     */
+    private static volatile Table table = Table.build(MIN_YEAR, INITIAL_LAST_YEAR);
+
+    // ---- constructors
+
+    private JapaneseHolidays() {
+    }
+
+    // ---- lookup
+
+    /**
+     * 指定された日付が休日（祝日、振替休日、国民の休日）かどうかを返します。
+     * <p>
+     * 土曜日と日曜日は、祝日でなければ休日として扱いません。
+     *
+     * @param date 日付
+     * @return 休日の場合は {@code true}
+     * @throws DateTimeException {@value #MAX_YEAR} 年より後の日付の場合
+     */
+    public static boolean isHoliday(JapaneseDate date) {
+        return isHoliday(date.toEpochDay());
+    }
+
+    /**
+     * 指定された日付が休日（祝日、振替休日、国民の休日）かどうかを返します。
+     *
+     * @param date 日付
+     * @return 休日の場合は {@code true}
+     * @throws DateTimeException {@value #MAX_YEAR} 年より後の日付の場合
+     */
+    public static boolean isHoliday(ChronoLocalDate date) {
+        return isHoliday(date.toEpochDay());
+    }
+
+    /**
+     * 指定された日付の休日の種類を返します。
+     *
+     * @param date 日付
+     * @return 休日の種類。休日でない場合は {@code null}
+     * @throws DateTimeException {@value #MAX_YEAR} 年より後の日付の場合
+     */
+    public static JapaneseHoliday getHoliday(JapaneseDate date) {
+        return getHoliday(date.toEpochDay());
+    }
+
+    /**
+     * 指定された日付の休日の種類を返します。
+     *
+     * @param date 日付
+     * @return 休日の種類。休日でない場合は {@code null}
+     * @throws DateTimeException {@value #MAX_YEAR} 年より後の日付の場合
+     */
+    public static JapaneseHoliday getHoliday(ChronoLocalDate date) {
+        return getHoliday(date.toEpochDay());
+    }
+
+    /**
+     * 指定された日付の休日の名前を返します。
+     *
+     * @param date 日付
+     * @return 休日の名前。休日でない場合は {@code null}
+     * @throws DateTimeException {@value #MAX_YEAR} 年より後の日付の場合
+     */
+    public static String holidayName(JapaneseDate date) {
+        return holidayName(date.toEpochDay());
+    }
+
+    /**
+     * 指定された日付の休日の名前を返します。
+     *
+     * @param date 日付
+     * @return 休日の名前。休日でない場合は {@code null}
+     * @throws DateTimeException {@value #MAX_YEAR} 年より後の日付の場合
+     */
+    public static String holidayName(ChronoLocalDate date) {
+        return holidayName(date.toEpochDay());
+    }
+
+    /**
+     * 指定された年の休日の一覧を返します。
+     *
+     * @param year 西暦年
+     * @return 日付順の休日の一覧
+     * @throws DateTimeException {@value #MAX_YEAR} 年より後の年の場合
+     */
+    public static SortedMap<LocalDate, JapaneseHoliday> getHolidays(int year) {
+        SortedMap<LocalDate, JapaneseHoliday> holidays = new TreeMap<>();
+        if (year >= MIN_YEAR) {
+            long first = LocalDate.of(year, 1, 1).toEpochDay();
+            long end = LocalDate.of(year + 1, 1, 1).toEpochDay();
+            for (long epochDay = first; epochDay < end; ++epochDay) {
+                JapaneseHoliday holiday = getHoliday(epochDay);
+                if (holiday != null) {
+                    holidays.put(LocalDate.ofEpochDay(epochDay), holiday);
+                }
+            }
+        }
+        return Collections.unmodifiableSortedMap(holidays);
+    }
+
+    static boolean isHoliday(long epochDay) {
+        Table t = table(epochDay);
+        long offset = epochDay - t.firstEpochDay;
+        return offset >= 0 && t.contains((int) offset);
+    }
+
+    static JapaneseHoliday getHoliday(long epochDay) {
+        Table t = table(epochDay);
+        long offset = epochDay - t.firstEpochDay;
+        return (offset >= 0) ? t.get((int) offset) : null;
+    }
+
+    static String holidayName(long epochDay) {
+        JapaneseHoliday holiday = getHoliday(epochDay);
+        return (holiday != null) ? holiday.getName() : null;
+    }
+
+    /**
+     * 指定されたエポック日を含む表を返します。
+     *
+     * @param epochDay エポック日
+     * @return 表
+     */
+    static Table table(long epochDay) {
+        Table t = table;
+        if (epochDay < t.endEpochDay) {
+            return t;
+        }
+        return extend(epochDay);
+    }
+
+    /**
+     * 指定されたエポック日を含むように表を延長します。
+     *
+     * @param epochDay エポック日
+     * @return 延長した表
+     * @throws DateTimeException {@value #MAX_YEAR} 年より後の日付の場合
+     */
+    static synchronized Table extend(long epochDay) {
+        Table t = table;
+        if (epochDay < t.endEpochDay) {
+            return t;
+        }
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        if (date.getYear() > MAX_YEAR) {
+            throw new DateTimeException("Holidays after " + MAX_YEAR + " are not supported: " + date);
+        }
+        int lastYear = Math.min(Math.max(date.getYear(), t.lastYear + EXTENSION_YEARS), MAX_YEAR);
+        t = Table.build(t.firstYear, lastYear);
+        table = t;
+        return t;
+    }
+
+    /**
+     * 表の最後の年を返します。
+     *
+     * @return 表の最後の年
+     */
+    static int getLastYear() {
+        return table.lastYear;
+    }
+
+    // ---- rules
+
+    /**
+     * 指定された年の休日を計算します。
+     *
+     * @param year 西暦年
+     * @return 年初からの日ごとの休日の種類の値（{@code ordinal() + 1}）。休日でない日は {@code 0}
+     */
+    static byte[] computeYear(int year) {
+        LocalDate newYearsDay = LocalDate.of(year, 1, 1);
+        byte[] codes = new byte[newYearsDay.lengthOfYear()];
+        if (year < MIN_YEAR) {
+            return codes;
+        }
+
+        // 国民の祝日
+        put(codes, LocalDate.of(year, 1, 1), NEW_YEARS_DAY);
+        if (year < 2000) {
+            put(codes, LocalDate.of(year, 1, 15), COMING_OF_AGE_DAY);
+        } else {
+            put(codes, mondayOf(year, 1, 2), COMING_OF_AGE_DAY);
+        }
+        if (year >= 1967) {
+            put(codes, LocalDate.of(year, 2, 11), NATIONAL_FOUNDATION_DAY);
+        }
+        if (year <= 1988) {
+            put(codes, LocalDate.of(year, 4, 29), EMPERORS_BIRTHDAY);
+        } else if (year <= 2018) {
+            put(codes, LocalDate.of(year, 12, 23), EMPERORS_BIRTHDAY);
+        } else if (year >= 2020) {
+            put(codes, LocalDate.of(year, 2, 23), EMPERORS_BIRTHDAY);
+        }
+        put(codes, LocalDate.of(year, 3, vernalEquinoxDay(year)), VERNAL_EQUINOX_DAY);
+        if (year >= REVISION_2007_YEAR) {
+            put(codes, LocalDate.of(year, 4, 29), SHOWA_DAY);
+            put(codes, LocalDate.of(year, 5, 4), GREENERY_DAY);
+        } else if (year >= 1989) {
+            put(codes, LocalDate.of(year, 4, 29), GREENERY_DAY);
+        }
+        put(codes, LocalDate.of(year, 5, 3), CONSTITUTION_MEMORIAL_DAY);
+        put(codes, LocalDate.of(year, 5, 5), CHILDRENS_DAY);
+        if (year == 2020) {
+            put(codes, LocalDate.of(year, 7, 23), MARINE_DAY);
+        } else if (year == 2021) {
+            put(codes, LocalDate.of(year, 7, 22), MARINE_DAY);
+        } else if (year >= 2003) {
+            put(codes, mondayOf(year, 7, 3), MARINE_DAY);
+        } else if (year >= 1996) {
+            put(codes, LocalDate.of(year, 7, 20), MARINE_DAY);
+        }
+        if (year == 2020) {
+            put(codes, LocalDate.of(year, 8, 10), MOUNTAIN_DAY);
+        } else if (year == 2021) {
+            put(codes, LocalDate.of(year, 8, 8), MOUNTAIN_DAY);
+        } else if (year >= 2016) {
+            put(codes, LocalDate.of(year, 8, 11), MOUNTAIN_DAY);
+        }
+        if (year >= 2003) {
+            put(codes, mondayOf(year, 9, 3), RESPECT_FOR_THE_AGED_DAY);
+        } else if (year >= 1966) {
+            put(codes, LocalDate.of(year, 9, 15), RESPECT_FOR_THE_AGED_DAY);
+        }
+        put(codes, LocalDate.of(year, 9, autumnalEquinoxDay(year)), AUTUMNAL_EQUINOX_DAY);
+        if (year == 2020) {
+            put(codes, LocalDate.of(year, 7, 24), SPORTS_DAY);
+        } else if (year == 2021) {
+            put(codes, LocalDate.of(year, 7, 23), SPORTS_DAY);
+        } else if (year >= 2022) {
+            put(codes, mondayOf(year, 10, 2), SPORTS_DAY);
+        } else if (year >= 2000) {
+            put(codes, mondayOf(year, 10, 2), HEALTH_AND_SPORTS_DAY);
+        } else if (year >= 1966) {
+            put(codes, LocalDate.of(year, 10, 10), HEALTH_AND_SPORTS_DAY);
+        }
+        put(codes, LocalDate.of(year, 11, 3), CULTURE_DAY);
+        put(codes, LocalDate.of(year, 11, 23), LABOR_THANKSGIVING_DAY);
+
+        // 特別な法律で定められた休日（国民の祝日と同じく扱う）
+        switch (year) {
+        case 1959:
+            put(codes, LocalDate.of(1959, 4, 10), CROWN_PRINCE_AKIHITO_WEDDING);
+            break;
+        case 1989:
+            put(codes, LocalDate.of(1989, 2, 24), SHOWA_EMPEROR_FUNERAL);
+            break;
+        case 1990:
+            put(codes, LocalDate.of(1990, 11, 12), ENTHRONEMENT_CEREMONY);
+            break;
+        case 1993:
+            put(codes, LocalDate.of(1993, 6, 9), CROWN_PRINCE_NARUHITO_WEDDING);
+            break;
+        case 2019:
+            put(codes, LocalDate.of(2019, 5, 1), ENTHRONEMENT_DAY);
+            put(codes, LocalDate.of(2019, 10, 22), ENTHRONEMENT_CEREMONY);
+            break;
+        default:
+            break;
+        }
+
+        boolean[] national = new boolean[codes.length];
+        for (int day = 0; day < codes.length; ++day) {
+            national[day] = codes[day] != 0;
+        }
+        // 月曜日を 0 とする年初の曜日
+        int firstDayOfWeek = newYearsDay.getDayOfWeek().ordinal();
+
+        // 振替休日: 祝日が日曜日に当たるときは、その翌日（2007年以降はその後の最も近い祝日でない日）
+        int substituteStart = (year == SUBSTITUTE_HOLIDAY_START.getYear())
+                ? SUBSTITUTE_HOLIDAY_START.getDayOfYear() - 1 : 0;
+        if (year >= SUBSTITUTE_HOLIDAY_START.getYear()) {
+            for (int day = substituteStart; day < codes.length; ++day) {
+                if (!national[day] || !isSunday(firstDayOfWeek, day)) {
+                    continue;
+                }
+                int next = day + 1;
+                if (year >= REVISION_2007_YEAR) {
+                    while (next < codes.length && national[next]) {
+                        ++next;
+                    }
+                }
+                if (next < codes.length && !national[next]) {
+                    codes[next] = code(SUBSTITUTE_HOLIDAY);
+                }
+            }
+        }
+
+        // 国民の休日: 前日と翌日が祝日である日（2007年より前は日曜日と振替休日を除く）
+        if (year >= CITIZENS_HOLIDAY_START_YEAR) {
+            for (int day = 1; day + 1 < codes.length; ++day) {
+                if (codes[day] == 0 && national[day - 1] && national[day + 1]
+                        && (year >= REVISION_2007_YEAR || !isSunday(firstDayOfWeek, day))) {
+                    codes[day] = code(CITIZENS_HOLIDAY);
+                }
+            }
+        }
+        return codes;
+    }
+
+    static void put(byte[] codes, LocalDate date, JapaneseHoliday holiday) {
+        if (!date.isBefore(ENFORCEMENT_DATE)) {
+            codes[date.getDayOfYear() - 1] = code(holiday);
+        }
+    }
+
+    static byte code(JapaneseHoliday holiday) {
+        return (byte) (holiday.ordinal() + 1);
+    }
+
+    static boolean isSunday(int firstDayOfWeek, int dayOfYear0) {
+        return (firstDayOfWeek + dayOfYear0) % 7 == DayOfWeek.SUNDAY.ordinal();
+    }
+
+    /**
+     * 指定された月の第 n 月曜日を返します（ハッピーマンデー）。
+     *
+     * @param year  西暦年
+     * @param month 月
+     * @param n     何番目か
+     * @return 日付
+     */
+    static LocalDate mondayOf(int year, int month, int n) {
+        return LocalDate.of(year, month, 1).with(TemporalAdjusters.dayOfWeekInMonth(n, DayOfWeek.MONDAY));
+    }
+
+    /**
+     * 春分日を返します。
+     * <p>
+     * 天文計算による近似式を使います（1900年から2150年まで）。
+     *
+     * @param year 西暦年
+     * @return 3月の日
+     */
+    static int vernalEquinoxDay(int year) {
+        if (year < 1980) {
+            return equinoxDay(20.8357, year, (year - 1983) / 4);
+        } else if (year < 2100) {
+            return equinoxDay(20.8431, year, (year - 1980) / 4);
+        } else {
+            return equinoxDay(21.8510, year, (year - 1980) / 4);
+        }
+    }
+
+    /**
+     * 秋分日を返します。
+     * <p>
+     * 天文計算による近似式を使います（1900年から2150年まで）。
+     *
+     * @param year 西暦年
+     * @return 9月の日
+     */
+    static int autumnalEquinoxDay(int year) {
+        if (year < 1980) {
+            return equinoxDay(23.2588, year, (year - 1983) / 4);
+        } else if (year < 2100) {
+            return equinoxDay(23.2488, year, (year - 1980) / 4);
+        } else {
+            return equinoxDay(24.2488, year, (year - 1980) / 4);
+        }
+    }
+
+    static int equinoxDay(double base, int year, int leapDays) {
+        return (int) (base + 0.242194 * (year - 1980) - leapDays);
+    }
+
+    // ---- nested class
+
+    /**
+     * 休日の表です。
+     * <p>
+     * 作成後は変更しません。
+     */
+    static final class Table {
+
+        /**
+         * 最初の年。
+         */
+        final int firstYear;
+
+        /**
+         * 最後の年。
+         */
+        final int lastYear;
+
+        /**
+         * 最初の年の1月1日のエポック日。
+         */
+        final long firstEpochDay;
+
+        /**
+         * 最後の年の翌年の1月1日のエポック日。
+         */
+        final long endEpochDay;
+
+        /**
+         * 最初の年の1月1日からの日ごとの、休日かどうかのビット列。
+         */
+        final long[] bits;
+
+        /**
+         * 語ごとの、その語より前の休日の数。
+         */
+        final int[] ranks;
+
+        /**
+         * 日付順の休日の種類の値。
+         */
+        final byte[] codes;
+
+        Table(int firstYear, int lastYear, long[] bits, int[] ranks, byte[] codes) {
+            this.firstYear = firstYear;
+            this.lastYear = lastYear;
+            this.firstEpochDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+            this.endEpochDay = LocalDate.of(lastYear + 1, 1, 1).toEpochDay();
+            this.bits = bits;
+            this.ranks = ranks;
+            this.codes = codes;
+        }
+
+        /**
+         * 指定された年の範囲の表を作成します。
+         *
+         * @param firstYear 最初の年
+         * @param lastYear  最後の年
+         * @return 表
+         */
+        static Table build(int firstYear, int lastYear) {
+            long firstEpochDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+            int days = (int) (LocalDate.of(lastYear + 1, 1, 1).toEpochDay() - firstEpochDay);
+            long[] bits = new long[(days + 63) >>> 6];
+            byte[] codes = new byte[32 * (lastYear - firstYear + 1)];
+            int count = 0;
+            int offset = 0;
+            for (int year = firstYear; year <= lastYear; ++year) {
+                byte[] yearCodes = computeYear(year);
+                for (int day = 0; day < yearCodes.length; ++day) {
+                    if (yearCodes[day] != 0) {
+                        int i = offset + day;
+                        bits[i >>> 6] |= 1L << i;
+                        if (count == codes.length) {
+                            codes = Arrays.copyOf(codes, count * 2);
+                        }
+                        codes[count++] = yearCodes[day];
+                    }
+                }
+                offset += yearCodes.length;
+            }
+            int[] ranks = new int[bits.length];
+            int rank = 0;
+            for (int w = 0; w < bits.length; ++w) {
+                ranks[w] = rank;
+                rank += Long.bitCount(bits[w]);
+            }
+            return new Table(firstYear, lastYear, bits, ranks, Arrays.copyOf(codes, count));
+        }
+
+        /**
+         * 指定された位置の日が休日かどうかを返します。
+         *
+         * @param offset 最初の年の1月1日からの日数
+         * @return 休日の場合は {@code true}
+         */
+        boolean contains(int offset) {
+            return (bits[offset >>> 6] & (1L << offset)) != 0;
+        }
+
+        /**
+         * 指定された位置の日の休日の種類を返します。
+         *
+         * @param offset 最初の年の1月1日からの日数
+         * @return 休日の種類。休日でない場合は {@code null}
+         */
+        JapaneseHoliday get(int offset) {
+            long word = bits[offset >>> 6];
+            long mask = 1L << offset;
+            if ((word & mask) == 0) {
+                return null;
+            }
+            int rank = ranks[offset >>> 6] + Long.bitCount(word & (mask - 1));
+            return HOLIDAYS[codes[rank] - 1];
+        }
+
+    }
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static java.time.temporal.ChronoField.*;
+
+import java.time.DateTimeException;
+
+/**
+ * エポック日と ISO の年月日の相互変換。
+ * <p>
+ * {@link java.time.LocalDate} と同じ計算をオブジェクトを生成せずに行います。
+ * 年月日は {@code year << 9 | month << 5 | day} の形式の {@code int} にまとめて返します。
+ * 年は正の値に限られ、まとめた値は符号なし整数として扱います。
+ *
+ * @author GLAD!!
+ */
+final class EpochDays {
+
+    // ---- constants
+
+    /**
+     * 400年の周期の日数。
+     */
+    static final int DAYS_PER_CYCLE = 146097;
+
+    /**
+     * 0000-01-01 から 1970-01-01 までの日数。
+     */
+    static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+
+    // ---- constructors
+
+    private EpochDays() {
+    }
+
+    // ---- packed dates
+
+    /**
+     * エポック日を年月日に変換します。
+     *
+     * @param epochDay エポック日
+     * @return まとめた年月日
+     */
+    static int toPackedDate(long epochDay) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970;
+        // 3月1日を年の始まりとし、うるう日を年の終わりに置く
+        zeroDay -= 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            --yearEst;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;
+        int marchDoy0 = (int) doyEst;
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int day = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        int year = (int) (yearEst + marchMonth0 / 10);
+        return pack(year, month, day);
+    }
+
+    /**
+     * 年月日をまとめます。
+     *
+     * @param year  年
+     * @param month 月
+     * @param day   日
+     * @return まとめた年月日
+     */
+    static int pack(int year, int month, int day) {
+        return year << 9 | month << 5 | day;
+    }
+
+    /**
+     * まとめた年月日の年を返します。
+     *
+     * @param packed まとめた年月日
+     * @return 年
+     */
+    static int year(int packed) {
+        return packed >>> 9;
+    }
+
+    /**
+     * まとめた年月日の月を返します。
+     *
+     * @param packed まとめた年月日
+     * @return 月
+     */
+    static int month(int packed) {
+        return (packed >>> 5) & 0x0f;
+    }
+
+    /**
+     * まとめた年月日の日を返します。
+     *
+     * @param packed まとめた年月日
+     * @return 日
+     */
+    static int day(int packed) {
+        return packed & 0x1f;
+    }
+
+    // ---- epoch days
+
+    /**
+     * 年月日をエポック日に変換します。
+     *
+     * @param year  年
+     * @param month 月
+     * @param day   日
+     * @return エポック日
+     * @throws DateTimeException 年月日が不正な場合
+     */
+    static long of(int year, int month, int day) {
+        MONTH_OF_YEAR.checkValidValue(month);
+        DAY_OF_MONTH.checkValidValue(day);
+        if (day > 28 && day > lengthOfMonth(year, month)) {
+            throw new DateTimeException(String.format(
+                    "Invalid date: %d-%02d-%02d", year, month, day));
+        }
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * 年と年内の日をエポック日に変換します。
+     *
+     * @param year      年
+     * @param dayOfYear 年内の日
+     * @return エポック日
+     * @throws DateTimeException 年内の日が不正な場合
+     */
+    static long ofYearDay(int year, int dayOfYear) {
+        DAY_OF_YEAR.checkValidValue(dayOfYear);
+        if (dayOfYear == 366 && !isLeapYear(year)) {
+            throw new DateTimeException(
+                    "Invalid date 'DayOfYear 366' as '" + year + "' is not a leap year");
+        }
+        return toEpochDay(year, 1, 1) + dayOfYear - 1;
+    }
+
+    /**
+     * 検証済みの年月日をエポック日に変換します。
+     *
+     * @param year  年
+     * @param month 月
+     * @param day   日
+     * @return エポック日
+     */
+    static long toEpochDay(int year, int month, int day) {
+        long y = year;
+        long m = month;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367 * m - 362) / 12;
+        total += day - 1;
+        if (m > 2) {
+            --total;
+            if (!isLeapYear(year)) {
+                --total;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    // ---- calendar rules
+
+    /**
+     * うるう年かどうかを返します。
+     *
+     * @param year 年
+     * @return うるう年の場合は {@code true}
+     */
+    static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * 月の日数を返します。
+     *
+     * @param year  年
+     * @param month 月
+     * @return 月の日数
+     */
+    static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static java.time.temporal.ChronoField.*;
+
+import java.time.DateTimeException;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAdjuster;
+
+/**
+ * 元号の境界への調整。
+ * <p>
+ * 元号の最初の日と最後の日、和暦年の最初の日と最後の日、次の元号の適用開始日に調整する
+ * {@link TemporalAdjuster} を提供します。
+ * 境界は {@link JapaneseEras} が構築時に求めた表から引くため、
+ * {@link JapaneseEra#getSince()} をたどったり {@link java.time.LocalDate} を経由したりしません。
+ * <p>
+ * 和暦年は元号の適用開始日から始まるため、元号の最初の年は1月1日から始まりません。
+ * たとえば昭和元年は1926年12月25日から12月31日までの7日間です。
+ * <p>
+ * 調整する日付はエポック日を持つ日付であれば、{@link JapaneseDate} 以外でも構いません。
+ * {@link JapaneseDate} の場合は共有インスタンスを返します。
+ * 結果が扱うことのできる範囲外の場合は {@link DateTimeException} をスローします。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseAdjusters {
+
+    // ---- constructors
+
+    private JapaneseAdjusters() {
+    }
+
+    // ---- adjusters
+
+    /**
+     * 元号の最初の日に調整します。
+     * <p>
+     * 明治は {@link JapaneseDate} の扱うことのできる最初の日（明治6年1月1日）に調整します。
+     *
+     * @return 調整
+     */
+    public static TemporalAdjuster firstDayOfEra() {
+        return JapaneseAdjusters::firstDayOfEra;
+    }
+
+    /**
+     * 元号の最後の日に調整します。
+     * <p>
+     * 最後の元号は {@link JapaneseDate} の扱うことのできる最後の日に調整します。
+     *
+     * @return 調整
+     */
+    public static TemporalAdjuster lastDayOfEra() {
+        return JapaneseAdjusters::lastDayOfEra;
+    }
+
+    /**
+     * 和暦年の最初の日に調整します。
+     * <p>
+     * 元号の最初の年は元号の適用開始日、それ以外の年は1月1日に調整します。
+     *
+     * @return 調整
+     */
+    public static TemporalAdjuster firstDayOfEraYear() {
+        return JapaneseAdjusters::firstDayOfEraYear;
+    }
+
+    /**
+     * 和暦年の最後の日に調整します。
+     * <p>
+     * 元号の最後の年は次の元号の適用開始日の前日、それ以外の年は12月31日に調整します。
+     *
+     * @return 調整
+     */
+    public static TemporalAdjuster lastDayOfEraYear() {
+        return JapaneseAdjusters::lastDayOfEraYear;
+    }
+
+    /**
+     * 次の元号の適用開始日に調整します。
+     * <p>
+     * 最後の元号の日付には {@link DateTimeException} をスローします。
+     *
+     * @return 調整
+     */
+    public static TemporalAdjuster nextEraBoundary() {
+        return JapaneseAdjusters::nextEraBoundary;
+    }
+
+    // ---- implementations
+
+    static Temporal firstDayOfEra(Temporal temporal) {
+        long epochDay = temporal.getLong(EPOCH_DAY);
+        JapaneseEras eras = JapaneseEras.current();
+        return withEpochDay(temporal, eras.firstDayOfEra(eras.indexOf(epochDay)));
+    }
+
+    static Temporal lastDayOfEra(Temporal temporal) {
+        long epochDay = temporal.getLong(EPOCH_DAY);
+        JapaneseEras eras = JapaneseEras.current();
+        return withEpochDay(temporal, eras.lastDayOfEra(eras.indexOf(epochDay)));
+    }
+
+    static Temporal firstDayOfEraYear(Temporal temporal) {
+        long epochDay = temporal.getLong(EPOCH_DAY);
+        JapaneseEras eras = JapaneseEras.current();
+        return withEpochDay(temporal, eras.firstDayOfEraYear(eras.indexOf(epochDay), epochDay));
+    }
+
+    static Temporal lastDayOfEraYear(Temporal temporal) {
+        long epochDay = temporal.getLong(EPOCH_DAY);
+        JapaneseEras eras = JapaneseEras.current();
+        return withEpochDay(temporal, eras.lastDayOfEraYear(eras.indexOf(epochDay), epochDay));
+    }
+
+    static Temporal nextEraBoundary(Temporal temporal) {
+        long epochDay = temporal.getLong(EPOCH_DAY);
+        JapaneseEras eras = JapaneseEras.current();
+        long nextSinceDay = eras.nextSinceDay(eras.indexOf(epochDay));
+        if (nextSinceDay == Long.MAX_VALUE) {
+            throw new DateTimeException("No era after " + eras.get(epochDay));
+        }
+        return withEpochDay(temporal, nextSinceDay);
+    }
+
+    static Temporal withEpochDay(Temporal temporal, long epochDay) {
+        if (temporal instanceof JapaneseDate) {
+            return JapaneseDate.ofEpochDay(epochDay);
+        }
+        return temporal.with(EPOCH_DAY, epochDay);
+    }
+
+}
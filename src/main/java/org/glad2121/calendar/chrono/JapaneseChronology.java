@@ -21,18 +21,19 @@ import java.time.Clock;
 import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.Year;
 import java.time.ZoneId;
 import java.time.chrono.AbstractChronology;
 import java.time.chrono.ChronoLocalDateTime;
 import java.time.chrono.ChronoZonedDateTime;
 import java.time.chrono.Era;
 import java.time.chrono.IsoChronology;
+import java.time.format.ResolverStyle;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
-import java.time.temporal.UnsupportedTemporalTypeException;
+import java.time.temporal.TemporalField;
 import java.time.temporal.ValueRange;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 和暦。
@@ -98,12 +99,12 @@ public class JapaneseChronology extends AbstractChronology
 
     @Override
     public JapaneseDate dateYearDay(int prolepticYear, int dayOfYear) {
-        return new JapaneseDate(LocalDate.ofYearDay(prolepticYear, dayOfYear));
+        return JapaneseDate.ofEpochDay(EpochDays.ofYearDay(prolepticYear, dayOfYear));
     }
 
     @Override
     public JapaneseDate dateEpochDay(long epochDay) {
-        return new JapaneseDate(LocalDate.ofEpochDay(epochDay));
+        return JapaneseDate.ofEpochDay(epochDay);
     }
 
     @Override
@@ -111,7 +112,7 @@ public class JapaneseChronology extends AbstractChronology
         if (temporal instanceof JapaneseDate) {
             return (JapaneseDate) temporal;
         }
-        return new JapaneseDate(LocalDate.from(temporal));
+        return JapaneseDate.ofEpochDay(LocalDate.from(temporal).toEpochDay());
     }
 
     @Override
@@ -144,15 +145,8 @@ public class JapaneseChronology extends AbstractChronology
         if (!(era instanceof JapaneseEra)) {
             throw new ClassCastException("Invalid era: " + era);
         }
-        JapaneseEra jera = (JapaneseEra) era;
-        if (yearOfEra <= 0) {
-            throw new DateTimeException("Invalid yearOfEra: " + yearOfEra);
-        }
-        int year = jera.getSince().getYear() + yearOfEra - 1;
-        if (year < JapaneseDate.START_DATE.getYear() || Year.MAX_VALUE < year) {
-            throw new DateTimeException("Invalid proleptic year: " + year);
-        }
-        return year;
+        JapaneseEras eras = JapaneseEras.current();
+        return eras.prolepticYear(eras.checkIndex(era.getValue()), yearOfEra);
     }
 
     @Override
@@ -163,15 +157,15 @@ public class JapaneseChronology extends AbstractChronology
     @Override
     @SuppressWarnings("unchecked")
     public List<Era> eras() {
-        return List.class.cast(JapaneseEras.INSTANCE.getEras());
+        return List.class.cast(JapaneseEras.current().getEras());
     }
 
     JapaneseEra getFirstEra() {
-        return JapaneseEras.INSTANCE.get(0);
+        return JapaneseEras.current().getByIndex(0);
     }
 
     JapaneseEra getCurrentEra() {
-        List<JapaneseEra> eras = JapaneseEras.INSTANCE.getEras();
+        List<JapaneseEra> eras = JapaneseEras.current().getEras();
         return eras.get(eras.size() - 1);
     }
 
@@ -180,22 +174,73 @@ public class JapaneseChronology extends AbstractChronology
     @Override
     public ValueRange range(ChronoField field) {
         switch (field) {
-            case ALIGNED_DAY_OF_WEEK_IN_MONTH:
-            case ALIGNED_DAY_OF_WEEK_IN_YEAR:
-            case ALIGNED_WEEK_OF_MONTH:
-            case ALIGNED_WEEK_OF_YEAR:
-                throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
             case YEAR:
-                ValueRange.of(JapaneseDate.START_DATE.getYear(), Year.MAX_VALUE);
+                return ValueRange.of(JapaneseDate.START_DATE.getYear(), JapaneseDate.MAX_DATE.getYear());
             case YEAR_OF_ERA:
-                ValueRange.of(1, Year.MAX_VALUE - getFirstEra().getSince().getYear() + 1);
+                return ValueRange.of(1, JapaneseDate.MAX_DATE.getYear() - getFirstEra().getSince().getYear() + 1);
             case ERA:
-                ValueRange.of(getFirstEra().getValue(), getCurrentEra().getValue());
+                return ValueRange.of(getFirstEra().getValue(), getCurrentEra().getValue());
+            case PROLEPTIC_MONTH:
+                return ValueRange.of(JapaneseDate.START_DATE.getYear() * 12L,
+                        JapaneseDate.MAX_DATE.getYear() * 12L + 11);
+            case EPOCH_DAY:
+                return ValueRange.of(JapaneseDate.START_EPOCH_DAY, JapaneseDate.MAX_EPOCH_DAY);
             default:
                 return field.range();
         }
     }
 
+    // ---- resolving
+
+    /**
+     * 解析したフィールドから日付を解決します。
+     * <p>
+     * 元号、和暦年、月、日の組は、元号の境界の表を使って一定時間で解決します。
+     * <ul>
+     * <li>{@code STRICT} - 元号の期間外の日付（例: 明治45年7月30日）と、月の日数を超える日を不正とします。</li>
+     * <li>{@code SMART} - 日が月の日数を超える場合は月末日とします。
+     * 元号の期間外の日付は、元号が変わる年の中に限り認めます（例: 昭和64年1月8日は平成元年1月8日）。</li>
+     * <li>{@code LENIENT} - 和暦年は元号の適用開始年からの年数、月と日は1月1日からの月数と日数とします。</li>
+     * </ul>
+     * 西暦年やエポック日などを含むそれ以外の組は、{@link AbstractChronology} の規則で解決します。
+     *
+     * @param fieldValues   フィールドの値（解決したフィールドは取り除きます）
+     * @param resolverStyle 解決の方式
+     * @return 日付。解決できない場合は {@code null}
+     * @throws DateTimeException 日付が不正な場合
+     */
+    @Override
+    public JapaneseDate resolveDate(Map<TemporalField, Long> fieldValues, ResolverStyle resolverStyle) {
+        Long era = fieldValues.get(ChronoField.ERA);
+        Long yearOfEra = fieldValues.get(ChronoField.YEAR_OF_ERA);
+        Long month = fieldValues.get(ChronoField.MONTH_OF_YEAR);
+        Long day = fieldValues.get(ChronoField.DAY_OF_MONTH);
+        if (era == null || yearOfEra == null || month == null || day == null
+                || fieldValues.containsKey(ChronoField.EPOCH_DAY)
+                || fieldValues.containsKey(ChronoField.PROLEPTIC_MONTH)
+                || fieldValues.containsKey(ChronoField.YEAR)) {
+            return (JapaneseDate) super.resolveDate(fieldValues, resolverStyle);
+        }
+        JapaneseEras eras = JapaneseEras.current();
+        int index = eras.checkIndex(range(ChronoField.ERA).checkValidIntValue(era, ChronoField.ERA));
+        long epochDay;
+        if (resolverStyle == ResolverStyle.LENIENT) {
+            epochDay = eras.toEpochDayLenient(index, yearOfEra, month, day);
+        } else {
+            int y = range(ChronoField.YEAR_OF_ERA).checkValidIntValue(yearOfEra, ChronoField.YEAR_OF_ERA);
+            int m = ChronoField.MONTH_OF_YEAR.checkValidIntValue(month);
+            int d = ChronoField.DAY_OF_MONTH.checkValidIntValue(day);
+            epochDay = (resolverStyle == ResolverStyle.STRICT)
+                    ? eras.toEpochDay(index, y, m, d) : eras.toEpochDaySmart(index, y, m, d);
+        }
+        JapaneseDate date = JapaneseDate.ofEpochDay(JapaneseDate.checkEpochDay(epochDay));
+        fieldValues.remove(ChronoField.ERA);
+        fieldValues.remove(ChronoField.YEAR_OF_ERA);
+        fieldValues.remove(ChronoField.MONTH_OF_YEAR);
+        fieldValues.remove(ChronoField.DAY_OF_MONTH);
+        return date;
+    }
+
     private Object readResolve() throws ObjectStreamException {
         return INSTANCE;
     }
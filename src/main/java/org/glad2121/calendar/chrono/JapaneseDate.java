@@ -15,6 +15,10 @@
  */
 package org.glad2121.calendar.chrono;
 
+import static java.time.temporal.ChronoField.*;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Clock;
 import java.time.DateTimeException;
@@ -22,13 +26,19 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.chrono.ChronoLocalDate;
 import java.time.chrono.ChronoPeriod;
+import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalAmount;
 import java.time.temporal.TemporalField;
 import java.time.temporal.TemporalUnit;
 import java.time.temporal.UnsupportedTemporalTypeException;
+import java.time.temporal.ValueRange;
 import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 和暦の日付。
@@ -37,7 +47,7 @@ import java.util.Objects;
  */
 public class JapaneseDate implements ChronoLocalDate, Serializable {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
     // ---- constants
 
@@ -46,90 +56,144 @@ public class JapaneseDate implements ChronoLocalDate, Serializable {
      */
     static final LocalDate START_DATE = LocalDate.of(1873, 1, 1);
 
-    // ---- fields
+    /**
+     * 扱うことのできる最後の日（エポック日を {@code int} で保持できる最後の年の末日）。
+     */
+    static final LocalDate MAX_DATE =
+            LocalDate.ofEpochDay(Integer.MAX_VALUE).withDayOfYear(1).minusDays(1);
 
     /**
-     * ISO ローカル日付。
+     * {@link #START_DATE} のエポック日。
      */
-    private final LocalDate isoDate;
+    static final long START_EPOCH_DAY = START_DATE.toEpochDay();
 
     /**
-     * 元号。
+     * {@link #MAX_DATE} のエポック日。
      */
-    private transient JapaneseEra era;
+    static final long MAX_EPOCH_DAY = MAX_DATE.toEpochDay();
+
+    // ---- fields
 
     /**
-     * 和暦年。
+     * エポック日。
+     * <p>
+     * 元号、和暦年、月、日はこの値から都度求めます。
      */
-    private transient int yearOfEra;
+    private final int epochDay;
 
     // ---- constructors
 
     /**
      * オブジェクトを構築します。
      *
-     * @param isoDate ISO ローカル日付
+     * @param epochDay エポック日
      */
-    JapaneseDate(LocalDate isoDate) {
-        if (isoDate.isBefore(START_DATE)) {
-            throw new DateTimeException(
-                    "JapaneseDate before Meiji 6 is not supported");
-        }
-        this.isoDate = isoDate;
-        this.era = JapaneseEras.INSTANCE.get(isoDate);
-        this.yearOfEra = isoDate.getYear() - era.getSince().getYear() + 1;
+    JapaneseDate(long epochDay) {
+        this.epochDay = (int) checkEpochDay(epochDay);
     }
 
     /**
      * オブジェクトを構築します。
      *
-     * @param era     元号
-     * @param year    和暦年
      * @param isoDate ISO ローカル日付
      */
-    JapaneseDate(JapaneseEra era, int year, LocalDate isoDate) {
-        if (isoDate.isBefore(START_DATE)) {
+    JapaneseDate(LocalDate isoDate) {
+        this(isoDate.toEpochDay());
+    }
+
+    // ---- static methods
+
+    /**
+     * エポック日が扱うことのできる範囲内であることを検査します。
+     *
+     * @param epochDay エポック日
+     * @return エポック日
+     * @throws DateTimeException 範囲外の場合
+     */
+    static long checkEpochDay(long epochDay) {
+        if (epochDay < START_EPOCH_DAY) {
             throw new DateTimeException(
                     "JapaneseDate before Meiji 6 is not supported");
         }
-        this.era = era;
-        this.yearOfEra = year;
-        this.isoDate = isoDate;
+        if (epochDay > MAX_EPOCH_DAY) {
+            throw new DateTimeException(
+                    "JapaneseDate after " + MAX_DATE + " is not supported");
+        }
+        return epochDay;
     }
 
-    // ---- static methods
-
+    /**
+     * システムの時計とデフォルトのタイムゾーンによる今日の日付を返します。
+     *
+     * @return 今日の日付
+     * @see JapaneseToday
+     */
     public static JapaneseDate now() {
-        return now(Clock.systemDefaultZone());
+        return now(ZoneId.systemDefault());
     }
 
+    /**
+     * システムの時計と指定されたタイムゾーンによる今日の日付を返します。
+     * <p>
+     * タイムゾーンごとに今日の日付を保持しておき、日付が変わるまではそれを返します。
+     *
+     * @param zone タイムゾーン
+     * @return 今日の日付
+     * @see JapaneseToday
+     */
     public static JapaneseDate now(ZoneId zone) {
-        return now(Clock.system(zone));
+        return JapaneseToday.of(zone).get();
     }
 
+    /**
+     * 指定された時計による今日の日付を返します。
+     * <p>
+     * 繰り返し呼び出す場合は、{@link JapaneseToday#of(Clock)} を使うと日付を保持しておけます。
+     *
+     * @param clock 時計
+     * @return 今日の日付
+     */
     public static JapaneseDate now(Clock clock) {
-        return new JapaneseDate(LocalDate.now(clock));
+        return ofEpochDay(LocalDate.now(clock).toEpochDay());
     }
 
     public static JapaneseDate of(
             JapaneseEra era, int yearOfEra, int month, int dayOfMonth) {
         Objects.requireNonNull(era, "era");
-        int year = JapaneseChronology.INSTANCE.prolepticYear(era, yearOfEra);
-        LocalDate date = LocalDate.of(year, month, dayOfMonth);
-        return new JapaneseDate(era, yearOfEra, date);
+        JapaneseEras eras = JapaneseEras.current();
+        return ofEpochDay(eras.toEpochDay(eras.checkIndex(era.getValue()), yearOfEra, month, dayOfMonth));
     }
 
     public static JapaneseDate of(
             int prolepticYear, int month, int dayOfMonth) {
-        return new JapaneseDate(LocalDate.of(prolepticYear, month, dayOfMonth));
+        YEAR.checkValidValue(prolepticYear);
+        return ofEpochDay(EpochDays.of(prolepticYear, month, dayOfMonth));
     }
 
     static JapaneseDate ofYearDay(
             JapaneseEra era, int yearOfEra, int dayOfYear) {
         Objects.requireNonNull(era, "era");
-        int year = JapaneseChronology.INSTANCE.prolepticYear(era, yearOfEra);
-        LocalDate date = LocalDate.ofYearDay(year, dayOfYear);
-        return new JapaneseDate(era, yearOfEra, date);
+        JapaneseEras eras = JapaneseEras.current();
+        int index = eras.checkIndex(era.getValue());
+        long epochDay = EpochDays.ofYearDay(eras.prolepticYear(index, yearOfEra), dayOfYear);
+        if (!eras.contains(index, epochDay)) {
+            throw new DateTimeException("Date is not in era " + era.getName() + ": "
+                    + yearOfEra + ", day of year " + dayOfYear);
+        }
+        return ofEpochDay(epochDay);
+    }
+
+    /**
+     * 指定されたエポック日の日付を返します。
+     * <p>
+     * {@link JapaneseDateCache} を有効にした場合、窓の中の日付は共有インスタンスを返します。
+     * 日付を生成するファクトリ、計算、調整の結果はすべてこのメソッドを通ります。
+     *
+     * @param epochDay エポック日
+     * @return 日付
+     */
+    static JapaneseDate ofEpochDay(long epochDay) {
+        return JapaneseDateCache.get(epochDay);
     }
 
     public static JapaneseDate from(TemporalAccessor temporal) {
@@ -145,57 +209,541 @@ public class JapaneseDate implements ChronoLocalDate, Serializable {
 
     @Override
     public JapaneseEra getEra() {
-        return era;
+        JapaneseEras eras = JapaneseEras.current();
+        return eras.getByIndex(eras.indexOf(epochDay));
     }
 
     public int getYearOfEra() {
-        return yearOfEra;
+        JapaneseEras eras = JapaneseEras.current();
+        return eras.yearOfEra(eras.indexOf(epochDay), getProlepticYear());
+    }
+
+    int getProlepticYear() {
+        return EpochDays.year(EpochDays.toPackedDate(epochDay));
     }
 
     public int getMonthValue() {
-        return isoDate.getMonthValue();
+        return EpochDays.month(EpochDays.toPackedDate(epochDay));
     }
 
     public int getDayOfMonth() {
-        return isoDate.getDayOfMonth();
+        return EpochDays.day(EpochDays.toPackedDate(epochDay));
+    }
+
+    public int getDayOfYear() {
+        return getDayOfYear(EpochDays.toPackedDate(epochDay));
+    }
+
+    @Override
+    public boolean isLeapYear() {
+        return EpochDays.isLeapYear(getProlepticYear());
     }
 
     @Override
     public int lengthOfMonth() {
-        return isoDate.lengthOfMonth();
+        int packed = EpochDays.toPackedDate(epochDay);
+        return EpochDays.lengthOfMonth(EpochDays.year(packed), EpochDays.month(packed));
+    }
+
+    /**
+     * ISO ローカル日付に変換します。
+     *
+     * @return ISO ローカル日付
+     */
+    LocalDate toLocalDate() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    long getProlepticMonth() {
+        int packed = EpochDays.toPackedDate(epochDay);
+        return EpochDays.year(packed) * 12L + EpochDays.month(packed) - 1;
+    }
+
+    // ---- arithmetic
+
+    /**
+     * 指定された日数を加算した日付を返します。
+     *
+     * @param daysToAdd 加算する日数
+     * @return 日付
+     */
+    public JapaneseDate plusDays(long daysToAdd) {
+        if (daysToAdd == 0) {
+            return this;
+        }
+        return ofEpochDay(Math.addExact(epochDay, daysToAdd));
+    }
+
+    /**
+     * 指定された週数を加算した日付を返します。
+     *
+     * @param weeksToAdd 加算する週数
+     * @return 日付
+     */
+    public JapaneseDate plusWeeks(long weeksToAdd) {
+        return plusDays(Math.multiplyExact(weeksToAdd, 7));
+    }
+
+    /**
+     * 指定された月数を加算した日付を返します。
+     * <p>
+     * 日が月の日数を超える場合は月末日に調整します。
+     *
+     * @param monthsToAdd 加算する月数
+     * @return 日付
+     */
+    public JapaneseDate plusMonths(long monthsToAdd) {
+        if (monthsToAdd == 0) {
+            return this;
+        }
+        int packed = EpochDays.toPackedDate(epochDay);
+        long monthCount = EpochDays.year(packed) * 12L + (EpochDays.month(packed) - 1);
+        long calcMonths = monthCount + monthsToAdd;
+        int newYear = YEAR.checkValidIntValue(Math.floorDiv(calcMonths, 12));
+        int newMonth = (int) Math.floorMod(calcMonths, 12) + 1;
+        return resolvePreviousValid(newYear, newMonth, EpochDays.day(packed));
+    }
+
+    /**
+     * 指定された年数を加算した日付を返します。
+     * <p>
+     * 日が月の日数を超える場合は月末日に調整します。
+     *
+     * @param yearsToAdd 加算する年数
+     * @return 日付
+     */
+    public JapaneseDate plusYears(long yearsToAdd) {
+        if (yearsToAdd == 0) {
+            return this;
+        }
+        int packed = EpochDays.toPackedDate(epochDay);
+        int newYear = YEAR.checkValidIntValue(EpochDays.year(packed) + yearsToAdd);
+        return resolvePreviousValid(newYear, EpochDays.month(packed), EpochDays.day(packed));
+    }
+
+    /**
+     * 指定された日数を減算した日付を返します。
+     *
+     * @param daysToSubtract 減算する日数
+     * @return 日付
+     */
+    public JapaneseDate minusDays(long daysToSubtract) {
+        return daysToSubtract == Long.MIN_VALUE
+                ? plusDays(Long.MAX_VALUE).plusDays(1) : plusDays(-daysToSubtract);
+    }
+
+    /**
+     * 指定された週数を減算した日付を返します。
+     *
+     * @param weeksToSubtract 減算する週数
+     * @return 日付
+     */
+    public JapaneseDate minusWeeks(long weeksToSubtract) {
+        return weeksToSubtract == Long.MIN_VALUE
+                ? plusWeeks(Long.MAX_VALUE).plusWeeks(1) : plusWeeks(-weeksToSubtract);
+    }
+
+    /**
+     * 指定された月数を減算した日付を返します。
+     *
+     * @param monthsToSubtract 減算する月数
+     * @return 日付
+     */
+    public JapaneseDate minusMonths(long monthsToSubtract) {
+        return monthsToSubtract == Long.MIN_VALUE
+                ? plusMonths(Long.MAX_VALUE).plusMonths(1) : plusMonths(-monthsToSubtract);
+    }
+
+    /**
+     * 指定された年数を減算した日付を返します。
+     *
+     * @param yearsToSubtract 減算する年数
+     * @return 日付
+     */
+    public JapaneseDate minusYears(long yearsToSubtract) {
+        return yearsToSubtract == Long.MIN_VALUE
+                ? plusYears(Long.MAX_VALUE).plusYears(1) : plusYears(-yearsToSubtract);
+    }
+
+    @Override
+    public JapaneseDate plus(long amountToAdd, TemporalUnit unit) {
+        if (unit instanceof ChronoUnit) {
+            switch ((ChronoUnit) unit) {
+            case DAYS:
+                return plusDays(amountToAdd);
+            case WEEKS:
+                return plusWeeks(amountToAdd);
+            case MONTHS:
+                return plusMonths(amountToAdd);
+            case YEARS:
+                return plusYears(amountToAdd);
+            case DECADES:
+                return plusYears(Math.multiplyExact(amountToAdd, 10));
+            case CENTURIES:
+                return plusYears(Math.multiplyExact(amountToAdd, 100));
+            case MILLENNIA:
+                return plusYears(Math.multiplyExact(amountToAdd, 1000));
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+            }
+        }
+        return (JapaneseDate) ChronoLocalDate.super.plus(amountToAdd, unit);
+    }
+
+    @Override
+    public JapaneseDate plus(TemporalAmount amount) {
+        return (JapaneseDate) ChronoLocalDate.super.plus(amount);
+    }
+
+    @Override
+    public JapaneseDate minus(long amountToSubtract, TemporalUnit unit) {
+        return amountToSubtract == Long.MIN_VALUE
+                ? plus(Long.MAX_VALUE, unit).plus(1, unit) : plus(-amountToSubtract, unit);
+    }
+
+    @Override
+    public JapaneseDate minus(TemporalAmount amount) {
+        return (JapaneseDate) ChronoLocalDate.super.minus(amount);
+    }
+
+    // ---- adjustment
+
+    /**
+     * 和暦年を変更した日付を返します。
+     * <p>
+     * 元号、月、日はそのままです。日が月の日数を超える場合は月末日に調整します。
+     *
+     * @param yearOfEra 和暦年
+     * @return 日付
+     * @throws DateTimeException 日付が元号の期間外の場合（例: 明治45年7月29日の和暦年を46年に変更）
+     */
+    public JapaneseDate withYearOfEra(int yearOfEra) {
+        int packed = EpochDays.toPackedDate(epochDay);
+        JapaneseEras eras = JapaneseEras.current();
+        int index = eras.indexOf(epochDay);
+        return resolvePreviousValid(eras, index, yearOfEra, EpochDays.month(packed), EpochDays.day(packed));
+    }
+
+    /**
+     * 元号を変更した日付を返します。
+     * <p>
+     * 和暦年、月、日はそのままです。日が月の日数を超える場合は月末日に調整します。
+     *
+     * @param era 元号
+     * @return 日付
+     * @throws DateTimeException 日付が元号の期間外の場合（例: 平成元年1月8日の元号を昭和に変更）
+     */
+    public JapaneseDate withEra(JapaneseEra era) {
+        Objects.requireNonNull(era, "era");
+        int packed = EpochDays.toPackedDate(epochDay);
+        JapaneseEras eras = JapaneseEras.current();
+        int index = eras.indexOf(epochDay);
+        if (eras.getByIndex(index) == era) {
+            return this;
+        }
+        int yearOfEra = eras.yearOfEra(index, EpochDays.year(packed));
+        return resolvePreviousValid(eras, eras.checkIndex(era.getValue()), yearOfEra,
+                EpochDays.month(packed), EpochDays.day(packed));
+    }
+
+    /**
+     * 西暦年を変更した日付を返します。
+     *
+     * @param year 西暦年
+     * @return 日付
+     */
+    public JapaneseDate withYear(int year) {
+        YEAR.checkValidValue(year);
+        int packed = EpochDays.toPackedDate(epochDay);
+        return resolvePreviousValid(year, EpochDays.month(packed), EpochDays.day(packed));
+    }
+
+    /**
+     * 月を変更した日付を返します。
+     *
+     * @param month 月
+     * @return 日付
+     */
+    public JapaneseDate withMonth(int month) {
+        MONTH_OF_YEAR.checkValidValue(month);
+        int packed = EpochDays.toPackedDate(epochDay);
+        return resolvePreviousValid(EpochDays.year(packed), month, EpochDays.day(packed));
+    }
+
+    /**
+     * 日を変更した日付を返します。
+     *
+     * @param dayOfMonth 日
+     * @return 日付
+     */
+    public JapaneseDate withDayOfMonth(int dayOfMonth) {
+        int packed = EpochDays.toPackedDate(epochDay);
+        return ofEpochDay(EpochDays.of(EpochDays.year(packed), EpochDays.month(packed), dayOfMonth));
+    }
+
+    /**
+     * 年内の日を変更した日付を返します。
+     *
+     * @param dayOfYear 年内の日
+     * @return 日付
+     */
+    public JapaneseDate withDayOfYear(int dayOfYear) {
+        return ofEpochDay(EpochDays.ofYearDay(getProlepticYear(), dayOfYear));
+    }
+
+    @Override
+    public JapaneseDate with(TemporalField field, long newValue) {
+        if (field instanceof ChronoField) {
+            ChronoField f = (ChronoField) field;
+            int packed = EpochDays.toPackedDate(epochDay);
+            int day = EpochDays.day(packed);
+            switch (f) {
+            case DAY_OF_WEEK:
+                DAY_OF_WEEK.checkValidValue(newValue);
+                return plusDays(newValue - (Math.floorMod(epochDay + 3, 7) + 1));
+            case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+                f.checkValidValue(newValue);
+                return plusDays(newValue - ((day - 1) % 7 + 1));
+            case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+                f.checkValidValue(newValue);
+                return plusDays(newValue - ((getDayOfYear(packed) - 1) % 7 + 1));
+            case DAY_OF_MONTH:
+                return withDayOfMonth((int) newValue);
+            case DAY_OF_YEAR:
+                return withDayOfYear((int) newValue);
+            case EPOCH_DAY:
+                return ofEpochDay(newValue);
+            case ALIGNED_WEEK_OF_MONTH:
+                f.checkValidValue(newValue);
+                return plusWeeks(newValue - ((day - 1) / 7 + 1));
+            case ALIGNED_WEEK_OF_YEAR:
+                f.checkValidValue(newValue);
+                return plusWeeks(newValue - ((getDayOfYear(packed) - 1) / 7 + 1));
+            case MONTH_OF_YEAR:
+                return withMonth((int) newValue);
+            case PROLEPTIC_MONTH:
+                f.checkValidValue(newValue);
+                return plusMonths(newValue - getProlepticMonth());
+            case YEAR_OF_ERA:
+                return withYearOfEra(Math.toIntExact(newValue));
+            case YEAR:
+                return withYear(YEAR.checkValidIntValue(newValue));
+            case ERA:
+                return withEra(JapaneseEra.of(Math.toIntExact(newValue)));
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            }
+        }
+        return (JapaneseDate) ChronoLocalDate.super.with(field, newValue);
+    }
+
+    @Override
+    public JapaneseDate with(TemporalAdjuster adjuster) {
+        return (JapaneseDate) ChronoLocalDate.super.with(adjuster);
+    }
+
+    int getDayOfYear(int packed) {
+        return (int) (epochDay - EpochDays.toEpochDay(EpochDays.year(packed), 1, 1)) + 1;
     }
 
-    // ----
+    /**
+     * 日が月の日数を超える場合は月末日に調整して日付を返します。
+     *
+     * @param year  西暦年
+     * @param month 月
+     * @param day   日
+     * @return 日付
+     */
+    static JapaneseDate resolvePreviousValid(int year, int month, int day) {
+        day = Math.min(day, EpochDays.lengthOfMonth(year, month));
+        return ofEpochDay(EpochDays.toEpochDay(year, month, day));
+    }
+
+    /**
+     * 日が月の日数を超える場合は月末日に調整して、指定された元号の日付を返します。
+     *
+     * @param eras      元号の一覧
+     * @param index     元号のインデックス
+     * @param yearOfEra 和暦年
+     * @param month     月
+     * @param day       日
+     * @return 日付
+     * @throws DateTimeException 日付が元号の期間外の場合
+     */
+    static JapaneseDate resolvePreviousValid(JapaneseEras eras, int index, int yearOfEra, int month, int day) {
+        day = Math.min(day, EpochDays.lengthOfMonth(eras.prolepticYear(index, yearOfEra), month));
+        return ofEpochDay(eras.toEpochDay(index, yearOfEra, month, day));
+    }
+
+    // ---- java.time.temporal.TemporalAccessor
+
+    @Override
+    public ValueRange range(TemporalField field) {
+        if (field instanceof ChronoField) {
+            if (!isSupported(field)) {
+                throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            }
+            ChronoField f = (ChronoField) field;
+            switch (f) {
+            case DAY_OF_MONTH:
+                return ValueRange.of(1, lengthOfMonth());
+            case DAY_OF_YEAR:
+                return ValueRange.of(1, lengthOfYear());
+            case ALIGNED_WEEK_OF_MONTH: {
+                int packed = EpochDays.toPackedDate(epochDay);
+                boolean shortMonth = EpochDays.month(packed) == 2
+                        && !EpochDays.isLeapYear(EpochDays.year(packed));
+                return ValueRange.of(1, shortMonth ? 4 : 5);
+            }
+            case YEAR_OF_ERA: {
+                JapaneseEras eras = JapaneseEras.current();
+                return eras.yearOfEraRange(eras.indexOf(epochDay));
+            }
+            default:
+                return getChronology().range(f);
+            }
+        }
+        return field.rangeRefinedBy(this);
+    }
 
     @Override
     public long getLong(TemporalField field) {
+        if (field instanceof ChronoField) {
+            int packed = EpochDays.toPackedDate(epochDay);
+            switch ((ChronoField) field) {
+            case DAY_OF_WEEK:
+                return Math.floorMod(epochDay + 3, 7) + 1;
+            case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+                return (EpochDays.day(packed) - 1) % 7 + 1;
+            case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+                return (getDayOfYear(packed) - 1) % 7 + 1;
+            case DAY_OF_MONTH:
+                return EpochDays.day(packed);
+            case DAY_OF_YEAR:
+                return getDayOfYear(packed);
+            case EPOCH_DAY:
+                return epochDay;
+            case ALIGNED_WEEK_OF_MONTH:
+                return (EpochDays.day(packed) - 1) / 7 + 1;
+            case ALIGNED_WEEK_OF_YEAR:
+                return (getDayOfYear(packed) - 1) / 7 + 1;
+            case MONTH_OF_YEAR:
+                return EpochDays.month(packed);
+            case PROLEPTIC_MONTH:
+                return EpochDays.year(packed) * 12L + EpochDays.month(packed) - 1;
+            case YEAR_OF_ERA: {
+                JapaneseEras eras = JapaneseEras.current();
+                return eras.yearOfEra(eras.indexOf(epochDay), EpochDays.year(packed));
+            }
+            case YEAR:
+                return EpochDays.year(packed);
+            case ERA:
+                return getEra().getValue();
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            }
+        }
         return field.getFrom(this);
     }
 
+    // ---- periods
+
     @Override
     public long until(Temporal endExclusive, TemporalUnit unit) {
         Objects.requireNonNull(endExclusive, "endExclusive");
         Objects.requireNonNull(unit, "unit");
-        ChronoLocalDate end = getChronology().date(endExclusive);
+        JapaneseDate end = getChronology().date(endExclusive);
         if (!(unit instanceof ChronoUnit)) {
             return unit.between(this, end);
         }
         switch ((ChronoUnit) unit) {
         case DAYS:
+            return end.epochDay - (long) epochDay;
+        case WEEKS:
+            return (end.epochDay - (long) epochDay) / 7;
+        case MONTHS:
+            return monthsUntil(end);
+        case YEARS:
+            return monthsUntil(end) / 12;
+        case DECADES:
+            return monthsUntil(end) / 120;
+        case CENTURIES:
+            return monthsUntil(end) / 1200;
+        case MILLENNIA:
+            return monthsUntil(end) / 12000;
+        case ERAS:
+            return end.getEra().getValue() - getEra().getValue();
         default:
             throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
         }
     }
 
+    long monthsUntil(JapaneseDate end) {
+        int date1 = EpochDays.toPackedDate(epochDay);
+        int date2 = EpochDays.toPackedDate(end.epochDay);
+        long packed1 = (EpochDays.year(date1) * 12L + EpochDays.month(date1)) * 32L + EpochDays.day(date1);
+        long packed2 = (EpochDays.year(date2) * 12L + EpochDays.month(date2)) * 32L + EpochDays.day(date2);
+        return (packed2 - packed1) / 32;
+    }
+
     @Override
     public ChronoPeriod until(ChronoLocalDate endDateExclusive) {
-        // TODO 自動生成されたメソッド・スタブ
-        return null;
+        JapaneseDate end = getChronology().date(endDateExclusive);
+        int packed1 = EpochDays.toPackedDate(epochDay);
+        int packed2 = EpochDays.toPackedDate(end.epochDay);
+        long totalMonths = (EpochDays.year(packed2) * 12L + EpochDays.month(packed2))
+                - (EpochDays.year(packed1) * 12L + EpochDays.month(packed1));
+        int days = EpochDays.day(packed2) - EpochDays.day(packed1);
+        if (totalMonths > 0 && days < 0) {
+            --totalMonths;
+            JapaneseDate calcDate = plusMonths(totalMonths);
+            days = (int) (end.epochDay - (long) calcDate.epochDay);
+        } else if (totalMonths < 0 && days > 0) {
+            ++totalMonths;
+            days -= EpochDays.lengthOfMonth(EpochDays.year(packed2), EpochDays.month(packed2));
+        }
+        int years = Math.toIntExact(totalMonths / 12);
+        int months = (int) (totalMonths % 12);
+        return getChronology().period(years, months, days);
+    }
+
+    // ---- ranges
+
+    /**
+     * この日付から指定された日付の前日までの日付を順に返すストリームを返します。
+     * <p>
+     * ストリームは均等に分割できるため、並列ストリームにも使えます。
+     *
+     * @param endExclusive 最後の日付（この日付を含まない）
+     * @return 日付のストリーム
+     * @throws IllegalArgumentException 最後の日付がこの日付より前の場合
+     */
+    public Stream<JapaneseDate> datesUntil(JapaneseDate endExclusive) {
+        Objects.requireNonNull(endExclusive, "endExclusive");
+        if (endExclusive.epochDay < epochDay) {
+            throw new IllegalArgumentException(endExclusive + " < " + this);
+        }
+        return StreamSupport.stream(new JapaneseDateSpliterator(epochDay, endExclusive.epochDay), false);
+    }
+
+    /**
+     * この日付から指定された日付の前日までを順にたどるカーソルを返します。
+     *
+     * @param endExclusive 最後の日付（この日付を含まない）
+     * @return カーソル
+     * @throws IllegalArgumentException 最後の日付がこの日付より前の場合
+     */
+    public JapaneseDateCursor cursorUntil(JapaneseDate endExclusive) {
+        Objects.requireNonNull(endExclusive, "endExclusive");
+        if (endExclusive.epochDay < epochDay) {
+            throw new IllegalArgumentException(endExclusive + " < " + this);
+        }
+        return new JapaneseDateCursor(epochDay, endExclusive.epochDay);
     }
 
     @Override
     public long toEpochDay() {
-        return isoDate.toEpochDay();
+        return epochDay;
     }
 
     @Override
@@ -204,20 +752,41 @@ public class JapaneseDate implements ChronoLocalDate, Serializable {
             return true;
         }
         if (other instanceof JapaneseDate) {
-            return isoDate.equals(((JapaneseDate) other).isoDate);
+            return epochDay == ((JapaneseDate) other).epochDay;
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return isoDate.hashCode();
+        return Integer.hashCode(epochDay);
     }
 
     @Override
     public String toString() {
-        return String.format("%s%02d.%02d.%02d",
-                getEra().getAbbr(), getYearOfEra(), getMonthValue(), getDayOfMonth());
+        return JapaneseDateFormatter.ABBREVIATED.format(this);
+    }
+
+    // ---- serialization
+
+    /**
+     * 直列化の代理を返します。
+     *
+     * @return 直列化の代理
+     * @serialData 種類 {@code 1} の1バイトと、エポック日をジグザグ符号化した可変長整数
+     */
+    private Object writeReplace() {
+        return new Ser(Ser.JAPANESE_DATE_TYPE, this);
+    }
+
+    /**
+     * 直列化の代理を経由しない直列化復元を拒否します。
+     *
+     * @param in 読み込み元
+     * @throws InvalidObjectException 常にスローします
+     */
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
     }
 
 }
@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.time.DateTimeException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 和暦の日付の列の一括変換。
+ * <p>
+ * エポック日や {@code yyyymmdd} 形式の整数の配列と、
+ * 元号の値、和暦年、月、日の4つの {@code int[]} の配列を相互に変換します。
+ * 変換の途中で {@link JapaneseDate} や {@link java.time.LocalDate} を生成しません。
+ * 元号の境界は {@link JapaneseEras} と同じものを使い、
+ * 元号の一覧が読み込み直されても、一度の呼び出しの中では同じ一覧で変換します。
+ * <p>
+ * 要素数が {@link #PARALLEL_THRESHOLD} を超える配列は、
+ * 共通の {@link ForkJoinPool} で分割して並列に変換します。
+ * 不正な値があると {@link DateTimeException} をスローし、
+ * その時点で出力の配列の一部は変換済みになっていることがあります。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseDateArrays {
+
+    // ---- constants
+
+    /**
+     * 分割せずに変換する要素数の上限。
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * {@code yyyymmdd} 形式で表すことのできる最後の年。
+     */
+    static final int MAX_YYYYMMDD_YEAR = 9999;
+
+    // ---- constructors
+
+    private JapaneseDateArrays() {
+    }
+
+    // ---- to wareki
+
+    /**
+     * エポック日の配列を元号の値、和暦年、月、日の配列に変換します。
+     *
+     * @param epochDays  エポック日
+     * @param eras       元号の値の出力先
+     * @param yearsOfEra 和暦年の出力先
+     * @param months     月の出力先
+     * @param days       日の出力先
+     * @throws DateTimeException 扱うことのできない日付が含まれる場合
+     * @throws IllegalArgumentException 出力先の長さが足りない場合
+     */
+    public static void toWareki(
+            long[] epochDays, int[] eras, int[] yearsOfEra, int[] months, int[] days) {
+        int length = epochDays.length;
+        checkLength(length, eras, yearsOfEra, months, days);
+        JapaneseEras table = JapaneseEras.current();
+        invoke(length, (from, to) -> {
+            for (int i = from; i < to; ++i) {
+                putWareki(table, epochDays[i], i, eras, yearsOfEra, months, days);
+            }
+        });
+    }
+
+    /**
+     * エポック日の配列を元号の値、和暦年、月、日の配列に変換します。
+     *
+     * @param epochDays  エポック日
+     * @param eras       元号の値の出力先
+     * @param yearsOfEra 和暦年の出力先
+     * @param months     月の出力先
+     * @param days       日の出力先
+     * @throws DateTimeException 扱うことのできない日付が含まれる場合
+     * @throws IllegalArgumentException 出力先の長さが足りない場合
+     */
+    public static void toWareki(
+            int[] epochDays, int[] eras, int[] yearsOfEra, int[] months, int[] days) {
+        int length = epochDays.length;
+        checkLength(length, eras, yearsOfEra, months, days);
+        JapaneseEras table = JapaneseEras.current();
+        invoke(length, (from, to) -> {
+            for (int i = from; i < to; ++i) {
+                putWareki(table, epochDays[i], i, eras, yearsOfEra, months, days);
+            }
+        });
+    }
+
+    /**
+     * {@code yyyymmdd} 形式の整数の配列を元号の値、和暦年、月、日の配列に変換します。
+     *
+     * @param yyyymmdd   {@code yyyymmdd} 形式の西暦の日付
+     * @param eras       元号の値の出力先
+     * @param yearsOfEra 和暦年の出力先
+     * @param months     月の出力先
+     * @param days       日の出力先
+     * @throws DateTimeException 不正な日付、または扱うことのできない日付が含まれる場合
+     * @throws IllegalArgumentException 出力先の長さが足りない場合
+     */
+    public static void yyyymmddToWareki(
+            int[] yyyymmdd, int[] eras, int[] yearsOfEra, int[] months, int[] days) {
+        int length = yyyymmdd.length;
+        checkLength(length, eras, yearsOfEra, months, days);
+        JapaneseEras table = JapaneseEras.current();
+        invoke(length, (from, to) -> {
+            for (int i = from; i < to; ++i) {
+                putWareki(table, yyyymmddToEpochDay(yyyymmdd[i]), i, eras, yearsOfEra, months, days);
+            }
+        });
+    }
+
+    // ---- from wareki
+
+    /**
+     * 元号の値、和暦年、月、日の配列をエポック日の配列に変換します。
+     *
+     * @param eras       元号の値
+     * @param yearsOfEra 和暦年
+     * @param months     月
+     * @param days       日
+     * @param epochDays  エポック日の出力先
+     * @throws DateTimeException 不正な日付が含まれる場合
+     * @throws IllegalArgumentException 入力の長さが揃っていない場合、または出力先の長さが足りない場合
+     */
+    public static void toEpochDays(
+            int[] eras, int[] yearsOfEra, int[] months, int[] days, long[] epochDays) {
+        int length = eras.length;
+        checkLength(length, yearsOfEra, months, days);
+        checkArrayLength(length, epochDays.length);
+        JapaneseEras table = JapaneseEras.current();
+        invoke(length, (from, to) -> {
+            for (int i = from; i < to; ++i) {
+                epochDays[i] = toEpochDay(table, eras[i], yearsOfEra[i], months[i], days[i]);
+            }
+        });
+    }
+
+    /**
+     * 元号の値、和暦年、月、日の配列をエポック日の配列に変換します。
+     *
+     * @param eras       元号の値
+     * @param yearsOfEra 和暦年
+     * @param months     月
+     * @param days       日
+     * @param epochDays  エポック日の出力先
+     * @throws DateTimeException 不正な日付が含まれる場合
+     * @throws IllegalArgumentException 入力の長さが揃っていない場合、または出力先の長さが足りない場合
+     */
+    public static void toEpochDays(
+            int[] eras, int[] yearsOfEra, int[] months, int[] days, int[] epochDays) {
+        int length = eras.length;
+        checkLength(length, yearsOfEra, months, days, epochDays);
+        JapaneseEras table = JapaneseEras.current();
+        invoke(length, (from, to) -> {
+            for (int i = from; i < to; ++i) {
+                epochDays[i] = (int) toEpochDay(table, eras[i], yearsOfEra[i], months[i], days[i]);
+            }
+        });
+    }
+
+    /**
+     * 元号の値、和暦年、月、日の配列を {@code yyyymmdd} 形式の整数の配列に変換します。
+     *
+     * @param eras       元号の値
+     * @param yearsOfEra 和暦年
+     * @param months     月
+     * @param days       日
+     * @param yyyymmdd   {@code yyyymmdd} 形式の西暦の日付の出力先
+     * @throws DateTimeException 不正な日付、元号の期間外の日付、または西暦10000年以降の日付が含まれる場合
+     * @throws IllegalArgumentException 入力の長さが揃っていない場合、または出力先の長さが足りない場合
+     */
+    public static void toYyyymmdd(
+            int[] eras, int[] yearsOfEra, int[] months, int[] days, int[] yyyymmdd) {
+        int length = eras.length;
+        checkLength(length, yearsOfEra, months, days, yyyymmdd);
+        JapaneseEras table = JapaneseEras.current();
+        invoke(length, (from, to) -> {
+            for (int i = from; i < to; ++i) {
+                // 元号の期間外の日付（例: 明治45年7月30日）は toEpochDays と同じく不正とする
+                toEpochDay(table, eras[i], yearsOfEra[i], months[i], days[i]);
+                int year = table.prolepticYear(table.checkIndex(eras[i]), yearsOfEra[i]);
+                if (year > MAX_YYYYMMDD_YEAR) {
+                    throw new DateTimeException("Year out of yyyymmdd range: " + year);
+                }
+                yyyymmdd[i] = year * 10000 + months[i] * 100 + days[i];
+            }
+        });
+    }
+
+    // ---- element conversions
+
+    static void putWareki(JapaneseEras table, long epochDay, int i,
+            int[] eras, int[] yearsOfEra, int[] months, int[] days) {
+        JapaneseDate.checkEpochDay(epochDay);
+        int packed = EpochDays.toPackedDate(epochDay);
+        int index = table.indexOf(epochDay);
+        eras[i] = index + JapaneseEras.OFFSET;
+        yearsOfEra[i] = table.yearOfEra(index, EpochDays.year(packed));
+        months[i] = EpochDays.month(packed);
+        days[i] = EpochDays.day(packed);
+    }
+
+    static long toEpochDay(JapaneseEras table, int era, int yearOfEra, int month, int day) {
+        return JapaneseDate.checkEpochDay(
+                table.toEpochDay(table.checkIndex(era), yearOfEra, month, day));
+    }
+
+    static long yyyymmddToEpochDay(int yyyymmdd) {
+        if (yyyymmdd < 0) {
+            throw new DateTimeException("Invalid date: " + yyyymmdd);
+        }
+        return EpochDays.of(yyyymmdd / 10000, yyyymmdd / 100 % 100, yyyymmdd % 100);
+    }
+
+    // ---- fork/join
+
+    static void checkArrayLength(int length, int actual) {
+        if (actual < length) {
+            throw new IllegalArgumentException(
+                    "Array too short: length " + actual + " < " + length);
+        }
+    }
+
+    static void checkLength(int length, int[]... arrays) {
+        for (int[] array : arrays) {
+            checkArrayLength(length, array.length);
+        }
+    }
+
+    static void invoke(int length, RangeConverter converter) {
+        if (length <= PARALLEL_THRESHOLD) {
+            converter.convert(0, length);
+        } else {
+            ForkJoinPool.commonPool().invoke(new ConvertTask(converter, 0, length));
+        }
+    }
+
+    /**
+     * 配列の一部の範囲を変換する処理。
+     */
+    @FunctionalInterface
+    interface RangeConverter {
+
+        /**
+         * 指定された範囲を変換します。
+         *
+         * @param from 最初のインデックス（この値を含む）
+         * @param to   最後のインデックス（この値を含まない）
+         */
+        void convert(int from, int to);
+
+    }
+
+    /**
+     * 配列を半分ずつに分割して変換するタスク。
+     */
+    static final class ConvertTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RangeConverter converter;
+
+        private final int from;
+
+        private final int to;
+
+        ConvertTask(RangeConverter converter, int from, int to) {
+            this.converter = converter;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                converter.convert(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ConvertTask(converter, from, mid), new ConvertTask(converter, mid, to));
+        }
+
+    }
+
+}
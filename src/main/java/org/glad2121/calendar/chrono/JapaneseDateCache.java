@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link JapaneseDate} の共有インスタンスのキャッシュ。
+ * <p>
+ * 既定では使いません。システムプロパティで有効にするか、{@link #setWindow(int, int)} で窓を指定すると、
+ * {@code of} などのファクトリだけでなく、日付の計算、調整、反復の結果もキャッシュから返します。
+ * <p>
+ * 指定された期間（窓）の日付を、エポック日を添字とする配列に保持します。
+ * 配列の要素は最初に要求されたときに生成します。
+ * 複数のスレッドが同時に同じ日付を要求すると重複したインスタンスが生成されることがありますが、
+ * {@link JapaneseDate} は不変なので、どちらを返しても結果は変わりません。
+ * <p>
+ * 窓は次のシステムプロパティで指定できます。
+ * <ul>
+ * <li>{@code org.glad2121.calendar.chrono.JapaneseDateCache.enabled} - キャッシュを使うかどうか（既定値は {@code false}）</li>
+ * <li>{@code org.glad2121.calendar.chrono.JapaneseDateCache.firstYear} - 窓の最初の西暦年（既定値は {@code 1873}）</li>
+ * <li>{@code org.glad2121.calendar.chrono.JapaneseDateCache.lastYear} - 窓の最後の西暦年（既定値は {@code 2100}）</li>
+ * </ul>
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseDateCache {
+
+    // ---- constants
+
+    /**
+     * システムプロパティの名前の接頭辞。
+     */
+    static final String PROPERTY_PREFIX = JapaneseDateCache.class.getName() + ".";
+
+    /**
+     * 既定の窓の最後の西暦年。
+     */
+    static final int DEFAULT_LAST_YEAR = 2100;
+
+    /**
+     * 窓の日数の上限。
+     */
+    static final int MAX_WINDOW_DAYS = 1 << 24;
+
+    /**
+     * キャッシュを使わない場合の窓。
+     */
+    static final Window DISABLED = new Window(0, new JapaneseDate[0]);
+
+    // ---- static fields
+
+    /**
+     * 現在の窓。
+     */
+    private static volatile Window window = initialWindow();
+
+    /**
+     * キャッシュにあった回数。
+     */
+    private static final LongAdder hitCount = new LongAdder();
+
+    /**
+     * キャッシュになかった回数。
+     */
+    private static final LongAdder missCount = new LongAdder();
+
+    // ---- constructors
+
+    private JapaneseDateCache() {
+    }
+
+    // ---- lookup
+
+    /**
+     * 指定されたエポック日の日付を返します。
+     * <p>
+     * 窓の中の日付は共有インスタンスを返し、窓の外の日付は新しいインスタンスを返します。
+     *
+     * @param epochDay エポック日
+     * @return 日付
+     * @throws java.time.DateTimeException 扱うことのできない日付の場合
+     */
+    static JapaneseDate get(long epochDay) {
+        Window w = window;
+        long offset = epochDay - w.firstEpochDay;
+        JapaneseDate[] dates = w.dates;
+        if (0 <= offset && offset < dates.length) {
+            int index = (int) offset;
+            JapaneseDate date = dates[index];
+            if (date != null) {
+                hitCount.increment();
+                return date;
+            }
+            date = new JapaneseDate(epochDay);
+            dates[index] = date;
+            missCount.increment();
+            return date;
+        }
+        return new JapaneseDate(epochDay);
+    }
+
+    // ---- configuration
+
+    /**
+     * 窓を指定された西暦年の範囲に変更します。
+     * <p>
+     * キャッシュを使っていない場合は、使うようにします。
+     * それまでにキャッシュしたインスタンスは破棄します。
+     * 窓の最初の年が {@link JapaneseDate#START_DATE} より前の場合は、その日から始めます。
+     *
+     * @param firstYear 窓の最初の西暦年
+     * @param lastYear  窓の最後の西暦年
+     * @throws IllegalArgumentException 範囲が不正な場合、または大きすぎる場合
+     */
+    public static void setWindow(int firstYear, int lastYear) {
+        window = createWindow(firstYear, lastYear);
+    }
+
+    /**
+     * キャッシュを使わないようにします。
+     */
+    public static void disable() {
+        window = DISABLED;
+    }
+
+    /**
+     * キャッシュを使うかどうかを返します。
+     *
+     * @return キャッシュを使う場合は {@code true}
+     */
+    public static boolean isEnabled() {
+        return window.dates.length > 0;
+    }
+
+    /**
+     * 窓の日数を返します。
+     *
+     * @return 窓の日数
+     */
+    public static int getWindowSize() {
+        return window.dates.length;
+    }
+
+    static Window initialWindow() {
+        String prefix = PROPERTY_PREFIX;
+        if (!Boolean.getBoolean(prefix + "enabled")) {
+            return DISABLED;
+        }
+        int firstYear = Integer.getInteger(prefix + "firstYear", JapaneseDate.START_DATE.getYear());
+        int lastYear = Integer.getInteger(prefix + "lastYear", DEFAULT_LAST_YEAR);
+        return createWindow(firstYear, lastYear);
+    }
+
+    static Window createWindow(int firstYear, int lastYear) {
+        if (lastYear < firstYear) {
+            throw new IllegalArgumentException(
+                    "Invalid window: " + firstYear + " > " + lastYear);
+        }
+        long firstEpochDay = Math.max(
+                EpochDays.toEpochDay(firstYear, 1, 1), JapaneseDate.START_EPOCH_DAY);
+        long lastEpochDay = Math.min(
+                EpochDays.toEpochDay(lastYear, 12, 31), JapaneseDate.MAX_EPOCH_DAY);
+        long size = lastEpochDay - firstEpochDay + 1;
+        if (size <= 0) {
+            return DISABLED;
+        }
+        if (size > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException(
+                    "Window too large: " + firstYear + "-" + lastYear);
+        }
+        return new Window(firstEpochDay, new JapaneseDate[(int) size]);
+    }
+
+    // ---- statistics
+
+    /**
+     * キャッシュにあった回数を返します。
+     *
+     * @return キャッシュにあった回数
+     */
+    public static long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 窓の中の日付がキャッシュになかった回数を返します。
+     *
+     * @return キャッシュになかった回数
+     */
+    public static long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 窓の中の日付がキャッシュにあった割合を返します。
+     *
+     * @return キャッシュにあった割合。まだ一度も要求がない場合は {@code 0}
+     */
+    public static double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return (total == 0) ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * 統計をリセットします。
+     */
+    public static void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    // ---- nested class
+
+    /**
+     * キャッシュの窓。
+     * <p>
+     * 窓の範囲は不変で、配列の要素だけが埋められていきます。
+     */
+    static final class Window {
+
+        /**
+         * 配列の最初の要素のエポック日。
+         */
+        final long firstEpochDay;
+
+        /**
+         * エポック日ごとの日付。
+         */
+        final JapaneseDate[] dates;
+
+        Window(long firstEpochDay, JapaneseDate[] dates) {
+            this.firstEpochDay = firstEpochDay;
+            this.dates = dates;
+        }
+
+    }
+
+}
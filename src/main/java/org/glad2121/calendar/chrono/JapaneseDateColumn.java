@@ -0,0 +1,636 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import org.glad2121.calendar.CalendarException;
+
+/**
+ * 和暦の日付の列のバイナリ形式。
+ * <p>
+ * 日付の列をエポック日として {@link ByteBuffer} に書き込み、
+ * 書き込んだバッファ（{@link MappedByteBuffer} を含む）を複製せずに行番号で参照します。
+ * 符号化の方式は次の2つです。
+ * <ul>
+ * <li>{@link Encoding#FIXED} - 各行を4バイトの整数で書き込みます。参照は一定時間です。</li>
+ * <li>{@link Encoding#DELTA} - {@link #BLOCK_SIZE} 行ごとのブロックに分け、
+ * ブロックの最初の行を索引に、残りの行を前の行との差をジグザグ符号化した可変長整数で書き込みます。
+ * 日付順に近い列では1行あたり1バイト程度になり、参照はブロックの先頭から復号します。</li>
+ * </ul>
+ * 形式は次のとおりで、整数はリトルエンディアンです。
+ * <pre>
+ * int   MAGIC
+ * short VERSION
+ * byte  符号化の方式
+ * byte  0
+ * int   行数
+ * int   ブロックの行数
+ * int   データのバイト数
+ * DELTA の場合は、ブロックごとに int 最初のエポック日、int データ内の位置
+ * データ
+ * </pre>
+ * <p>
+ * 読み込んだ列は不変で、複数のスレッドから参照できます。
+ * 日付のオブジェクトは {@link #get(int)} で要求された行に限り生成し、
+ * 元号や和暦年への変換は {@link JapaneseEras} の元号の境界を使います。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseDateColumn {
+
+    // ---- constants
+
+    /**
+     * 形式を識別する値（{@code "JDCL"}）。
+     */
+    static final int MAGIC = 0x4A44434C;
+
+    /**
+     * 形式の版。
+     */
+    static final short VERSION = 1;
+
+    /**
+     * ヘッダーのバイト数。
+     */
+    static final int HEADER_SIZE = 20;
+
+    /**
+     * {@link Encoding#DELTA} のブロックの行数。
+     */
+    static final int BLOCK_SIZE = 128;
+
+    /**
+     * {@link Encoding#DELTA} の索引の1ブロックあたりのバイト数。
+     */
+    static final int INDEX_ENTRY_SIZE = 8;
+
+    // ---- fields
+
+    /**
+     * 符号化の方式。
+     */
+    private final Encoding encoding;
+
+    /**
+     * 行数。
+     */
+    private final int size;
+
+    /**
+     * ブロックの行数。
+     */
+    private final int blockSize;
+
+    /**
+     * ブロックの索引の位置。
+     */
+    private final int indexStart;
+
+    /**
+     * データの位置。
+     */
+    private final int dataStart;
+
+    /**
+     * 列の全体（位置 0 がヘッダーの先頭、リトルエンディアン）。
+     */
+    private final ByteBuffer buffer;
+
+    // ---- constructors
+
+    private JapaneseDateColumn(Encoding encoding, int size, int blockSize, ByteBuffer buffer) {
+        this.encoding = encoding;
+        this.size = size;
+        this.blockSize = blockSize;
+        this.indexStart = HEADER_SIZE;
+        this.dataStart = HEADER_SIZE
+                + (encoding == Encoding.DELTA ? blockCount(size, blockSize) * INDEX_ENTRY_SIZE : 0);
+        this.buffer = buffer;
+    }
+
+    // ---- write
+
+    /**
+     * エポック日の列を書き込んだ場合のバイト数を返します。
+     *
+     * @param epochDays エポック日
+     * @param encoding  符号化の方式
+     * @return バイト数
+     * @throws java.time.DateTimeException 扱うことのできない日付が含まれる場合
+     */
+    public static int encodedSize(long[] epochDays, Encoding encoding) {
+        Objects.requireNonNull(encoding, "encoding");
+        return encodedSize(new ArraySource(epochDays), encoding);
+    }
+
+    /**
+     * 日付の列を書き込んだ場合のバイト数を返します。
+     *
+     * @param dates    日付
+     * @param encoding 符号化の方式
+     * @return バイト数
+     */
+    public static int encodedSize(JapaneseDate[] dates, Encoding encoding) {
+        Objects.requireNonNull(encoding, "encoding");
+        return encodedSize(new DateSource(dates), encoding);
+    }
+
+    /**
+     * エポック日の列をバッファの現在位置から書き込みます。
+     * <p>
+     * バッファの位置は書き込んだバイト数だけ進みます。
+     *
+     * @param epochDays エポック日
+     * @param encoding  符号化の方式
+     * @param out       書き込み先
+     * @return 書き込んだバイト数
+     * @throws java.time.DateTimeException 扱うことのできない日付が含まれる場合
+     * @throws BufferOverflowException 書き込み先の残りが足りない場合
+     */
+    public static int write(long[] epochDays, Encoding encoding, ByteBuffer out) {
+        Objects.requireNonNull(encoding, "encoding");
+        return write(new ArraySource(epochDays), encoding, out);
+    }
+
+    /**
+     * 日付の列をバッファの現在位置から書き込みます。
+     * <p>
+     * バッファの位置は書き込んだバイト数だけ進みます。
+     *
+     * @param dates    日付
+     * @param encoding 符号化の方式
+     * @param out      書き込み先
+     * @return 書き込んだバイト数
+     * @throws BufferOverflowException 書き込み先の残りが足りない場合
+     */
+    public static int write(JapaneseDate[] dates, Encoding encoding, ByteBuffer out) {
+        Objects.requireNonNull(encoding, "encoding");
+        return write(new DateSource(dates), encoding, out);
+    }
+
+    /**
+     * エポック日の列をファイルに書き込みます。
+     * <p>
+     * ファイルはちょうどの大きさでメモリーにマップして書き込みます。
+     * 既存のファイルは置き換えます。
+     *
+     * @param file      書き込み先のファイル
+     * @param epochDays エポック日
+     * @param encoding  符号化の方式
+     * @throws java.time.DateTimeException 扱うことのできない日付が含まれる場合
+     * @throws CalendarException 入出力エラーが発生した場合
+     */
+    public static void write(Path file, long[] epochDays, Encoding encoding) {
+        Objects.requireNonNull(encoding, "encoding");
+        ArraySource source = new ArraySource(epochDays);
+        int length = encodedSize(source, encoding);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            write(source, encoding, out);
+            out.force();
+        } catch (IOException e) {
+            throw new CalendarException(e);
+        }
+    }
+
+    static int encodedSize(Source source, Encoding encoding) {
+        int size = source.size();
+        long length = HEADER_SIZE;
+        if (encoding == Encoding.FIXED) {
+            for (int row = 0; row < size; ++row) {
+                JapaneseDate.checkEpochDay(source.epochDay(row));
+            }
+            length += (long) size * Integer.BYTES;
+        } else {
+            length += (long) blockCount(size, BLOCK_SIZE) * INDEX_ENTRY_SIZE;
+            long prev = 0;
+            for (int row = 0; row < size; ++row) {
+                long epochDay = JapaneseDate.checkEpochDay(source.epochDay(row));
+                if (row % BLOCK_SIZE != 0) {
+                    length += varintSize(zigZag(epochDay - prev));
+                }
+                prev = epochDay;
+            }
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Column too large: " + length + " bytes");
+        }
+        return (int) length;
+    }
+
+    static int write(Source source, Encoding encoding, ByteBuffer out) {
+        int size = source.size();
+        ByteBuffer buf = out.slice().order(ByteOrder.LITTLE_ENDIAN);
+        int blockSize = (encoding == Encoding.DELTA) ? BLOCK_SIZE : 1;
+        int indexLength = (encoding == Encoding.DELTA) ? blockCount(size, blockSize) * INDEX_ENTRY_SIZE : 0;
+        if (buf.remaining() < HEADER_SIZE + indexLength) {
+            throw new BufferOverflowException();
+        }
+        int dataStart = HEADER_SIZE + indexLength;
+        buf.position(dataStart);
+        if (encoding == Encoding.FIXED) {
+            for (int row = 0; row < size; ++row) {
+                buf.putInt((int) JapaneseDate.checkEpochDay(source.epochDay(row)));
+            }
+        } else {
+            long prev = 0;
+            for (int row = 0; row < size; ++row) {
+                long epochDay = JapaneseDate.checkEpochDay(source.epochDay(row));
+                if (row % blockSize == 0) {
+                    int entry = HEADER_SIZE + row / blockSize * INDEX_ENTRY_SIZE;
+                    buf.putInt(entry, (int) epochDay);
+                    buf.putInt(entry + Integer.BYTES, buf.position() - dataStart);
+                } else {
+                    putVarint(buf, zigZag(epochDay - prev));
+                }
+                prev = epochDay;
+            }
+        }
+        int length = buf.position();
+        buf.putInt(0, MAGIC);
+        buf.putShort(4, VERSION);
+        buf.put(6, (byte) encoding.ordinal());
+        buf.put(7, (byte) 0);
+        buf.putInt(8, size);
+        buf.putInt(12, blockSize);
+        buf.putInt(16, length - dataStart);
+        out.position(out.position() + length);
+        return length;
+    }
+
+    // ---- read
+
+    /**
+     * バッファの現在位置から列を読み込みます。
+     * <p>
+     * バッファの内容は複製せずに参照するため、列を使い終えるまでバッファの内容を変更しないでください。
+     * バッファの位置は列の末尾まで進みます。
+     *
+     * @param in 読み込み元
+     * @return 列
+     * @throws CalendarException 形式が不正な場合
+     */
+    public static JapaneseDateColumn read(ByteBuffer in) {
+        ByteBuffer buf = in.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.remaining() < HEADER_SIZE || buf.getInt(0) != MAGIC) {
+            throw new CalendarException("Invalid date column: bad magic");
+        }
+        short version = buf.getShort(4);
+        if (version != VERSION) {
+            throw new CalendarException("Unsupported date column version: " + version);
+        }
+        int ordinal = buf.get(6);
+        if (ordinal < 0 || Encoding.VALUES.length <= ordinal) {
+            throw new CalendarException("Invalid date column encoding: " + ordinal);
+        }
+        Encoding encoding = Encoding.VALUES[ordinal];
+        int size = buf.getInt(8);
+        int blockSize = buf.getInt(12);
+        int dataLength = buf.getInt(16);
+        if (size < 0 || blockSize <= 0 || dataLength < 0
+                || (encoding == Encoding.FIXED && (blockSize != 1 || dataLength != size * 4L))) {
+            throw new CalendarException("Invalid date column header");
+        }
+        long length = HEADER_SIZE + dataLength
+                + (encoding == Encoding.DELTA ? (long) blockCount(size, blockSize) * INDEX_ENTRY_SIZE : 0);
+        if (length > buf.remaining()) {
+            throw new CalendarException("Truncated date column: " + buf.remaining() + " < " + length);
+        }
+        buf.limit((int) length);
+        in.position(in.position() + (int) length);
+        return new JapaneseDateColumn(encoding, size, blockSize, buf.slice().order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    /**
+     * ファイルをメモリーにマップして列を読み込みます。
+     *
+     * @param file ファイル
+     * @return 列
+     * @throws CalendarException 入出力エラーが発生した場合、または形式が不正な場合
+     */
+    public static JapaneseDateColumn map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new CalendarException(e);
+        }
+    }
+
+    // ---- accessors
+
+    /**
+     * 符号化の方式を返します。
+     *
+     * @return 符号化の方式
+     */
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * 行数を返します。
+     *
+     * @return 行数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 列のバイト数を返します。
+     *
+     * @return バイト数
+     */
+    public int getEncodedLength() {
+        return buffer.limit();
+    }
+
+    /**
+     * 指定された行のエポック日を返します。
+     *
+     * @param row 行番号
+     * @return エポック日
+     * @throws IndexOutOfBoundsException 行番号が範囲外の場合
+     */
+    public long getEpochDay(int row) {
+        checkRow(row);
+        if (encoding == Encoding.FIXED) {
+            return buffer.getInt(dataStart + row * Integer.BYTES);
+        }
+        int block = row / blockSize;
+        int entry = indexStart + block * INDEX_ENTRY_SIZE;
+        long epochDay = buffer.getInt(entry);
+        int pos = dataStart + buffer.getInt(entry + Integer.BYTES);
+        for (int i = block * blockSize; i < row; ++i) {
+            long bits = 0;
+            int b;
+            int shift = 0;
+            do {
+                b = buffer.get(pos++);
+                bits |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            epochDay += unZigZag(bits);
+        }
+        return epochDay;
+    }
+
+    /**
+     * 指定された行の日付を返します。
+     *
+     * @param row 行番号
+     * @return 日付
+     * @throws IndexOutOfBoundsException 行番号が範囲外の場合
+     * @throws java.time.DateTimeException 扱うことのできない日付の場合
+     */
+    public JapaneseDate get(int row) {
+        return JapaneseDate.ofEpochDay(getEpochDay(row));
+    }
+
+    /**
+     * 指定された行の元号を返します。
+     *
+     * @param row 行番号
+     * @return 元号
+     * @throws IndexOutOfBoundsException 行番号が範囲外の場合
+     */
+    public JapaneseEra getEra(int row) {
+        JapaneseEras eras = JapaneseEras.current();
+        return eras.getByIndex(eras.indexOf(getEpochDay(row)));
+    }
+
+    // ---- bulk read
+
+    /**
+     * 指定された範囲の行のエポック日を配列に読み込みます。
+     * <p>
+     * {@link Encoding#DELTA} では範囲の先頭の行を含むブロックの先頭から順に復号します。
+     *
+     * @param from      最初の行番号
+     * @param epochDays 読み込み先
+     * @param offset    読み込み先の位置
+     * @param length    行数
+     * @throws IndexOutOfBoundsException 範囲が不正な場合
+     */
+    public void readEpochDays(int from, long[] epochDays, int offset, int length) {
+        checkRange(from, length);
+        if (offset < 0 || length > epochDays.length - offset) {
+            throw new IndexOutOfBoundsException(
+                    "offset: " + offset + ", length: " + length + ", array: " + epochDays.length);
+        }
+        if (length == 0) {
+            return;
+        }
+        if (encoding == Encoding.FIXED) {
+            int pos = dataStart + from * Integer.BYTES;
+            for (int i = 0; i < length; ++i) {
+                epochDays[offset + i] = buffer.getInt(pos);
+                pos += Integer.BYTES;
+            }
+            return;
+        }
+        // ブロックの先頭から復号し、範囲内の行を格納する
+        int end = from + length;
+        long epochDay = 0;
+        int pos = 0;
+        for (int row = from - from % blockSize; row < end; ++row) {
+            if (row % blockSize == 0) {
+                int entry = indexStart + row / blockSize * INDEX_ENTRY_SIZE;
+                epochDay = buffer.getInt(entry);
+                pos = dataStart + buffer.getInt(entry + Integer.BYTES);
+            } else {
+                long bits = 0;
+                int b;
+                int shift = 0;
+                do {
+                    b = buffer.get(pos++);
+                    bits |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                epochDay += unZigZag(bits);
+            }
+            if (row >= from) {
+                epochDays[offset + row - from] = epochDay;
+            }
+        }
+    }
+
+    /**
+     * 指定された範囲の行を元号の値、和暦年、月、日の配列に変換します。
+     *
+     * @param from       最初の行番号
+     * @param length     行数
+     * @param eras       元号の値の出力先
+     * @param yearsOfEra 和暦年の出力先
+     * @param months     月の出力先
+     * @param days       日の出力先
+     * @throws IndexOutOfBoundsException 範囲が不正な場合
+     * @throws IllegalArgumentException 出力先の長さが足りない場合
+     * @throws java.time.DateTimeException 扱うことのできない日付が含まれる場合
+     */
+    public void toWareki(int from, int length,
+            int[] eras, int[] yearsOfEra, int[] months, int[] days) {
+        checkRange(from, length);
+        JapaneseDateArrays.checkLength(length, eras, yearsOfEra, months, days);
+        long[] chunk = new long[Math.min(length, BLOCK_SIZE)];
+        JapaneseEras table = JapaneseEras.current();
+        for (int done = 0; done < length; done += chunk.length) {
+            int n = Math.min(chunk.length, length - done);
+            readEpochDays(from + done, chunk, 0, n);
+            for (int i = 0; i < n; ++i) {
+                JapaneseDateArrays.putWareki(table, chunk[i], done + i, eras, yearsOfEra, months, days);
+            }
+        }
+    }
+
+    // ---- helpers
+
+    void checkRow(int row) {
+        if (row < 0 || size <= row) {
+            throw new IndexOutOfBoundsException("row: " + row + ", size: " + size);
+        }
+    }
+
+    void checkRange(int from, int length) {
+        if (from < 0 || length < 0 || length > size - from) {
+            throw new IndexOutOfBoundsException("from: " + from + ", length: " + length + ", size: " + size);
+        }
+    }
+
+    static int blockCount(int size, int blockSize) {
+        return (size + blockSize - 1) / blockSize;
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long bits) {
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+
+    static int varintSize(long bits) {
+        int size = 1;
+        while ((bits & ~0x7FL) != 0) {
+            bits >>>= 7;
+            ++size;
+        }
+        return size;
+    }
+
+    static void putVarint(ByteBuffer buf, long bits) {
+        while ((bits & ~0x7FL) != 0) {
+            buf.put((byte) (bits & 0x7F | 0x80));
+            bits >>>= 7;
+        }
+        buf.put((byte) bits);
+    }
+
+    // ---- java.lang.Object
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "JapaneseDateColumn[" + encoding + "," + size + " rows," + buffer.limit() + " bytes]";
+    }
+
+    // ---- nested class
+
+    /**
+     * 符号化の方式。
+     */
+    public enum Encoding {
+
+        /**
+         * 各行を4バイトの整数で表します。
+         */
+        FIXED,
+
+        /**
+         * ブロックごとに、前の行との差を可変長整数で表します。
+         */
+        DELTA;
+
+        static final Encoding[] VALUES = values();
+
+    }
+
+    /**
+     * 書き込む列。
+     */
+    interface Source {
+
+        int size();
+
+        long epochDay(int row);
+
+    }
+
+    static final class ArraySource implements Source {
+
+        final long[] epochDays;
+
+        ArraySource(long[] epochDays) {
+            this.epochDays = epochDays;
+        }
+
+        @Override
+        public int size() {
+            return epochDays.length;
+        }
+
+        @Override
+        public long epochDay(int row) {
+            return epochDays[row];
+        }
+
+    }
+
+    static final class DateSource implements Source {
+
+        final JapaneseDate[] dates;
+
+        DateSource(JapaneseDate[] dates) {
+            this.dates = dates;
+        }
+
+        @Override
+        public int size() {
+            return dates.length;
+        }
+
+        @Override
+        public long epochDay(int row) {
+            return dates[row].toEpochDay();
+        }
+
+    }
+
+}
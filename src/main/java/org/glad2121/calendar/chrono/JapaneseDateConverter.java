@@ -0,0 +1,960 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.ParsePosition;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.glad2121.calendar.CalendarException;
+
+/**
+ * CSV や TSV のファイルの日付の列を、西暦と和暦の間で変換するツール。
+ * <p>
+ * 入力ファイルを行の境界で区切ったチャンクに分け、各スレッドが {@link FileChannel} から
+ * 位置を指定して読み込んで変換し、元の順序で書き出します。書き出し待ちのチャンクはスレッド数の2倍までとし、
+ * それを超えると読み込みを待ちます。
+ * 日付は正規表現を使わず、{@link JapaneseDateParser} と {@link JapaneseDateFormatter} で
+ * エポック日を介して変換します。
+ * <pre>
+ * java -jar glad-calendar.jar --from iso --to kanji --columns 2,5 input.csv output.csv
+ * java -jar glad-calendar.jar --from kanji --to iso --delimiter tsv --errors errors.tsv input.tsv
+ * </pre>
+ * 文字コードは UTF-8 です。行末の {@code \r\n} と {@code \n} はそのまま出力します。
+ * CSV では {@code "} で囲んだフィールドを扱いますが、フィールド内の改行は扱いません。
+ * 空のフィールドは変換せずにそのまま出力します。
+ * <p>
+ * 変換できなかった行は元の内容のまま出力し（{@code --skip-errors} の場合は出力せず）、
+ * エラーの出力先には行番号、列番号、元の行を区切り文字で区切って書き出します。
+ * 終了コードは、すべての行を変換できた場合は0、変換できなかった行がある場合は1、
+ * 引数や入出力のエラーの場合は2です。
+ * <p>
+ * このクラスは不変で、スレッドセーフです。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseDateConverter {
+
+    // ---- constants
+
+    /**
+     * チャンクの既定のバイト数。
+     */
+    static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    /**
+     * 行末を探す際に読み込むバイト数。
+     */
+    static final int SCAN_SIZE = 8192;
+
+    /**
+     * バイト順マーク。
+     */
+    static final char BOM = '\uFEFF';
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar glad-calendar.jar [options] <input> [<output>]",
+            "  --from <format>       iso, abbreviated, kanji, kanji-numeral (default: iso)",
+            "  --to <format>         iso, abbreviated, kanji, kanji-numeral (default: kanji)",
+            "  --columns <n,...>     1-based columns to convert (default: 1)",
+            "  --delimiter <d>       csv, tsv or a single character (default: csv)",
+            "  --header              copy the first line without conversion",
+            "  --errors <file>       write rows that could not be converted",
+            "  --skip-errors         omit rows that could not be converted from the output",
+            "  --threads <n>         number of worker threads (default: available processors)",
+            "  --chunk-size <bytes>  approximate bytes per chunk, with K or M suffix (default: 8M)");
+
+    // ---- formats
+
+    /**
+     * 日付の書式。
+     * <p>
+     * 入力の書式が和暦の場合は、{@link JapaneseDateParser} が受け付けるすべての形式を解析します。
+     */
+    public enum Format {
+
+        /**
+         * ISO-8601 の書式（例: {@code 2016-04-01}）。入力では {@code /} の区切りも受け付けます。
+         */
+        ISO(null),
+
+        /**
+         * 略式の書式（例: {@code H28.04.01}）。
+         */
+        ABBREVIATED(JapaneseDateFormatter.ABBREVIATED),
+
+        /**
+         * 漢字の書式（例: {@code 平成28年4月1日}）。
+         */
+        KANJI(JapaneseDateFormatter.KANJI),
+
+        /**
+         * 漢数字の書式（例: {@code 平成二十八年四月一日}）。
+         */
+        KANJI_NUMERAL(JapaneseDateFormatter.KANJI_NUMERAL);
+
+        final JapaneseDateFormatter formatter;
+
+        Format(JapaneseDateFormatter formatter) {
+            this.formatter = formatter;
+        }
+
+        /**
+         * コマンドラインの名前から書式を返します。
+         *
+         * @param name 名前（例: {@code kanji-numeral}）
+         * @return 書式
+         * @throws IllegalArgumentException 名前が不正な場合
+         */
+        static Format of(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name.replace('-', '_'))) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown format: " + name);
+        }
+
+    }
+
+    // ---- fields
+
+    final Format from;
+
+    final Format to;
+
+    /**
+     * 変換する列（1から始まる列番号を添字とする）。
+     */
+    final boolean[] columns;
+
+    final char delimiter;
+
+    final boolean header;
+
+    final boolean skipErrors;
+
+    final int threads;
+
+    final int chunkSize;
+
+    // ---- constructors
+
+    JapaneseDateConverter(Builder builder) {
+        this.from = builder.from;
+        this.to = builder.to;
+        int max = 0;
+        for (int column : builder.columns) {
+            max = Math.max(max, column);
+        }
+        this.columns = new boolean[max + 1];
+        for (int column : builder.columns) {
+            this.columns[column] = true;
+        }
+        this.delimiter = builder.delimiter;
+        this.header = builder.header;
+        this.skipErrors = builder.skipErrors;
+        this.threads = builder.threads;
+        this.chunkSize = builder.chunkSize;
+    }
+
+    /**
+     * 設定を作成します。
+     *
+     * @return 設定
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // ---- main
+
+    /**
+     * コマンドラインから変換します。
+     *
+     * @param args 引数
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * コマンドラインから変換し、終了コードを返します。
+     *
+     * @param args 引数
+     * @param out  出力ファイルを指定しない場合の出力先
+     * @param err  使い方、結果、エラーの出力先
+     * @return 終了コード
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        List<String> files = new ArrayList<>();
+        Builder builder = builder();
+        Path input;
+        Path output = null;
+        Path errors = null;
+        try {
+            for (int i = 0; i < args.length; ++i) {
+                String arg = args[i];
+                switch (arg) {
+                case "--from":
+                    builder.from(Format.of(value(args, ++i)));
+                    break;
+                case "--to":
+                    builder.to(Format.of(value(args, ++i)));
+                    break;
+                case "--columns":
+                    String columns = value(args, ++i);
+                    builder.columns(Arrays.stream(columns.split(","))
+                            .mapToInt(s -> integer("--columns", s.trim())).toArray());
+                    break;
+                case "--delimiter":
+                    builder.delimiter(delimiter(value(args, ++i)));
+                    break;
+                case "--header":
+                    builder.header(true);
+                    break;
+                case "--errors":
+                    errors = Paths.get(value(args, ++i));
+                    break;
+                case "--skip-errors":
+                    builder.skipErrors(true);
+                    break;
+                case "--threads":
+                    builder.threads(integer("--threads", value(args, ++i)));
+                    break;
+                case "--chunk-size":
+                    builder.chunkSize(size(value(args, ++i)));
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                    }
+                    files.add(arg);
+                }
+            }
+            if (files.isEmpty() || files.size() > 2) {
+                throw new IllegalArgumentException("Expected <input> [<output>]");
+            }
+            input = Paths.get(files.get(0));
+            if (files.size() == 2) {
+                output = Paths.get(files.get(1));
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+
+        JapaneseDateConverter converter = builder.build();
+        try {
+            Result result;
+            if (output != null) {
+                result = converter.convert(input, output, errors);
+            } else {
+                WritableByteChannel channel = Channels.newChannel(out);
+                if (errors == null) {
+                    result = converter.convert(input, channel, null);
+                } else {
+                    try (WritableByteChannel errorChannel = open(errors)) {
+                        result = converter.convert(input, channel, errorChannel);
+                    }
+                }
+                out.flush();
+            }
+            err.println(result);
+            return result.getErrors() == 0 ? 0 : 1;
+        } catch (IOException | RuntimeException e) {
+            // 変換中の予期しない例外も、入出力のエラーと同じ終了コードにする
+            err.println(e);
+            return 2;
+        }
+    }
+
+    static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    static int integer(String option, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + option + ": " + value);
+        }
+    }
+
+    static char delimiter(String value) {
+        switch (value) {
+        case "csv":
+            return ',';
+        case "tsv":
+            return '\t';
+        default:
+            if (value.length() != 1) {
+                throw new IllegalArgumentException("Invalid delimiter: " + value);
+            }
+            return value.charAt(0);
+        }
+    }
+
+    static int size(String value) {
+        String s = value.toUpperCase(Locale.ROOT);
+        int shift = 0;
+        if (s.endsWith("K")) {
+            shift = 10;
+        } else if (s.endsWith("M")) {
+            shift = 20;
+        }
+        if (shift != 0) {
+            s = s.substring(0, s.length() - 1);
+        }
+        long size = Long.parseLong(s);
+        if (size < 1 || size > Integer.MAX_VALUE >> shift) {
+            throw new IllegalArgumentException("Invalid chunk size: " + value);
+        }
+        return (int) size << shift;
+    }
+
+    static WritableByteChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    // ---- convert
+
+    /**
+     * ファイルを変換します。
+     *
+     * @param input  入力ファイル
+     * @param output 出力ファイル
+     * @param errors エラーの出力先のファイル。不要な場合は {@code null}
+     * @return 変換の結果
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    public Result convert(Path input, Path output, Path errors) throws IOException {
+        Objects.requireNonNull(output, "output");
+        try (WritableByteChannel out = open(output);
+                WritableByteChannel err = errors != null ? open(errors) : null) {
+            return convert(input, out, err);
+        }
+    }
+
+    /**
+     * ファイルを変換し、チャネルに書き出します。チャネルは閉じません。
+     *
+     * @param input  入力ファイル
+     * @param output 出力先
+     * @param errors エラーの出力先。不要な場合は {@code null}
+     * @return 変換の結果
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    public Result convert(Path input, WritableByteChannel output, WritableByteChannel errors)
+            throws IOException {
+        Objects.requireNonNull(output, "output");
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "JapaneseDateConverter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Deque<Future<Chunk>> pending = new ArrayDeque<>();
+            Result result = new Result();
+            long position = 0;
+            while (position < size) {
+                long end = lineEnd(channel, Math.min(position + chunkSize, size), size);
+                if (end - position > Integer.MAX_VALUE) {
+                    throw new CalendarException("Line too long at byte " + position);
+                }
+                long start = position;
+                int length = (int) (end - position);
+                pending.add(executor.submit(() -> convertChunk(read(channel, start, length), start == 0)));
+                if (pending.size() >= threads * 2) {
+                    write(await(pending.poll()), output, errors, result);
+                }
+                position = end;
+            }
+            while (!pending.isEmpty()) {
+                write(await(pending.poll()), output, errors, result);
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 指定された位置以降の最初の行末の次の位置を返します。
+     *
+     * @param channel  入力
+     * @param position 探し始める位置
+     * @param size     入力のバイト数
+     * @return 行末の次の位置。行末がない場合は {@code size}
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    static long lineEnd(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        while (position < size) {
+            buffer.clear();
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                break;
+            }
+            for (int i = 0; i < n; ++i) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += n;
+        }
+        return size;
+    }
+
+    /**
+     * チャンクを読み込みます。{@link FileChannel} の位置を指定した読み込みは、複数のスレッドから同時に行えます。
+     *
+     * @param channel  入力
+     * @param position チャンクの開始位置
+     * @param length   チャンクのバイト数
+     * @return チャンクの内容
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file at byte " + (position + buffer.position()));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CalendarException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CalendarException(cause);
+        }
+    }
+
+    void write(Chunk chunk, WritableByteChannel output, WritableByteChannel errors, Result result)
+            throws IOException {
+        writeFully(chunk.output, output);
+        if (errors != null && !chunk.errors.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            for (RowError error : chunk.errors) {
+                sb.append(result.lines + error.line + 1).append(delimiter)
+                        .append(error.column).append(delimiter)
+                        .append(error.text).append('\n');
+            }
+            writeFully(ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8)), errors);
+        }
+        result.lines += chunk.lines;
+        result.errors += chunk.errors.size();
+    }
+
+    static void writeFully(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // ---- chunk
+
+    /**
+     * チャンクを変換します。
+     *
+     * @param bytes チャンクの内容（行の境界で区切ったもの）
+     * @param first ファイルの最初のチャンクかどうか
+     * @return 変換の結果
+     * @throws CharacterCodingException UTF-8 として不正な場合
+     */
+    Chunk convertChunk(ByteBuffer bytes, boolean first) throws CharacterCodingException {
+        CharBuffer decoded = StandardCharsets.UTF_8.newDecoder().decode(bytes);
+        char[] chars = decoded.array();
+        int length = decoded.limit();
+        StringBuilder out = new StringBuilder(length + (length >>> 2));
+        RowConverter row = new RowConverter(decoded, out);
+        List<RowError> errors = new ArrayList<>();
+        int pos = 0;
+        int line = 0;
+        if (first && length > 0 && chars[0] == BOM) {
+            out.append(BOM);
+            pos = 1;
+        }
+        while (pos < length) {
+            int end = pos;
+            while (end < length && chars[end] != '\n') {
+                ++end;
+            }
+            int next = end < length ? end + 1 : end;
+            int contentEnd = end > pos && chars[end - 1] == '\r' ? end - 1 : end;
+            if (first && line == 0 && header) {
+                out.append(chars, pos, next - pos);
+            } else {
+                int mark = out.length();
+                int column = row.convert(pos, contentEnd);
+                if (column == 0) {
+                    out.append(chars, contentEnd, next - contentEnd);
+                } else {
+                    errors.add(new RowError(line, column, new String(chars, pos, contentEnd - pos)));
+                    out.setLength(mark);
+                    if (!skipErrors) {
+                        out.append(chars, pos, next - pos);
+                    }
+                }
+            }
+            pos = next;
+            ++line;
+        }
+        ByteBuffer output = ByteBuffer.wrap(out.toString().getBytes(StandardCharsets.UTF_8));
+        return new Chunk(output, line, errors);
+    }
+
+    /**
+     * 変換したチャンク。
+     */
+    static final class Chunk {
+
+        final ByteBuffer output;
+
+        final int lines;
+
+        final List<RowError> errors;
+
+        Chunk(ByteBuffer output, int lines, List<RowError> errors) {
+            this.output = output;
+            this.lines = lines;
+            this.errors = errors;
+        }
+
+    }
+
+    /**
+     * 変換できなかった行。
+     */
+    static final class RowError {
+
+        /**
+         * チャンク内の行番号（0から始まる）。
+         */
+        final int line;
+
+        /**
+         * 変換できなかった最初の列の番号（1から始まる）。
+         */
+        final int column;
+
+        final String text;
+
+        RowError(int line, int column, String text) {
+            this.line = line;
+            this.column = column;
+            this.text = text;
+        }
+
+    }
+
+    // ---- row
+
+    /**
+     * チャンク内の行を変換します。チャンクごとに作成し、1つのスレッドだけで使います。
+     */
+    final class RowConverter {
+
+        final CharBuffer text;
+
+        final char[] chars;
+
+        final StringBuilder out;
+
+        final char[] buf = new char[Math.max(to.formatter != null ? to.formatter.getMaxLength() : 0, 16)];
+
+        final ParsePosition position = new ParsePosition(0);
+
+        RowConverter(CharBuffer text, StringBuilder out) {
+            this.text = text;
+            this.chars = text.array();
+            this.out = out;
+        }
+
+        /**
+         * 行を変換して出力に追加します。
+         *
+         * @param start 行の開始位置
+         * @param end   行の終了位置（行末を含まない）
+         * @return 変換できなかった最初の列の番号。すべて変換できた場合は0
+         */
+        int convert(int start, int end) {
+            boolean csv = delimiter == ',';
+            int column = 1;
+            int pos = start;
+            while (true) {
+                int fieldStart = pos;
+                int valueStart = pos;
+                int valueEnd = -1;
+                boolean quoted = csv && pos < end && chars[pos] == '"';
+                if (quoted) {
+                    valueStart = ++pos;
+                    while (pos < end) {
+                        if (chars[pos] == '"') {
+                            if (pos + 1 < end && chars[pos + 1] == '"') {
+                                pos += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        ++pos;
+                    }
+                    valueEnd = pos;
+                    if (pos < end) {
+                        ++pos;
+                    }
+                }
+                while (pos < end && chars[pos] != delimiter) {
+                    ++pos;
+                }
+                int fieldEnd = pos;
+                if (!quoted) {
+                    valueEnd = fieldEnd;
+                }
+
+                if (column < columns.length && columns[column] && valueEnd > valueStart) {
+                    if (quoted && valueEnd + 1 != fieldEnd) {
+                        return column;
+                    }
+                    if (quoted) {
+                        out.append('"');
+                    }
+                    if (!convertValue(valueStart, valueEnd)) {
+                        return column;
+                    }
+                    if (quoted) {
+                        out.append('"');
+                    }
+                } else {
+                    out.append(chars, fieldStart, fieldEnd - fieldStart);
+                }
+
+                if (fieldEnd >= end) {
+                    return 0;
+                }
+                out.append(delimiter);
+                pos = fieldEnd + 1;
+                ++column;
+            }
+        }
+
+        boolean convertValue(int start, int end) {
+            long epochDay;
+            if (from == Format.ISO) {
+                epochDay = parseIso(text, start, end);
+            } else {
+                position.setErrorIndex(-1);
+                epochDay = JapaneseDateParser.INSTANCE.parseEpochDay(text, start, end - start, position);
+            }
+            if (epochDay == JapaneseDateParser.INVALID) {
+                return false;
+            }
+            int length;
+            if (to == Format.ISO) {
+                int packed = EpochDays.toPackedDate(epochDay);
+                int pos = JapaneseDateFormatter.putNumber(EpochDays.year(packed), 4, buf, 0);
+                buf[pos++] = '-';
+                pos = JapaneseDateFormatter.putNumber(EpochDays.month(packed), 2, buf, pos);
+                buf[pos++] = '-';
+                length = JapaneseDateFormatter.putNumber(EpochDays.day(packed), 2, buf, pos);
+            } else {
+                if (epochDay < JapaneseDate.START_EPOCH_DAY || epochDay > JapaneseDate.MAX_EPOCH_DAY) {
+                    return false;
+                }
+                length = to.formatter.formatTo(JapaneseDate.ofEpochDay(epochDay), buf, 0);
+            }
+            out.append(buf, 0, length);
+            return true;
+        }
+
+    }
+
+    /**
+     * ISO-8601 の日付（{@code 2016-04-01}、{@code 2016/4/1}）を解析します。
+     *
+     * @param text  文字列
+     * @param start 開始位置
+     * @param end   終了位置
+     * @return エポック日。解析に失敗した場合は {@link JapaneseDateParser#INVALID}
+     */
+    static long parseIso(CharSequence text, int start, int end) {
+        int pos = start;
+        int year = 0;
+        while (pos < end && pos - start < 7 && isDigit(text.charAt(pos))) {
+            year = year * 10 + (text.charAt(pos++) - '0');
+        }
+        if (pos - start < 4 || pos >= end) {
+            return JapaneseDateParser.INVALID;
+        }
+        char separator = text.charAt(pos++);
+        if (separator != '-' && separator != '/') {
+            return JapaneseDateParser.INVALID;
+        }
+        int monthStart = pos;
+        int month = 0;
+        while (pos < end && pos - monthStart < 2 && isDigit(text.charAt(pos))) {
+            month = month * 10 + (text.charAt(pos++) - '0');
+        }
+        if (pos == monthStart || pos >= end || text.charAt(pos++) != separator) {
+            return JapaneseDateParser.INVALID;
+        }
+        int dayStart = pos;
+        int day = 0;
+        while (pos < end && pos - dayStart < 2 && isDigit(text.charAt(pos))) {
+            day = day * 10 + (text.charAt(pos++) - '0');
+        }
+        if (pos == dayStart || pos != end) {
+            return JapaneseDateParser.INVALID;
+        }
+        if (month < 1 || 12 < month || day < 1 || EpochDays.lengthOfMonth(year, month) < day) {
+            return JapaneseDateParser.INVALID;
+        }
+        return EpochDays.toEpochDay(year, month, day);
+    }
+
+    static boolean isDigit(char c) {
+        return '0' <= c && c <= '9';
+    }
+
+    // ---- result
+
+    /**
+     * 変換の結果。
+     */
+    public static final class Result {
+
+        long lines;
+
+        long errors;
+
+        Result() {
+        }
+
+        /**
+         * 処理した行数（見出しの行を含む）を返します。
+         *
+         * @return 行数
+         */
+        public long getLines() {
+            return lines;
+        }
+
+        /**
+         * 変換できなかった行数を返します。
+         *
+         * @return 行数
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        @Override
+        public String toString() {
+            return "lines=" + lines + ", errors=" + errors;
+        }
+
+    }
+
+    // ---- builder
+
+    /**
+     * {@link JapaneseDateConverter} の設定。
+     */
+    public static final class Builder {
+
+        Format from = Format.ISO;
+
+        Format to = Format.KANJI;
+
+        int[] columns = { 1 };
+
+        char delimiter = ',';
+
+        boolean header;
+
+        boolean skipErrors;
+
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        Builder() {
+        }
+
+        /**
+         * 入力の書式を指定します（既定値は {@link Format#ISO}）。
+         *
+         * @param from 入力の書式
+         * @return この設定
+         */
+        public Builder from(Format from) {
+            this.from = Objects.requireNonNull(from, "from");
+            return this;
+        }
+
+        /**
+         * 出力の書式を指定します（既定値は {@link Format#KANJI}）。
+         *
+         * @param to 出力の書式
+         * @return この設定
+         */
+        public Builder to(Format to) {
+            this.to = Objects.requireNonNull(to, "to");
+            return this;
+        }
+
+        /**
+         * 変換する列を指定します（既定値は1列目）。
+         *
+         * @param columns 1から始まる列番号
+         * @return この設定
+         * @throws IllegalArgumentException 列番号が不正な場合
+         */
+        public Builder columns(int... columns) {
+            if (columns.length == 0) {
+                throw new IllegalArgumentException("No columns");
+            }
+            for (int column : columns) {
+                if (column < 1) {
+                    throw new IllegalArgumentException("Invalid column: " + column);
+                }
+            }
+            this.columns = columns.clone();
+            return this;
+        }
+
+        /**
+         * 区切り文字を指定します（既定値は {@code ,}）。
+         * {@code ,} の場合だけ {@code "} で囲んだフィールドを扱います。
+         *
+         * @param delimiter 区切り文字
+         * @return この設定
+         * @throws IllegalArgumentException 区切り文字が不正な場合
+         */
+        public Builder delimiter(char delimiter) {
+            if (delimiter == '\n' || delimiter == '\r' || delimiter == '"') {
+                throw new IllegalArgumentException("Invalid delimiter: " + delimiter);
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * 最初の行を見出しとして変換せずに出力するかどうかを指定します（既定値は {@code false}）。
+         *
+         * @param header 見出しの行があるかどうか
+         * @return この設定
+         */
+        public Builder header(boolean header) {
+            this.header = header;
+            return this;
+        }
+
+        /**
+         * 変換できなかった行を出力しないかどうかを指定します（既定値は {@code false}）。
+         *
+         * @param skipErrors 変換できなかった行を出力しないかどうか
+         * @return この設定
+         */
+        public Builder skipErrors(boolean skipErrors) {
+            this.skipErrors = skipErrors;
+            return this;
+        }
+
+        /**
+         * 変換するスレッドの数を指定します（既定値はプロセッサの数）。
+         *
+         * @param threads スレッドの数
+         * @return この設定
+         * @throws IllegalArgumentException スレッドの数が1未満の場合
+         */
+        public Builder threads(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("Invalid threads: " + threads);
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * チャンクのおおよそのバイト数を指定します（既定値は8MiB）。
+         * チャンクは指定されたバイト数の後の最初の行末で区切ります。
+         *
+         * @param chunkSize バイト数
+         * @return この設定
+         * @throws IllegalArgumentException バイト数が1未満の場合
+         */
+        public Builder chunkSize(int chunkSize) {
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * 変換のツールを作成します。
+         *
+         * @return 変換のツール
+         */
+        public JapaneseDateConverter build() {
+            return new JapaneseDateConverter(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+/**
+ * 連続する日付を順にたどるカーソル。
+ * <p>
+ * 元号、和暦年、月、日を {@code int} で保持し、1日進めるごとに差分だけ更新します。
+ * 元号は次の元号の適用開始日と比較するだけで切り替えるため、日ごとに元号を引き直しません。
+ * 途中でオブジェクトを生成しないため、大量の日付を処理するループに向いています。
+ * <pre>
+ * JapaneseDateCursor cursor = start.cursorUntil(end);
+ * while (cursor.next()) {
+ *     int era = cursor.getEraValue();
+ *     int yearOfEra = cursor.getYearOfEra();
+ *     ...
+ * }
+ * </pre>
+ * <p>
+ * このクラスは可変で、スレッドセーフではありません。
+ * 最初に {@link #next()} を呼び出す前と、{@link #next()} が {@code false} を返した後の値は不定です。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseDateCursor {
+
+    // ---- fields
+
+    /**
+     * 元号の一覧。
+     */
+    private final JapaneseEras eras = JapaneseEras.current();
+
+    /**
+     * 最後の日付の翌日のエポック日。
+     */
+    private final long endEpochDay;
+
+    /**
+     * 現在の日付のエポック日。
+     */
+    private long epochDay;
+
+    /**
+     * 現在の日付に位置づけられているかどうか。
+     */
+    private boolean positioned;
+
+    private int year;
+
+    private int month;
+
+    private int day;
+
+    private int lengthOfMonth;
+
+    private int eraIndex;
+
+    private int yearOfEra;
+
+    /**
+     * 次の元号の適用開始日のエポック日。
+     */
+    private long nextEraDay;
+
+    // ---- constructors
+
+    /**
+     * オブジェクトを構築します。
+     *
+     * @param startEpochDay 最初の日付のエポック日
+     * @param endEpochDay   最後の日付の翌日のエポック日
+     */
+    JapaneseDateCursor(long startEpochDay, long endEpochDay) {
+        this.epochDay = startEpochDay - 1;
+        this.endEpochDay = endEpochDay;
+    }
+
+    // ---- navigation
+
+    /**
+     * 次の日付に進めます。
+     * <p>
+     * 最初の呼び出しでは最初の日付に位置づけます。
+     *
+     * @return 次の日付がある場合は {@code true}
+     */
+    public boolean next() {
+        if (epochDay + 1 >= endEpochDay) {
+            epochDay = endEpochDay;
+            positioned = false;
+            return false;
+        }
+        ++epochDay;
+        if (!positioned) {
+            position();
+            return true;
+        }
+        if (day < lengthOfMonth) {
+            ++day;
+        } else {
+            day = 1;
+            if (month < 12) {
+                ++month;
+            } else {
+                month = 1;
+                ++year;
+                ++yearOfEra;
+            }
+            lengthOfMonth = EpochDays.lengthOfMonth(year, month);
+        }
+        if (epochDay >= nextEraDay) {
+            ++eraIndex;
+            yearOfEra = eras.yearOfEra(eraIndex, year);
+            nextEraDay = eras.nextSinceDay(eraIndex);
+        }
+        return true;
+    }
+
+    /**
+     * 現在のエポック日から各項目を求めます。
+     */
+    void position() {
+        int packed = EpochDays.toPackedDate(epochDay);
+        year = EpochDays.year(packed);
+        month = EpochDays.month(packed);
+        day = EpochDays.day(packed);
+        lengthOfMonth = EpochDays.lengthOfMonth(year, month);
+        eraIndex = eras.indexOf(epochDay);
+        yearOfEra = eras.yearOfEra(eraIndex, year);
+        nextEraDay = eras.nextSinceDay(eraIndex);
+        positioned = true;
+    }
+
+    // ---- accessors
+
+    /**
+     * 現在の日付のエポック日を返します。
+     *
+     * @return エポック日
+     */
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * 現在の日付の元号を返します。
+     *
+     * @return 元号
+     */
+    public JapaneseEra getEra() {
+        return eras.getByIndex(eraIndex);
+    }
+
+    /**
+     * 現在の日付の元号の値を返します。
+     *
+     * @return 元号の値
+     */
+    public int getEraValue() {
+        return eraIndex + JapaneseEras.OFFSET;
+    }
+
+    /**
+     * 現在の日付の和暦年を返します。
+     *
+     * @return 和暦年
+     */
+    public int getYearOfEra() {
+        return yearOfEra;
+    }
+
+    /**
+     * 現在の日付の西暦年を返します。
+     *
+     * @return 西暦年
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * 現在の日付の月を返します。
+     *
+     * @return 月
+     */
+    public int getMonthValue() {
+        return month;
+    }
+
+    /**
+     * 現在の日付の日を返します。
+     *
+     * @return 日
+     */
+    public int getDayOfMonth() {
+        return day;
+    }
+
+    /**
+     * 現在の日付を返します。
+     *
+     * @return 日付
+     */
+    public JapaneseDate toDate() {
+        return JapaneseDate.ofEpochDay(epochDay);
+    }
+
+}
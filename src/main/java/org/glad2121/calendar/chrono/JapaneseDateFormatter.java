@@ -0,0 +1,640 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Objects;
+
+import org.glad2121.calendar.CalendarException;
+
+/**
+ * 和暦の日付の書式。
+ * <p>
+ * 算用数字の書式と、年、月、日を漢数字で表す書式があります。
+ * 漢数字は0から99までを表にしておき、それを組み合わせて書き込みます。
+ * <p>
+ * 元号の名前などはオブジェクトの構築時に解決しておき、
+ * 書式化の際には呼び出し元の {@code StringBuilder}、{@code Appendable}、{@code char[]}
+ * に直接書き込むため、一時的なオブジェクトを生成しません。
+ * 元号の一覧が読み込み直された場合は、次の書式化の際に元号の名前を解決し直します。
+ * <p>
+ * このクラスは不変で、スレッドセーフです。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseDateFormatter {
+
+    // ---- constants
+
+    /**
+     * 略称の書式（例: {@code H28.04.01}）。
+     */
+    public static final JapaneseDateFormatter ABBREVIATED =
+            new JapaneseDateFormatter(Style.ABBREVIATED, Locale.ROOT);
+
+    /**
+     * 漢字の書式（例: {@code 平成28年4月1日}、{@code 平成元年1月8日}）。
+     */
+    public static final JapaneseDateFormatter KANJI =
+            new JapaneseDateFormatter(Style.KANJI, Locale.JAPANESE);
+
+    /**
+     * 漢数字の書式（例: {@code 平成二十八年四月一日}、{@code 平成元年一月八日}）。
+     * <p>
+     * 公文書などで使う書式です。年、月、日を位取りの漢数字（十、百、千、万）で表します。
+     */
+    public static final JapaneseDateFormatter KANJI_NUMERAL =
+            new JapaneseDateFormatter(Style.KANJI_NUMERAL, Locale.JAPANESE);
+
+    /**
+     * 和暦年の最大の桁数。
+     */
+    static final int MAX_YEAR_DIGITS = 7;
+
+    /**
+     * 漢数字で表した和暦年の最大の長さ（{@code 九百九十九万九千九百九十九}）。
+     */
+    static final int MAX_KANJI_YEAR_LENGTH = 13;
+
+    /**
+     * 漢数字で表した月と日の最大の長さ（{@code 二十八}）。
+     */
+    static final int MAX_KANJI_MONTH_DAY_LENGTH = 3;
+
+    /**
+     * 漢数字の一の位の文字。
+     */
+    static final char[] KANJI_DIGITS = "〇一二三四五六七八九".toCharArray();
+
+    /**
+     * 0から99までの漢数字の表（0は空文字列）。
+     */
+    static final char[][] KANJI_NUMBERS = kanjiNumbers();
+
+    // ---- fields
+
+    /**
+     * 書式の種類。
+     */
+    private final Style style;
+
+    /**
+     * ロケール。
+     */
+    private final Locale locale;
+
+    /**
+     * 解決済みの元号の名前。
+     */
+    private volatile Names names;
+
+    // ---- constructors
+
+    /**
+     * オブジェクトを構築します。
+     *
+     * @param style  書式の種類
+     * @param locale ロケール
+     */
+    private JapaneseDateFormatter(Style style, Locale locale) {
+        this.style = style;
+        this.locale = locale;
+        this.names = new Names(style, locale, JapaneseEras.current());
+    }
+
+    /**
+     * 現在の元号の一覧に対応する元号の名前を返します。
+     *
+     * @return 元号の名前
+     */
+    Names names() {
+        JapaneseEras eras = JapaneseEras.current();
+        Names names = this.names;
+        if (names.eras != eras) {
+            // 競合しても同じ内容の表ができるだけなので、ロックは取らない
+            names = new Names(style, locale, eras);
+            this.names = names;
+        }
+        return names;
+    }
+
+    // ---- accessors
+
+    /**
+     * ロケールを返します。
+     *
+     * @return ロケール
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * 指定されたロケールの書式を返します。
+     *
+     * @param locale ロケール
+     * @return 書式
+     */
+    public JapaneseDateFormatter withLocale(Locale locale) {
+        Objects.requireNonNull(locale, "locale");
+        if (locale.equals(this.locale)) {
+            return this;
+        }
+        return new JapaneseDateFormatter(style, locale);
+    }
+
+    /**
+     * 書式化した文字列の最大の長さを返します。
+     * <p>
+     * {@link #formatTo(JapaneseDate, char[], int)} に渡すバッファの大きさの目安です。
+     *
+     * @return 最大の長さ
+     */
+    public int getMaxLength() {
+        return names().maxLength;
+    }
+
+    // ---- format
+
+    /**
+     * 日付を書式化します。
+     *
+     * @param date 日付
+     * @return 書式化した文字列
+     */
+    public String format(JapaneseDate date) {
+        Names names = names();
+        char[] buf = new char[names.maxLength];
+        int end = putDate(names, date, buf, 0);
+        return new String(buf, 0, end);
+    }
+
+    /**
+     * 日付を書式化して {@code StringBuilder} に追加します。
+     *
+     * @param date 日付
+     * @param sb   追加先
+     * @return 追加先
+     */
+    public StringBuilder formatTo(JapaneseDate date, StringBuilder sb) {
+        try {
+            appendTo(date, sb);
+        } catch (IOException e) {
+            // StringBuilder では発生しない
+            throw new CalendarException(e);
+        }
+        return sb;
+    }
+
+    /**
+     * 日付を書式化して {@code Appendable} に追加します。
+     *
+     * @param <A> 追加先の型
+     * @param date 日付
+     * @param appendable 追加先
+     * @return 追加先
+     * @throws IOException 追加先で入出力エラーが発生した場合
+     */
+    public <A extends Appendable> A formatTo(JapaneseDate date, A appendable)
+            throws IOException {
+        appendTo(date, appendable);
+        return appendable;
+    }
+
+    /**
+     * 日付を書式化して {@code char[]} に書き込みます。
+     *
+     * @param date   日付
+     * @param buf    書き込み先
+     * @param offset 書き込みを開始する位置
+     * @return 書き込んだ最後の文字の次の位置
+     * @throws ArrayIndexOutOfBoundsException 書き込み先が不足する場合
+     */
+    public int formatTo(JapaneseDate date, char[] buf, int offset) {
+        return putDate(names(), date, buf, offset);
+    }
+
+    static int putDate(Names names, JapaneseDate date, char[] buf, int offset) {
+        Style style = names.style;
+        long epochDay = date.toEpochDay();
+        int packed = EpochDays.toPackedDate(epochDay);
+        int index = names.eras.indexOf(epochDay);
+        int yearOfEra = names.eras.yearOfEra(index, EpochDays.year(packed));
+
+        int pos = putString(names.eraNames[index], buf, offset);
+        if (yearOfEra == 1 && names.firstYearText != null) {
+            pos = putString(names.firstYearText, buf, pos);
+        } else {
+            pos = style.putNumber(yearOfEra, buf, pos);
+        }
+        pos = putString(style.yearSuffix, buf, pos);
+        pos = style.putNumber(EpochDays.month(packed), buf, pos);
+        pos = putString(style.monthSuffix, buf, pos);
+        pos = style.putNumber(EpochDays.day(packed), buf, pos);
+        return putString(style.daySuffix, buf, pos);
+    }
+
+    void appendTo(JapaneseDate date, Appendable out) throws IOException {
+        long epochDay = date.toEpochDay();
+        int packed = EpochDays.toPackedDate(epochDay);
+        Names names = names();
+        int index = names.eras.indexOf(epochDay);
+        int yearOfEra = names.eras.yearOfEra(index, EpochDays.year(packed));
+
+        out.append(names.eraNames[index]);
+        if (yearOfEra == 1 && names.firstYearText != null) {
+            out.append(names.firstYearText);
+        } else {
+            style.appendNumber(yearOfEra, out);
+        }
+        out.append(style.yearSuffix);
+        style.appendNumber(EpochDays.month(packed), out);
+        out.append(style.monthSuffix);
+        style.appendNumber(EpochDays.day(packed), out);
+        out.append(style.daySuffix);
+    }
+
+    // ---- digits
+
+    static int putString(String s, char[] buf, int pos) {
+        int length = s.length();
+        s.getChars(0, length, buf, pos);
+        return pos + length;
+    }
+
+    static int putNumber(int value, int width, char[] buf, int pos) {
+        if (value < 100 && width <= 2) {
+            if (value >= 10 || width == 2) {
+                buf[pos++] = (char) ('0' + value / 10);
+            }
+            buf[pos++] = (char) ('0' + value % 10);
+            return pos;
+        }
+        int digits = Math.max(digits(value), width);
+        for (int i = pos + digits - 1; i >= pos; --i) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + digits;
+    }
+
+    static void appendNumber(int value, int width, Appendable out) throws IOException {
+        if (value < 100 && width <= 2) {
+            if (value >= 10 || width == 2) {
+                out.append((char) ('0' + value / 10));
+            }
+            out.append((char) ('0' + value % 10));
+            return;
+        }
+        int digits = digits(value);
+        for (int i = digits; i < width; ++i) {
+            out.append('0');
+        }
+        for (int divisor = pow10(digits - 1); divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    // ---- kanji numerals
+
+    /**
+     * 0から99までの漢数字の表を作成します。
+     *
+     * @return 漢数字の表
+     */
+    static char[][] kanjiNumbers() {
+        char[][] table = new char[100][];
+        StringBuilder sb = new StringBuilder(3);
+        for (int value = 0; value < 100; ++value) {
+            sb.setLength(0);
+            int tens = value / 10;
+            if (tens > 1) {
+                sb.append(KANJI_DIGITS[tens]);
+            }
+            if (tens > 0) {
+                sb.append('十');
+            }
+            if (value % 10 > 0) {
+                sb.append(KANJI_DIGITS[value % 10]);
+            }
+            table[value] = sb.toString().toCharArray();
+        }
+        return table;
+    }
+
+    /**
+     * 正の整数を位取りの漢数字で書き込みます。
+     * <p>
+     * 99までは表を引きます。それ以上は万の位ごとに千、百と表の値を組み合わせます。
+     *
+     * @param value 値（1以上）
+     * @param buf   書き込み先
+     * @param pos   書き込みを開始する位置
+     * @return 書き込んだ最後の文字の次の位置
+     */
+    static int putKanji(int value, char[] buf, int pos) {
+        if (value < 100) {
+            char[] kanji = KANJI_NUMBERS[value];
+            System.arraycopy(kanji, 0, buf, pos, kanji.length);
+            return pos + kanji.length;
+        }
+        if (value >= 100_000_000) {
+            pos = putKanjiSection(value / 100_000_000, buf, pos);
+            buf[pos++] = '億';
+            value %= 100_000_000;
+        }
+        if (value >= 10_000) {
+            pos = putKanjiSection(value / 10_000, buf, pos);
+            buf[pos++] = '万';
+            value %= 10_000;
+        }
+        return putKanjiSection(value, buf, pos);
+    }
+
+    /**
+     * 0から9999までの整数を千、百と表の値で書き込みます。0の場合は何も書き込みません。
+     */
+    static int putKanjiSection(int value, char[] buf, int pos) {
+        int thousands = value / 1000;
+        if (thousands > 0) {
+            if (thousands > 1) {
+                buf[pos++] = KANJI_DIGITS[thousands];
+            }
+            buf[pos++] = '千';
+        }
+        int hundreds = value / 100 % 10;
+        if (hundreds > 0) {
+            if (hundreds > 1) {
+                buf[pos++] = KANJI_DIGITS[hundreds];
+            }
+            buf[pos++] = '百';
+        }
+        char[] kanji = KANJI_NUMBERS[value % 100];
+        System.arraycopy(kanji, 0, buf, pos, kanji.length);
+        return pos + kanji.length;
+    }
+
+    /**
+     * 正の整数を位取りの漢数字で追加します。
+     * <p>
+     * {@link #putKanji(int, char[], int)} と同じ規則で、作業用の配列を使わずに直接追加します。
+     *
+     * @param value 値（1以上）
+     * @param out   追加先
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    static void appendKanji(int value, Appendable out) throws IOException {
+        if (value >= 100_000_000) {
+            appendKanjiSection(value / 100_000_000, out);
+            out.append('億');
+            value %= 100_000_000;
+        }
+        if (value >= 10_000) {
+            appendKanjiSection(value / 10_000, out);
+            out.append('万');
+            value %= 10_000;
+        }
+        appendKanjiSection(value, out);
+    }
+
+    /**
+     * 0から9999までの整数を千、百と表の値で追加します。0の場合は何も追加しません。
+     */
+    static void appendKanjiSection(int value, Appendable out) throws IOException {
+        int thousands = value / 1000;
+        if (thousands > 0) {
+            if (thousands > 1) {
+                out.append(KANJI_DIGITS[thousands]);
+            }
+            out.append('千');
+        }
+        int hundreds = value / 100 % 10;
+        if (hundreds > 0) {
+            if (hundreds > 1) {
+                out.append(KANJI_DIGITS[hundreds]);
+            }
+            out.append('百');
+        }
+        for (char c : KANJI_NUMBERS[value % 100]) {
+            out.append(c);
+        }
+    }
+
+    static int digits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            ++digits;
+        }
+        return digits;
+    }
+
+    static int pow10(int exponent) {
+        int value = 1;
+        for (int i = 0; i < exponent; ++i) {
+            value *= 10;
+        }
+        return value;
+    }
+
+    // ---- java.lang.Object
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "JapaneseDateFormatter[" + style + "," + locale + "]";
+    }
+
+    // ---- nested class
+
+    /**
+     * ある元号の一覧について解決した元号の名前です。
+     */
+    static final class Names {
+
+        /**
+         * 元号の一覧。
+         */
+        final JapaneseEras eras;
+
+        /**
+         * 書式の種類。
+         */
+        final Style style;
+
+        /**
+         * 元号のインデックスごとの名前。
+         */
+        final String[] eraNames;
+
+        /**
+         * 最初の年の呼び名。使わない場合は {@code null}。
+         */
+        final String firstYearText;
+
+        /**
+         * 書式化した文字列の最大の長さ。
+         */
+        final int maxLength;
+
+        Names(Style style, Locale locale, JapaneseEras eras) {
+            this.eras = eras;
+            this.style = style;
+            JapaneseEras.EraNames names = eras.getNames(locale);
+            JapaneseEra[] array = eras.toArray();
+            this.eraNames = new String[array.length];
+            int maxEraName = 0;
+            for (int i = 0; i < array.length; ++i) {
+                eraNames[i] = style.eraName(array[i], i, names);
+                maxEraName = Math.max(maxEraName, eraNames[i].length());
+            }
+            this.firstYearText = style.useFirstYearText ? names.firstYearText : null;
+            int maxYear = style.maxYearLength;
+            if (firstYearText != null) {
+                maxYear = Math.max(maxYear, firstYearText.length());
+            }
+            this.maxLength = maxEraName + maxYear + style.maxMonthDayLength * 2
+                    + style.yearSuffix.length() + style.monthSuffix.length() + style.daySuffix.length();
+        }
+
+    }
+
+    /**
+     * 書式の種類。
+     */
+    enum Style {
+
+        /**
+         * 略称の書式。
+         */
+        ABBREVIATED(2, ".", ".", "", false) {
+            @Override
+            String eraName(JapaneseEra era, int index, JapaneseEras.EraNames names) {
+                return era.getAbbr();
+            }
+        },
+
+        /**
+         * 漢字の書式。
+         */
+        KANJI(1, "年", "月", "日", true) {
+            @Override
+            String eraName(JapaneseEra era, int index, JapaneseEras.EraNames names) {
+                return names.longNames[index];
+            }
+        },
+
+        /**
+         * 漢数字の書式。
+         */
+        KANJI_NUMERAL(1, "年", "月", "日", true, MAX_KANJI_YEAR_LENGTH, MAX_KANJI_MONTH_DAY_LENGTH) {
+            @Override
+            String eraName(JapaneseEra era, int index, JapaneseEras.EraNames names) {
+                return names.longNames[index];
+            }
+
+            @Override
+            int putNumber(int value, char[] buf, int pos) {
+                return putKanji(value, buf, pos);
+            }
+
+            @Override
+            void appendNumber(int value, Appendable out) throws IOException {
+                appendKanji(value, out);
+            }
+        };
+
+        /**
+         * 年、月、日の最小の桁数。
+         */
+        final int width;
+
+        final String yearSuffix;
+
+        final String monthSuffix;
+
+        final String daySuffix;
+
+        /**
+         * 最初の年を呼び名で表すかどうか。
+         */
+        final boolean useFirstYearText;
+
+        /**
+         * 和暦年の最大の長さ。
+         */
+        final int maxYearLength;
+
+        /**
+         * 月と日の最大の長さ。
+         */
+        final int maxMonthDayLength;
+
+        Style(int width, String yearSuffix, String monthSuffix, String daySuffix,
+                boolean useFirstYearText) {
+            this(width, yearSuffix, monthSuffix, daySuffix, useFirstYearText, MAX_YEAR_DIGITS, 2);
+        }
+
+        Style(int width, String yearSuffix, String monthSuffix, String daySuffix,
+                boolean useFirstYearText, int maxYearLength, int maxMonthDayLength) {
+            this.width = width;
+            this.yearSuffix = yearSuffix;
+            this.monthSuffix = monthSuffix;
+            this.daySuffix = daySuffix;
+            this.useFirstYearText = useFirstYearText;
+            this.maxYearLength = maxYearLength;
+            this.maxMonthDayLength = maxMonthDayLength;
+        }
+
+        /**
+         * 年、月、日の値を書き込みます。
+         *
+         * @param value 値
+         * @param buf   書き込み先
+         * @param pos   書き込みを開始する位置
+         * @return 書き込んだ最後の文字の次の位置
+         */
+        int putNumber(int value, char[] buf, int pos) {
+            return JapaneseDateFormatter.putNumber(value, width, buf, pos);
+        }
+
+        /**
+         * 年、月、日の値を追加します。
+         *
+         * @param value 値
+         * @param out   追加先
+         * @throws IOException 追加先で入出力エラーが発生した場合
+         */
+        void appendNumber(int value, Appendable out) throws IOException {
+            JapaneseDateFormatter.appendNumber(value, width, out);
+        }
+
+        /**
+         * 元号の名前を返します。
+         *
+         * @param era   元号
+         * @param index 元号のインデックス
+         * @param names ロケールの元号の名前の表
+         * @return 元号の名前
+         */
+        abstract String eraName(JapaneseEra era, int index, JapaneseEras.EraNames names);
+
+    }
+
+}
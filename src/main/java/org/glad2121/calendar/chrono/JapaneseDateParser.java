@@ -0,0 +1,643 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.text.ParsePosition;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 和暦の日付の文字列の解析。
+ * <p>
+ * 次の形式を受け付けます。数字は全角でも構いません。
+ * <ul>
+ * <li>{@code H28.04.01}（区切り文字は {@code .}、{@code /}、{@code -}）</li>
+ * <li>{@code H280401}（和暦年、月、日を2桁ずつ）</li>
+ * <li>{@code 平成28年4月1日}、{@code 平成元年1月8日}</li>
+ * <li>{@code 平成二十八年四月一日}、{@code 平成元年一月八日}（漢数字）</li>
+ * </ul>
+ * 漢数字は位取りの {@code 十}、{@code 百}、{@code 千}、{@code 万}、{@code 億} と、
+ * {@code 二〇一九} のような数字の並びを受け付けます。
+ * 元号は略称、名前、各ロケールの短い名前・中位の名前・長い名前のいずれでも構いません。
+ * 元号の名前は {@link JapaneseEras} から作成したトライ木で照合します。
+ * 元号の一覧が読み込み直された場合は、次の解析の際にトライ木を作成し直します。
+ * 元号の期間外の日付（例: {@code 昭和64年1月8日}）は不正とします。
+ * <p>
+ * {@code parseEpochDay} は解析に失敗しても例外をスローせず、
+ * {@link #INVALID} を返して {@code ParsePosition} にエラーの位置を設定します。
+ * <p>
+ * このクラスは不変で、スレッドセーフです。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseDateParser {
+
+    // ---- constants
+
+    /**
+     * 解析に失敗したことを表すエポック日。
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * 元号の名前を集めるロケール。
+     */
+    static final Locale[] LOCALES = { Locale.ROOT, Locale.ENGLISH, Locale.JAPANESE };
+
+    /**
+     * 和暦年の最大の桁数。
+     */
+    static final int MAX_DIGITS = 9;
+
+    /**
+     * 月と日の最大の桁数。
+     */
+    static final int MAX_DAY_DIGITS = 2;
+
+    // ---- fields
+
+    /**
+     * 元号の一覧と、その名前のトライ木。
+     */
+    private volatile EraTrie eras;
+
+    // ---- constructors
+
+    /**
+     * オブジェクトを構築します。
+     */
+    JapaneseDateParser() {
+        JapaneseEras registry = JapaneseEras.current();
+        this.eras = new EraTrie(registry, buildTrie(registry));
+    }
+
+    /**
+     * 現在の元号の一覧に対応するトライ木を返します。
+     *
+     * @return トライ木
+     */
+    EraTrie eras() {
+        JapaneseEras registry = JapaneseEras.current();
+        EraTrie eras = this.eras;
+        if (eras.registry != registry) {
+            // 競合しても同じ内容のトライ木ができるだけなので、ロックは取らない
+            eras = new EraTrie(registry, buildTrie(registry));
+            this.eras = eras;
+        }
+        return eras;
+    }
+
+    // ---- parse
+
+    /**
+     * 文字列全体を日付として解析します。
+     *
+     * @param text 文字列
+     * @return 日付
+     * @throws DateTimeParseException 解析に失敗した場合
+     */
+    public JapaneseDate parse(CharSequence text) {
+        Objects.requireNonNull(text, "text");
+        ParsePosition position = new ParsePosition(0);
+        long epochDay = parseEpochDay(text, 0, text.length(), position);
+        if (epochDay == INVALID) {
+            throw new DateTimeParseException(
+                    "Text '" + text + "' could not be parsed at index " + position.getErrorIndex(),
+                    text, position.getErrorIndex());
+        }
+        return JapaneseDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * 文字列の指定された範囲を日付として解析します。
+     *
+     * @param text     文字列
+     * @param offset   解析を開始する位置
+     * @param length   解析する文字数
+     * @param position 解析の位置（成功時は終了位置、失敗時はエラーの位置を設定）
+     * @return 日付。解析に失敗した場合は {@code null}
+     */
+    public JapaneseDate parse(CharSequence text, int offset, int length, ParsePosition position) {
+        long epochDay = parseEpochDay(text, offset, length, position);
+        if (epochDay == INVALID) {
+            return null;
+        }
+        return JapaneseDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * 文字列の指定された範囲を日付として解析し、エポック日を返します。
+     * <p>
+     * 範囲内のすべての文字が日付として解析できる必要があります。
+     * {@link java.nio.CharBuffer} を渡した場合、位置はバッファの現在位置からの相対位置です。
+     *
+     * @param text     文字列
+     * @param offset   解析を開始する位置
+     * @param length   解析する文字数
+     * @param position 解析の位置（成功時は終了位置、失敗時はエラーの位置を設定）
+     * @return エポック日。解析に失敗した場合は {@link #INVALID}
+     */
+    public long parseEpochDay(CharSequence text, int offset, int length, ParsePosition position) {
+        int end = offset + length;
+        if (offset < 0 || length < 0 || end > text.length()) {
+            throw new IndexOutOfBoundsException(
+                    "offset: " + offset + ", length: " + length + ", text: " + text.length());
+        }
+
+        // 元号
+        int pos = offset;
+        int eraIndex = -1;
+        EraTrie eras = eras();
+        Trie node = eras.root;
+        for (int i = offset; i < end && node != null; ++i) {
+            node = node.next(text.charAt(i));
+            if (node != null && node.eraIndex >= 0) {
+                eraIndex = node.eraIndex;
+                pos = i + 1;
+            }
+        }
+        if (eraIndex < 0) {
+            return error(position, offset);
+        }
+
+        // 和暦年
+        int yearStart = pos;
+        int yearOfEra;
+        boolean digitYear = false;
+        if (pos < end && text.charAt(pos) == FIRST_YEAR) {
+            yearOfEra = 1;
+            ++pos;
+        } else {
+            digitYear = pos < end && digit(text.charAt(pos)) >= 0;
+            long number = parseAnyNumber(text, pos, end, MAX_DIGITS);
+            if (number < 0) {
+                return error(position, pos);
+            }
+            yearOfEra = (int) number;
+            pos += (int) (number >>> 32);
+        }
+
+        int month;
+        int monthStart;
+        int day;
+        int dayStart;
+        if (pos < end && text.charAt(pos) == '年') {
+            // 平成28年4月1日、平成二十八年四月一日
+            monthStart = ++pos;
+            long number = parseAnyNumber(text, pos, end, MAX_DAY_DIGITS);
+            if (number < 0) {
+                return error(position, pos);
+            }
+            month = (int) number;
+            pos += (int) (number >>> 32);
+            if (pos >= end || text.charAt(pos) != '月') {
+                return error(position, pos);
+            }
+            dayStart = ++pos;
+            number = parseAnyNumber(text, pos, end, MAX_DAY_DIGITS);
+            if (number < 0) {
+                return error(position, pos);
+            }
+            day = (int) number;
+            pos += (int) (number >>> 32);
+            if (pos >= end || text.charAt(pos) != '日') {
+                return error(position, pos);
+            }
+            ++pos;
+        } else if (pos < end && isSeparator(text.charAt(pos)) && digitYear) {
+            // H28.04.01
+            char separator = text.charAt(pos);
+            monthStart = ++pos;
+            long number = parseNumber(text, pos, end, MAX_DAY_DIGITS);
+            if (number < 0) {
+                return error(position, pos);
+            }
+            month = (int) number;
+            pos += (int) (number >>> 32);
+            if (pos >= end || text.charAt(pos) != separator) {
+                return error(position, pos);
+            }
+            dayStart = ++pos;
+            number = parseNumber(text, pos, end, MAX_DAY_DIGITS);
+            if (number < 0) {
+                return error(position, pos);
+            }
+            day = (int) number;
+            pos += (int) (number >>> 32);
+        } else if (pos - yearStart == 6 && digitYear) {
+            // H280401
+            yearOfEra = digit(text.charAt(yearStart)) * 10 + digit(text.charAt(yearStart + 1));
+            month = digit(text.charAt(yearStart + 2)) * 10 + digit(text.charAt(yearStart + 3));
+            day = digit(text.charAt(yearStart + 4)) * 10 + digit(text.charAt(yearStart + 5));
+            monthStart = yearStart + 2;
+            dayStart = yearStart + 4;
+        } else {
+            return error(position, pos);
+        }
+        if (pos != end) {
+            return error(position, pos);
+        }
+
+        // 日付の検証
+        JapaneseEras registry = eras.registry;
+        if (yearOfEra < 1) {
+            return error(position, yearStart);
+        }
+        long year = (long) registry.getByIndex(eraIndex).getSince().getYear() + yearOfEra - 1;
+        if (year > JapaneseDate.MAX_DATE.getYear()) {
+            return error(position, yearStart);
+        }
+        if (month < 1 || 12 < month) {
+            return error(position, monthStart);
+        }
+        if (day < 1 || EpochDays.lengthOfMonth((int) year, month) < day) {
+            return error(position, dayStart);
+        }
+        long epochDay = EpochDays.toEpochDay((int) year, month, day);
+        if (epochDay < JapaneseDate.START_EPOCH_DAY) {
+            return error(position, offset);
+        }
+        if (!registry.contains(eraIndex, epochDay)) {
+            // 元号の期間外（例: 昭和64年1月8日）
+            return error(position, offset);
+        }
+        position.setIndex(pos);
+        return epochDay;
+    }
+
+    /**
+     * 文字列の配列を解析し、エポック日の配列に格納します。
+     * <p>
+     * 解析に失敗した要素には {@link #INVALID} を格納します。
+     *
+     * @param texts     文字列の配列
+     * @param epochDays エポック日の格納先
+     * @return 解析に失敗した要素の数
+     */
+    public int parseEpochDays(CharSequence[] texts, long[] epochDays) {
+        if (epochDays.length < texts.length) {
+            throw new IllegalArgumentException(
+                    "epochDays is too short: " + epochDays.length + " < " + texts.length);
+        }
+        ParsePosition position = new ParsePosition(0);
+        int errors = 0;
+        for (int i = 0; i < texts.length; ++i) {
+            CharSequence text = texts[i];
+            if (text == null) {
+                epochDays[i] = INVALID;
+                ++errors;
+                continue;
+            }
+            position.setErrorIndex(-1);
+            long epochDay = parseEpochDay(text, 0, text.length(), position);
+            epochDays[i] = epochDay;
+            if (epochDay == INVALID) {
+                ++errors;
+            }
+        }
+        return errors;
+    }
+
+    // ---- helpers
+
+    /**
+     * 最初の年を表す文字。
+     */
+    static final char FIRST_YEAR = '元';
+
+    static long error(ParsePosition position, int index) {
+        position.setErrorIndex(index);
+        return INVALID;
+    }
+
+    /**
+     * 数字の並びを解析します。
+     *
+     * @param text  文字列
+     * @param start 開始位置
+     * @param end   終了位置
+     * @param max   最大の桁数
+     * @return 上位32ビットに桁数、下位32ビットに値。数字がない場合は {@code -1}
+     */
+    static long parseNumber(CharSequence text, int start, int end, int max) {
+        int value = 0;
+        int pos = start;
+        while (pos < end && pos - start < max) {
+            int digit = digit(text.charAt(pos));
+            if (digit < 0) {
+                break;
+            }
+            value = value * 10 + digit;
+            ++pos;
+        }
+        if (pos == start) {
+            return -1;
+        }
+        return (long) (pos - start) << 32 | value;
+    }
+
+    /**
+     * 算用数字または漢数字の並びを解析します。最初の文字でどちらかを判定します。
+     *
+     * @param text  文字列
+     * @param start 開始位置
+     * @param end   終了位置
+     * @param max   算用数字の最大の桁数
+     * @return 上位32ビットに文字数、下位32ビットに値。数がない場合は {@code -1}
+     */
+    static long parseAnyNumber(CharSequence text, int start, int end, int max) {
+        if (start < end && kanjiDigit(text.charAt(start)) != NOT_KANJI) {
+            return parseKanjiNumber(text, start, end);
+        }
+        return parseNumber(text, start, end, max);
+    }
+
+    /**
+     * 漢数字の並びを1回の走査で解析します。
+     * <p>
+     * 位取りの {@code 十}、{@code 百}、{@code 千} は万の位ごとに大きい順に現れる必要があり、
+     * その前の数字は1桁だけ（省略時は1）とします。数字だけの並び（{@code 二〇一九}）も受け付けます。
+     *
+     * @param text  文字列
+     * @param start 開始位置
+     * @param end   終了位置
+     * @return 上位32ビットに文字数、下位32ビットに値。
+     *         漢数字がない場合、並びが不正な場合、{@code int} の範囲を超える場合は {@code -1}
+     */
+    static long parseKanjiNumber(CharSequence text, int start, int end) {
+        long total = 0;
+        long section = 0;
+        long digits = -1;
+        int lastUnit = Integer.MAX_VALUE;
+        int lastMultiplier = 10_000;
+        int pos = start;
+        for (; pos < end; ++pos) {
+            int k = kanjiDigit(text.charAt(pos));
+            if (k == NOT_KANJI) {
+                break;
+            }
+            if (k >= 0) {
+                // 数字
+                digits = (digits < 0 ? 0 : digits * 10) + k;
+                if (digits > Integer.MAX_VALUE || (digits > 9 && lastMultiplier < 10_000)) {
+                    return -1;
+                }
+            } else if (k > -10_000) {
+                // 十、百、千
+                int multiplier = -k;
+                if (multiplier >= lastMultiplier || digits > 9) {
+                    return -1;
+                }
+                section += (digits < 0 ? 1 : digits) * multiplier;
+                digits = -1;
+                lastMultiplier = multiplier;
+            } else {
+                // 万、億
+                int unit = -k;
+                long value = section + Math.max(digits, 0);
+                if (unit >= lastUnit || value == 0 || value > 9999) {
+                    return -1;
+                }
+                total += value * unit;
+                section = 0;
+                digits = -1;
+                lastUnit = unit;
+                lastMultiplier = 10_000;
+            }
+        }
+        if (pos == start) {
+            return -1;
+        }
+        long value = section + Math.max(digits, 0);
+        if (lastUnit != Integer.MAX_VALUE && value > 9999) {
+            return -1;
+        }
+        total += value;
+        if (total > Integer.MAX_VALUE) {
+            return -1;
+        }
+        return (long) (pos - start) << 32 | total;
+    }
+
+    /**
+     * 漢数字でないことを表す値。
+     */
+    static final int NOT_KANJI = Integer.MIN_VALUE;
+
+    /**
+     * 漢数字の値を返します。
+     *
+     * @param c 文字
+     * @return 数字は0から9、{@code 十}、{@code 百}、{@code 千}、{@code 万}、{@code 億} は
+     *         その値の符号を反転した値。漢数字でない場合は {@link #NOT_KANJI}
+     */
+    static int kanjiDigit(char c) {
+        switch (c) {
+        case '〇':
+        case '零':
+            return 0;
+        case '一':
+            return 1;
+        case '二':
+            return 2;
+        case '三':
+            return 3;
+        case '四':
+            return 4;
+        case '五':
+            return 5;
+        case '六':
+            return 6;
+        case '七':
+            return 7;
+        case '八':
+            return 8;
+        case '九':
+            return 9;
+        case '十':
+            return -10;
+        case '百':
+            return -100;
+        case '千':
+            return -1000;
+        case '万':
+            return -10_000;
+        case '億':
+            return -100_000_000;
+        default:
+            return NOT_KANJI;
+        }
+    }
+
+    /**
+     * 半角または全角の数字の値を返します。
+     *
+     * @param c 文字
+     * @return 数字の値。数字でない場合は {@code -1}
+     */
+    static int digit(char c) {
+        if ('0' <= c && c <= '9') {
+            return c - '0';
+        }
+        if ('０' <= c && c <= '９') {
+            return c - '０';
+        }
+        return -1;
+    }
+
+    static boolean isSeparator(char c) {
+        return c == '.' || c == '/' || c == '-'
+                || c == '．' || c == '／' || c == '－';
+    }
+
+    // ---- trie
+
+    /**
+     * 元号の名前のトライ木を作成します。
+     *
+     * @param registry 元号の一覧
+     * @return トライ木
+     */
+    static Trie buildTrie(JapaneseEras registry) {
+        TrieBuilder root = new TrieBuilder();
+        JapaneseEra[] eras = registry.toArray();
+        for (int index = 0; index < eras.length; ++index) {
+            JapaneseEra era = eras[index];
+            int value = era.getValue();
+            root.add(era.getAbbr(), index);
+            root.add(era.getAbbr().toLowerCase(Locale.ROOT), index);
+            root.add(toFullWidth(era.getAbbr()), index);
+            root.add(era.getName(), index);
+            for (Locale locale : LOCALES) {
+                root.add(registry.getShortName(value, locale), index);
+                root.add(registry.getMediumName(value, locale), index);
+                root.add(registry.getLongName(value, locale), index);
+            }
+        }
+        return root.build();
+    }
+
+    static String toFullWidth(String s) {
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; ++i) {
+            if ('!' <= chars[i] && chars[i] <= '~') {
+                chars[i] += '！' - '!';
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 元号の一覧と、その名前のトライ木の組です。
+     */
+    static final class EraTrie {
+
+        /**
+         * 元号の一覧。
+         */
+        final JapaneseEras registry;
+
+        /**
+         * トライ木の根。
+         */
+        final Trie root;
+
+        EraTrie(JapaneseEras registry, Trie root) {
+            this.registry = registry;
+            this.root = root;
+        }
+
+    }
+
+    /**
+     * 元号の名前のトライ木の節点。
+     */
+    static final class Trie {
+
+        /**
+         * 子の節点の文字（昇順）。
+         */
+        final char[] keys;
+
+        /**
+         * 子の節点。
+         */
+        final Trie[] children;
+
+        /**
+         * この節点で終わる名前の元号のインデックス。ない場合は {@code -1}。
+         */
+        final int eraIndex;
+
+        Trie(char[] keys, Trie[] children, int eraIndex) {
+            this.keys = keys;
+            this.children = children;
+            this.eraIndex = eraIndex;
+        }
+
+        Trie next(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+    }
+
+    /**
+     * トライ木を作成します。
+     */
+    static final class TrieBuilder {
+
+        final Map<Character, TrieBuilder> children = new TreeMap<>();
+
+        int eraIndex = -1;
+
+        void add(String name, int index) {
+            TrieBuilder node = this;
+            for (int i = 0; i < name.length(); ++i) {
+                node = node.children.computeIfAbsent(name.charAt(i), c -> new TrieBuilder());
+            }
+            if (node.eraIndex >= 0 && node.eraIndex != index) {
+                throw new IllegalStateException("Ambiguous era name: " + name);
+            }
+            node.eraIndex = index;
+        }
+
+        Trie build() {
+            char[] keys = new char[children.size()];
+            Trie[] nodes = new Trie[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, TrieBuilder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                ++i;
+            }
+            return new Trie(keys, nodes, eraIndex);
+        }
+
+    }
+
+    // ---- singleton
+
+    /**
+     * 唯一のインスタンス。
+     */
+    public static final JapaneseDateParser INSTANCE = new JapaneseDateParser();
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * 連続する日付の {@code Spliterator}。
+ * <p>
+ * 範囲をエポック日の組で保持し、中央で分割します。
+ * 日付はエポック日だけを保持するため、要素を生成する際に元号を解決しません。
+ *
+ * @author GLAD!!
+ */
+final class JapaneseDateSpliterator implements Spliterator<JapaneseDate> {
+
+    // ---- constants
+
+    private static final int CHARACTERISTICS = ORDERED | DISTINCT | SORTED
+            | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+
+    // ---- fields
+
+    /**
+     * 次の日付のエポック日。
+     */
+    private long from;
+
+    /**
+     * 最後の日付の翌日のエポック日。
+     */
+    private final long to;
+
+    // ---- constructors
+
+    /**
+     * オブジェクトを構築します。
+     *
+     * @param from 最初の日付のエポック日
+     * @param to   最後の日付の翌日のエポック日
+     */
+    JapaneseDateSpliterator(long from, long to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    // ---- java.util.Spliterator
+
+    @Override
+    public boolean tryAdvance(Consumer<? super JapaneseDate> action) {
+        Objects.requireNonNull(action, "action");
+        if (from >= to) {
+            return false;
+        }
+        action.accept(JapaneseDate.ofEpochDay(from++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super JapaneseDate> action) {
+        Objects.requireNonNull(action, "action");
+        long end = to;
+        for (long epochDay = from; epochDay < end; ++epochDay) {
+            action.accept(JapaneseDate.ofEpochDay(epochDay));
+        }
+        from = end;
+    }
+
+    @Override
+    public Spliterator<JapaneseDate> trySplit() {
+        long size = to - from;
+        if (size < 2) {
+            return null;
+        }
+        long mid = from + size / 2;
+        Spliterator<JapaneseDate> prefix = new JapaneseDateSpliterator(from, mid);
+        from = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    @Override
+    public Comparator<? super JapaneseDate> getComparator() {
+        // 自然順序
+        return null;
+    }
+
+}
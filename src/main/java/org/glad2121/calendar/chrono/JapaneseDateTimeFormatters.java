@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static java.time.temporal.ChronoField.*;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.SignStyle;
+import java.time.format.TextStyle;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 和暦の {@link DateTimeFormatter} の生成とキャッシュ。
+ * <p>
+ * {@link DateTimeFormatter#ofPattern(String, Locale)} と同じパターンから、
+ * このライブラリの暦法（{@link JapaneseChronology}）の書式を作成します。
+ * 次の文字は Date Time API の元号の名前の代わりに、ロケールごとの元号の名前の表を使います。
+ * <ul>
+ * <li>{@code G}、{@code GG}、{@code GGG} - 長さが中位の名前（例: {@code 平}、{@code H}）</li>
+ * <li>{@code GGGG} - 長い名前（例: {@code 平成}、{@code Heisei}）</li>
+ * <li>{@code GGGGG} - 短い名前（例: {@code H}）</li>
+ * <li>{@code y} - 和暦年。ロケールに最初の年の呼び名がある場合は1年をその名前（例: {@code 元}）で表します。</li>
+ * <li>{@code yy} - 2桁にゼロ埋めした和暦年（例: {@code 01}）。2000年を基準とする2桁の年ではありません。</li>
+ * </ul>
+ * 書式化と解析のどちらにも使えます。
+ * <p>
+ * 作成した書式はパターンとロケールごとにキャッシュします。
+ * 元号の一覧が読み込み直された場合は、次に要求されたときに作成し直します。
+ * キャッシュするパターンの数は {@link #MAX_CACHE_SIZE} までで、それを超えた分は毎回作成します。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseDateTimeFormatters {
+
+    // ---- constants
+
+    /**
+     * キャッシュするパターンとロケールの組の数の上限。
+     */
+    static final int MAX_CACHE_SIZE = 256;
+
+    /**
+     * パターン {@code yy} の和暦年の最大の桁数。
+     */
+    static final int MAX_YEAR_OF_ERA_WIDTH = JapaneseDateFormatter.MAX_YEAR_DIGITS;
+
+    /**
+     * パターンとロケールの組ごとの書式。
+     */
+    private static final ConcurrentMap<Key, Entry> CACHE = new ConcurrentHashMap<>();
+
+    // ---- constructors
+
+    private JapaneseDateTimeFormatters() {
+    }
+
+    // ---- factories
+
+    /**
+     * デフォルトロケールの書式を返します。
+     *
+     * @param pattern パターン
+     * @return 書式
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    public static DateTimeFormatter ofPattern(String pattern) {
+        return ofPattern(pattern, Locale.getDefault());
+    }
+
+    /**
+     * 指定されたロケールの書式を返します。
+     *
+     * @param pattern パターン
+     * @param locale  ロケール
+     * @return 書式
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    public static DateTimeFormatter ofPattern(String pattern, Locale locale) {
+        Objects.requireNonNull(pattern, "pattern");
+        Objects.requireNonNull(locale, "locale");
+        JapaneseEras eras = JapaneseEras.current();
+        Key key = new Key(pattern, locale);
+        Entry entry = CACHE.get(key);
+        if (entry != null && entry.eras == eras) {
+            return entry.formatter;
+        }
+        // 競合しても同じ書式ができるだけなので、ロックは取らない
+        DateTimeFormatter formatter = compile(pattern, locale, eras);
+        if (entry != null || CACHE.size() < MAX_CACHE_SIZE) {
+            CACHE.put(key, new Entry(eras, formatter));
+        }
+        return formatter;
+    }
+
+    // ---- compile
+
+    /**
+     * パターンを解析して書式を作成します。
+     * <p>
+     * 元号と和暦年以外の部分は {@link DateTimeFormatterBuilder#appendPattern(String)} に委ねます。
+     *
+     * @param pattern パターン
+     * @param locale  ロケール
+     * @param eras    元号の一覧
+     * @return 書式
+     */
+    static DateTimeFormatter compile(String pattern, Locale locale, JapaneseEras eras) {
+        JapaneseEras.EraNames names = eras.getNames(locale);
+        Map<Long, String> firstYear = null;
+        if (names.firstYearText != null && !names.firstYearText.equals("1")) {
+            firstYear = Collections.singletonMap(1L, names.firstYearText);
+        }
+        DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
+        int length = pattern.length();
+        int start = 0;
+        boolean quoted = false;
+        for (int pos = 0; pos < length; ) {
+            char c = pattern.charAt(pos);
+            if (c == '\'') {
+                quoted = !quoted;
+                ++pos;
+                continue;
+            }
+            int end = pos + 1;
+            while (end < length && pattern.charAt(end) == c) {
+                ++end;
+            }
+            if (!quoted && c == 'G') {
+                appendPattern(builder, pattern, start, pos);
+                builder.appendText(ERA, eraTexts(names, eraStyle(end - pos)));
+                start = end;
+            } else if (!quoted && c == 'y' && end - pos == 1 && firstYear != null) {
+                appendPattern(builder, pattern, start, pos);
+                // 1年以外は数字で書式化し、数字を解析できるように寛容な解析にする
+                builder.parseLenient().appendText(YEAR_OF_ERA, firstYear).parseStrict();
+                start = end;
+            } else if (!quoted && c == 'y' && end - pos == 2) {
+                appendPattern(builder, pattern, start, pos);
+                // 和暦年は2000年を基準とする2桁の年ではなく、2桁にゼロ埋めした年とする
+                builder.appendValue(YEAR_OF_ERA, 2, MAX_YEAR_OF_ERA_WIDTH, SignStyle.NOT_NEGATIVE);
+                start = end;
+            }
+            pos = end;
+        }
+        appendPattern(builder, pattern, start, length);
+        return builder.toFormatter(locale).withChronology(JapaneseChronology.INSTANCE);
+    }
+
+    static void appendPattern(DateTimeFormatterBuilder builder, String pattern, int start, int end) {
+        if (start < end) {
+            builder.appendPattern(pattern.substring(start, end));
+        }
+    }
+
+    static TextStyle eraStyle(int count) {
+        switch (count) {
+        case 1:
+        case 2:
+        case 3:
+            return TextStyle.SHORT;
+        case 4:
+            return TextStyle.FULL;
+        case 5:
+            return TextStyle.NARROW;
+        default:
+            throw new IllegalArgumentException("Too many pattern letters: G");
+        }
+    }
+
+    static Map<Long, String> eraTexts(JapaneseEras.EraNames names, TextStyle style) {
+        String[] texts = names.names(style);
+        Map<Long, String> map = new HashMap<>();
+        for (int i = 0; i < texts.length; ++i) {
+            map.put((long) (i + JapaneseEras.OFFSET), texts[i]);
+        }
+        return map;
+    }
+
+    // ---- nested class
+
+    /**
+     * キャッシュのキーです。
+     */
+    static final class Key {
+
+        final String pattern;
+
+        final Locale locale;
+
+        Key(String pattern, Locale locale) {
+            this.pattern = pattern;
+            this.locale = locale;
+        }
+
+        @Override
+        public int hashCode() {
+            return pattern.hashCode() * 31 + locale.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return pattern.equals(other.pattern) && locale.equals(other.locale);
+        }
+
+    }
+
+    /**
+     * ある元号の一覧について作成した書式です。
+     */
+    static final class Entry {
+
+        final JapaneseEras eras;
+
+        final DateTimeFormatter formatter;
+
+        Entry(JapaneseEras eras, DateTimeFormatter formatter) {
+            this.eras = eras;
+            this.formatter = formatter;
+        }
+
+    }
+
+}
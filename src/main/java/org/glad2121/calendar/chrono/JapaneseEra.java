@@ -20,7 +20,9 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.chrono.Era;
+import java.time.format.TextStyle;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * 和暦の元号。
@@ -109,7 +111,7 @@ public final class JapaneseEra
      * @return 元号の配列
      */
     public static JapaneseEra[] values() {
-        return JapaneseEras.INSTANCE.toArray();
+        return JapaneseEras.current().toArray();
     }
 
     /**
@@ -119,7 +121,7 @@ public final class JapaneseEra
      * @return 元号
      */
     public static JapaneseEra of(int value) {
-        return JapaneseEras.INSTANCE.get(value);
+        return JapaneseEras.current().get(value);
     }
 
     /**
@@ -129,7 +131,7 @@ public final class JapaneseEra
      * @return 元号
      */
     public static JapaneseEra valueOf(String name) {
-        return JapaneseEras.INSTANCE.get(name);
+        return JapaneseEras.current().get(name);
     }
 
     // ---- accessors
@@ -181,7 +183,7 @@ public final class JapaneseEra
      * @return 短い名前。
      */
     public String getShortName() {
-        return JapaneseEras.INSTANCE.getShortName(value);
+        return JapaneseEras.current().getShortName(value);
     }
 
     /**
@@ -191,7 +193,7 @@ public final class JapaneseEra
      * @return 短い名前
      */
     public String getShortName(Locale locale) {
-        return JapaneseEras.INSTANCE.getShortName(value, locale);
+        return JapaneseEras.current().getShortName(value, locale);
     }
 
     /**
@@ -200,7 +202,7 @@ public final class JapaneseEra
      * @return 長さが中位の名前
      */
     public String getMediumName() {
-        return JapaneseEras.INSTANCE.getMediumName(value);
+        return JapaneseEras.current().getMediumName(value);
     }
 
     /**
@@ -210,7 +212,7 @@ public final class JapaneseEra
      * @return 長さが中位の名前
      */
     public String getMediumName(Locale locale) {
-        return JapaneseEras.INSTANCE.getMediumName(value, locale);
+        return JapaneseEras.current().getMediumName(value, locale);
     }
 
     /**
@@ -219,7 +221,7 @@ public final class JapaneseEra
      * @return 長い名前
      */
     public String getLongName() {
-        return JapaneseEras.INSTANCE.getLongName(value);
+        return JapaneseEras.current().getLongName(value);
     }
 
     /**
@@ -229,7 +231,24 @@ public final class JapaneseEra
      * @return 長い名前
      */
     public String getLongName(Locale locale) {
-        return JapaneseEras.INSTANCE.getLongName(value, locale);
+        return JapaneseEras.current().getLongName(value, locale);
+    }
+
+    /**
+     * 指定された形式の名前を返します。
+     * <p>
+     * {@link java.time.format.DateTimeFormatter} を経由せずに、ロケールごとの元号の名前の表を引きます。
+     * {@code FULL} は長い名前、{@code SHORT} は長さが中位の名前、{@code NARROW} は短い名前です。
+     *
+     * @param style  名前の形式
+     * @param locale ロケール
+     * @return 名前
+     */
+    @Override
+    public String getDisplayName(TextStyle style, Locale locale) {
+        Objects.requireNonNull(style, "style");
+        Objects.requireNonNull(locale, "locale");
+        return JapaneseEras.current().getDisplayName(value, style, locale);
     }
 
     /**
@@ -238,7 +257,7 @@ public final class JapaneseEra
      * @return 最初の年の名前
      */
     public static String getFirstYearText() {
-        return JapaneseEras.INSTANCE.getFirstYearText();
+        return JapaneseEras.current().getFirstYearText();
     }
 
     // ---- java.lang.Comparable
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glad2121.calendar.CalendarException;
+
+/**
+ * 実行時に元号を追加するための元号の一覧の登録簿。
+ * <p>
+ * 更新した設定ファイル（{@code japanese-eras.xml} と同じ形式）を読み込み直し、
+ * 新しい元号を JVM を再起動せずに追加します。
+ * 既存の元号は変更も削除もできず、新しい元号の追加だけを受け付けます。
+ * <p>
+ * 読み込み直した元号の一覧と索引は、作成を終えてから一つの volatile な参照で公開します。
+ * 日付の変換や書式化はロックを取らずに現在の一覧を参照し、作成途中の一覧を見ることはありません。
+ * 新しい元号の名前は、リソースバンドルにない場合は設定ファイルの名前と略称を使います。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseEraRegistry {
+
+    // ---- constructors
+
+    private JapaneseEraRegistry() {
+    }
+
+    // ---- eras
+
+    /**
+     * 現在の元号の一覧を返します。
+     *
+     * @return 元号の一覧
+     */
+    public static List<JapaneseEra> getEras() {
+        return JapaneseEras.current().getEras();
+    }
+
+    // ---- reload
+
+    /**
+     * クラスパス上の設定ファイルを読み込み直します。
+     *
+     * @return 読み込み直した後の元号の一覧
+     * @throws CalendarException 設定ファイルが不正な場合、または既存の元号と一致しない場合
+     */
+    public static List<JapaneseEra> reload() {
+        try (InputStream in = JapaneseEras.getResourceAsStream(JapaneseEras.CONFIG_PATH)) {
+            return JapaneseEras.reload(in).getEras();
+        } catch (IOException e) {
+            throw new CalendarException(e);
+        }
+    }
+
+    /**
+     * 指定された設定ファイルを読み込み直します。
+     *
+     * @param file 設定ファイル
+     * @return 読み込み直した後の元号の一覧
+     * @throws CalendarException 設定ファイルが読み込めない場合、不正な場合、または既存の元号と一致しない場合
+     */
+    public static List<JapaneseEra> reload(Path file) {
+        Objects.requireNonNull(file, "file");
+        try (InputStream in = Files.newInputStream(file)) {
+            return JapaneseEras.reload(in).getEras();
+        } catch (IOException e) {
+            throw new CalendarException(e);
+        }
+    }
+
+    /**
+     * 指定された設定ファイルの変更を監視し、変更されるたびに読み込み直します。
+     * <p>
+     * 監視はデーモンスレッドで行い、返された {@link Watcher} を閉じると終了します。
+     * 読み込みに失敗した場合は元の元号の一覧を使い続け、次の変更を待ちます。
+     * 書き込み途中のファイルを読まないよう、同じディレクトリに書き込んでから
+     * 名前を変更して置き換えることを推奨します。
+     *
+     * @param file 設定ファイル
+     * @return 監視
+     * @throws CalendarException 監視を開始できない場合
+     */
+    public static Watcher watch(Path file) {
+        Objects.requireNonNull(file, "file");
+        Path absolute = file.toAbsolutePath();
+        try {
+            WatchService service = absolute.getFileSystem().newWatchService();
+            try {
+                absolute.getParent().register(service,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (IOException e) {
+                service.close();
+                throw e;
+            }
+            Watcher watcher = new Watcher(absolute, service);
+            watcher.thread.start();
+            return watcher;
+        } catch (IOException e) {
+            throw new CalendarException(e);
+        }
+    }
+
+    // ---- nested class
+
+    /**
+     * 設定ファイルの監視です。
+     */
+    public static final class Watcher implements Closeable {
+
+        /**
+         * 設定ファイル。
+         */
+        private final Path file;
+
+        private final WatchService service;
+
+        private final Thread thread;
+
+        /**
+         * 読み込み直した回数。
+         */
+        private final AtomicLong reloadCount = new AtomicLong();
+
+        /**
+         * 最後に読み込みに失敗した原因。成功した場合は {@code null}。
+         */
+        private volatile RuntimeException lastFailure;
+
+        Watcher(Path file, WatchService service) {
+            this.file = file;
+            this.service = service;
+            this.thread = new Thread(this::run, "JapaneseEraRegistry-" + file.getFileName());
+            thread.setDaemon(true);
+        }
+
+        /**
+         * 監視している設定ファイルを返します。
+         *
+         * @return 設定ファイル
+         */
+        public Path getFile() {
+            return file;
+        }
+
+        /**
+         * 読み込み直した回数を返します。
+         * <p>
+         * 失敗した場合と、元号が増えなかった場合も数えます。
+         *
+         * @return 読み込み直した回数
+         */
+        public long getReloadCount() {
+            return reloadCount.get();
+        }
+
+        /**
+         * 最後に読み込みに失敗した原因を返します。
+         *
+         * @return 失敗の原因。最後の読み込みに成功した場合は {@code null}
+         */
+        public RuntimeException getLastFailure() {
+            return lastFailure;
+        }
+
+        /**
+         * 監視しているかどうかを返します。
+         *
+         * @return 監視している場合は {@code true}
+         */
+        public boolean isAlive() {
+            return thread.isAlive();
+        }
+
+        /**
+         * 監視を終了します。
+         *
+         * @throws IOException 入出力エラーが発生した場合
+         */
+        @Override
+        public void close() throws IOException {
+            service.close();
+        }
+
+        void run() {
+            Path name = file.getFileName();
+            try {
+                for (;;) {
+                    WatchKey key = service.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                                || name.equals(event.context())) {
+                            changed = true;
+                        }
+                    }
+                    if (changed && Files.exists(file)) {
+                        reload();
+                    }
+                    if (!key.reset()) {
+                        break;
+                    }
+                }
+            } catch (ClosedWatchServiceException e) {
+                // close() による終了
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void reload() {
+            try {
+                JapaneseEraRegistry.reload(file);
+                lastFailure = null;
+            } catch (RuntimeException e) {
+                lastFailure = e;
+            }
+            reloadCount.incrementAndGet();
+        }
+
+    }
+
+}
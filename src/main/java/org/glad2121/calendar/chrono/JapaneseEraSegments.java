@@ -0,0 +1,712 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 期間の元号・和暦年ごとの分割と、エポック日の列の元号・和暦年ごとの集計。
+ * <p>
+ * 期間の分割は元号の適用開始日と1月1日の境界だけをたどり、日ごとの日付を生成しません。
+ * 集計は、元号・和暦年を明治6年からの連番（西暦年の差 + 元号のインデックス）に対応付け、
+ * 配列で数えます。連番はエポック日の順序と一致するため、直前の要素と同じ和暦年かどうかを
+ * その範囲との比較で判定でき、日付順の列では年月日を求め直しません。
+ * <p>
+ * 要素数が {@link JapaneseDateArrays#PARALLEL_THRESHOLD} を超える配列は、
+ * 共通の {@link ForkJoinPool} で分割して並列に集計します。
+ * 元号の境界は {@link JapaneseEras} と同じものを使い、
+ * 元号の一覧が読み込み直されても、一度の呼び出しの中では同じ一覧を使います。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseEraSegments {
+
+    // ---- constants
+
+    /**
+     * 連番の基準の西暦年（{@link JapaneseDate} の扱うことのできる最初の年）。
+     */
+    static final int BASE_YEAR = JapaneseDate.START_DATE.getYear();
+
+    // ---- constructors
+
+    private JapaneseEraSegments() {
+    }
+
+    // ---- split
+
+    /**
+     * 期間を元号・和暦年ごとに分割し、それぞれの区間を処理します。
+     * <p>
+     * 区間は日付順で、処理の回数は期間に含まれる元号・和暦年の数です。
+     *
+     * @param startEpochDay 最初の日のエポック日（この日を含む）
+     * @param endEpochDay   最後の日のエポック日（この日を含まない）
+     * @param action        区間ごとの処理
+     * @throws DateTimeException 扱うことのできない日付が含まれる場合
+     */
+    public static void forEachSegment(long startEpochDay, long endEpochDay, SegmentConsumer action) {
+        Objects.requireNonNull(action, "action");
+        if (startEpochDay >= endEpochDay) {
+            return;
+        }
+        JapaneseDate.checkEpochDay(startEpochDay);
+        JapaneseDate.checkEpochDay(endEpochDay - 1);
+        JapaneseEras table = JapaneseEras.current();
+        int index = table.indexOf(startEpochDay);
+        long nextEra = table.nextSinceDay(index);
+        int year = EpochDays.year(EpochDays.toPackedDate(startEpochDay));
+        long nextYear = EpochDays.toEpochDay(year + 1, 1, 1);
+        long start = startEpochDay;
+        while (start < endEpochDay) {
+            long end = Math.min(endEpochDay, Math.min(nextEra, nextYear));
+            action.accept(table.getByIndex(index), table.yearOfEra(index, year), start, end);
+            if (end == nextEra) {
+                ++index;
+                nextEra = table.nextSinceDay(index);
+            }
+            if (end == nextYear) {
+                ++year;
+                nextYear = EpochDays.toEpochDay(year + 1, 1, 1);
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * 期間を元号・和暦年ごとの区間に分割します。
+     *
+     * @param start 最初の日（この日を含む）
+     * @param end   最後の日（この日を含まない）
+     * @return 日付順の区間のリスト
+     * @throws DateTimeException 扱うことのできない日付が含まれる場合
+     */
+    public static List<Segment> split(ChronoLocalDate start, ChronoLocalDate end) {
+        return split(start.toEpochDay(), end.toEpochDay());
+    }
+
+    /**
+     * 期間を元号・和暦年ごとの区間に分割します。
+     *
+     * @param startEpochDay 最初の日のエポック日（この日を含む）
+     * @param endEpochDay   最後の日のエポック日（この日を含まない）
+     * @return 日付順の区間のリスト
+     * @throws DateTimeException 扱うことのできない日付が含まれる場合
+     */
+    public static List<Segment> split(long startEpochDay, long endEpochDay) {
+        List<Segment> segments = new ArrayList<>();
+        forEachSegment(startEpochDay, endEpochDay,
+                (era, yearOfEra, start, end) -> segments.add(new Segment(era, yearOfEra, start, end)));
+        return segments;
+    }
+
+    // ---- group by
+
+    /**
+     * エポック日の列を元号・和暦年ごとに数えます。列は日付順でなくても構いません。
+     *
+     * @param epochDays エポック日
+     * @return 元号・和暦年ごとの件数
+     * @throws DateTimeException 扱うことのできない日付が含まれる場合
+     */
+    public static Totals countByEraYear(long[] epochDays) {
+        return groupByEraYear(epochDays, null);
+    }
+
+    /**
+     * エポック日の列を元号・和暦年ごとに数え、対応する値を合計します。列は日付順でなくても構いません。
+     *
+     * @param epochDays エポック日
+     * @param values    エポック日と同じ位置の値
+     * @return 元号・和暦年ごとの件数と合計
+     * @throws DateTimeException 扱うことのできない日付が含まれる場合
+     * @throws IllegalArgumentException 値の配列の長さが足りない場合
+     */
+    public static Totals sumByEraYear(long[] epochDays, long[] values) {
+        Objects.requireNonNull(values, "values");
+        JapaneseDateArrays.checkArrayLength(epochDays.length, values.length);
+        return groupByEraYear(epochDays, values);
+    }
+
+    static Totals groupByEraYear(long[] epochDays, long[] values) {
+        JapaneseEras table = JapaneseEras.current();
+        int length = epochDays.length;
+        Histogram histogram;
+        if (length <= JapaneseDateArrays.PARALLEL_THRESHOLD) {
+            histogram = Histogram.of(table, epochDays, values, 0, length);
+        } else {
+            histogram = ForkJoinPool.commonPool().invoke(new GroupTask(table, epochDays, values, 0, length));
+        }
+        return new Totals(table, histogram, values != null);
+    }
+
+    /**
+     * エポック日の元号・和暦年の連番を返します。
+     *
+     * @param table    元号の一覧
+     * @param epochDay エポック日
+     * @return 連番
+     */
+    static int slotOf(JapaneseEras table, long epochDay) {
+        JapaneseDate.checkEpochDay(epochDay);
+        int year = EpochDays.year(EpochDays.toPackedDate(epochDay));
+        return year - BASE_YEAR + table.indexOf(epochDay);
+    }
+
+    // ---- histogram
+
+    /**
+     * 連番の範囲ごとの件数と合計。
+     */
+    static final class Histogram {
+
+        /**
+         * 最初の要素の連番。
+         */
+        final int firstSlot;
+
+        final long[] counts;
+
+        /**
+         * 合計。件数だけを数える場合は {@code null}。
+         */
+        final long[] sums;
+
+        Histogram(int firstSlot, int size, boolean sum) {
+            this.firstSlot = firstSlot;
+            this.counts = new long[size];
+            this.sums = sum ? new long[size] : null;
+        }
+
+        /**
+         * 配列の範囲を集計します。
+         * <p>
+         * 最小と最大のエポック日から連番の範囲を決めてから数えます。
+         * 範囲の年数が {@link YearTable#MAX_YEARS} 以下なら、年ごとの表を引いて連番を求めます。
+         * そうでなければ、直前の要素の和暦年の範囲 [{@code start}, {@code end}) に含まれる要素は
+         * 年月日を求め直さずに同じ連番に数えます。
+         */
+        static Histogram of(JapaneseEras table, long[] epochDays, long[] values, int from, int to) {
+            if (from >= to) {
+                return new Histogram(0, 0, values != null);
+            }
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = from; i < to; ++i) {
+                long epochDay = epochDays[i];
+                min = Math.min(min, epochDay);
+                max = Math.max(max, epochDay);
+            }
+            int firstSlot = slotOf(table, min);
+            Histogram histogram = new Histogram(firstSlot, slotOf(table, max) - firstSlot + 1, values != null);
+            YearTable years = YearTable.of(table, min, max, firstSlot);
+            if (years != null) {
+                histogram.addAll(years, epochDays, values, from, to);
+            } else {
+                histogram.addAll(table, epochDays, values, from, to);
+            }
+            return histogram;
+        }
+
+        void addAll(YearTable years, long[] epochDays, long[] values, int from, int to) {
+            for (int i = from; i < to; ++i) {
+                int slot = years.slotOf(epochDays[i]);
+                ++counts[slot];
+                if (sums != null) {
+                    sums[slot] += values[i];
+                }
+            }
+        }
+
+        void addAll(JapaneseEras table, long[] epochDays, long[] values, int from, int to) {
+            long start = 0;
+            long end = 0;
+            int slot = 0;
+            for (int i = from; i < to; ++i) {
+                long epochDay = epochDays[i];
+                if (epochDay < start || end <= epochDay) {
+                    int index = table.indexOf(epochDay);
+                    int year = EpochDays.year(EpochDays.toPackedDate(epochDay));
+                    slot = year - BASE_YEAR + index - firstSlot;
+                    start = Math.max(EpochDays.toEpochDay(year, 1, 1), table.firstDayOfEra(index));
+                    end = Math.min(EpochDays.toEpochDay(year + 1, 1, 1), table.nextSinceDay(index));
+                }
+                ++counts[slot];
+                if (sums != null) {
+                    sums[slot] += values[i];
+                }
+            }
+        }
+
+        /**
+         * 2つの集計を合わせます。
+         */
+        static Histogram merge(Histogram a, Histogram b) {
+            if (a.counts.length == 0) {
+                return b;
+            }
+            if (b.counts.length == 0) {
+                return a;
+            }
+            int first = Math.min(a.firstSlot, b.firstSlot);
+            int last = Math.max(a.firstSlot + a.counts.length, b.firstSlot + b.counts.length);
+            Histogram merged = new Histogram(first, last - first, a.sums != null);
+            merged.add(a);
+            merged.add(b);
+            return merged;
+        }
+
+        void add(Histogram other) {
+            int offset = other.firstSlot - firstSlot;
+            for (int i = 0; i < other.counts.length; ++i) {
+                counts[offset + i] += other.counts[i];
+            }
+            if (sums != null) {
+                for (int i = 0; i < other.sums.length; ++i) {
+                    sums[offset + i] += other.sums[i];
+                }
+            }
+        }
+
+    }
+
+    /**
+     * 集計の範囲の年ごとの、1月1日のエポック日と連番の表。
+     */
+    static final class YearTable {
+
+        /**
+         * 表を作る最大の年数。
+         */
+        static final int MAX_YEARS = 1024;
+
+        /**
+         * 1年の平均の日数（400年の日数 / 400）から年を見積もるための係数。
+         */
+        static final long DAYS_PER_400_YEARS = 146097;
+
+        /**
+         * 各年と翌年の1月1日のエポック日。
+         */
+        final long[] yearStarts;
+
+        /**
+         * 各年の1月1日の連番（集計の最初の連番からの差）。
+         */
+        final int[] slots;
+
+        /**
+         * 各年の途中で始まる元号の適用開始日。ない場合は {@link Long#MAX_VALUE}。
+         */
+        final long[] eraStarts;
+
+        YearTable(int size) {
+            this.yearStarts = new long[size + 1];
+            this.slots = new int[size];
+            this.eraStarts = new long[size];
+        }
+
+        /**
+         * 表を作ります。
+         *
+         * @return 表。年数が多すぎる場合、または1年の途中で2つ以上の元号が始まる場合は {@code null}
+         */
+        static YearTable of(JapaneseEras table, long min, long max, int firstSlot) {
+            int firstYear = EpochDays.year(EpochDays.toPackedDate(min));
+            int lastYear = EpochDays.year(EpochDays.toPackedDate(max));
+            if (lastYear - firstYear >= MAX_YEARS) {
+                return null;
+            }
+            YearTable years = new YearTable(lastYear - firstYear + 1);
+            for (int i = 0; i <= lastYear - firstYear; ++i) {
+                int year = firstYear + i;
+                long yearStart = EpochDays.toEpochDay(year, 1, 1);
+                long nextYearStart = EpochDays.toEpochDay(year + 1, 1, 1);
+                int index = table.indexOf(Math.max(yearStart, JapaneseDate.START_EPOCH_DAY));
+                long eraStart = table.nextSinceDay(index);
+                if (eraStart < nextYearStart && table.nextSinceDay(index + 1) < nextYearStart) {
+                    return null;
+                }
+                years.yearStarts[i] = yearStart;
+                years.slots[i] = year - BASE_YEAR + index - firstSlot;
+                years.eraStarts[i] = eraStart < nextYearStart ? eraStart : Long.MAX_VALUE;
+            }
+            years.yearStarts[lastYear - firstYear + 1] = EpochDays.toEpochDay(lastYear + 1, 1, 1);
+            return years;
+        }
+
+        /**
+         * 範囲内のエポック日の連番を返します。
+         * <p>
+         * 平均の日数から見積もった年を、1月1日の表で補正します。
+         */
+        int slotOf(long epochDay) {
+            long[] starts = yearStarts;
+            int i = (int) Math.min((epochDay - starts[0]) * 400 / DAYS_PER_400_YEARS, slots.length - 1);
+            while (epochDay < starts[i]) {
+                --i;
+            }
+            while (starts[i + 1] <= epochDay) {
+                ++i;
+            }
+            return epochDay < eraStarts[i] ? slots[i] : slots[i] + 1;
+        }
+
+    }
+
+    /**
+     * 配列を半分ずつに分割して集計するタスク。
+     */
+    static final class GroupTask extends RecursiveTask<Histogram> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final JapaneseEras table;
+
+        private final long[] epochDays;
+
+        private final long[] values;
+
+        private final int from;
+
+        private final int to;
+
+        GroupTask(JapaneseEras table, long[] epochDays, long[] values, int from, int to) {
+            this.table = table;
+            this.epochDays = epochDays;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Histogram compute() {
+            if (to - from <= JapaneseDateArrays.PARALLEL_THRESHOLD) {
+                return Histogram.of(table, epochDays, values, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            GroupTask left = new GroupTask(table, epochDays, values, from, mid);
+            left.fork();
+            Histogram right = new GroupTask(table, epochDays, values, mid, to).compute();
+            return Histogram.merge(left.join(), right);
+        }
+
+    }
+
+    // ---- nested types
+
+    /**
+     * 元号・和暦年の区間を処理します。
+     */
+    @FunctionalInterface
+    public interface SegmentConsumer {
+
+        /**
+         * 区間を処理します。
+         *
+         * @param era           元号
+         * @param yearOfEra     和暦年
+         * @param startEpochDay 区間の最初の日のエポック日（この日を含む）
+         * @param endEpochDay   区間の最後の日のエポック日（この日を含まない）
+         */
+        void accept(JapaneseEra era, int yearOfEra, long startEpochDay, long endEpochDay);
+
+    }
+
+    /**
+     * 元号・和暦年の区間。
+     * <p>
+     * このクラスは不変で、スレッドセーフです。
+     */
+    public static final class Segment {
+
+        private final JapaneseEra era;
+
+        private final int yearOfEra;
+
+        private final long startEpochDay;
+
+        private final long endEpochDay;
+
+        Segment(JapaneseEra era, int yearOfEra, long startEpochDay, long endEpochDay) {
+            this.era = era;
+            this.yearOfEra = yearOfEra;
+            this.startEpochDay = startEpochDay;
+            this.endEpochDay = endEpochDay;
+        }
+
+        /**
+         * 元号を返します。
+         *
+         * @return 元号
+         */
+        public JapaneseEra getEra() {
+            return era;
+        }
+
+        /**
+         * 和暦年を返します。
+         *
+         * @return 和暦年
+         */
+        public int getYearOfEra() {
+            return yearOfEra;
+        }
+
+        /**
+         * 最初の日のエポック日を返します（この日を含む）。
+         *
+         * @return エポック日
+         */
+        public long getStartEpochDay() {
+            return startEpochDay;
+        }
+
+        /**
+         * 最後の日のエポック日を返します（この日を含まない）。
+         *
+         * @return エポック日
+         */
+        public long getEndEpochDay() {
+            return endEpochDay;
+        }
+
+        /**
+         * 最初の日を返します。
+         *
+         * @return 最初の日
+         */
+        public JapaneseDate getStart() {
+            return JapaneseDate.ofEpochDay(startEpochDay);
+        }
+
+        /**
+         * 区間の最後の日を返します（この日を含む）。
+         *
+         * @return 最後の日
+         */
+        public JapaneseDate getLast() {
+            return JapaneseDate.ofEpochDay(endEpochDay - 1);
+        }
+
+        /**
+         * 区間の日数を返します。
+         *
+         * @return 日数
+         */
+        public long lengthInDays() {
+            return endEpochDay - startEpochDay;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other instanceof Segment) {
+                Segment segment = (Segment) other;
+                return era.equals(segment.era) && yearOfEra == segment.yearOfEra
+                        && startEpochDay == segment.startEpochDay && endEpochDay == segment.endEpochDay;
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(startEpochDay) * 31 + Long.hashCode(endEpochDay);
+        }
+
+        @Override
+        public String toString() {
+            return era.getAbbr() + yearOfEra + " [" + LocalDate.ofEpochDay(startEpochDay)
+                    + ", " + LocalDate.ofEpochDay(endEpochDay - 1) + "]";
+        }
+
+    }
+
+    /**
+     * 元号・和暦年ごとの件数と合計。
+     * <p>
+     * 要素が1つ以上ある元号・和暦年だけを日付順に保持します。
+     * このクラスは不変で、スレッドセーフです。
+     */
+    public static final class Totals {
+
+        private final JapaneseEra[] eras;
+
+        private final int[] yearsOfEra;
+
+        private final long[] counts;
+
+        private final long[] sums;
+
+        private final long totalCount;
+
+        Totals(JapaneseEras table, Histogram histogram, boolean sum) {
+            int size = 0;
+            for (long count : histogram.counts) {
+                if (count != 0) {
+                    ++size;
+                }
+            }
+            this.eras = new JapaneseEra[size];
+            this.yearsOfEra = new int[size];
+            this.counts = new long[size];
+            this.sums = sum ? new long[size] : null;
+            int eraCount = table.getEras().size();
+            long total = 0;
+            int index = 0;
+            int n = 0;
+            for (int i = 0; i < histogram.counts.length; ++i) {
+                if (histogram.counts[i] == 0) {
+                    continue;
+                }
+                int slot = histogram.firstSlot + i;
+                // 連番の元号の開始位置は、適用開始年 - 基準年 + インデックス
+                while (index + 1 < eraCount && firstSlotOf(table, index + 1) <= slot) {
+                    ++index;
+                }
+                eras[n] = table.getByIndex(index);
+                yearsOfEra[n] = table.yearOfEra(index, slot - index + BASE_YEAR);
+                counts[n] = histogram.counts[i];
+                if (sums != null) {
+                    sums[n] = histogram.sums[i];
+                }
+                total += counts[n];
+                ++n;
+            }
+            this.totalCount = total;
+        }
+
+        static int firstSlotOf(JapaneseEras table, int index) {
+            return table.getByIndex(index).getSince().getYear() - BASE_YEAR + index;
+        }
+
+        /**
+         * 元号・和暦年の数を返します。
+         *
+         * @return 元号・和暦年の数
+         */
+        public int size() {
+            return counts.length;
+        }
+
+        /**
+         * 指定された位置の元号を返します。
+         *
+         * @param i 位置
+         * @return 元号
+         */
+        public JapaneseEra getEra(int i) {
+            return eras[i];
+        }
+
+        /**
+         * 指定された位置の和暦年を返します。
+         *
+         * @param i 位置
+         * @return 和暦年
+         */
+        public int getYearOfEra(int i) {
+            return yearsOfEra[i];
+        }
+
+        /**
+         * 指定された位置の件数を返します。
+         *
+         * @param i 位置
+         * @return 件数
+         */
+        public long getCount(int i) {
+            return counts[i];
+        }
+
+        /**
+         * 指定された位置の合計を返します。
+         *
+         * @param i 位置
+         * @return 合計
+         * @throws IllegalStateException 件数だけを数えた場合
+         */
+        public long getSum(int i) {
+            if (sums == null) {
+                throw new IllegalStateException("Values were not summed");
+            }
+            return sums[i];
+        }
+
+        /**
+         * 指定された元号・和暦年の位置を返します。
+         *
+         * @param era       元号
+         * @param yearOfEra 和暦年
+         * @return 位置。ない場合は {@code -1}
+         */
+        public int indexOf(JapaneseEra era, int yearOfEra) {
+            for (int i = 0; i < eras.length; ++i) {
+                if (eras[i].equals(era) && yearsOfEra[i] == yearOfEra) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * 指定された元号・和暦年の件数を返します。
+         *
+         * @param era       元号
+         * @param yearOfEra 和暦年
+         * @return 件数。ない場合は0
+         */
+        public long getCount(JapaneseEra era, int yearOfEra) {
+            int i = indexOf(era, yearOfEra);
+            return i >= 0 ? counts[i] : 0;
+        }
+
+        /**
+         * すべての件数の合計を返します。
+         *
+         * @return 件数の合計
+         */
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("{");
+            for (int i = 0; i < counts.length; ++i) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(eras[i].getAbbr()).append(yearsOfEra[i]).append('=').append(counts[i]);
+                if (sums != null) {
+                    sb.append('/').append(sums[i]);
+                }
+            }
+            return sb.append('}').toString();
+        }
+
+    }
+
+}
@@ -17,15 +17,22 @@ package org.glad2121.calendar.chrono;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
 import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.time.temporal.ValueRange;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
@@ -38,6 +45,12 @@ import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * 和暦の元号の一覧。
+ * <p>
+ * インスタンスは元号の一覧とそこから派生する索引をまとめた不変のスナップショットで、
+ * 現在のインスタンスは {@link #current()} で参照します。
+ * 元号の一覧を読み込み直す場合は、新しいインスタンスを作成してから一つの volatile な参照を置き換えるため、
+ * 読み込み側はロックを取らず、作成途中の索引を見ることもありません。
+ * 一連の処理では {@link #current()} を一度だけ呼び出し、同じインスタンスを使ってください。
  *
  * @author GLAD!!
  */
@@ -50,6 +63,16 @@ class JapaneseEras {
      */
     static final String CONFIG_PATH = "japanese-eras.xml";
 
+    /**
+     * ビルド時に生成する元号の表のパス。
+     */
+    static final String BINARY_PATH = "japanese-eras.bin";
+
+    /**
+     * 設定ファイル（XML とリソースバンドル）を直接読み込むかどうかを指定するシステムプロパティ。
+     */
+    static final String USE_XML_PROPERTY = JapaneseEras.class.getName() + ".useXml";
+
     /**
      * 値のオフセット（明治の値）。
      */
@@ -73,9 +96,70 @@ class JapaneseEras {
     private final List<JapaneseEra> eras;
 
     /**
-     * リソース。
+     * 元号の配列。
+     */
+    private final JapaneseEra[] eraArray;
+
+    /**
+     * 各元号の適用開始日のエポック日。
+     */
+    private final long[] sinceDays;
+
+    /**
+     * 各元号の適用開始年。
+     */
+    private final int[] sinceYears;
+
+    /**
+     * 各元号の扱うことのできる最初の日のエポック日。
+     */
+    private final long[] firstDays;
+
+    /**
+     * 各元号の扱うことのできる最後の日のエポック日。
+     */
+    private final long[] lastDays;
+
+    /**
+     * 年ごとの索引の最初の年（最初の元号の適用開始年）。
+     */
+    private final int minYear;
+
+    /**
+     * 年ごとの索引の最後の年（最後の元号の適用開始年）。
+     */
+    private final int maxYear;
+
+    /**
+     * 年ごとの、その年の1月1日の元号のインデックス。
+     */
+    private final byte[] yearEras;
+
+    /**
+     * 年ごとの、その年の途中で元号が変わるかどうか。
+     */
+    private final boolean[] yearSplits;
+
+    /**
+     * 年ごとの索引の各年と翌年の1月1日のエポック日。
+     */
+    private final long[] yearStartDays;
+
+    /**
+     * 各元号の和暦年の範囲（扱うことのできる期間に限る）。
+     */
+    private final ValueRange[] yearOfEraRanges;
+
+    /**
+     * ロケールごとの元号の名前の表。
+     */
+    private final ConcurrentMap<Locale, EraNames> namesCache = new ConcurrentHashMap<>();
+
+    /**
+     * ビルド時に生成した表から読み込んだリソースバンドルの内容（バンドル名ごと）。
+     * 設定ファイルを直接読み込んだ場合は {@code null}。
      */
-    private final ResourceBundle resources;
+    private final Map<String, Map<String, String>> bundles;
 
     // ---- constructors
 
@@ -83,19 +167,109 @@ class JapaneseEras {
      * オブジェクトを構築します。
      */
     JapaneseEras() {
+        this(loadData());
+    }
+
+    /**
+     * 指定された元号のデータからオブジェクトを構築します。
+     *
+     * @param data 元号のデータ
+     */
+    JapaneseEras(EraData data) {
+        this.eras = Collections.unmodifiableList(data.eras);
+        this.bundles = data.bundles;
+
+        int size = eras.size();
+        this.eraArray = toArray();
+        this.sinceDays = new long[size];
+        this.sinceYears = new int[size];
+        for (int i = 0; i < size; ++i) {
+            LocalDate since = eraArray[i].getSince();
+            sinceDays[i] = since.toEpochDay();
+            sinceYears[i] = since.getYear();
+        }
+        this.minYear = sinceYears[0];
+        this.maxYear = sinceYears[size - 1];
+        this.yearEras = new byte[maxYear - minYear + 1];
+        this.yearSplits = new boolean[maxYear - minYear + 1];
+        this.yearStartDays = new long[maxYear - minYear + 2];
+        int index = 0;
+        for (int year = minYear; year <= maxYear; ++year) {
+            long firstDay = LocalDate.of(year, 1, 1).toEpochDay();
+            yearStartDays[year - minYear] = firstDay;
+            while (index + 1 < size && sinceDays[index + 1] <= firstDay) {
+                ++index;
+            }
+            yearEras[year - minYear] = (byte) index;
+            yearSplits[year - minYear] = sinceDays[index] > firstDay
+                    || (index + 1 < size && sinceYears[index + 1] == year);
+        }
+        yearStartDays[maxYear - minYear + 1] = LocalDate.of(maxYear + 1, 1, 1).toEpochDay();
+        this.firstDays = new long[size];
+        this.lastDays = new long[size];
+        this.yearOfEraRanges = new ValueRange[size];
+        for (int i = 0; i < size; ++i) {
+            long firstDay = Math.max(sinceDays[i], JapaneseDate.START_EPOCH_DAY);
+            long lastDay = (i + 1 < size) ? sinceDays[i + 1] - 1 : JapaneseDate.MAX_EPOCH_DAY;
+            firstDays[i] = firstDay;
+            lastDays[i] = lastDay;
+            int maxYearOfEra = yearOfEra(i, EpochDays.year(EpochDays.toPackedDate(lastDay)));
+            int minYearOfEra = Math.min(
+                    yearOfEra(i, EpochDays.year(EpochDays.toPackedDate(firstDay))), maxYearOfEra);
+            yearOfEraRanges[i] = ValueRange.of(minYearOfEra, maxYearOfEra);
+        }
+    }
+
+    /**
+     * 元号のデータを読み込みます。
+     * <p>
+     * ビルド時に生成した表があればそれを読み込みます。
+     * 表がない場合、クラスパスで最初に見つかる設定ファイルが表と別の場所にある（設定ファイルを上書きしている）場合、
+     * システムプロパティ {@value #USE_XML_PROPERTY} が {@code true} の場合は、設定ファイルを解析します。
+     *
+     * @return 元号のデータ
+     */
+    static EraData loadData() {
+        if (!Boolean.getBoolean(USE_XML_PROPERTY)) {
+            ClassLoader loader = getClassLoader();
+            URL binary = loader.getResource(BINARY_PATH);
+            if (binary != null && isSameLocation(binary, BINARY_PATH, loader.getResource(CONFIG_PATH), CONFIG_PATH)) {
+                try (InputStream in = binary.openStream()) {
+                    return JapaneseErasBinary.read(in);
+                } catch (IOException e) {
+                    throw new CalendarException(e);
+                }
+            }
+        }
         try (InputStream in = getResourceAsStream(CONFIG_PATH)) {
-            SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
-            SaxHandler handler = new SaxHandler();
-            parser.parse(in, handler);
-            this.eras = Collections.unmodifiableList(handler.eras);
-        } catch (ParserConfigurationException e) {
-            throw new CalendarException(e);
-        } catch (SAXException e) {
-            throw new CalendarException(e);
+            return new EraData(SaxHandler.parse(in), null);
         } catch (IOException e) {
             throw new CalendarException(e);
         }
-        this.resources = ResourceBundle.getBundle(RESOURCE_NAME);
+    }
+
+    /**
+     * 表と設定ファイルが同じ場所（ディレクトリまたは jar）にあるかどうかを返します。
+     *
+     * @param binary     表の URL
+     * @param binaryName 表のリソース名
+     * @param config     設定ファイルの URL。ない場合は {@code null}
+     * @param configName 設定ファイルのリソース名
+     * @return 同じ場所にある場合、または設定ファイルがない場合は {@code true}
+     */
+    static boolean isSameLocation(URL binary, String binaryName, URL config, String configName) {
+        if (config == null) {
+            return true;
+        }
+        String b = binary.toString();
+        String c = config.toString();
+        return b.endsWith(binaryName) && c.endsWith(configName)
+                && b.regionMatches(0, c, 0, b.length() - binaryName.length())
+                && b.length() - binaryName.length() == c.length() - configName.length();
+    }
+
+    static ClassLoader getClassLoader() {
+        return Thread.currentThread().getContextClassLoader();
     }
 
     /**
@@ -104,9 +278,8 @@ class JapaneseEras {
      * @param name リソース名
      * @return {@code InputStream}
      */
-    InputStream getResourceAsStream(String name) {
-        InputStream in = Thread.currentThread().getContextClassLoader()
-                .getResourceAsStream(name);
+    static InputStream getResourceAsStream(String name) {
+        InputStream in = getClassLoader().getResourceAsStream(name);
         if (in == null) {
             throw new CalendarException("Resource not found: " + name);
         }
@@ -140,11 +313,7 @@ class JapaneseEras {
      * @return 元号
      */
     public JapaneseEra get(int value) {
-        int index = value - OFFSET;
-        if (index < 0 || eras.size() <= index) {
-            throw new DateTimeException("Invalid era value: " + value);
-        }
-        return eras.get(index);
+        return eraArray[checkIndex(value)];
     }
 
     /**
@@ -170,35 +339,433 @@ class JapaneseEras {
      * @return 元号
      */
     public JapaneseEra get(LocalDate isoDate) {
+        return eraArray[indexOf(isoDate)];
+    }
+
+    /**
+     * 指定されたエポック日の元号を返します。
+     *
+     * @param epochDay エポック日
+     * @return 元号
+     */
+    public JapaneseEra get(long epochDay) {
+        return eraArray[indexOf(epochDay)];
+    }
+
+    /**
+     * 指定された ISO ローカル日付の元号のインデックスを返します。
+     * <p>
+     * 年ごとの索引を引き、年の途中で元号が変わる年に限りエポック日を比較します。
+     *
+     * @param isoDate ISO ローカル日付
+     * @return 元号のインデックス
+     */
+    int indexOf(LocalDate isoDate) {
         Objects.requireNonNull(isoDate, "date");
-        for (ListIterator<JapaneseEra> i = eras.listIterator(eras.size()); i.hasPrevious();) {
-            JapaneseEra era = i.previous();
-            if (era.getSince().compareTo(isoDate) <= 0) {
-                return era;
+        int year = isoDate.getYear();
+        if (year > maxYear) {
+            return eraArray.length - 1;
+        }
+        if (year < minYear) {
+            throw new DateTimeException("Unsupported iso date: " + isoDate);
+        }
+        int index = yearEras[year - minYear];
+        if (yearSplits[year - minYear]) {
+            long epochDay = isoDate.toEpochDay();
+            if (epochDay < sinceDays[index]) {
+                throw new DateTimeException("Unsupported iso date: " + isoDate);
+            }
+            while (index + 1 < sinceDays.length && sinceDays[index + 1] <= epochDay) {
+                ++index;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 指定されたエポック日の元号のインデックスを返します。
+     * <p>
+     * 最後の元号の適用開始日以降はそのまま最後の元号とし、それより前は年ごとの索引を引いて、
+     * 年の途中で元号が変わる年に限りエポック日を比較します。
+     *
+     * @param epochDay エポック日
+     * @return 元号のインデックス
+     */
+    int indexOf(long epochDay) {
+        int last = sinceDays.length - 1;
+        if (epochDay >= sinceDays[last]) {
+            return last;
+        }
+        if (epochDay < sinceDays[0]) {
+            throw new DateTimeException("Unsupported epoch day: " + epochDay);
+        }
+        // 平均の日数（400年の日数 / 400）から見積もった年を、1月1日の表で補正する
+        int i = Math.min((int) ((epochDay - yearStartDays[0]) * 400 / 146097), yearEras.length - 1);
+        if (epochDay < yearStartDays[i]) {
+            --i;
+        } else if (yearStartDays[i + 1] <= epochDay) {
+            ++i;
+        }
+        int index = yearEras[i];
+        if (yearSplits[i]) {
+            while (sinceDays[index + 1] <= epochDay) {
+                ++index;
             }
         }
-        throw new DateTimeException("Unsupported iso date: " + isoDate);
+        return index;
+    }
+
+    /**
+     * 指定された元号の次の元号の適用開始日のエポック日を返します。
+     *
+     * @param index 元号のインデックス
+     * @return 次の元号の適用開始日のエポック日。最後の元号の場合は {@link Long#MAX_VALUE}
+     */
+    long nextSinceDay(int index) {
+        return (index + 1 < sinceDays.length) ? sinceDays[index + 1] : Long.MAX_VALUE;
+    }
+
+    /**
+     * 指定されたインデックスの元号を返します。
+     *
+     * @param index 元号のインデックス
+     * @return 元号
+     */
+    JapaneseEra getByIndex(int index) {
+        return eraArray[index];
+    }
+
+    /**
+     * 指定された元号と西暦年から和暦年を返します。
+     *
+     * @param index 元号のインデックス
+     * @param prolepticYear 西暦年
+     * @return 和暦年
+     */
+    int yearOfEra(int index, int prolepticYear) {
+        return prolepticYear - sinceYears[index] + 1;
+    }
+
+    /**
+     * 指定された元号と和暦年から西暦年を返します。
+     *
+     * @param index 元号のインデックス
+     * @param yearOfEra 和暦年
+     * @return 西暦年
+     * @throws DateTimeException 和暦年が不正な場合、元号の最後の年より後の場合、
+     *         または西暦年が扱うことのできる範囲外の場合
+     */
+    int prolepticYear(int index, int yearOfEra) {
+        if (yearOfEra <= 0 || yearOfEraRanges[index].getMaximum() < yearOfEra) {
+            throw new DateTimeException("Invalid yearOfEra: " + yearOfEra);
+        }
+        long year = (long) sinceYears[index] + yearOfEra - 1;
+        if (year < JapaneseDate.START_DATE.getYear() || JapaneseDate.MAX_DATE.getYear() < year) {
+            throw new DateTimeException("Invalid proleptic year: " + year);
+        }
+        return (int) year;
+    }
+
+    /**
+     * 指定された元号、和暦年、月、日をエポック日に変換します。
+     * <p>
+     * {@link JapaneseDate} と一括変換で共通の変換です。
+     * 日付が元号の期間外の場合（例: 明治45年7月30日）は不正とします。
+     *
+     * @param index 元号のインデックス
+     * @param yearOfEra 和暦年
+     * @param month 月
+     * @param dayOfMonth 日
+     * @return エポック日
+     * @throws DateTimeException 日付が不正な場合
+     */
+    long toEpochDay(int index, int yearOfEra, int month, int dayOfMonth) {
+        long epochDay = EpochDays.of(prolepticYear(index, yearOfEra), month, dayOfMonth);
+        if (!contains(index, epochDay)) {
+            throw outOfEra(index, yearOfEra, month, dayOfMonth);
+        }
+        return epochDay;
+    }
+
+    /**
+     * 指定された元号、和暦年、月、日を {@link java.time.format.ResolverStyle#SMART} の規則でエポック日に変換します。
+     * <p>
+     * 日が月の日数を超える場合は月末日とします。
+     * 元号の期間外の日付は、元号が変わる年の中に限り認めます（例: 昭和64年1月8日は平成元年1月8日）。
+     *
+     * @param index 元号のインデックス
+     * @param yearOfEra 和暦年
+     * @param month 月（1～12）
+     * @param dayOfMonth 日（1～31）
+     * @return エポック日
+     * @throws DateTimeException 日付が不正な場合
+     */
+    long toEpochDaySmart(int index, int yearOfEra, int month, int dayOfMonth) {
+        int year = prolepticYear(index, yearOfEra);
+        int day = Math.min(dayOfMonth, EpochDays.lengthOfMonth(year, month));
+        long epochDay = EpochDays.of(year, month, day);
+        // 適用開始日より前の日付は元年なので、前の元号の最後の年に含まれる
+        if (epochDay >= nextSinceDay(index) && year != sinceYears[index + 1]) {
+            throw outOfEra(index, yearOfEra, month, dayOfMonth);
+        }
+        return epochDay;
+    }
+
+    /**
+     * 指定された元号、和暦年、月、日を {@link java.time.format.ResolverStyle#LENIENT} の規則でエポック日に変換します。
+     * <p>
+     * 和暦年は元号の適用開始年からの年数、月と日は1月1日からの月数と日数とし、元号の期間は検査しません。
+     *
+     * @param index 元号のインデックス
+     * @param yearOfEra 和暦年
+     * @param month 月
+     * @param dayOfMonth 日
+     * @return エポック日
+     * @throws DateTimeException 扱うことのできる範囲外の場合
+     */
+    long toEpochDayLenient(int index, long yearOfEra, long month, long dayOfMonth) {
+        long year = Math.addExact(sinceYears[index], Math.subtractExact(yearOfEra, 1));
+        return LocalDate.of(Math.toIntExact(year), 1, 1)
+                .plusMonths(Math.subtractExact(month, 1))
+                .plusDays(Math.subtractExact(dayOfMonth, 1))
+                .toEpochDay();
+    }
+
+    /**
+     * 指定されたエポック日が元号の期間内かどうかを返します。
+     *
+     * @param index    元号のインデックス
+     * @param epochDay エポック日
+     * @return 元号の期間内の場合は {@code true}
+     */
+    boolean contains(int index, long epochDay) {
+        return sinceDays[index] <= epochDay && epochDay < nextSinceDay(index);
+    }
+
+    DateTimeException outOfEra(int index, int yearOfEra, int month, int dayOfMonth) {
+        return new DateTimeException("Date is not in era " + eraArray[index].getName() + ": "
+                + yearOfEra + "-" + month + "-" + dayOfMonth);
+    }
+
+    /**
+     * 指定された元号の和暦年の範囲を返します。
+     *
+     * @param index 元号のインデックス
+     * @return 和暦年の範囲
+     */
+    ValueRange yearOfEraRange(int index) {
+        return yearOfEraRanges[index];
+    }
+
+    // ---- boundaries
+
+    /**
+     * 指定された元号の扱うことのできる最初の日のエポック日を返します。
+     * <p>
+     * 明治は {@link JapaneseDate} の扱うことのできる最初の日（明治6年1月1日）です。
+     *
+     * @param index 元号のインデックス
+     * @return 最初の日のエポック日
+     */
+    long firstDayOfEra(int index) {
+        return firstDays[index];
+    }
+
+    /**
+     * 指定された元号の扱うことのできる最後の日のエポック日を返します。
+     * <p>
+     * 最後の元号は {@link JapaneseDate} の扱うことのできる最後の日です。
+     *
+     * @param index 元号のインデックス
+     * @return 最後の日のエポック日
+     */
+    long lastDayOfEra(int index) {
+        return lastDays[index];
+    }
+
+    /**
+     * 指定されたエポック日を含む和暦年の最初の日のエポック日を返します。
+     * <p>
+     * 元号の最初の年は適用開始日、それ以外の年は1月1日です。
+     *
+     * @param index    エポック日の元号のインデックス
+     * @param epochDay エポック日
+     * @return 和暦年の最初の日のエポック日
+     */
+    long firstDayOfEraYear(int index, long epochDay) {
+        int year = EpochDays.year(EpochDays.toPackedDate(epochDay));
+        return Math.max(EpochDays.toEpochDay(year, 1, 1), firstDays[index]);
+    }
+
+    /**
+     * 指定されたエポック日を含む和暦年の最後の日のエポック日を返します。
+     * <p>
+     * 元号の最後の年は次の元号の適用開始日の前日、それ以外の年は12月31日です。
+     *
+     * @param index    エポック日の元号のインデックス
+     * @param epochDay エポック日
+     * @return 和暦年の最後の日のエポック日
+     */
+    long lastDayOfEraYear(int index, long epochDay) {
+        int year = EpochDays.year(EpochDays.toPackedDate(epochDay));
+        return Math.min(EpochDays.toEpochDay(year, 12, 31), lastDays[index]);
     }
 
     // ---- localized names
 
-    ResourceBundle getResources() {
+    ResourceBundle getResources(Locale locale) {
+        return ResourceBundle.getBundle(RESOURCE_NAME, locale);
+    }
+
+    /**
+     * 指定されたロケールの元号の名前の表を返します。
+     * <p>
+     * 表はロケールごとに一度だけ作成し、キャッシュします。
+     *
+     * @param locale ロケール（{@code null} の場合はデフォルトロケール）
+     * @return 元号の名前の表
+     */
+    EraNames getNames(Locale locale) {
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        // 既に作成済みの場合はロックを取らずに返す
+        EraNames names = namesCache.get(locale);
+        if (names == null) {
+            // 起動時のラムダの初期化を避けるため computeIfAbsent は使わない。
+            // 競合した場合は先に登録された表を使う
+            names = loadNames(locale);
+            EraNames previous = namesCache.putIfAbsent(locale, names);
+            if (previous != null) {
+                names = previous;
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 指定されたロケールの元号の名前の表を作成します。
+     *
+     * @param locale ロケール
+     * @return 元号の名前の表
+     */
+    EraNames loadNames(Locale locale) {
+        Map<String, String> resources = (bundles != null)
+                ? getBundleResources(locale) : toMap(getResources(locale));
+        int size = eraArray.length;
+        String[] shortNames = new String[size];
+        String[] mediumNames = new String[size];
+        String[] longNames = new String[size];
+        for (int i = 0; i < size; ++i) {
+            JapaneseEra era = eraArray[i];
+            String prefix = PREFIX + era.getValue();
+            shortNames[i] = getString(resources, prefix + ".short", era.getAbbr());
+            mediumNames[i] = getString(resources, prefix + ".medium", era.getAbbr());
+            longNames[i] = getString(resources, prefix + ".long", era.getName());
+        }
+        String firstYearText = getString(resources, PREFIX + "first-year", "1");
+        return new EraNames(shortNames, mediumNames, longNames, firstYearText);
+    }
+
+    static String getString(Map<String, String> resources, String key, String defaultValue) {
+        String value = resources.get(key);
+        return (value != null) ? value : defaultValue;
+    }
+
+    static Map<String, String> toMap(ResourceBundle resources) {
+        Map<String, String> map = new HashMap<>();
+        for (String key : resources.keySet()) {
+            map.put(key, resources.getString(key));
+        }
+        return map;
+    }
+
+    /**
+     * 指定されたロケールのリソースを、ビルド時に生成した表から合成して返します。
+     * <p>
+     * {@link ResourceBundle#getBundle(String, Locale)} と同じ順に候補のロケールをたどり、
+     * 基底のバンドルしか見つからない場合はデフォルトロケールで探し直します。
+     *
+     * @param locale ロケール
+     * @return キーと値の対応
+     */
+    Map<String, String> getBundleResources(Locale locale) {
+        List<Map<String, String>> chain = getBundleChain(locale);
+        if (chain.size() <= 1 && !Locale.ROOT.equals(locale)) {
+            // ResourceBundle.Control.getFallbackLocale と同じくデフォルトロケールで探し直す
+            Locale fallback = Locale.getDefault();
+            if (!fallback.equals(locale)) {
+                List<Map<String, String>> fallbackChain = getBundleChain(fallback);
+                if (!fallbackChain.isEmpty()) {
+                    chain = fallbackChain;
+                }
+            }
+        }
+        // 親のバンドルから順に重ね、子のバンドルの値を優先する
+        Map<String, String> resources = new HashMap<>();
+        for (int i = chain.size() - 1; i >= 0; --i) {
+            resources.putAll(chain.get(i));
+        }
         return resources;
     }
 
-    ResourceBundle getResources(Locale locale) {
-        if (locale == null || locale.equals(Locale.getDefault())) {
-            return resources;
+    List<Map<String, String>> getBundleChain(Locale locale) {
+        List<Map<String, String>> chain = new ArrayList<>();
+        for (String bundleName : getCandidateBundleNames(locale)) {
+            Map<String, String> bundle = bundles.get(bundleName);
+            if (bundle != null) {
+                chain.add(bundle);
+            }
         }
-        return ResourceBundle.getBundle(RESOURCE_NAME, locale);
+        return chain;
     }
 
-    String getString(String key) {
-        return getResources().getString(key);
+    /**
+     * 指定されたロケールの候補のバンドル名を、優先する順に返します。
+     * <p>
+     * {@link ResourceBundle.Control#getCandidateLocales(String, Locale)} の既定の規則に従います。
+     * 用字や中国語、ノルウェー語のように特別な規則のあるロケールは
+     * {@link ResourceBundle.Control} に委ね、それ以外は起動時の負荷を避けるため自前で求めます。
+     *
+     * @param locale ロケール
+     * @return 候補のバンドル名
+     */
+    static List<String> getCandidateBundleNames(Locale locale) {
+        String language = locale.getLanguage();
+        String country = locale.getCountry();
+        String variant = locale.getVariant();
+        List<String> names = new ArrayList<>(4);
+        if (!locale.getScript().isEmpty() || "zh".equals(language)
+                || "no".equals(language) || "nb".equals(language) || "nn".equals(language)) {
+            ResourceBundle.Control control =
+                    ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_DEFAULT);
+            for (Locale candidate : control.getCandidateLocales(RESOURCE_NAME, locale)) {
+                names.add(control.toBundleName(RESOURCE_NAME, candidate));
+            }
+            return names;
+        }
+        String prefix = RESOURCE_NAME + "_" + language + "_" + country;
+        for (String v = variant; !v.isEmpty(); ) {
+            names.add(prefix + "_" + v);
+            int end = v.lastIndexOf('_');
+            v = (end < 0) ? "" : v.substring(0, end);
+        }
+        if (!country.isEmpty()) {
+            names.add(prefix);
+        }
+        if (!language.isEmpty()) {
+            names.add(RESOURCE_NAME + "_" + language);
+        }
+        names.add(RESOURCE_NAME);
+        return names;
     }
 
-    String getString(String key, Locale locale) {
-        return getResources(locale).getString(key);
+    int checkIndex(int value) {
+        int index = value - OFFSET;
+        if (index < 0 || eraArray.length <= index) {
+            throw new DateTimeException("Invalid era value: " + value);
+        }
+        return index;
     }
 
     /**
@@ -208,7 +775,7 @@ class JapaneseEras {
      * @return 短い名前
      */
     public String getShortName(int value) {
-        return getString(PREFIX + value + ".short");
+        return getShortName(value, null);
     }
 
     /**
@@ -219,7 +786,7 @@ class JapaneseEras {
      * @return 短い名前
      */
     public String getShortName(int value, Locale locale) {
-        return getString(PREFIX + value + ".short", locale);
+        return getNames(locale).shortNames[checkIndex(value)];
     }
 
     /**
@@ -229,7 +796,7 @@ class JapaneseEras {
      * @return 長さが中位の名前
      */
     public String getMediumName(int value) {
-        return getString(PREFIX + value + ".medium");
+        return getMediumName(value, null);
     }
 
     /**
@@ -240,7 +807,7 @@ class JapaneseEras {
      * @return 長さが中位の名前
      */
     public String getMediumName(int value, Locale locale) {
-        return getString(PREFIX + value + ".medium", locale);
+        return getNames(locale).mediumNames[checkIndex(value)];
     }
 
     /**
@@ -250,7 +817,7 @@ class JapaneseEras {
      * @return 長い名前
      */
     public String getLongName(int value) {
-        return getString(PREFIX + value + ".long");
+        return getLongName(value, null);
     }
 
     /**
@@ -261,7 +828,20 @@ class JapaneseEras {
      * @return 長い名前
      */
     public String getLongName(int value, Locale locale) {
-        return getString(PREFIX + value + ".long", locale);
+        return getNames(locale).longNames[checkIndex(value)];
+    }
+
+    /**
+     * 指定された形式の名前を返します。
+     *
+     * @param value  元号の値
+     * @param style  名前の形式
+     * @param locale ロケール
+     * @return 名前
+     * @see JapaneseEra#getDisplayName(TextStyle, Locale)
+     */
+    public String getDisplayName(int value, TextStyle style, Locale locale) {
+        return getNames(locale).names(style)[checkIndex(value)];
     }
 
     /**
@@ -270,7 +850,7 @@ class JapaneseEras {
      * @return 最初の年の呼び名
      */
     public String getFirstYearText() {
-        return getString(PREFIX + "first-year");
+        return getFirstYearText(null);
     }
 
     /**
@@ -280,40 +860,106 @@ class JapaneseEras {
      * @return 最初の年の呼び名
      */
     public String getFirstYearText(Locale locale) {
-        return getString(PREFIX + "first-year", locale);
+        return getNames(locale).firstYearText;
     }
 
     // ---- nested class
 
     /**
-     * 設定ファイルを解析するハンドラです。
+     * ロケールごとの元号の名前の表です。
+     * <p>
+     * 配列は元号のインデックスで参照します。作成後は変更しません。
      */
-    static class SaxHandler extends DefaultHandler {
+    static final class EraNames {
+
+        final String[] shortNames;
+
+        final String[] mediumNames;
+
+        final String[] longNames;
+
+        final String firstYearText;
+
+        EraNames(String[] shortNames, String[] mediumNames, String[] longNames,
+                String firstYearText) {
+            this.shortNames = shortNames;
+            this.mediumNames = mediumNames;
+            this.longNames = longNames;
+            this.firstYearText = firstYearText;
+        }
+
+        /**
+         * 指定された形式の名前の配列を返します。
+         * <p>
+         * {@code FULL} は長い名前、{@code SHORT} は長さが中位の名前、{@code NARROW} は短い名前です。
+         *
+         * @param style 名前の形式
+         * @return 元号のインデックスごとの名前
+         */
+        String[] names(TextStyle style) {
+            switch (style.asNormal()) {
+            case FULL:
+                return longNames;
+            case SHORT:
+                return mediumNames;
+            default:
+                return shortNames;
+            }
+        }
+
+    }
+
+    /**
+     * 元号のデータです。
+     */
+    static final class EraData {
+
+        /**
+         * 元号の一覧。
+         */
+        final List<JapaneseEra> eras;
 
-        final List<JapaneseEra> eras = new ArrayList<>();
-        {
-            eras.add(JapaneseEra.MEIJI);
-            eras.add(JapaneseEra.TAISHO);
-            eras.add(JapaneseEra.SHOWA);
-            eras.add(JapaneseEra.HEISEI);
+        /**
+         * バンドル名ごとのリソースバンドルの内容。設定ファイルを直接読み込む場合は {@code null}。
+         */
+        final Map<String, Map<String, String>> bundles;
+
+        EraData(List<JapaneseEra> eras, Map<String, Map<String, String>> bundles) {
+            this.eras = eras;
+            this.bundles = bundles;
         }
 
+    }
+
+    /**
+     * 元号の一覧を組み立てます。
+     * <p>
+     * 既知の元号（定数として定義済みの元号、または現在の元号の一覧）は定義と一致することを検証し、
+     * それ以降の元号は値と適用開始日が増加していることを検証します。
+     * 既知の元号は同じインスタンスを使います。
+     */
+    static class EraListBuilder {
+
+        final List<JapaneseEra> eras;
+
+        /**
+         * 既知の元号の数。
+         */
+        final int knownSize;
+
         int index = 0;
 
-        @Override
-        public void startElement(String uri, String localName, String qName,
-                Attributes attributes) {
-            if ("japanese-era".equals(qName)) {
-                addJapaneseEra(attributes);
-            }
+        EraListBuilder() {
+            this(Arrays.asList(
+                    JapaneseEra.MEIJI, JapaneseEra.TAISHO, JapaneseEra.SHOWA, JapaneseEra.HEISEI));
         }
 
-        void addJapaneseEra(Attributes attrs) {
-            int value = Integer.parseInt(getValue(attrs, "value"));
-            String name = getValue(attrs, "name");
-            String abbr = getValue(attrs, "abbr");
-            LocalDate since = LocalDate.parse(getValue(attrs, "since"));
+        EraListBuilder(List<JapaneseEra> known) {
+            this.eras = new ArrayList<>(known);
+            this.knownSize = known.size();
+        }
 
+        void add(int value, String name, String abbr, LocalDate since) {
             if (index < eras.size()) {
                 JapaneseEra era = eras.get(index);
                 if (value != era.getValue()
@@ -330,11 +976,97 @@ class JapaneseEras {
                     throw new CalendarException(String.format(
                             "Invalid era config: %d (%s)", value, name));
                 }
+                // 名前と略称は解析で元号を特定するため、既存の元号と重複してはならない
+                for (JapaneseEra era : eras) {
+                    if (name.equalsIgnoreCase(era.getName()) || name.equalsIgnoreCase(era.getAbbr())
+                            || abbr.equalsIgnoreCase(era.getName()) || abbr.equalsIgnoreCase(era.getAbbr())) {
+                        throw new CalendarException(String.format(
+                                "Duplicate era name: %d (%s, %s) conflicts with %s", value, name, abbr, era.getName()));
+                    }
+                }
                 eras.add(new JapaneseEra(value, name, abbr, since));
             }
             ++index;
         }
 
+        /**
+         * 元号の一覧を返します。
+         *
+         * @return 元号の一覧
+         * @throws CalendarException 既知の元号が欠けている場合
+         */
+        List<JapaneseEra> build() {
+            if (index < knownSize) {
+                JapaneseEra era = eras.get(index);
+                throw new CalendarException(String.format(
+                        "Missing era config: %d (%s)", era.getValue(), era.getName()));
+            }
+            return eras;
+        }
+
+    }
+
+    /**
+     * 設定ファイルを解析するハンドラです。
+     */
+    static class SaxHandler extends DefaultHandler {
+
+        final EraListBuilder builder;
+
+        SaxHandler(EraListBuilder builder) {
+            this.builder = builder;
+        }
+
+        /**
+         * 設定ファイルを解析して元号の一覧を返します。
+         * <p>
+         * ビルド時にも使うため、{@link JapaneseEras} のインスタンスを必要としません。
+         *
+         * @param in 設定ファイル
+         * @return 元号の一覧
+         */
+        static List<JapaneseEra> parse(InputStream in) {
+            return parse(in, new EraListBuilder());
+        }
+
+        /**
+         * 設定ファイルを解析して、既知の元号に続く元号の一覧を返します。
+         *
+         * @param in 設定ファイル
+         * @param builder 既知の元号を登録済みの組み立て
+         * @return 元号の一覧
+         */
+        static List<JapaneseEra> parse(InputStream in, EraListBuilder builder) {
+            try {
+                SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
+                SaxHandler handler = new SaxHandler(builder);
+                parser.parse(in, handler);
+                return builder.build();
+            } catch (ParserConfigurationException e) {
+                throw new CalendarException(e);
+            } catch (SAXException e) {
+                throw new CalendarException(e);
+            } catch (IOException e) {
+                throw new CalendarException(e);
+            }
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName,
+                Attributes attributes) {
+            if ("japanese-era".equals(qName)) {
+                addJapaneseEra(attributes);
+            }
+        }
+
+        void addJapaneseEra(Attributes attrs) {
+            int value = Integer.parseInt(getValue(attrs, "value"));
+            String name = getValue(attrs, "name");
+            String abbr = getValue(attrs, "abbr");
+            LocalDate since = LocalDate.parse(getValue(attrs, "since"));
+            builder.add(value, name, abbr, since);
+        }
+
         String getValue(Attributes attrs, String qName) {
             String value = attrs.getValue(qName);
             Objects.requireNonNull(value, qName);
@@ -343,11 +1075,68 @@ class JapaneseEras {
 
     }
 
-    // ---- singleton
+    // ---- registry
+
+    /**
+     * 現在の元号の一覧。
+     */
+    private static volatile JapaneseEras current = new JapaneseEras();
+
+    /**
+     * 現在の元号の一覧を返します。
+     *
+     * @return 現在の元号の一覧
+     */
+    static JapaneseEras current() {
+        return current;
+    }
+
+    /**
+     * 現在の元号の一覧を置き換えます。
+     *
+     * @param eras 新しい元号の一覧
+     */
+    static synchronized void publish(JapaneseEras eras) {
+        current = Objects.requireNonNull(eras, "eras");
+    }
+
+    /**
+     * 設定ファイルを解析し、現在の元号の一覧を置き換えます。
+     * <p>
+     * 既存の元号は変更も削除もできず、新しい元号の追加だけを受け付けます。
+     * 索引の作成と名前の検査は置き換える前に済ませるため、読み込み側には影響しません。
+     * 元号が増えない場合は現在のインスタンスをそのまま使います。
+     *
+     * @param in 設定ファイル
+     * @return 新しい元号の一覧
+     * @throws CalendarException 設定ファイルが不正な場合、または元号の名前が重複する場合
+     */
+    static synchronized JapaneseEras reload(InputStream in) {
+        JapaneseEras previous = current;
+        List<JapaneseEra> eras = SaxHandler.parse(in, new EraListBuilder(previous.eras));
+        if (eras.size() == previous.eras.size()) {
+            return previous;
+        }
+        JapaneseEras next = new JapaneseEras(new EraData(eras, previous.bundles));
+        checkNames(next);
+        current = next;
+        return next;
+    }
 
     /**
-     * 唯一のインスタンス。
+     * 略称、名前、ロケールごとの名前から元号を一意に特定できることを検査します。
+     * <p>
+     * {@link JapaneseDateParser} と同じ名前の索引を作成して確かめます。
+     *
+     * @param eras 元号の一覧
+     * @throws CalendarException 元号の名前が重複する場合
      */
-    public static final JapaneseEras INSTANCE = new JapaneseEras();
+    static void checkNames(JapaneseEras eras) {
+        try {
+            JapaneseDateParser.buildTrie(eras);
+        } catch (IllegalStateException e) {
+            throw new CalendarException(e.getMessage(), e);
+        }
+    }
 
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.glad2121.calendar.CalendarException;
+
+/**
+ * ビルド時に生成する元号の表の形式。
+ * <p>
+ * 設定ファイル（{@code japanese-eras.xml}）とリソースバンドル（{@code japanese-eras*.properties}）
+ * の内容を、XML パーサーやリソースバンドルを使わずに読み込める形式で保存します。
+ * <pre>
+ * int    MAGIC
+ * short  VERSION
+ * short  元号の数
+ *   int 値, UTF 名前, UTF 略称, long 適用開始日のエポック日
+ * short  リソースバンドルの数
+ *   UTF バンドル名, short キーの数
+ *     UTF キー, UTF 値
+ * </pre>
+ * リソースバンドルは親のバンドルと合成せず、それぞれのファイルに書かれたキーだけを保存します。
+ *
+ * @author GLAD!!
+ */
+final class JapaneseErasBinary {
+
+    // ---- constants
+
+    /**
+     * 先頭の識別子（{@code "JERA"}）。
+     */
+    static final int MAGIC = 0x4A455241;
+
+    /**
+     * 形式の版。
+     */
+    static final short VERSION = 1;
+
+    // ---- constructors
+
+    private JapaneseErasBinary() {
+    }
+
+    // ---- read/write
+
+    /**
+     * 元号の表を書き込みます。
+     *
+     * @param eras    元号の一覧
+     * @param bundles バンドル名ごとのリソースバンドルの内容
+     * @param out     書き込み先
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    static void write(List<JapaneseEra> eras, Map<String, Map<String, String>> bundles,
+            OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(eras.size());
+        for (JapaneseEra era : eras) {
+            data.writeInt(era.getValue());
+            data.writeUTF(era.getName());
+            data.writeUTF(era.getAbbr());
+            data.writeLong(era.getSince().toEpochDay());
+        }
+        data.writeShort(bundles.size());
+        for (Map.Entry<String, Map<String, String>> bundle : bundles.entrySet()) {
+            data.writeUTF(bundle.getKey());
+            data.writeShort(bundle.getValue().size());
+            for (Map.Entry<String, String> entry : bundle.getValue().entrySet()) {
+                data.writeUTF(entry.getKey());
+                data.writeUTF(entry.getValue());
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * 元号の表を読み込みます。
+     *
+     * @param in 読み込み元
+     * @return 元号のデータ
+     * @throws IOException 入出力エラーが発生した場合
+     * @throws CalendarException 形式が不正な場合
+     */
+    static JapaneseEras.EraData read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new CalendarException("Invalid era table: bad magic");
+        }
+        short version = data.readShort();
+        if (version != VERSION) {
+            throw new CalendarException("Unsupported era table version: " + version);
+        }
+        JapaneseEras.EraListBuilder builder = new JapaneseEras.EraListBuilder();
+        int eraCount = data.readShort();
+        for (int i = 0; i < eraCount; ++i) {
+            int value = data.readInt();
+            String name = data.readUTF();
+            String abbr = data.readUTF();
+            LocalDate since = LocalDate.ofEpochDay(data.readLong());
+            builder.add(value, name, abbr, since);
+        }
+        int bundleCount = data.readShort();
+        Map<String, Map<String, String>> bundles = new HashMap<>();
+        for (int i = 0; i < bundleCount; ++i) {
+            String bundleName = data.readUTF();
+            int entryCount = data.readShort();
+            Map<String, String> bundle = new HashMap<>();
+            for (int j = 0; j < entryCount; ++j) {
+                String key = data.readUTF();
+                bundle.put(key, data.readUTF());
+            }
+            bundles.put(bundleName, bundle);
+        }
+        return new JapaneseEras.EraData(builder.build(), bundles);
+    }
+
+}
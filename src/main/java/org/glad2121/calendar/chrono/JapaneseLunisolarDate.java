@@ -0,0 +1,435 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Objects;
+
+/**
+ * 天保暦（太陰太陽暦）の日付。
+ * <p>
+ * 天保暦が施行された天保15年1月1日（1844年2月18日）から、
+ * グレゴリオ暦に改められる前日の明治5年12月2日（1872年12月31日）までを扱います。
+ * それ以降の日付は {@link JapaneseDate} で扱います。
+ * <p>
+ * 暦は太陰太陽暦の年ごとに1つの {@code int} に詰めた表で保持します。
+ * <ul>
+ * <li>0〜12ビット - 閏月を含む各月が大の月（30日）なら1、小の月（29日）なら0</li>
+ * <li>16〜19ビット - 閏月の月（閏月がない年は0）</li>
+ * </ul>
+ * 各年の元日のエポック日は表から累積して求めておき、
+ * エポック日からの変換は元日の表の参照と、その年の13ビット以内の走査で行います。
+ * 表は定朔・定気による天保暦の規則で計算し、改元の日などの史料の日付と照合したものです。
+ * <p>
+ * このクラスは不変で、スレッドセーフです。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseLunisolarDate implements Comparable<JapaneseLunisolarDate> {
+
+    // ---- constants
+
+    /**
+     * 表の最初の年（天保15年）。
+     */
+    static final int FIRST_YEAR = 1844;
+
+    /**
+     * 表の最後の年（明治5年）。
+     */
+    static final int LAST_YEAR = 1872;
+
+    /**
+     * 各年の月の大小と閏月。
+     */
+    static final int[] YEARS = {
+        0x00aab, // 1844 天保15年
+        0x0055a, // 1845 弘化2年
+        0x50ad5, // 1846 弘化3年 閏5月
+        0x00b65, // 1847 弘化4年
+        0x00752, // 1848 弘化5年
+        0x416a5, // 1849 嘉永2年 閏4月
+        0x00b25, // 1850 嘉永3年
+        0x0054b, // 1851 嘉永4年
+        0x20a9b, // 1852 嘉永5年 閏2月
+        0x00aad, // 1853 嘉永6年
+        0x7156a, // 1854 嘉永7年 閏7月
+        0x005b2, // 1855 安政2年
+        0x00ba9, // 1856 安政3年
+        0x51b52, // 1857 安政4年 閏5月
+        0x00d92, // 1858 安政5年
+        0x00d25, // 1859 安政6年
+        0x31a4d, // 1860 安政7年 閏3月
+        0x00956, // 1861 万延2年
+        0x80aad, // 1862 文久2年 閏8月
+        0x00ad6, // 1863 文久3年
+        0x005d4, // 1864 文久4年
+        0x50da9, // 1865 元治2年 閏5月
+        0x00ec5, // 1866 慶応2年
+        0x00e8a, // 1867 慶応3年
+        0x40d26, // 1868 慶応4年 閏4月
+        0x00d27, // 1869 明治2年
+        0xa0956, // 1870 明治3年 閏10月
+        0x0055b, // 1871 明治4年
+        0x00ada, // 1872 明治5年
+    };
+
+    /**
+     * 天保15年1月1日のエポック日（1844-02-18）。
+     */
+    static final int FIRST_EPOCH_DAY = -45973;
+
+    /**
+     * 各年の元日のエポック日。最後の要素は表の最後の年の翌年の元日です。
+     */
+    static final int[] NEW_YEAR_DAYS = newYearDays();
+
+    /**
+     * 扱うことのできる最初の日（天保15年1月1日）。
+     */
+    public static final LocalDate MIN_DATE = LocalDate.ofEpochDay(FIRST_EPOCH_DAY);
+
+    /**
+     * 扱うことのできる最後の日（明治5年12月2日）。
+     */
+    public static final LocalDate MAX_DATE = JapaneseDate.START_DATE.minusDays(1);
+
+    /**
+     * 閏月の月を取り出すシフト数。
+     */
+    static final int LEAP_SHIFT = 16;
+
+    /**
+     * 月の大小のビットのマスク。
+     */
+    static final int LENGTH_MASK = 0x1fff;
+
+    // ---- fields
+
+    private final int epochDay;
+
+    /**
+     * 太陰太陽暦の年（西暦の年で表す）。
+     */
+    private final short year;
+
+    private final byte month;
+
+    private final boolean leapMonth;
+
+    private final byte day;
+
+    // ---- constructors
+
+    private JapaneseLunisolarDate(int epochDay, int year, int month, boolean leapMonth, int day) {
+        this.epochDay = epochDay;
+        this.year = (short) year;
+        this.month = (byte) month;
+        this.leapMonth = leapMonth;
+        this.day = (byte) day;
+    }
+
+    static int[] newYearDays() {
+        int[] days = new int[YEARS.length + 1];
+        days[0] = FIRST_EPOCH_DAY;
+        for (int i = 0; i < YEARS.length; ++i) {
+            days[i + 1] = days[i] + lengthOfYear(YEARS[i]);
+        }
+        return days;
+    }
+
+    static int lengthOfYear(int packed) {
+        int months = (packed >>> LEAP_SHIFT) != 0 ? 13 : 12;
+        return 29 * months + Integer.bitCount(packed & LENGTH_MASK);
+    }
+
+    // ---- factories
+
+    /**
+     * エポック日から日付を取得します。
+     *
+     * @param epochDay エポック日
+     * @return 日付
+     * @throws DateTimeException 範囲外の場合
+     */
+    public static JapaneseLunisolarDate ofEpochDay(long epochDay) {
+        if (epochDay < FIRST_EPOCH_DAY || epochDay >= JapaneseDate.START_EPOCH_DAY) {
+            throw new DateTimeException("Date is out of lunisolar range ("
+                    + MIN_DATE + " - " + MAX_DATE + "): " + LocalDate.ofEpochDay(epochDay));
+        }
+        int e = (int) epochDay;
+        // 平均の年の長さ（約354.37日）から見積もり、前後の年に補正する
+        int index = (int) ((e - FIRST_EPOCH_DAY) * 100L / 35437);
+        if (index >= YEARS.length) {
+            index = YEARS.length - 1;
+        }
+        while (e < NEW_YEAR_DAYS[index]) {
+            --index;
+        }
+        while (e >= NEW_YEAR_DAYS[index + 1]) {
+            ++index;
+        }
+        int packed = YEARS[index];
+        int leap = packed >>> LEAP_SHIFT;
+        int dayOfYear = e - NEW_YEAR_DAYS[index];
+        int ordinal = 0;
+        int length = 29 + (packed & 1);
+        while (dayOfYear >= length) {
+            dayOfYear -= length;
+            ++ordinal;
+            length = 29 + (packed >>> ordinal & 1);
+        }
+        int month = leap == 0 || ordinal < leap ? ordinal + 1 : ordinal;
+        return new JapaneseLunisolarDate(e, FIRST_YEAR + index, month, leap != 0 && ordinal == leap, dayOfYear + 1);
+    }
+
+    /**
+     * 日付から天保暦の日付を取得します。
+     *
+     * @param temporal 日付
+     * @return 天保暦の日付
+     * @throws DateTimeException 範囲外の場合
+     */
+    public static JapaneseLunisolarDate from(TemporalAccessor temporal) {
+        return ofEpochDay(temporal.getLong(ChronoField.EPOCH_DAY));
+    }
+
+    /**
+     * 太陰太陽暦の年、月、日から日付を取得します。
+     *
+     * @param year      太陰太陽暦の年（西暦の年で表す。例: 慶応4年は1868）
+     * @param month     月
+     * @param leapMonth 閏月かどうか
+     * @param day       日
+     * @return 日付
+     * @throws DateTimeException 日付が不正な場合、範囲外の場合
+     */
+    public static JapaneseLunisolarDate of(int year, int month, boolean leapMonth, int day) {
+        return ofEpochDay(toEpochDay(year, month, leapMonth, day));
+    }
+
+    /**
+     * 元号、和暦年、月、日から日付を取得します。
+     * <p>
+     * 元号の期間外の日付（例: 慶応4年9月8日以降の慶応4年）は不正とします。
+     *
+     * @param era       元号
+     * @param yearOfEra 和暦年
+     * @param month     月
+     * @param leapMonth 閏月かどうか
+     * @param day       日
+     * @return 日付
+     * @throws DateTimeException 日付が不正な場合、範囲外の場合
+     */
+    public static JapaneseLunisolarDate of(
+            JapaneseLunisolarEra era, int yearOfEra, int month, boolean leapMonth, int day) {
+        Objects.requireNonNull(era, "era");
+        if (yearOfEra < 1) {
+            throw new DateTimeException("Invalid year of era: " + yearOfEra);
+        }
+        JapaneseLunisolarDate date = of(era.firstYear + yearOfEra - 1, month, leapMonth, day);
+        if (date.getEra() != era) {
+            throw new DateTimeException("Date is not in era " + era.getName() + ": " + date);
+        }
+        return date;
+    }
+
+    /**
+     * 太陰太陽暦の年、月、日をエポック日に変換します。
+     *
+     * @param year      太陰太陽暦の年（西暦の年で表す）
+     * @param month     月
+     * @param leapMonth 閏月かどうか
+     * @param day       日
+     * @return エポック日
+     * @throws DateTimeException 日付が不正な場合、範囲外の場合
+     */
+    public static long toEpochDay(int year, int month, boolean leapMonth, int day) {
+        if (year < FIRST_YEAR || LAST_YEAR < year) {
+            throw new DateTimeException("Year is out of lunisolar range ("
+                    + FIRST_YEAR + " - " + LAST_YEAR + "): " + year);
+        }
+        int index = year - FIRST_YEAR;
+        int packed = YEARS[index];
+        int leap = packed >>> LEAP_SHIFT;
+        if (month < 1 || 12 < month || (leapMonth && month != leap)) {
+            throw new DateTimeException("Invalid month: " + monthText(month, leapMonth) + " in " + year);
+        }
+        int ordinal = leap != 0 && (month > leap || leapMonth) ? month : month - 1;
+        int length = 29 + (packed >>> ordinal & 1);
+        if (day < 1 || length < day) {
+            throw new DateTimeException("Invalid day: " + year + "/" + monthText(month, leapMonth) + "/" + day);
+        }
+        // 前の月の日数は、29日 × 月数 + 大の月の数
+        int before = 29 * ordinal + Integer.bitCount(packed & ((1 << ordinal) - 1));
+        long epochDay = NEW_YEAR_DAYS[index] + before + day - 1;
+        if (epochDay >= JapaneseDate.START_EPOCH_DAY) {
+            throw new DateTimeException("Date is after the calendar reform: "
+                    + year + "/" + monthText(month, leapMonth) + "/" + day);
+        }
+        return epochDay;
+    }
+
+    /**
+     * 閏月の月を返します。
+     *
+     * @param year 太陰太陽暦の年（西暦の年で表す）
+     * @return 閏月の月。閏月がない場合は0
+     * @throws DateTimeException 範囲外の場合
+     */
+    public static int leapMonthOf(int year) {
+        if (year < FIRST_YEAR || LAST_YEAR < year) {
+            throw new DateTimeException("Year is out of lunisolar range ("
+                    + FIRST_YEAR + " - " + LAST_YEAR + "): " + year);
+        }
+        return YEARS[year - FIRST_YEAR] >>> LEAP_SHIFT;
+    }
+
+    static String monthText(int month, boolean leapMonth) {
+        return leapMonth ? "閏" + month : Integer.toString(month);
+    }
+
+    // ---- accessors
+
+    /**
+     * エポック日を返します。
+     *
+     * @return エポック日
+     */
+    public long toEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * グレゴリオ暦の日付を返します。
+     *
+     * @return グレゴリオ暦の日付
+     */
+    public LocalDate toLocalDate() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * 元号を返します。
+     *
+     * @return 元号
+     */
+    public JapaneseLunisolarEra getEra() {
+        return JapaneseLunisolarEra.of(epochDay);
+    }
+
+    /**
+     * 和暦年を返します。
+     *
+     * @return 和暦年
+     */
+    public int getYearOfEra() {
+        return year - getEra().firstYear + 1;
+    }
+
+    /**
+     * 太陰太陽暦の年を西暦の年で返します。
+     *
+     * @return 年
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * 月を返します。閏月の場合は前の月と同じ値です。
+     *
+     * @return 月
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * 閏月かどうかを返します。
+     *
+     * @return 閏月の場合は {@code true}
+     */
+    public boolean isLeapMonth() {
+        return leapMonth;
+    }
+
+    /**
+     * 日を返します。
+     *
+     * @return 日
+     */
+    public int getDayOfMonth() {
+        return day;
+    }
+
+    /**
+     * 月の日数を返します。
+     *
+     * @return 29または30
+     */
+    public int lengthOfMonth() {
+        int packed = YEARS[year - FIRST_YEAR];
+        int leap = packed >>> LEAP_SHIFT;
+        int ordinal = leap != 0 && (month > leap || leapMonth) ? month : month - 1;
+        return 29 + (packed >>> ordinal & 1);
+    }
+
+    // ---- object
+
+    @Override
+    public int compareTo(JapaneseLunisolarDate other) {
+        return Integer.compare(epochDay, other.epochDay);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof JapaneseLunisolarDate) {
+            return epochDay == ((JapaneseLunisolarDate) other).epochDay;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(epochDay);
+    }
+
+    /**
+     * 日付を文字列で返します（例: {@code 慶応4年閏4月1日}、{@code 明治元年9月8日}）。
+     *
+     * @return 文字列
+     */
+    @Override
+    public String toString() {
+        JapaneseLunisolarEra era = getEra();
+        int yearOfEra = year - era.firstYear + 1;
+        StringBuilder sb = new StringBuilder(16).append(era.getJapaneseName());
+        if (yearOfEra == 1) {
+            sb.append(JapaneseDateParser.FIRST_YEAR);
+        } else {
+            sb.append(yearOfEra);
+        }
+        return sb.append('年').append(monthText(month, leapMonth)).append('月').append(day).append('日').toString();
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.time.LocalDate;
+
+/**
+ * 天保暦の期間の元号。
+ * <p>
+ * {@link JapaneseLunisolarDate} で扱う、天保から明治5年（1872年）までの元号です。
+ * 元号は改元の日から適用し、改元の日を含む太陰太陽暦の年を元年とします。
+ * 明治は改元の詔により慶応4年1月1日に遡って適用されましたが、ここでは他の元号と同じく改元の日から適用します。
+ *
+ * @author GLAD!!
+ */
+public enum JapaneseLunisolarEra {
+
+    /**
+     * 天保（文政13年12月10日から）。
+     */
+    TENPO("Tenpo", "天保", 1830, -50747),
+
+    /**
+     * 弘化（天保15年12月2日から）。
+     */
+    KOKA("Koka", "弘化", 1844, -45647),
+
+    /**
+     * 嘉永（弘化5年2月28日から）。
+     */
+    KAEI("Kaei", "嘉永", 1848, -44469),
+
+    /**
+     * 安政（嘉永7年11月27日から）。
+     */
+    ANSEI("Ansei", "安政", 1854, -41989),
+
+    /**
+     * 万延（安政7年3月18日から）。
+     */
+    MANEN("Man'en", "万延", 1860, -40079),
+
+    /**
+     * 文久（万延2年2月19日から）。
+     */
+    BUNKYU("Bunkyu", "文久", 1861, -39724),
+
+    /**
+     * 元治（文久4年2月20日から）。
+     */
+    GENJI("Genji", "元治", 1864, -38630),
+
+    /**
+     * 慶応（元治2年4月7日から）。
+     */
+    KEIO("Keio", "慶応", 1865, -38230),
+
+    /**
+     * 明治（慶応4年9月8日から）。
+     */
+    MEIJI("Meiji", "明治", 1868, -36959);
+
+    // ---- fields
+
+    /**
+     * 名前。
+     */
+    private final String name;
+
+    /**
+     * 日本語の名前。
+     */
+    private final String japaneseName;
+
+    /**
+     * 元年の太陰太陽暦の年（西暦の年で表す）。
+     */
+    final int firstYear;
+
+    /**
+     * 改元の日のエポック日。
+     */
+    final int sinceEpochDay;
+
+    // ---- constructors
+
+    JapaneseLunisolarEra(String name, String japaneseName, int firstYear, int sinceEpochDay) {
+        this.name = name;
+        this.japaneseName = japaneseName;
+        this.firstYear = firstYear;
+        this.sinceEpochDay = sinceEpochDay;
+    }
+
+    // ---- accessors
+
+    /**
+     * 名前を返します（例: {@code Keio}）。
+     *
+     * @return 名前
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 日本語の名前を返します（例: {@code 慶応}）。
+     *
+     * @return 日本語の名前
+     */
+    public String getJapaneseName() {
+        return japaneseName;
+    }
+
+    /**
+     * 元年の太陰太陽暦の年を、西暦の年で返します。
+     *
+     * @return 元年の年
+     */
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    /**
+     * 改元の日を返します。
+     *
+     * @return 改元の日
+     */
+    public LocalDate getSince() {
+        return LocalDate.ofEpochDay(sinceEpochDay);
+    }
+
+    // ---- lookup
+
+    /**
+     * エポック日に対応する元号を返します。
+     *
+     * @param epochDay エポック日
+     * @return 元号
+     */
+    static JapaneseLunisolarEra of(long epochDay) {
+        JapaneseLunisolarEra[] eras = ERAS;
+        for (int i = eras.length - 1; i > 0; --i) {
+            if (epochDay >= eras[i].sinceEpochDay) {
+                return eras[i];
+            }
+        }
+        return eras[0];
+    }
+
+    /**
+     * 元号の配列（{@link #values()} の複製を避けるため）。
+     */
+    private static final JapaneseLunisolarEra[] ERAS = values();
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * タイムゾーンごとの今日の和暦の日付。
+ * <p>
+ * 今日の日付と、その日の始まりと次の日の始まりの時刻（エポックミリ秒）を組にして保持します。
+ * 今日の日付を求めるときは、時計の現在時刻がその範囲内にあるかを比較するだけで、
+ * {@link LocalDate} の生成や元号の検索をしません。
+ * 範囲を外れたとき（その地域の午前0時を過ぎたとき）に限り日付を求め直します。
+ * 夏時間などで午前0時が存在しない日も、その日の最初の時刻を境界とします。
+ * <p>
+ * {@link #of(ZoneId)} はシステムの時計を使うインスタンスをタイムゾーンごとに共有します。
+ * テストなどで時計を差し替える場合は {@link #of(Clock)} を使います。
+ * <p>
+ * このクラスはスレッドセーフです。日付を求め直すときもロックを取りません。
+ *
+ * @author GLAD!!
+ */
+public final class JapaneseToday {
+
+    // ---- constants
+
+    /**
+     * タイムゾーンごとの共有インスタンス。
+     */
+    private static final ConcurrentMap<ZoneId, JapaneseToday> INSTANCES = new ConcurrentHashMap<>();
+
+    // ---- fields
+
+    /**
+     * 時計。
+     */
+    private final Clock clock;
+
+    /**
+     * 最後に求めた今日の日付。
+     */
+    private volatile Today today;
+
+    // ---- constructors
+
+    private JapaneseToday(Clock clock) {
+        this.clock = clock;
+        this.today = Today.EMPTY;
+    }
+
+    /**
+     * 指定されたタイムゾーンの、システムの時計による今日の日付を返します。
+     *
+     * @param zone タイムゾーン
+     * @return 今日の日付
+     */
+    public static JapaneseToday of(ZoneId zone) {
+        Objects.requireNonNull(zone, "zone");
+        JapaneseToday instance = INSTANCES.get(zone);
+        if (instance == null) {
+            instance = INSTANCES.computeIfAbsent(zone, z -> new JapaneseToday(Clock.system(z)));
+        }
+        return instance;
+    }
+
+    /**
+     * 指定された時計による今日の日付を返します。
+     * <p>
+     * 日付は時計のタイムゾーンで求めます。このメソッドの結果は共有しません。
+     *
+     * @param clock 時計
+     * @return 今日の日付
+     */
+    public static JapaneseToday of(Clock clock) {
+        return new JapaneseToday(Objects.requireNonNull(clock, "clock"));
+    }
+
+    // ---- accessors
+
+    /**
+     * 時計を返します。
+     *
+     * @return 時計
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * 今日の日付を返します。
+     *
+     * @return 今日の日付
+     */
+    public JapaneseDate get() {
+        long millis = clock.millis();
+        Today today = this.today;
+        if (today.startMillis <= millis && millis < today.endMillis) {
+            return today.date;
+        }
+        return refresh(millis);
+    }
+
+    /**
+     * 指定された時刻の日付を求め直します。
+     * <p>
+     * 競合しても同じ日付を求めるだけなので、ロックは取りません。
+     *
+     * @param millis 現在時刻のエポックミリ秒
+     * @return 日付
+     */
+    JapaneseDate refresh(long millis) {
+        ZoneId zone = clock.getZone();
+        LocalDate isoDate = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+        long startMillis = isoDate.atStartOfDay(zone).toInstant().toEpochMilli();
+        long endMillis = isoDate.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        Today today = new Today(JapaneseDate.ofEpochDay(isoDate.toEpochDay()), startMillis, endMillis);
+        this.today = today;
+        return today.date;
+    }
+
+    // ---- java.lang.Object
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "JapaneseToday[" + clock + "]";
+    }
+
+    // ---- nested class
+
+    /**
+     * 日付と、その日の時刻の範囲です。
+     */
+    static final class Today {
+
+        /**
+         * まだ日付を求めていないことを表す値。
+         */
+        static final Today EMPTY = new Today(null, Long.MAX_VALUE, Long.MIN_VALUE);
+
+        /**
+         * 日付。
+         */
+        final JapaneseDate date;
+
+        /**
+         * その日の始まりの時刻のエポックミリ秒（この値を含む）。
+         */
+        final long startMillis;
+
+        /**
+         * 次の日の始まりの時刻のエポックミリ秒（この値を含まない）。
+         */
+        final long endMillis;
+
+        Today(JapaneseDate date, long startMillis, long endMillis) {
+            this.date = date;
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+        }
+
+    }
+
+}
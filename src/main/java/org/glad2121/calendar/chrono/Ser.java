@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+import java.time.DateTimeException;
+
+/**
+ * 直列化の代理。
+ * <p>
+ * 種類を表す1バイトに続けて、オブジェクトの値を書き込みます。
+ * {@link JapaneseDate} はエポック日をジグザグ符号化した可変長整数で書き込むため、
+ * 現在前後の日付は3バイトで表せます。
+ * 読み込みの際は値を検証し、{@link JapaneseDate#ofEpochDay(long)} で共有インスタンスに解決します。
+ * 元号と和暦年はエポック日から都度求めるため、直列化しません。
+ *
+ * @author GLAD!!
+ */
+final class Ser implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    // ---- constants
+
+    /**
+     * {@link JapaneseDate} の種類。
+     */
+    static final byte JAPANESE_DATE_TYPE = 1;
+
+    // ---- fields
+
+    /**
+     * 種類。
+     */
+    private byte type;
+
+    /**
+     * 直列化するオブジェクト。
+     */
+    private Object object;
+
+    // ---- constructors
+
+    /**
+     * 直列化復元のためのコンストラクタです。
+     */
+    public Ser() {
+    }
+
+    /**
+     * 直列化のためのオブジェクトを構築します。
+     *
+     * @param type   種類
+     * @param object 直列化するオブジェクト
+     */
+    Ser(byte type, Object object) {
+        this.type = type;
+        this.object = object;
+    }
+
+    // ---- java.io.Externalizable
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(type);
+        switch (type) {
+        case JAPANESE_DATE_TYPE:
+            writeZigZag(out, ((JapaneseDate) object).toEpochDay());
+            break;
+        default:
+            throw new InvalidClassException("Unknown serialized type: " + type);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        type = in.readByte();
+        switch (type) {
+        case JAPANESE_DATE_TYPE:
+            long epochDay = readZigZag(in);
+            try {
+                object = JapaneseDate.ofEpochDay(epochDay);
+            } catch (DateTimeException e) {
+                throw new InvalidObjectException(e.getMessage());
+            }
+            break;
+        default:
+            throw new StreamCorruptedException("Unknown serialized type: " + type);
+        }
+    }
+
+    /**
+     * 直列化復元したオブジェクトを返します。
+     *
+     * @return 直列化復元したオブジェクト
+     */
+    private Object readResolve() {
+        return object;
+    }
+
+    // ---- varint
+
+    /**
+     * 整数をジグザグ符号化した可変長整数（下位から7ビットずつ、最上位ビットが継続）で書き込みます。
+     *
+     * @param out   書き込み先
+     * @param value 値
+     * @throws IOException 入出力エラーが発生した場合
+     */
+    static void writeZigZag(DataOutput out, long value) throws IOException {
+        long bits = (value << 1) ^ (value >> 63);
+        while ((bits & ~0x7FL) != 0) {
+            out.writeByte((int) (bits & 0x7F) | 0x80);
+            bits >>>= 7;
+        }
+        out.writeByte((int) bits);
+    }
+
+    /**
+     * ジグザグ符号化した可変長整数を読み込みます。
+     *
+     * @param in 読み込み元
+     * @return 値
+     * @throws IOException 入出力エラーが発生した場合、または符号が不正な場合
+     */
+    static long readZigZag(DataInput in) throws IOException {
+        long bits = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readByte();
+            bits |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (bits >>> 1) ^ -(bits & 1);
+            }
+        }
+        throw new StreamCorruptedException("Malformed varint");
+    }
+
+}
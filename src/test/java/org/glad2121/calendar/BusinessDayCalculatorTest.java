@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.glad2121.calendar.chrono.JapaneseDate;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link BusinessDayCalculator}.
+ *
+ * @author GLAD!!
+ */
+public class BusinessDayCalculatorTest {
+
+    static final BusinessDayCalculator STANDARD = BusinessDayCalculator.STANDARD;
+
+    static boolean isBusinessDay(LocalDate date) {
+        DayOfWeek dow = date.getDayOfWeek();
+        return dow != DayOfWeek.SATURDAY && dow != DayOfWeek.SUNDAY
+                && !JapaneseHolidays.isHoliday(date);
+    }
+
+    static long addByLoop(long epochDay, long n) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        while (n > 0) {
+            date = date.plusDays(1);
+            if (isBusinessDay(date)) {
+                --n;
+            }
+        }
+        while (n < 0) {
+            date = date.minusDays(1);
+            if (isBusinessDay(date)) {
+                ++n;
+            }
+        }
+        return date.toEpochDay();
+    }
+
+    @Test
+    public void testIsBusinessDay() {
+        assertThat(STANDARD.isBusinessDay(JapaneseDate.of(2019, 4, 26))).isTrue();
+        assertThat(STANDARD.isBusinessDay(JapaneseDate.of(2019, 4, 27))).isFalse();
+        assertThat(STANDARD.isBusinessDay(JapaneseDate.of(2019, 5, 1))).isFalse();
+        assertThat(STANDARD.isBusinessDay(JapaneseDate.of(2019, 5, 7))).isTrue();
+        for (LocalDate date = LocalDate.of(1948, 1, 1); date.getYear() <= 2100; date = date.plusDays(1)) {
+            assertThat(STANDARD.isBusinessDay(date.toEpochDay())).as(date.toString())
+                    .isEqualTo(isBusinessDay(date));
+        }
+    }
+
+    @Test
+    public void testAddBusinessDays() {
+        JapaneseDate date = JapaneseDate.of(2019, 4, 26);
+        assertThat(STANDARD.addBusinessDays(date, 0)).isEqualTo(date);
+        assertThat(STANDARD.addBusinessDays(date, 1)).isEqualTo(JapaneseDate.of(2019, 5, 7));
+        assertThat(STANDARD.addBusinessDays(date, 2)).isEqualTo(JapaneseDate.of(2019, 5, 8));
+        assertThat(STANDARD.addBusinessDays(JapaneseDate.of(2019, 5, 7), -1)).isEqualTo(date);
+        // 休業日からの加減算
+        JapaneseDate holiday = JapaneseDate.of(2019, 5, 3);
+        assertThat(STANDARD.addBusinessDays(holiday, 0)).isEqualTo(holiday);
+        assertThat(STANDARD.addBusinessDays(holiday, 1)).isEqualTo(JapaneseDate.of(2019, 5, 7));
+        assertThat(STANDARD.addBusinessDays(holiday, -1)).isEqualTo(date);
+
+        Random random = new Random(17);
+        long first = LocalDate.of(1950, 1, 1).toEpochDay();
+        long last = LocalDate.of(2098, 12, 31).toEpochDay();
+        for (int i = 0; i < 10000; ++i) {
+            long epochDay = first + random.nextInt((int) (last - first));
+            int n = random.nextInt(401) - 200;
+            assertThat(STANDARD.addBusinessDays(epochDay, n))
+                    .as(LocalDate.ofEpochDay(epochDay) + " " + n)
+                    .isEqualTo(addByLoop(epochDay, n));
+        }
+    }
+
+    @Test
+    public void testBusinessDaysBetween() {
+        assertThat(STANDARD.businessDaysBetween(
+                JapaneseDate.of(2019, 4, 26), JapaneseDate.of(2019, 5, 8))).isEqualTo(2L);
+        assertThat(STANDARD.businessDaysBetween(
+                JapaneseDate.of(2019, 5, 8), JapaneseDate.of(2019, 4, 26))).isEqualTo(-2L);
+        assertThat(STANDARD.businessDaysBetween(
+                LocalDate.of(2019, 1, 1), LocalDate.of(2020, 1, 1))).isEqualTo(244L);
+        // 期間の最後の日の翌日まで
+        assertThat(STANDARD.businessDaysBetween(
+                LocalDate.of(2100, 12, 31), LocalDate.of(2101, 1, 1))).isEqualTo(1L);
+
+        Random random = new Random(17);
+        long first = LocalDate.of(1948, 1, 1).toEpochDay();
+        for (int i = 0; i < 1000; ++i) {
+            long start = first + random.nextInt(50000);
+            long end = start + random.nextInt(400);
+            long expected = 0;
+            for (long epochDay = start; epochDay < end; ++epochDay) {
+                if (isBusinessDay(LocalDate.ofEpochDay(epochDay))) {
+                    ++expected;
+                }
+            }
+            assertThat(STANDARD.businessDaysBetween(start, end)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testNextPrevious() {
+        JapaneseDate friday = JapaneseDate.of(2019, 4, 26);
+        JapaneseDate tuesday = JapaneseDate.of(2019, 5, 7);
+        assertThat(STANDARD.nextBusinessDay(friday)).isEqualTo(tuesday);
+        assertThat(STANDARD.previousBusinessDay(tuesday)).isEqualTo(friday);
+        assertThat(STANDARD.nextOrSameBusinessDay(friday)).isEqualTo(friday);
+        assertThat(STANDARD.nextOrSameBusinessDay(JapaneseDate.of(2019, 4, 27))).isEqualTo(tuesday);
+        assertThat(STANDARD.previousOrSameBusinessDay(tuesday)).isEqualTo(tuesday);
+        assertThat(STANDARD.previousOrSameBusinessDay(JapaneseDate.of(2019, 5, 6))).isEqualTo(friday);
+    }
+
+    @Test
+    public void testBuilder() {
+        BusinessDayCalculator calculator = BusinessDayCalculator.builder()
+                .range(2019, 2019)
+                .weekends(DayOfWeek.SUNDAY)
+                .nationalHolidays(false)
+                .addHolidays(Arrays.asList(LocalDate.of(2019, 12, 30), LocalDate.of(2019, 12, 31)))
+                .addBusinessDay(JapaneseDate.of(2019, 12, 29))
+                .build();
+        assertThat(calculator.getFirstDate()).isEqualTo(LocalDate.of(2019, 1, 1));
+        assertThat(calculator.getLastDate()).isEqualTo(LocalDate.of(2019, 12, 31));
+        assertThat(calculator.isBusinessDay(JapaneseDate.of(2019, 4, 27))).isTrue();
+        assertThat(calculator.isBusinessDay(JapaneseDate.of(2019, 4, 28))).isFalse();
+        assertThat(calculator.isBusinessDay(JapaneseDate.of(2019, 4, 29))).isTrue();
+        assertThat(calculator.isBusinessDay(JapaneseDate.of(2019, 12, 29))).isTrue();
+        assertThat(calculator.isBusinessDay(JapaneseDate.of(2019, 12, 30))).isFalse();
+        assertThat(calculator.nextOrSameBusinessDay(JapaneseDate.of(2019, 12, 28)))
+                .isEqualTo(JapaneseDate.of(2019, 12, 28));
+        assertThat(calculator.businessDaysBetween(LocalDate.of(2019, 1, 1), LocalDate.of(2020, 1, 1)))
+                .isEqualTo(365L - 52 + 1 - 2);
+    }
+
+    @Test
+    public void testOutOfRange() {
+        BusinessDayCalculator calculator = BusinessDayCalculator.builder().range(2019, 2019).build();
+        try {
+            calculator.isBusinessDay(JapaneseDate.of(2020, 1, 1));
+            failBecauseExceptionWasNotThrown(DateTimeException.class);
+        } catch (DateTimeException e) {
+            // OK
+        }
+        try {
+            calculator.nextBusinessDay(JapaneseDate.of(2019, 12, 31));
+            failBecauseExceptionWasNotThrown(DateTimeException.class);
+        } catch (DateTimeException e) {
+            // OK
+        }
+        try {
+            calculator.addBusinessDays(JapaneseDate.of(2019, 1, 4), Long.MIN_VALUE);
+            failBecauseExceptionWasNotThrown(DateTimeException.class);
+        } catch (DateTimeException e) {
+            // OK
+        }
+        try {
+            BusinessDayCalculator.builder().range(2100, 2200).build();
+            failBecauseExceptionWasNotThrown(DateTimeException.class);
+        } catch (DateTimeException e) {
+            // OK
+        }
+    }
+
+}
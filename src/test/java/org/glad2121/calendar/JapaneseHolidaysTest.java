@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar;
+
+import static org.assertj.core.api.StrictAssertions.*;
+import static org.glad2121.calendar.JapaneseHoliday.*;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.glad2121.calendar.chrono.JapaneseDate;
+import org.glad2121.calendar.chrono.JapaneseEra;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JapaneseHolidays}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseHolidaysTest {
+
+    static List<String> holidays(int year) {
+        List<String> list = new ArrayList<>();
+        for (Map.Entry<LocalDate, JapaneseHoliday> entry : JapaneseHolidays.getHolidays(year).entrySet()) {
+            list.add(entry.getKey().toString().substring(5) + " " + entry.getValue().getName());
+        }
+        return list;
+    }
+
+    @Test
+    public void test2019() {
+        assertThat(holidays(2019)).isEqualTo(Arrays.asList(
+                "01-01 元日", "01-14 成人の日", "02-11 建国記念の日", "03-21 春分の日",
+                "04-29 昭和の日", "04-30 国民の休日", "05-01 天皇の即位の日", "05-02 国民の休日",
+                "05-03 憲法記念日", "05-04 みどりの日", "05-05 こどもの日", "05-06 振替休日",
+                "07-15 海の日", "08-11 山の日", "08-12 振替休日", "09-16 敬老の日",
+                "09-23 秋分の日", "10-14 体育の日", "10-22 即位礼正殿の儀",
+                "11-03 文化の日", "11-04 振替休日", "11-23 勤労感謝の日"));
+    }
+
+    @Test
+    public void testOlympics() {
+        assertThat(holidays(2020)).isEqualTo(Arrays.asList(
+                "01-01 元日", "01-13 成人の日", "02-11 建国記念の日", "02-23 天皇誕生日", "02-24 振替休日",
+                "03-20 春分の日", "04-29 昭和の日", "05-03 憲法記念日", "05-04 みどりの日",
+                "05-05 こどもの日", "05-06 振替休日", "07-23 海の日", "07-24 スポーツの日",
+                "08-10 山の日", "09-21 敬老の日", "09-22 秋分の日", "11-03 文化の日", "11-23 勤労感謝の日"));
+        assertThat(holidays(2021)).isEqualTo(Arrays.asList(
+                "01-01 元日", "01-11 成人の日", "02-11 建国記念の日", "02-23 天皇誕生日",
+                "03-20 春分の日", "04-29 昭和の日", "05-03 憲法記念日", "05-04 みどりの日",
+                "05-05 こどもの日", "07-22 海の日", "07-23 スポーツの日", "08-08 山の日", "08-09 振替休日",
+                "09-20 敬老の日", "09-23 秋分の日", "11-03 文化の日", "11-23 勤労感謝の日"));
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(2022, 10, 10))).isEqualTo(SPORTS_DAY);
+    }
+
+    @Test
+    public void testHistory() {
+        // 施行前の日付は休日ではない
+        assertThat(holidays(1947)).isEqualTo(Collections.emptyList());
+        assertThat(holidays(1948)).isEqualTo(Arrays.asList("09-23 秋分の日", "11-03 文化の日", "11-23 勤労感謝の日"));
+        assertThat(JapaneseHolidays.isHoliday(LocalDate.of(1900, 1, 1))).isFalse();
+        assertThat(JapaneseHolidays.isHoliday(JapaneseDate.of(1873, 1, 1))).isFalse();
+
+        // 最初の振替休日
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(1973, 4, 30))).isEqualTo(SUBSTITUTE_HOLIDAY);
+        assertThat(JapaneseHolidays.isHoliday(LocalDate.of(1973, 1, 15))).isTrue();
+        assertThat(JapaneseHolidays.isHoliday(LocalDate.of(1972, 1, 17))).isFalse();
+        // 2007年より前は祝日の翌日だけ
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(2006, 1, 2))).isEqualTo(SUBSTITUTE_HOLIDAY);
+        // 2007年以降は祝日でない最初の日
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(2008, 5, 6))).isEqualTo(SUBSTITUTE_HOLIDAY);
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(2020, 2, 24))).isEqualTo(SUBSTITUTE_HOLIDAY);
+
+        // 国民の休日
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(1988, 5, 4))).isEqualTo(CITIZENS_HOLIDAY);
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(1987, 5, 4))).isEqualTo(SUBSTITUTE_HOLIDAY);
+        assertThat(JapaneseHolidays.isHoliday(LocalDate.of(1986, 5, 4))).isFalse();
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(2009, 9, 22))).isEqualTo(CITIZENS_HOLIDAY);
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(2015, 9, 22))).isEqualTo(CITIZENS_HOLIDAY);
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(2026, 9, 22))).isEqualTo(CITIZENS_HOLIDAY);
+
+        // 天皇誕生日
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(1988, 4, 29))).isEqualTo(EMPERORS_BIRTHDAY);
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(1989, 4, 29))).isEqualTo(GREENERY_DAY);
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(2018, 12, 23))).isEqualTo(EMPERORS_BIRTHDAY);
+        assertThat(JapaneseHolidays.isHoliday(LocalDate.of(2019, 12, 23))).isFalse();
+
+        // 特別な休日
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(1959, 4, 10))).isEqualTo(CROWN_PRINCE_AKIHITO_WEDDING);
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(1989, 2, 24))).isEqualTo(SHOWA_EMPEROR_FUNERAL);
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(1990, 11, 12))).isEqualTo(ENTHRONEMENT_CEREMONY);
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(1993, 6, 9))).isEqualTo(CROWN_PRINCE_NARUHITO_WEDDING);
+    }
+
+    @Test
+    public void testEquinox() {
+        int[][] expected = {
+            { 1949, 21, 23 }, { 1979, 21, 24 }, { 1988, 20, 23 }, { 2000, 20, 23 },
+            { 2012, 20, 22 }, { 2016, 20, 22 }, { 2023, 21, 23 }, { 2024, 20, 22 },
+            { 2025, 20, 23 }, { 2030, 20, 23 },
+        };
+        for (int[] e : expected) {
+            assertThat(JapaneseHolidays.vernalEquinoxDay(e[0])).as("vernal " + e[0]).isEqualTo(e[1]);
+            assertThat(JapaneseHolidays.autumnalEquinoxDay(e[0])).as("autumnal " + e[0]).isEqualTo(e[2]);
+        }
+    }
+
+    @Test
+    public void testJapaneseDate() {
+        JapaneseDate date = JapaneseDate.of(JapaneseEra.HEISEI, 28, 11, 3);
+        assertThat(JapaneseHolidays.isHoliday(date)).isTrue();
+        assertThat(JapaneseHolidays.getHoliday(date)).isEqualTo(CULTURE_DAY);
+        assertThat(JapaneseHolidays.holidayName(date)).isEqualTo("文化の日");
+        assertThat(JapaneseHolidays.holidayName(date.plusDays(1))).isNull();
+        assertThat(JapaneseHolidays.isHoliday(date.plusDays(1))).isFalse();
+        // 土曜日と日曜日は祝日でなければ休日ではない
+        assertThat(JapaneseHolidays.isHoliday(JapaneseDate.of(2016, 11, 5))).isFalse();
+        assertThat(JapaneseHolidays.isHoliday(java.time.chrono.JapaneseDate.of(2016, 11, 3))).isTrue();
+    }
+
+    @Test
+    public void testExtension() {
+        for (int year = 1940; year <= JapaneseHolidays.INITIAL_LAST_YEAR; ++year) {
+            SortedMap<LocalDate, JapaneseHoliday> holidays = JapaneseHolidays.getHolidays(year);
+            byte[] codes = JapaneseHolidays.computeYear(year);
+            int count = 0;
+            for (byte code : codes) {
+                if (code != 0) {
+                    ++count;
+                }
+            }
+            assertThat(holidays.size()).as(Integer.toString(year)).isEqualTo(count);
+        }
+        assertThat(JapaneseHolidays.isHoliday(LocalDate.of(2120, 1, 1))).isTrue();
+        assertThat(JapaneseHolidays.getLastYear()).isGreaterThanOrEqualTo(2120);
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(2150, 11, 23))).isEqualTo(LABOR_THANKSGIVING_DAY);
+        assertThat(JapaneseHolidays.getLastYear()).isEqualTo(JapaneseHolidays.MAX_YEAR);
+        assertThatThrownBy(() -> JapaneseHolidays.isHoliday(LocalDate.of(2151, 1, 1)))
+            .isInstanceOf(DateTimeException.class);
+        assertThat(JapaneseHolidays.getHoliday(LocalDate.of(2030, 3, 20))).isEqualTo(VERNAL_EQUINOX_DAY);
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link EpochDays}.
+ *
+ * @author GLAD!!
+ */
+public class EpochDaysTest {
+
+    @Test
+    public void testToPackedDate() {
+        for (LocalDate date = LocalDate.of(1868, 1, 1);
+                date.getYear() <= 2400; date = date.plusDays(1)) {
+            int packed = EpochDays.toPackedDate(date.toEpochDay());
+            assertThat(EpochDays.year(packed)).isEqualTo(date.getYear());
+            assertThat(EpochDays.month(packed)).isEqualTo(date.getMonthValue());
+            assertThat(EpochDays.day(packed)).isEqualTo(date.getDayOfMonth());
+            assertThat(EpochDays.toEpochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()))
+                .isEqualTo(date.toEpochDay());
+            assertThat(EpochDays.lengthOfMonth(date.getYear(), date.getMonthValue()))
+                .isEqualTo(date.lengthOfMonth());
+        }
+        LocalDate max = JapaneseDate.MAX_DATE;
+        int packed = EpochDays.toPackedDate(max.toEpochDay());
+        assertThat(EpochDays.year(packed)).isEqualTo(max.getYear());
+        assertThat(EpochDays.month(packed)).isEqualTo(12);
+        assertThat(EpochDays.day(packed)).isEqualTo(31);
+    }
+
+    @Test
+    public void testOf() {
+        assertThat(EpochDays.of(2016, 2, 29)).isEqualTo(LocalDate.of(2016, 2, 29).toEpochDay());
+        assertThat(EpochDays.ofYearDay(2016, 366)).isEqualTo(LocalDate.of(2016, 12, 31).toEpochDay());
+        assertThatThrownBy(() -> EpochDays.of(2015, 2, 29))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> EpochDays.of(2015, 13, 1))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> EpochDays.ofYearDay(2015, 366))
+            .isInstanceOf(DateTimeException.class);
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+import static org.glad2121.calendar.chrono.JapaneseAdjusters.*;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JapaneseAdjusters}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseAdjustersTest {
+
+    @Test
+    public void testFirstDayOfEra() {
+        assertThat(JapaneseDate.of(2016, 4, 1).with(firstDayOfEra())).isEqualTo(JapaneseDate.of(1989, 1, 8));
+        assertThat(JapaneseDate.of(1989, 1, 7).with(firstDayOfEra())).isEqualTo(JapaneseDate.of(1926, 12, 25));
+        assertThat(JapaneseDate.of(1926, 12, 24).with(firstDayOfEra())).isEqualTo(JapaneseDate.of(1912, 7, 30));
+        // 明治は扱うことのできる最初の日
+        assertThat(JapaneseDate.of(1900, 1, 1).with(firstDayOfEra())).isEqualTo(JapaneseDate.of(1873, 1, 1));
+        assertThat(LocalDate.of(1926, 12, 31).with(firstDayOfEra())).isEqualTo(LocalDate.of(1926, 12, 25));
+    }
+
+    @Test
+    public void testLastDayOfEra() {
+        assertThat(JapaneseDate.of(1926, 12, 25).with(lastDayOfEra())).isEqualTo(JapaneseDate.of(1989, 1, 7));
+        assertThat(JapaneseDate.of(1912, 7, 30).with(lastDayOfEra())).isEqualTo(JapaneseDate.of(1926, 12, 24));
+        assertThat(JapaneseDate.of(1873, 1, 1).with(lastDayOfEra())).isEqualTo(JapaneseDate.of(1912, 7, 29));
+        assertThat(LocalDate.of(1989, 1, 7).with(lastDayOfEra())).isEqualTo(LocalDate.of(1989, 1, 7));
+    }
+
+    @Test
+    public void testFirstDayOfEraYear() {
+        // 昭和元年は7日間
+        assertThat(JapaneseDate.of(1926, 12, 31).with(firstDayOfEraYear())).isEqualTo(JapaneseDate.of(1926, 12, 25));
+        assertThat(JapaneseDate.of(1926, 12, 24).with(firstDayOfEraYear())).isEqualTo(JapaneseDate.of(1926, 1, 1));
+        assertThat(JapaneseDate.of(1927, 3, 1).with(firstDayOfEraYear())).isEqualTo(JapaneseDate.of(1927, 1, 1));
+        assertThat(JapaneseDate.of(1989, 1, 7).with(firstDayOfEraYear())).isEqualTo(JapaneseDate.of(1989, 1, 1));
+        assertThat(JapaneseDate.of(1989, 12, 31).with(firstDayOfEraYear())).isEqualTo(JapaneseDate.of(1989, 1, 8));
+        assertThat(LocalDate.of(1912, 8, 1).with(firstDayOfEraYear())).isEqualTo(LocalDate.of(1912, 7, 30));
+    }
+
+    @Test
+    public void testLastDayOfEraYear() {
+        assertThat(JapaneseDate.of(1926, 12, 25).with(lastDayOfEraYear())).isEqualTo(JapaneseDate.of(1926, 12, 31));
+        assertThat(JapaneseDate.of(1926, 1, 1).with(lastDayOfEraYear())).isEqualTo(JapaneseDate.of(1926, 12, 24));
+        assertThat(JapaneseDate.of(1989, 1, 1).with(lastDayOfEraYear())).isEqualTo(JapaneseDate.of(1989, 1, 7));
+        assertThat(JapaneseDate.of(1989, 1, 8).with(lastDayOfEraYear())).isEqualTo(JapaneseDate.of(1989, 12, 31));
+    }
+
+    @Test
+    public void testNextEraBoundary() {
+        assertThat(JapaneseDate.of(1873, 1, 1).with(nextEraBoundary())).isEqualTo(JapaneseDate.of(1912, 7, 30));
+        assertThat(JapaneseDate.of(1926, 12, 24).with(nextEraBoundary())).isEqualTo(JapaneseDate.of(1926, 12, 25));
+        assertThat(JapaneseDate.of(1926, 12, 25).with(nextEraBoundary())).isEqualTo(JapaneseDate.of(1989, 1, 8));
+        assertThat(LocalDate.of(1989, 1, 7).with(nextEraBoundary())).isEqualTo(LocalDate.of(1989, 1, 8));
+        try {
+            JapaneseDate.of(1989, 1, 8).with(lastDayOfEra()).with(nextEraBoundary());
+            failBecauseExceptionWasNotThrown(DateTimeException.class);
+        } catch (DateTimeException e) {
+            // OK
+        }
+    }
+
+}
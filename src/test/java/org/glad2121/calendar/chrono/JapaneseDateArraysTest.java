@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JapaneseDateArrays}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseDateArraysTest {
+
+    @Test
+    public void testToWareki() {
+        // 並列に変換される件数
+        int size = JapaneseDateArrays.PARALLEL_THRESHOLD * 3 + 7;
+        long start = JapaneseDate.START_EPOCH_DAY;
+        long[] epochDays = new long[size];
+        int[] intEpochDays = new int[size];
+        int[] yyyymmdd = new int[size];
+        for (int i = 0; i < size; ++i) {
+            epochDays[i] = start + i * 3;
+            intEpochDays[i] = (int) epochDays[i];
+            LocalDate isoDate = LocalDate.ofEpochDay(epochDays[i]);
+            yyyymmdd[i] = isoDate.getYear() * 10000 + isoDate.getMonthValue() * 100 + isoDate.getDayOfMonth();
+        }
+        int[] eras = new int[size];
+        int[] yearsOfEra = new int[size];
+        int[] months = new int[size];
+        int[] days = new int[size];
+        JapaneseDateArrays.toWareki(epochDays, eras, yearsOfEra, months, days);
+        for (int i = 0; i < size; ++i) {
+            JapaneseDate date = JapaneseChronology.INSTANCE.dateEpochDay(epochDays[i]);
+            assertThat(eras[i]).isEqualTo(date.getEra().getValue());
+            assertThat(yearsOfEra[i]).isEqualTo(date.getYearOfEra());
+            assertThat(months[i]).isEqualTo(date.getMonthValue());
+            assertThat(days[i]).isEqualTo(date.getDayOfMonth());
+        }
+
+        int[] eras2 = new int[size];
+        int[] yearsOfEra2 = new int[size];
+        int[] months2 = new int[size];
+        int[] days2 = new int[size];
+        JapaneseDateArrays.toWareki(intEpochDays, eras2, yearsOfEra2, months2, days2);
+        assertThat(eras2).isEqualTo(eras);
+        assertThat(yearsOfEra2).isEqualTo(yearsOfEra);
+        assertThat(months2).isEqualTo(months);
+        assertThat(days2).isEqualTo(days);
+
+        JapaneseDateArrays.yyyymmddToWareki(yyyymmdd, eras2, yearsOfEra2, months2, days2);
+        assertThat(eras2).isEqualTo(eras);
+        assertThat(yearsOfEra2).isEqualTo(yearsOfEra);
+        assertThat(months2).isEqualTo(months);
+        assertThat(days2).isEqualTo(days);
+
+        long[] epochDays2 = new long[size];
+        JapaneseDateArrays.toEpochDays(eras, yearsOfEra, months, days, epochDays2);
+        assertThat(epochDays2).isEqualTo(epochDays);
+        int[] intEpochDays2 = new int[size];
+        JapaneseDateArrays.toEpochDays(eras, yearsOfEra, months, days, intEpochDays2);
+        assertThat(intEpochDays2).isEqualTo(intEpochDays);
+        int[] yyyymmdd2 = new int[size];
+        JapaneseDateArrays.toYyyymmdd(eras, yearsOfEra, months, days, yyyymmdd2);
+        assertThat(yyyymmdd2).isEqualTo(yyyymmdd);
+    }
+
+    @Test
+    public void testEraBoundaries() {
+        int[] yyyymmdd = { 19120729, 19120730, 19261224, 19261225, 19890107, 19890108 };
+        int[] eras = new int[6];
+        int[] yearsOfEra = new int[6];
+        int[] months = new int[6];
+        int[] days = new int[6];
+        JapaneseDateArrays.yyyymmddToWareki(yyyymmdd, eras, yearsOfEra, months, days);
+        assertThat(eras).containsExactly(1, 2, 2, 3, 3, 4);
+        assertThat(yearsOfEra).containsExactly(45, 1, 15, 1, 64, 1);
+    }
+
+    @Test
+    public void testInvalid() {
+        int[] one = new int[1];
+        assertThatThrownBy(() -> JapaneseDateArrays.toWareki(
+                new long[] { JapaneseDate.START_EPOCH_DAY - 1 }, one, one, one, one))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseDateArrays.yyyymmddToWareki(
+                new int[] { 20150229 }, one, one, one, one))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseDateArrays.toEpochDays(
+                new int[] { 5 }, new int[] { 1 }, new int[] { 1 }, new int[] { 1 }, new long[1]))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseDateArrays.toEpochDays(
+                new int[] { 4 }, new int[] { 0 }, new int[] { 1 }, new int[] { 1 }, new long[1]))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseDateArrays.toEpochDays(
+                new int[] { 3 }, new int[] { 64 }, new int[] { 1 }, new int[] { 8 }, new long[1]))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseDateArrays.toYyyymmdd(
+                new int[] { 1 }, new int[] { 45 }, new int[] { 7 }, new int[] { 30 }, new int[1]))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseDateArrays.toYyyymmdd(
+                new int[] { 3 }, new int[] { 64 }, new int[] { 1 }, new int[] { 8 }, new int[1]))
+            .isInstanceOf(DateTimeException.class);
+        int[] yyyymmdd = new int[1];
+        JapaneseDateArrays.toYyyymmdd(new int[] { 1 }, new int[] { 45 }, new int[] { 7 }, new int[] { 29 }, yyyymmdd);
+        assertThat(yyyymmdd[0]).isEqualTo(19120729);
+        assertThatThrownBy(() -> JapaneseDateArrays.toWareki(
+                new long[2], one, one, one, one))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
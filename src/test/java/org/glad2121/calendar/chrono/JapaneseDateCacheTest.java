@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoField;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JapaneseDateCache}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseDateCacheTest {
+
+    @Before
+    public void setUp() throws Exception {
+        JapaneseDateCache.setWindow(JapaneseDate.START_DATE.getYear(), JapaneseDateCache.DEFAULT_LAST_YEAR);
+        JapaneseDateCache.resetStatistics();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        JapaneseDateCache.disable();
+        JapaneseDateCache.resetStatistics();
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertThat(JapaneseDateCache.initialWindow()).isSameAs(JapaneseDateCache.DISABLED);
+    }
+
+    @Test
+    public void testSharedInstances() {
+        JapaneseDate date = JapaneseDate.of(2016, 4, 1);
+        assertThat(JapaneseDate.of(JapaneseEra.HEISEI, 28, 4, 1)).isSameAs(date);
+        assertThat(JapaneseDate.from(LocalDate.of(2016, 4, 1))).isSameAs(date);
+        assertThat(JapaneseChronology.INSTANCE.dateEpochDay(date.toEpochDay())).isSameAs(date);
+        assertThat(JapaneseChronology.INSTANCE.dateYearDay(2016, 92)).isSameAs(date);
+        assertThat(JapaneseDateParser.INSTANCE.parse("H28.04.01")).isSameAs(date);
+        assertThat(JapaneseDateCache.getMissCount()).isEqualTo(1);
+        assertThat(JapaneseDateCache.getHitCount()).isEqualTo(5);
+        assertThat(JapaneseDateCache.getHitRate()).isEqualTo(5.0 / 6);
+        assertThat(JapaneseDateCache.getWindowSize())
+            .isEqualTo((int) (LocalDate.of(2101, 1, 1).toEpochDay() - JapaneseDate.START_EPOCH_DAY));
+    }
+
+    @Test
+    public void testArithmetic() {
+        JapaneseDate date = JapaneseDate.of(2016, 4, 1);
+        assertThat(date.plusDays(1)).isSameAs(JapaneseDate.of(2016, 4, 2));
+        assertThat(date.plusMonths(1)).isSameAs(JapaneseDate.of(2016, 5, 1));
+        assertThat(date.withDayOfMonth(30)).isSameAs(JapaneseDate.of(2016, 4, 30));
+        assertThat(date.withYearOfEra(1)).isSameAs(JapaneseDate.of(1989, 4, 1));
+        assertThat(date.with(JapaneseAdjusters.firstDayOfEraYear())).isSameAs(JapaneseDate.of(2016, 1, 1));
+        assertThat(date.with(ChronoField.EPOCH_DAY, 0)).isSameAs(JapaneseDate.of(1970, 1, 1));
+        assertThat(date.datesUntil(date.plusDays(3)).skip(1).findFirst().get()).isSameAs(JapaneseDate.of(2016, 4, 2));
+        JapaneseDateCursor cursor = date.cursorUntil(date.plusDays(2));
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.toDate()).isSameAs(date);
+        assertThat(SerializationUtils.clone(date)).isSameAs(date);
+    }
+
+    @Test
+    public void testOutsideWindow() {
+        JapaneseDate date = JapaneseDate.of(2101, 1, 1);
+        assertThat(JapaneseDate.of(2101, 1, 1)).isNotSameAs(date).isEqualTo(date);
+        assertThat(JapaneseDateCache.getHitCount()).isEqualTo(0);
+        assertThat(JapaneseDateCache.getMissCount()).isEqualTo(0);
+        assertThat(JapaneseDateCache.getHitRate()).isEqualTo(0.0);
+    }
+
+    @Test
+    public void testSetWindow() {
+        JapaneseDateCache.setWindow(2000, 2000);
+        assertThat(JapaneseDateCache.getWindowSize()).isEqualTo(366);
+        assertThat(JapaneseDate.of(2000, 12, 31)).isSameAs(JapaneseDate.of(2000, 12, 31));
+        assertThat(JapaneseDate.of(2001, 1, 1)).isNotSameAs(JapaneseDate.of(2001, 1, 1));
+
+        JapaneseDateCache.setWindow(1800, 1873);
+        assertThat(JapaneseDateCache.getWindowSize()).isEqualTo(365);
+
+        JapaneseDateCache.disable();
+        assertThat(JapaneseDateCache.isEnabled()).isFalse();
+        assertThat(JapaneseDate.of(2000, 1, 1)).isNotSameAs(JapaneseDate.of(2000, 1, 1));
+
+        assertThatThrownBy(() -> JapaneseDateCache.setWindow(2000, 1999))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JapaneseDateCache.setWindow(1873, 1000000))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
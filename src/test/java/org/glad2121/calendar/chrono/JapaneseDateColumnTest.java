@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Random;
+
+import org.glad2121.calendar.CalendarException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link JapaneseDateColumn}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseDateColumnTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    static long[] daily() {
+        long start = JapaneseDate.START_EPOCH_DAY;
+        long end = LocalDate.of(2101, 1, 1).toEpochDay();
+        long[] epochDays = new long[(int) (end - start)];
+        for (int i = 0; i < epochDays.length; ++i) {
+            epochDays[i] = start + i;
+        }
+        return epochDays;
+    }
+
+    static long[] random(int size) {
+        Random random = new Random(2121);
+        long[] epochDays = new long[size];
+        for (int i = 0; i < size; ++i) {
+            epochDays[i] = JapaneseDate.START_EPOCH_DAY + random.nextInt(100000);
+        }
+        return epochDays;
+    }
+
+    static void assertColumn(long[] epochDays, JapaneseDateColumn column) {
+        assertThat(column.size()).isEqualTo(epochDays.length);
+        for (int row = 0; row < epochDays.length; ++row) {
+            assertThat(column.getEpochDay(row)).isEqualTo(epochDays[row]);
+        }
+        long[] all = new long[epochDays.length + 2];
+        column.readEpochDays(0, all, 1, epochDays.length);
+        for (int row = 0; row < epochDays.length; ++row) {
+            assertThat(all[row + 1]).isEqualTo(epochDays[row]);
+        }
+        if (epochDays.length > 400) {
+            // ブロックの途中から複数のブロックにまたがる範囲
+            long[] part = new long[300];
+            column.readEpochDays(100, part, 0, part.length);
+            for (int i = 0; i < part.length; ++i) {
+                assertThat(part[i]).isEqualTo(epochDays[100 + i]);
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        long[][] inputs = { daily(), random(1000), random(1), new long[0], random(JapaneseDateColumn.BLOCK_SIZE * 3) };
+        for (JapaneseDateColumn.Encoding encoding : JapaneseDateColumn.Encoding.values()) {
+            for (long[] epochDays : inputs) {
+                int length = JapaneseDateColumn.encodedSize(epochDays, encoding);
+                ByteBuffer buf = ByteBuffer.allocate(length + 3);
+                buf.position(3);
+                assertThat(JapaneseDateColumn.write(epochDays, encoding, buf)).isEqualTo(length);
+                assertThat(buf.position()).isEqualTo(length + 3);
+                buf.position(3);
+                JapaneseDateColumn column = JapaneseDateColumn.read(buf);
+                assertThat(buf.position()).isEqualTo(length + 3);
+                assertThat(column.getEncoding()).isEqualTo(encoding);
+                assertThat(column.getEncodedLength()).isEqualTo(length);
+                assertColumn(epochDays, column);
+            }
+        }
+    }
+
+    @Test
+    public void testSize() {
+        long[] epochDays = daily();
+        int fixed = JapaneseDateColumn.encodedSize(epochDays, JapaneseDateColumn.Encoding.FIXED);
+        int delta = JapaneseDateColumn.encodedSize(epochDays, JapaneseDateColumn.Encoding.DELTA);
+        assertThat(fixed).isEqualTo(JapaneseDateColumn.HEADER_SIZE + epochDays.length * 4);
+        // 連続する日付は1行あたり約1バイト
+        assertThat(delta).isLessThan(epochDays.length * 11 / 10);
+    }
+
+    @Test
+    public void testDates() {
+        JapaneseDate[] dates = new JapaneseDate[500];
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i] = JapaneseDate.of(1912, 7, 1).plusDays(i * 7);
+        }
+        ByteBuffer buf = ByteBuffer.allocateDirect(
+                JapaneseDateColumn.encodedSize(dates, JapaneseDateColumn.Encoding.DELTA));
+        JapaneseDateColumn.write(dates, JapaneseDateColumn.Encoding.DELTA, buf);
+        buf.flip();
+        JapaneseDateColumn column = JapaneseDateColumn.read(buf);
+        for (int row = 0; row < dates.length; ++row) {
+            assertThat(column.get(row)).isEqualTo(dates[row]);
+            assertThat(column.getEra(row)).isSameAs(dates[row].getEra());
+        }
+        assertThat(column.get(0)).isEqualTo(JapaneseDate.of(1912, 7, 1));
+
+        int[] eras = new int[400];
+        int[] yearsOfEra = new int[400];
+        int[] months = new int[400];
+        int[] days = new int[400];
+        column.toWareki(50, 400, eras, yearsOfEra, months, days);
+        for (int i = 0; i < 400; ++i) {
+            JapaneseDate date = dates[50 + i];
+            assertThat(eras[i]).isEqualTo(date.getEra().getValue());
+            assertThat(yearsOfEra[i]).isEqualTo(date.getYearOfEra());
+            assertThat(months[i]).isEqualTo(date.getMonthValue());
+            assertThat(days[i]).isEqualTo(date.getDayOfMonth());
+        }
+    }
+
+    @Test
+    public void testFile() throws Exception {
+        long[] epochDays = random(10000);
+        for (JapaneseDateColumn.Encoding encoding : JapaneseDateColumn.Encoding.values()) {
+            Path file = folder.getRoot().toPath().resolve(encoding + ".col");
+            JapaneseDateColumn.write(file, epochDays, encoding);
+            assertColumn(epochDays, JapaneseDateColumn.map(file));
+        }
+    }
+
+    @Test
+    public void testInvalid() {
+        long[] epochDays = { JapaneseDate.START_EPOCH_DAY - 1 };
+        assertThatThrownBy(() -> JapaneseDateColumn.encodedSize(epochDays, JapaneseDateColumn.Encoding.DELTA))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseDateColumn.write(epochDays, JapaneseDateColumn.Encoding.FIXED, ByteBuffer.allocate(64)))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseDateColumn.write(random(100), JapaneseDateColumn.Encoding.FIXED, ByteBuffer.allocate(64)))
+            .isInstanceOf(BufferOverflowException.class);
+
+        ByteBuffer buf = ByteBuffer.allocate(1024);
+        JapaneseDateColumn.write(random(100), JapaneseDateColumn.Encoding.DELTA, buf);
+        buf.flip();
+        ByteBuffer truncated = (ByteBuffer) buf.duplicate().limit(buf.limit() - 1);
+        assertThatThrownBy(() -> JapaneseDateColumn.read(truncated))
+            .isInstanceOf(CalendarException.class);
+        buf.put(0, (byte) 0);
+        assertThatThrownBy(() -> JapaneseDateColumn.read(buf))
+            .isInstanceOf(CalendarException.class);
+
+        JapaneseDateColumn column = JapaneseDateColumn.read(write(random(10)));
+        assertThatThrownBy(() -> column.getEpochDay(10))
+            .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> column.readEpochDays(5, new long[10], 0, 6))
+            .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    static ByteBuffer write(long[] epochDays) {
+        ByteBuffer buf = ByteBuffer.allocate(JapaneseDateColumn.encodedSize(epochDays, JapaneseDateColumn.Encoding.DELTA));
+        JapaneseDateColumn.write(epochDays, JapaneseDateColumn.Encoding.DELTA, buf);
+        buf.flip();
+        return buf;
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.glad2121.calendar.chrono.JapaneseDateConverter.Format;
+import org.glad2121.calendar.chrono.JapaneseDateConverter.Result;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link JapaneseDateConverter}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseDateConverterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    Path write(String name, String text) throws Exception {
+        Path path = folder.getRoot().toPath().resolve(name);
+        Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    /**
+     * 標準出力と標準エラー出力の代わりにバッファに書き出して、コマンドラインから変換します。
+     */
+    int run(String... args) throws Exception {
+        out.reset();
+        err.reset();
+        try (PrintStream o = new PrintStream(out, true, "UTF-8"); PrintStream e = new PrintStream(err, true, "UTF-8")) {
+            return JapaneseDateConverter.run(args, o, e);
+        }
+    }
+
+    static String read(Path path) throws Exception {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testIsoToKanji() throws Exception {
+        Path input = write("in.csv", "id,date,memo\r\n1,2016-04-01,a\r\n2,\"1989/1/8\",\"x,y\"\r\n3,,b\r\n4,1989-01-07,c");
+        Path output = folder.getRoot().toPath().resolve("out.csv");
+        Path errors = folder.getRoot().toPath().resolve("err.csv");
+        Result result = JapaneseDateConverter.builder().columns(2).header(true).build()
+                .convert(input, output, errors);
+        assertThat(read(output)).isEqualTo(
+                "id,date,memo\r\n1,平成28年4月1日,a\r\n2,\"平成元年1月8日\",\"x,y\"\r\n3,,b\r\n4,昭和64年1月7日,c");
+        assertThat(read(errors)).isEqualTo("");
+        assertThat(result.getLines()).isEqualTo(5);
+        assertThat(result.getErrors()).isEqualTo(0);
+    }
+
+    @Test
+    public void testWarekiToIso() throws Exception {
+        Path input = write("in.tsv", "H28.04.01\t平成二十八年四月一日\n昭和64年1月7日\tS64.01.07\n");
+        Path output = folder.getRoot().toPath().resolve("out.tsv");
+        JapaneseDateConverter.builder().from(Format.KANJI).to(Format.ISO).columns(1, 2).delimiter('\t')
+                .build().convert(input, output, null);
+        assertThat(read(output)).isEqualTo("2016-04-01\t2016-04-01\n1989-01-07\t1989-01-07\n");
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        Path input = write("in.csv", "2016-04-01,x\n2016-02-30,y\n1872-12-31,z\n平成28年4月1日,w\n\"2016-04-01\"x,v\n");
+        Path output = folder.getRoot().toPath().resolve("out.csv");
+        Path errors = folder.getRoot().toPath().resolve("err.csv");
+        JapaneseDateConverter converter = JapaneseDateConverter.builder().to(Format.ABBREVIATED).build();
+        Result result = converter.convert(input, output, errors);
+        assertThat(read(output)).isEqualTo(
+                "H28.04.01,x\n2016-02-30,y\n1872-12-31,z\n平成28年4月1日,w\n\"2016-04-01\"x,v\n");
+        assertThat(read(errors)).isEqualTo(
+                "2,1,2016-02-30,y\n3,1,1872-12-31,z\n4,1,平成28年4月1日,w\n5,1,\"2016-04-01\"x,v\n");
+        assertThat(result.getErrors()).isEqualTo(4);
+
+        JapaneseDateConverter.builder().to(Format.ABBREVIATED).skipErrors(true).build()
+                .convert(input, output, null);
+        assertThat(read(output)).isEqualTo("H28.04.01,x\n");
+    }
+
+    @Test
+    public void testChunks() throws Exception {
+        // 小さいチャンクと複数のスレッドでも、行番号と順序を保つ
+        StringBuilder in = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        StringBuilder expectedErrors = new StringBuilder();
+        LocalDate date = LocalDate.of(1900, 1, 1);
+        for (int i = 0; i < 5000; ++i) {
+            if (i % 997 == 0) {
+                in.append(i).append(",bad\n");
+                expected.append(i).append(",bad\n");
+                expectedErrors.append(i + 1).append(",2,").append(i).append(",bad\n");
+            } else {
+                in.append(i).append(',').append(date).append('\n');
+                expected.append(i).append(',').append(JapaneseDateFormatter.KANJI_NUMERAL.format(
+                        JapaneseDate.of(date.getYear(), date.getMonthValue(), date.getDayOfMonth()))).append('\n');
+            }
+            date = date.plusDays(11);
+        }
+        Path input = write("in.csv", in.toString());
+        Path output = folder.getRoot().toPath().resolve("out.csv");
+        Path errors = folder.getRoot().toPath().resolve("err.csv");
+        Result result = JapaneseDateConverter.builder().to(Format.KANJI_NUMERAL).columns(2)
+                .threads(3).chunkSize(100).build().convert(input, output, errors);
+        assertThat(read(output)).isEqualTo(expected.toString());
+        assertThat(read(errors)).isEqualTo(expectedErrors.toString());
+        assertThat(result.getLines()).isEqualTo(5000);
+        assertThat(result.getErrors()).isEqualTo(6);
+    }
+
+    @Test
+    public void testParseIso() {
+        assertThat(parseIso("2016-04-01")).isEqualTo(LocalDate.of(2016, 4, 1).toEpochDay());
+        assertThat(parseIso("2016/4/1")).isEqualTo(LocalDate.of(2016, 4, 1).toEpochDay());
+        assertThat(parseIso("2016-04/01")).isEqualTo(JapaneseDateParser.INVALID);
+        assertThat(parseIso("16-04-01")).isEqualTo(JapaneseDateParser.INVALID);
+        assertThat(parseIso("2016-13-01")).isEqualTo(JapaneseDateParser.INVALID);
+        assertThat(parseIso("2016-04-01 ")).isEqualTo(JapaneseDateParser.INVALID);
+    }
+
+    static long parseIso(String text) {
+        return JapaneseDateConverter.parseIso(text, 0, text.length());
+    }
+
+    @Test
+    public void testRun() throws Exception {
+        Path input = write("in.csv", "\uFEFF2016-04-01\n");
+        File output = folder.newFile("out.csv");
+        assertThat(run("--to", "kanji-numeral", "--chunk-size", "1K", input.toString(), output.toString()))
+            .isEqualTo(0);
+        assertThat(read(output.toPath())).isEqualTo("\uFEFF平成二十八年四月一日\n");
+        assertThat(err.toString("UTF-8")).isEqualTo("lines=1, errors=0" + System.lineSeparator());
+
+        // 出力ファイルを指定しない場合は標準出力に書き出す
+        assertThat(run("--from", "ISO", "--to", "abbreviated", input.toString())).isEqualTo(0);
+        assertThat(out.toString("UTF-8")).isEqualTo("\uFEFFH28.04.01\n");
+
+        assertThat(run("--to", "reiwa", input.toString())).isEqualTo(2);
+        assertThat(err.toString("UTF-8")).startsWith("Unknown format: reiwa" + System.lineSeparator() + "Usage: ");
+        assertThat(run("--columns")).isEqualTo(2);
+        assertThat(err.toString("UTF-8")).startsWith("Missing value for --columns" + System.lineSeparator());
+        assertThat(run("--threads", "two", input.toString())).isEqualTo(2);
+        assertThat(err.toString("UTF-8")).startsWith("Invalid value for --threads: two" + System.lineSeparator());
+        assertThat(run("in\u0000.csv")).isEqualTo(2);
+        assertThat(err.toString("UTF-8")).contains(System.lineSeparator() + "Usage: ");
+        assertThat(run("--chunk-size", "18014398509481985K", input.toString())).isEqualTo(2);
+        assertThat(err.toString("UTF-8")).startsWith("Invalid chunk size: 18014398509481985K" + System.lineSeparator());
+        assertThat(out.size()).isEqualTo(0);
+        assertThat(JapaneseDateConverter.size("8M")).isEqualTo(8 << 20);
+        assertThat(JapaneseDateConverter.size("2047M")).isEqualTo(2047 << 20);
+        assertThat(JapaneseDateConverter.delimiter("tsv")).isEqualTo('\t');
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JapaneseDateCursor}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseDateCursorTest {
+
+    @Test
+    public void testNext() {
+        JapaneseDate start = JapaneseDate.of(1873, 1, 1);
+        JapaneseDate end = JapaneseDate.of(2100, 1, 1);
+        JapaneseDateCursor cursor = start.cursorUntil(end);
+        JapaneseDate expected = start;
+        long count = 0;
+        while (cursor.next()) {
+            assertThat(cursor.getEpochDay()).isEqualTo(expected.toEpochDay());
+            assertThat(cursor.getEra()).isEqualTo(expected.getEra());
+            assertThat(cursor.getEraValue()).isEqualTo(expected.getEra().getValue());
+            assertThat(cursor.getYearOfEra()).isEqualTo(expected.getYearOfEra());
+            assertThat(cursor.getYear()).isEqualTo(expected.getProlepticYear());
+            assertThat(cursor.getMonthValue()).isEqualTo(expected.getMonthValue());
+            assertThat(cursor.getDayOfMonth()).isEqualTo(expected.getDayOfMonth());
+            expected = expected.plusDays(1);
+            ++count;
+        }
+        assertThat(count).isEqualTo(start.until(end, java.time.temporal.ChronoUnit.DAYS));
+        assertThat(cursor.next()).isFalse();
+    }
+
+    @Test
+    public void testFromMiddleOfEra() {
+        JapaneseDateCursor cursor = JapaneseDate.of(1989, 1, 6).cursorUntil(JapaneseDate.of(1989, 1, 9));
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.getEra()).isEqualTo(JapaneseEra.SHOWA);
+        assertThat(cursor.getYearOfEra()).isEqualTo(64);
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.getDayOfMonth()).isEqualTo(7);
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.getEra()).isEqualTo(JapaneseEra.HEISEI);
+        assertThat(cursor.getYearOfEra()).isEqualTo(1);
+        assertThat(cursor.toDate()).isEqualTo(JapaneseDate.of(1989, 1, 8));
+        assertThat(cursor.next()).isFalse();
+    }
+
+    @Test
+    public void testEmpty() {
+        JapaneseDate date = JapaneseDate.of(2016, 4, 1);
+        assertThat(date.cursorUntil(date).next()).isFalse();
+        assertThatThrownBy(() -> date.cursorUntil(date.minusDays(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
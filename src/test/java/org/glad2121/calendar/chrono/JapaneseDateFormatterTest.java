@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.io.StringWriter;
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JapaneseDateFormatter}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseDateFormatterTest {
+
+    @Test
+    public void testAbbreviated() {
+        JapaneseDateFormatter formatter = JapaneseDateFormatter.ABBREVIATED;
+        assertThat(formatter.format(JapaneseDate.of(2016, 4, 1))).isEqualTo("H28.04.01");
+        assertThat(formatter.format(JapaneseDate.of(1989, 1, 8))).isEqualTo("H01.01.08");
+        assertThat(formatter.format(JapaneseDate.of(1926, 12, 25))).isEqualTo("S01.12.25");
+        assertThat(formatter.format(JapaneseDate.of(2111, 12, 31))).isEqualTo("H123.12.31");
+    }
+
+    @Test
+    public void testKanji() {
+        JapaneseDateFormatter formatter = JapaneseDateFormatter.KANJI;
+        assertThat(formatter.format(JapaneseDate.of(2016, 4, 1))).isEqualTo("平成28年4月1日");
+        assertThat(formatter.format(JapaneseDate.of(1989, 1, 8))).isEqualTo("平成元年1月8日");
+        assertThat(formatter.format(JapaneseDate.of(1989, 1, 7))).isEqualTo("昭和64年1月7日");
+        assertThat(formatter.format(JapaneseDate.of(1912, 12, 31))).isEqualTo("大正元年12月31日");
+        assertThat(formatter.withLocale(Locale.US).format(JapaneseDate.of(1989, 1, 8)))
+            .isEqualTo("Heisei1年1月8日");
+    }
+
+    @Test
+    public void testKanjiNumeral() {
+        JapaneseDateFormatter formatter = JapaneseDateFormatter.KANJI_NUMERAL;
+        assertThat(formatter.format(JapaneseDate.of(2016, 4, 1))).isEqualTo("平成二十八年四月一日");
+        assertThat(formatter.format(JapaneseDate.of(1989, 1, 8))).isEqualTo("平成元年一月八日");
+        assertThat(formatter.format(JapaneseDate.of(1989, 1, 7))).isEqualTo("昭和六十四年一月七日");
+        assertThat(formatter.format(JapaneseDate.of(1998, 12, 31))).isEqualTo("平成十年十二月三十一日");
+        assertThat(formatter.format(JapaneseDate.of(2110, 10, 20))).isEqualTo("平成百二十二年十月二十日");
+        assertThat(formatter.format(JapaneseDate.of(2010, 2, 11))).isEqualTo("平成二十二年二月十一日");
+    }
+
+    @Test
+    public void testKanjiNumbers() throws Exception {
+        assertThat(kanji(1)).isEqualTo("一");
+        assertThat(kanji(10)).isEqualTo("十");
+        assertThat(kanji(19)).isEqualTo("十九");
+        assertThat(kanji(99)).isEqualTo("九十九");
+        assertThat(kanji(100)).isEqualTo("百");
+        assertThat(kanji(1001)).isEqualTo("千一");
+        assertThat(kanji(2019)).isEqualTo("二千十九");
+        assertThat(kanji(10_000)).isEqualTo("一万");
+        assertThat(kanji(9_999_999)).isEqualTo("九百九十九万九千九百九十九");
+        assertThat(kanji(9_999_999).length()).isEqualTo(JapaneseDateFormatter.MAX_KANJI_YEAR_LENGTH);
+        assertThat(kanji(100_000_001)).isEqualTo("一億一");
+        for (int value = 1; value < 100_000; ++value) {
+            String text = kanji(value);
+            assertThat(JapaneseDateParser.parseKanjiNumber(text, 0, text.length()))
+                .as(text).isEqualTo((long) text.length() << 32 | value);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int value : new int[] { 1, 99, 100, 2019, 10_000, 9_999_999, 100_000_001, Integer.MAX_VALUE }) {
+            sb.setLength(0);
+            JapaneseDateFormatter.appendKanji(value, sb);
+            assertThat(sb.toString()).isEqualTo(kanji(value));
+        }
+    }
+
+    static String kanji(int value) {
+        char[] buf = new char[32];
+        int end = JapaneseDateFormatter.putKanji(value, buf, 0);
+        return new String(buf, 0, end);
+    }
+
+    @Test
+    public void testFormatTo() throws Exception {
+        JapaneseDate date = JapaneseDate.of(2016, 4, 1);
+
+        StringBuilder sb = new StringBuilder("[");
+        assertThat(JapaneseDateFormatter.KANJI.formatTo(date, sb)).isSameAs(sb);
+        assertThat(sb.append(']').toString()).isEqualTo("[平成28年4月1日]");
+
+        StringWriter writer = new StringWriter();
+        JapaneseDateFormatter.ABBREVIATED.formatTo(date, writer);
+        assertThat(writer.toString()).isEqualTo("H28.04.01");
+
+        char[] buf = new char[JapaneseDateFormatter.KANJI.getMaxLength() + 2];
+        int end = JapaneseDateFormatter.KANJI.formatTo(date, buf, 2);
+        assertThat(new String(buf, 2, end - 2)).isEqualTo("平成28年4月1日");
+
+        sb.setLength(0);
+        JapaneseDateFormatter.KANJI_NUMERAL.formatTo(JapaneseDate.of(2110, 12, 28), sb);
+        assertThat(sb.toString()).isEqualTo("平成百二十二年十二月二十八日");
+        buf = new char[JapaneseDateFormatter.KANJI_NUMERAL.getMaxLength()];
+        end = JapaneseDateFormatter.KANJI_NUMERAL.formatTo(JapaneseDate.of(2110, 12, 28), buf, 0);
+        assertThat(new String(buf, 0, end)).isEqualTo("平成百二十二年十二月二十八日");
+    }
+
+}
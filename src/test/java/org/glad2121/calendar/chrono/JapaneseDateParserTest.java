@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.nio.CharBuffer;
+import java.text.ParsePosition;
+import java.time.format.DateTimeParseException;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JapaneseDateParser}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseDateParserTest {
+
+    final JapaneseDateParser parser = JapaneseDateParser.INSTANCE;
+
+    @Test
+    public void testParse() {
+        JapaneseDate date = JapaneseDate.of(2016, 4, 1);
+        assertThat(parser.parse("H28.04.01")).isEqualTo(date);
+        assertThat(parser.parse("H28/4/1")).isEqualTo(date);
+        assertThat(parser.parse("h28-04-01")).isEqualTo(date);
+        assertThat(parser.parse("H280401")).isEqualTo(date);
+        assertThat(parser.parse("平成28年4月1日")).isEqualTo(date);
+        assertThat(parser.parse("平成２８年４月１日")).isEqualTo(date);
+        assertThat(parser.parse("Ｈ２８．０４．０１")).isEqualTo(date);
+        assertThat(parser.parse("Heisei28.04.01")).isEqualTo(date);
+        assertThat(parser.parse("平28.04.01")).isEqualTo(date);
+        assertThat(parser.parse("平成元年1月8日")).isEqualTo(JapaneseDate.of(1989, 1, 8));
+        assertThat(parser.parse("昭和64年1月7日")).isEqualTo(JapaneseDate.of(1989, 1, 7));
+        assertThat(parser.parse("M06.01.01")).isEqualTo(JapaneseDate.of(1873, 1, 1));
+    }
+
+    @Test
+    public void testParseKanjiNumeral() {
+        assertThat(parser.parse("平成二十八年四月一日")).isEqualTo(JapaneseDate.of(2016, 4, 1));
+        assertThat(parser.parse("昭和六十四年一月七日")).isEqualTo(JapaneseDate.of(1989, 1, 7));
+        assertThat(parser.parse("平成元年一月八日")).isEqualTo(JapaneseDate.of(1989, 1, 8));
+        assertThat(parser.parse("平成十年十二月三十一日")).isEqualTo(JapaneseDate.of(1998, 12, 31));
+        assertThat(parser.parse("平成百二十二年十月二十日")).isEqualTo(JapaneseDate.of(2110, 10, 20));
+        assertThat(parser.parse("平成二八年四月一日")).isEqualTo(JapaneseDate.of(2016, 4, 1));
+        assertThat(parser.parse("平成二十八年4月1日")).isEqualTo(JapaneseDate.of(2016, 4, 1));
+
+        assertErrorAt("平成二十八.04.01", 5);
+        assertErrorAt("平成二十八年十三月一日", 6);
+        assertErrorAt("平成二十八年二月三十日", 8);
+        assertErrorAt("平成十十年四月一日", 2);
+        assertErrorAt("平成二三十年四月一日", 2);
+        assertErrorAt("平成〇年四月一日", 2);
+        assertErrorAt("昭和六十四年一月八日", 0);
+    }
+
+    @Test
+    public void testParseKanjiNumber() {
+        assertThat(parse("二千十九")).isEqualTo(2019);
+        assertThat(parse("二〇一九")).isEqualTo(2019);
+        assertThat(parse("一万二千")).isEqualTo(12_000);
+        assertThat(parse("二十一億四千七百四十八万三千六百四十七")).isEqualTo(Integer.MAX_VALUE);
+        assertThat(parse("二十一億四千七百四十八万三千六百四十八")).isEqualTo(-1);
+        assertThat(parse("百百")).isEqualTo(-1);
+        assertThat(parse("万")).isEqualTo(-1);
+        assertThat(parse("十二三")).isEqualTo(-1);
+        assertThat(parse("年")).isEqualTo(-1);
+        assertThat(JapaneseDateParser.parseKanjiNumber("三十年", 0, 3)).isEqualTo(2L << 32 | 30);
+    }
+
+    static long parse(String text) {
+        long number = JapaneseDateParser.parseKanjiNumber(text, 0, text.length());
+        return number < 0 ? number : (int) number;
+    }
+
+    @Test
+    public void testParseRange() {
+        ParsePosition position = new ParsePosition(0);
+        String text = "date=H28.04.01;";
+        long epochDay = parser.parseEpochDay(text, 5, 9, position);
+        assertThat(epochDay).isEqualTo(JapaneseDate.of(2016, 4, 1).toEpochDay());
+        assertThat(position.getIndex()).isEqualTo(14);
+
+        CharBuffer buffer = CharBuffer.wrap("平成28年4月1日");
+        assertThat(parser.parse(buffer, 0, buffer.length(), new ParsePosition(0)))
+            .isEqualTo(JapaneseDate.of(2016, 4, 1));
+    }
+
+    @Test
+    public void testErrors() {
+        assertErrorAt("X28.04.01", 0);
+        assertErrorAt("H28.13.01", 4);
+        assertErrorAt("H28.02.30", 7);
+        assertErrorAt("H28.04/01", 6);
+        assertErrorAt("H28.04.01x", 9);
+        assertErrorAt("平成28年4月1", 8);
+        assertErrorAt("平成元.04.01", 3);
+        assertErrorAt("H2804011", 8);
+        // 月と日は2桁まで
+        assertErrorAt("H28.000000004.01", 6);
+        assertErrorAt("H28.04.001", 9);
+        assertErrorAt("平成28年004月1日", 7);
+        assertErrorAt("M05.12.31", 0);
+        // 元号の期間外
+        assertErrorAt("S64.01.08", 0);
+        assertErrorAt("平成元年1月7日", 0);
+        assertThatThrownBy(() -> parser.parse("H28.13.01"))
+            .isInstanceOf(DateTimeParseException.class)
+            .hasMessage("Text 'H28.13.01' could not be parsed at index 4");
+    }
+
+    void assertErrorAt(String text, int errorIndex) {
+        ParsePosition position = new ParsePosition(0);
+        assertThat(parser.parseEpochDay(text, 0, text.length(), position))
+            .isEqualTo(JapaneseDateParser.INVALID);
+        assertThat(position.getErrorIndex()).isEqualTo(errorIndex);
+    }
+
+    @Test
+    public void testParseEpochDays() {
+        CharSequence[] texts = { "H28.04.01", "bad", null, "平成元年1月8日" };
+        long[] epochDays = new long[texts.length];
+        assertThat(parser.parseEpochDays(texts, epochDays)).isEqualTo(2);
+        assertThat(epochDays[0]).isEqualTo(JapaneseDate.of(2016, 4, 1).toEpochDay());
+        assertThat(epochDays[1]).isEqualTo(JapaneseDateParser.INVALID);
+        assertThat(epochDays[2]).isEqualTo(JapaneseDateParser.INVALID);
+        assertThat(epochDays[3]).isEqualTo(JapaneseDate.of(1989, 1, 8).toEpochDay());
+    }
+
+}
@@ -17,6 +17,27 @@ package org.glad2121.calendar.chrono;
 
 import static org.assertj.core.api.StrictAssertions.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.InvalidClassException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.TemporalField;
+import java.time.temporal.ValueRange;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -31,6 +52,30 @@ public class JapaneseDateTest {
     public void tearDown() throws Exception {
     }
 
+    static void assertOutOfEra(JapaneseEra era, int yearOfEra, int month, int dayOfMonth) {
+        try {
+            JapaneseDate.of(era, yearOfEra, month, dayOfMonth);
+            failBecauseExceptionWasNotThrown(DateTimeException.class);
+        } catch (DateTimeException e) {
+            assertThat(e.getMessage()).startsWith("Date is not in era " + era.getName());
+        }
+    }
+
+    static JapaneseDate resolve(String text, ResolverStyle style) {
+        DateTimeFormatter formatter = JapaneseDateTimeFormatters.ofPattern("GGGG y M d", Locale.ROOT)
+                .withResolverStyle(style);
+        return formatter.parse(text, JapaneseDate::from);
+    }
+
+    static void assertResolveError(String text, ResolverStyle style) {
+        try {
+            resolve(text, style);
+            failBecauseExceptionWasNotThrown(DateTimeParseException.class);
+        } catch (DateTimeParseException e) {
+            // OK
+        }
+    }
+
     @Test
     public void testFirstDay() {
         JapaneseDate jdate = JapaneseDate.of(1873, 1, 1);
@@ -58,7 +103,7 @@ public class JapaneseDateTest {
     @Test
     public void testFirstDayOfTaisho() {
         JapaneseDate jdate = JapaneseDate.of(1912, 7, 30);
-        assertThat(JapaneseDate.of(JapaneseEra.MEIJI, 45, 7, 30)).isEqualTo(jdate);
+        assertOutOfEra(JapaneseEra.MEIJI, 45, 7, 30);
         assertThat(JapaneseDate.of(JapaneseEra.TAISHO, 1, 7, 30)).isEqualTo(jdate);
         assertThat(jdate.getChronology()).isSameAs(JapaneseChronology.INSTANCE);
         assertThat(jdate.getEra()).isSameAs(JapaneseEra.TAISHO);
@@ -83,7 +128,7 @@ public class JapaneseDateTest {
     @Test
     public void testFirstDayOfShowa() {
         JapaneseDate jdate = JapaneseDate.of(1926, 12, 25);
-        assertThat(JapaneseDate.of(JapaneseEra.TAISHO, 15, 12, 25)).isEqualTo(jdate);
+        assertOutOfEra(JapaneseEra.TAISHO, 15, 12, 25);
         assertThat(JapaneseDate.of(JapaneseEra.SHOWA, 1, 12, 25)).isEqualTo(jdate);
         assertThat(jdate.getChronology()).isSameAs(JapaneseChronology.INSTANCE);
         assertThat(jdate.getEra()).isSameAs(JapaneseEra.SHOWA);
@@ -108,7 +153,7 @@ public class JapaneseDateTest {
     @Test
     public void testFirstDayOfHeisei() {
         JapaneseDate jdate = JapaneseDate.of(1989, 1, 8);
-        assertThat(JapaneseDate.of(JapaneseEra.SHOWA, 64, 1, 8)).isEqualTo(jdate);
+        assertOutOfEra(JapaneseEra.SHOWA, 64, 1, 8);
         assertThat(JapaneseDate.of(JapaneseEra.HEISEI, 1, 1, 8)).isEqualTo(jdate);
         assertThat(jdate.getChronology()).isSameAs(JapaneseChronology.INSTANCE);
         assertThat(jdate.getEra()).isSameAs(JapaneseEra.HEISEI);
@@ -124,4 +169,217 @@ public class JapaneseDateTest {
         assertThat(jdate).isNotNull();
     }
 
+    @Test
+    public void testPlus() {
+        JapaneseDate jdate = JapaneseDate.of(JapaneseEra.SHOWA, 64, 1, 7);
+        assertThat(jdate.plusDays(1)).isEqualTo(JapaneseDate.of(JapaneseEra.HEISEI, 1, 1, 8));
+        assertThat(jdate.plusDays(1).getEra()).isSameAs(JapaneseEra.HEISEI);
+        assertThat(jdate.minusDays(7)).isEqualTo(JapaneseDate.of(1988, 12, 31));
+        assertThat(jdate.plusWeeks(2)).isEqualTo(JapaneseDate.of(1989, 1, 21));
+        assertThat(jdate.plusMonths(1)).isEqualTo(JapaneseDate.of(1989, 2, 7));
+        assertThat(jdate.plusYears(27)).isEqualTo(JapaneseDate.of(2016, 1, 7));
+        assertThat(JapaneseDate.of(2016, 1, 31).plusMonths(1)).isEqualTo(JapaneseDate.of(2016, 2, 29));
+        assertThat(JapaneseDate.of(2016, 2, 29).minusYears(1)).isEqualTo(JapaneseDate.of(2015, 2, 28));
+        assertThat(jdate.plus(10, ChronoUnit.DECADES)).isEqualTo(JapaneseDate.of(2089, 1, 7));
+        assertThat(jdate.plus(JapaneseChronology.INSTANCE.period(1, 2, 3)))
+            .isEqualTo(JapaneseDate.of(1990, 3, 10));
+        assertThat(jdate.minus(1, ChronoUnit.MONTHS)).isEqualTo(JapaneseDate.of(1988, 12, 7));
+        assertThatThrownBy(() -> JapaneseDate.of(1873, 1, 1).minusDays(1))
+            .isInstanceOf(DateTimeException.class);
+    }
+
+    @Test
+    public void testWith() {
+        JapaneseDate jdate = JapaneseDate.of(2016, 4, 1);
+        assertThat(jdate.withYearOfEra(1)).isEqualTo(JapaneseDate.of(1989, 4, 1));
+        assertThat(jdate.withEra(JapaneseEra.SHOWA)).isEqualTo(JapaneseDate.of(1953, 4, 1));
+        assertThat(jdate.withEra(JapaneseEra.HEISEI)).isSameAs(jdate);
+        assertThat(jdate.withMonth(2).withDayOfMonth(29)).isEqualTo(JapaneseDate.of(2016, 2, 29));
+        assertThat(jdate.with(ChronoField.YEAR_OF_ERA, 20)).isEqualTo(JapaneseDate.of(2008, 4, 1));
+        assertThat(jdate.with(ChronoField.ERA, 3)).isEqualTo(JapaneseDate.of(1953, 4, 1));
+        assertThat(jdate.with(ChronoField.DAY_OF_WEEK, 1)).isEqualTo(JapaneseDate.of(2016, 3, 28));
+        assertThat(jdate.with(ChronoField.DAY_OF_YEAR, 366)).isEqualTo(JapaneseDate.of(2016, 12, 31));
+        assertThat(jdate.with(ChronoField.EPOCH_DAY, 0)).isEqualTo(JapaneseDate.of(1970, 1, 1));
+        assertThat(jdate.with(TemporalAdjusters.firstDayOfNextMonth())).isEqualTo(JapaneseDate.of(2016, 5, 1));
+        assertThat(jdate.with(TemporalAdjusters.lastDayOfMonth())).isEqualTo(JapaneseDate.of(2016, 4, 30));
+        assertThat(jdate.with(TemporalAdjusters.lastDayOfYear())).isEqualTo(JapaneseDate.of(2016, 12, 31));
+        for (ChronoField field : new ChronoField[] {
+                ChronoField.ALIGNED_DAY_OF_WEEK_IN_MONTH, ChronoField.ALIGNED_DAY_OF_WEEK_IN_YEAR,
+                ChronoField.ALIGNED_WEEK_OF_MONTH, ChronoField.ALIGNED_WEEK_OF_YEAR,
+                ChronoField.PROLEPTIC_MONTH, ChronoField.MONTH_OF_YEAR }) {
+            long value = field == ChronoField.PROLEPTIC_MONTH ? 2000 * 12 + 3 : 3;
+            LocalDate expected = LocalDate.of(2016, 4, 1).with(field, value);
+            assertThat(jdate.with(field, value).toEpochDay()).isEqualTo(expected.toEpochDay());
+        }
+    }
+
+    @Test
+    public void testWithOutOfEra() {
+        // 変更した日付が元号の期間外になる場合は不正
+        JapaneseDate heisei = JapaneseDate.of(1989, 1, 8);
+        assertThatThrownBy(() -> heisei.withEra(JapaneseEra.SHOWA)).isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> heisei.withEra(JapaneseEra.TAISHO)).isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> heisei.with(ChronoField.ERA, 2)).isInstanceOf(DateTimeException.class);
+        JapaneseDate meiji = JapaneseDate.of(1912, 7, 29);
+        assertThatThrownBy(() -> meiji.withYearOfEra(46)).isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> meiji.with(ChronoField.YEAR_OF_ERA, 46)).isInstanceOf(DateTimeException.class);
+        assertThat(meiji.withYearOfEra(45)).isEqualTo(meiji);
+        assertThatThrownBy(() -> JapaneseChronology.INSTANCE.prolepticYear(JapaneseEra.TAISHO, 16))
+            .isInstanceOf(DateTimeException.class);
+        assertThat(JapaneseChronology.INSTANCE.prolepticYear(JapaneseEra.TAISHO, 15)).isEqualTo(1926);
+        assertThat(meiji.withYearOfEra(44)).isEqualTo(JapaneseDate.of(1911, 7, 29));
+        assertThat(JapaneseDate.of(1989, 1, 7).withYearOfEra(63)).isEqualTo(JapaneseDate.of(1988, 1, 7));
+        // 昭和元年12月31日は昭和の期間内
+        assertThat(JapaneseDate.of(1989, 12, 31).withEra(JapaneseEra.SHOWA)).isEqualTo(JapaneseDate.of(1926, 12, 31));
+    }
+
+    @Test
+    public void testUntil() {
+        JapaneseDate start = JapaneseDate.of(1989, 1, 7);
+        JapaneseDate end = JapaneseDate.of(2016, 4, 1);
+        LocalDate isoStart = LocalDate.of(1989, 1, 7);
+        LocalDate isoEnd = LocalDate.of(2016, 4, 1);
+        for (ChronoUnit unit : new ChronoUnit[] {
+                ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS,
+                ChronoUnit.DECADES, ChronoUnit.CENTURIES }) {
+            assertThat(start.until(end, unit)).isEqualTo(isoStart.until(isoEnd, unit));
+            assertThat(end.until(start, unit)).isEqualTo(isoEnd.until(isoStart, unit));
+        }
+        assertThat(start.until(end, ChronoUnit.ERAS)).isEqualTo(1);
+        assertThat(start.until(isoEnd, ChronoUnit.DAYS)).isEqualTo(isoStart.until(isoEnd, ChronoUnit.DAYS));
+
+        Period period = isoStart.until(isoEnd);
+        assertThat(start.until(end))
+            .isEqualTo(JapaneseChronology.INSTANCE.period(
+                    period.getYears(), period.getMonths(), period.getDays()));
+        assertThat(start.plus(start.until(end))).isEqualTo(end);
+        assertThat(end.plus(end.until(start))).isEqualTo(start);
+    }
+
+    @Test
+    public void testGetLong() {
+        for (LocalDate isoDate : new LocalDate[] {
+                LocalDate.of(1873, 1, 1), LocalDate.of(1912, 7, 30), LocalDate.of(1989, 1, 7),
+                LocalDate.of(2016, 2, 29), LocalDate.of(2016, 12, 31) }) {
+            JapaneseDate jdate = JapaneseDate.from(isoDate);
+            for (ChronoField field : ChronoField.values()) {
+                if (field.isDateBased() && field != ChronoField.YEAR_OF_ERA && field != ChronoField.ERA) {
+                    assertThat(jdate.getLong(field)).as(field.toString()).isEqualTo(isoDate.getLong(field));
+                }
+            }
+        }
+        JapaneseDate jdate = JapaneseDate.of(1989, 1, 7);
+        assertThat(jdate.getLong(ChronoField.ERA)).isEqualTo(3);
+        assertThat(jdate.getLong(ChronoField.YEAR_OF_ERA)).isEqualTo(64);
+        assertThat(jdate.get(ChronoField.YEAR_OF_ERA)).isEqualTo(64);
+        assertThat(jdate.getDayOfYear()).isEqualTo(7);
+        assertThatThrownBy(() -> jdate.getLong(ChronoField.HOUR_OF_DAY))
+            .isInstanceOf(DateTimeException.class);
+    }
+
+    @Test
+    public void testRange() {
+        assertThat(JapaneseDate.of(1873, 1, 1).range(ChronoField.YEAR_OF_ERA)).isEqualTo(ValueRange.of(6, 45));
+        assertThat(JapaneseDate.of(1920, 1, 1).range(ChronoField.YEAR_OF_ERA)).isEqualTo(ValueRange.of(1, 15));
+        assertThat(JapaneseDate.of(1989, 1, 7).range(ChronoField.YEAR_OF_ERA)).isEqualTo(ValueRange.of(1, 64));
+        assertThat(JapaneseDate.of(2016, 2, 1).range(ChronoField.DAY_OF_MONTH)).isEqualTo(ValueRange.of(1, 29));
+        assertThat(JapaneseDate.of(2015, 2, 1).range(ChronoField.DAY_OF_MONTH)).isEqualTo(ValueRange.of(1, 28));
+        assertThat(JapaneseDate.of(2015, 2, 1).range(ChronoField.ALIGNED_WEEK_OF_MONTH)).isEqualTo(ValueRange.of(1, 4));
+        assertThat(JapaneseDate.of(2016, 2, 1).range(ChronoField.ALIGNED_WEEK_OF_MONTH)).isEqualTo(ValueRange.of(1, 5));
+        assertThat(JapaneseDate.of(2016, 2, 1).range(ChronoField.DAY_OF_YEAR)).isEqualTo(ValueRange.of(1, 366));
+        assertThat(JapaneseDate.of(2016, 2, 1).range(ChronoField.ERA)).isEqualTo(ValueRange.of(1, 4));
+        assertThat(JapaneseDate.of(2016, 2, 1).range(ChronoField.ALIGNED_WEEK_OF_YEAR)).isEqualTo(ValueRange.of(1, 53));
+        assertThat(JapaneseChronology.INSTANCE.range(ChronoField.YEAR).getMinimum()).isEqualTo(1873);
+    }
+
+    @Test
+    public void testFormatter() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("uuuu/MM/dd (E) D");
+        assertThat(formatter.format(JapaneseDate.of(2016, 4, 1))).isEqualTo(formatter.format(LocalDate.of(2016, 4, 1)));
+    }
+
+    @Test
+    public void testResolveDate() {
+        assertThat(resolve("Heisei 28 4 1", ResolverStyle.STRICT)).isEqualTo(JapaneseDate.of(2016, 4, 1));
+        assertThat(resolve("Heisei 1 1 8", ResolverStyle.STRICT)).isEqualTo(JapaneseDate.of(1989, 1, 8));
+        assertResolveError("Showa 64 1 8", ResolverStyle.STRICT);
+        assertResolveError("Heisei 1 1 7", ResolverStyle.STRICT);
+        assertResolveError("Heisei 28 2 30", ResolverStyle.STRICT);
+
+        assertThat(resolve("Showa 64 1 8", ResolverStyle.SMART)).isEqualTo(JapaneseDate.of(1989, 1, 8));
+        assertThat(resolve("Heisei 1 1 7", ResolverStyle.SMART)).isEqualTo(JapaneseDate.of(1989, 1, 7));
+        assertThat(resolve("Heisei 28 2 30", ResolverStyle.SMART)).isEqualTo(JapaneseDate.of(2016, 2, 29));
+        assertResolveError("Showa 65 1 1", ResolverStyle.SMART);
+        assertResolveError("Heisei 28 13 1", ResolverStyle.SMART);
+
+        assertThat(resolve("Showa 65 1 1", ResolverStyle.LENIENT)).isEqualTo(JapaneseDate.of(1990, 1, 1));
+        assertThat(resolve("Heisei 28 13 32", ResolverStyle.LENIENT)).isEqualTo(JapaneseDate.of(2017, 2, 1));
+    }
+
+    @Test
+    public void testResolveDateFields() {
+        Map<TemporalField, Long> fields = new HashMap<>();
+        fields.put(ChronoField.ERA, 4L);
+        fields.put(ChronoField.YEAR_OF_ERA, 28L);
+        fields.put(ChronoField.MONTH_OF_YEAR, 4L);
+        fields.put(ChronoField.DAY_OF_MONTH, 1L);
+        fields.put(ChronoField.DAY_OF_WEEK, 5L);
+        assertThat(JapaneseChronology.INSTANCE.resolveDate(fields, ResolverStyle.STRICT))
+                .isEqualTo(JapaneseDate.of(2016, 4, 1));
+        // 解決したフィールドは取り除き、それ以外は残す
+        assertThat(fields.size()).isEqualTo(1);
+        assertThat(fields.get(ChronoField.DAY_OF_WEEK)).isEqualTo(5L);
+
+        fields.clear();
+        fields.put(ChronoField.YEAR, 2016L);
+        fields.put(ChronoField.DAY_OF_YEAR, 92L);
+        assertThat(JapaneseChronology.INSTANCE.resolveDate(fields, ResolverStyle.STRICT))
+                .isEqualTo(JapaneseDate.of(2016, 4, 1));
+    }
+
+    @Test
+    public void testDatesUntil() {
+        JapaneseDate start = JapaneseDate.of(1912, 7, 1);
+        JapaneseDate end = JapaneseDate.of(2016, 4, 1);
+        long days = start.until(end, ChronoUnit.DAYS);
+        assertThat(start.datesUntil(end).count()).isEqualTo(days);
+        assertThat(start.datesUntil(end).parallel().mapToLong(JapaneseDate::toEpochDay).sum())
+            .isEqualTo((start.toEpochDay() + end.toEpochDay() - 1) * days / 2);
+        assertThat(start.datesUntil(end).parallel().filter(d -> d.getYearOfEra() == 2 && d.getDayOfYear() == 1).count())
+            .isEqualTo(3);
+        assertThat(start.datesUntil(end).skip(29).findFirst().get()).isEqualTo(JapaneseDate.of(1912, 7, 30));
+        assertThat(start.datesUntil(start).count()).isEqualTo(0);
+        assertThatThrownBy(() -> end.datesUntil(start))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testSerialization() {
+        JapaneseDate date = JapaneseDate.of(2016, 4, 1);
+        assertThat(SerializationUtils.clone(date)).isEqualTo(date);
+        assertThat(SerializationUtils.serialize(date).length).isLessThan(64);
+
+        JapaneseDate first = JapaneseDate.of(1873, 1, 1);
+        assertThat(SerializationUtils.clone(first)).isEqualTo(first);
+        JapaneseDate last = JapaneseChronology.INSTANCE.dateEpochDay(JapaneseDate.MAX_EPOCH_DAY);
+        assertThat(SerializationUtils.clone(last)).isEqualTo(last);
+        assertThat(SerializationUtils.clone(last).toString()).isEqualTo(last.toString());
+
+        assertThatThrownBy(() -> SerializationUtils.serialize(new Ser((byte) 99, date)))
+            .hasCauseInstanceOf(InvalidClassException.class);
+    }
+
+    @Test
+    public void testZigZag() throws Exception {
+        long[] values = { 0, 1, -1, 63, -64, 64, 16892, -35000, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+        int[] lengths = { 1, 1, 1, 1, 1, 2, 3, 3, 5, 10, 10 };
+        for (int i = 0; i < values.length; ++i) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            Ser.writeZigZag(new DataOutputStream(bytes), values[i]);
+            assertThat(bytes.size()).as(Long.toString(values[i])).isEqualTo(lengths[i]);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            assertThat(Ser.readZigZag(in)).isEqualTo(values[i]);
+        }
+    }
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JapaneseDateTimeFormatters}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseDateTimeFormattersTest {
+
+    static void assertRoundTrip(DateTimeFormatter formatter, JapaneseDate date, String text) {
+        assertThat(formatter.format(date)).isEqualTo(text);
+        assertThat(formatter.parse(text, JapaneseDate::from)).isEqualTo(date);
+    }
+
+    @Test
+    public void testKanji() {
+        DateTimeFormatter formatter = JapaneseDateTimeFormatters.ofPattern("GGGGy年M月d日", Locale.JAPANESE);
+        assertThat(formatter.getChronology()).isSameAs(JapaneseChronology.INSTANCE);
+        assertRoundTrip(formatter, JapaneseDate.of(2016, 4, 1), "平成28年4月1日");
+        assertRoundTrip(formatter, JapaneseDate.of(1989, 1, 8), "平成元年1月8日");
+        assertRoundTrip(formatter, JapaneseDate.of(1926, 12, 25), "昭和元年12月25日");
+        assertRoundTrip(formatter, JapaneseDate.of(1989, 1, 7), "昭和64年1月7日");
+        assertRoundTrip(formatter, JapaneseDate.of(1912, 7, 29), "明治45年7月29日");
+        assertThat(formatter.format(LocalDate.of(2016, 4, 1))).isEqualTo("平成28年4月1日");
+    }
+
+    @Test
+    public void testAbbreviated() {
+        DateTimeFormatter formatter = JapaneseDateTimeFormatters.ofPattern("GGGGGyy.MM.dd", Locale.JAPANESE);
+        assertRoundTrip(formatter, JapaneseDate.of(2016, 4, 1), "H28.04.01");
+        assertRoundTrip(formatter, JapaneseDate.of(1989, 1, 8), "H01.01.08");
+        assertRoundTrip(formatter, JapaneseDate.of(1926, 12, 25), "S01.12.25");
+
+        formatter = JapaneseDateTimeFormatters.ofPattern("Gy.M.d", Locale.JAPANESE);
+        assertRoundTrip(formatter, JapaneseDate.of(1989, 1, 8), "平元.1.8");
+
+        formatter = JapaneseDateTimeFormatters.ofPattern("GGGG y-M-d", Locale.ROOT);
+        assertRoundTrip(formatter, JapaneseDate.of(1989, 1, 8), "Heisei 1-1-8");
+        assertRoundTrip(formatter, JapaneseDate.of(1926, 12, 24), "Taisho 15-12-24");
+    }
+
+    @Test
+    public void testQuoted() {
+        DateTimeFormatter formatter = JapaneseDateTimeFormatters.ofPattern("'G''y'GGGGy年[M月][d日]", Locale.JAPANESE);
+        assertRoundTrip(formatter, JapaneseDate.of(1989, 1, 8), "G'y平成元年1月8日");
+    }
+
+    @Test
+    public void testCache() {
+        DateTimeFormatter formatter = JapaneseDateTimeFormatters.ofPattern("GGGGy年M月d日", Locale.JAPANESE);
+        assertThat(JapaneseDateTimeFormatters.ofPattern("GGGGy年M月d日", Locale.JAPANESE)).isSameAs(formatter);
+        assertThat(JapaneseDateTimeFormatters.ofPattern("GGGGy年M月d日", Locale.US)).isNotSameAs(formatter);
+        try {
+            JapaneseDateTimeFormatters.ofPattern("GGGGGG");
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+            // OK
+        }
+    }
+
+    @Test
+    public void testFields() {
+        // 汎用の書式から、すべての日付のフィールドを参照できること
+        JapaneseDate date = JapaneseDate.of(1989, 1, 8);
+        LocalDate isoDate = LocalDate.of(1989, 1, 8);
+        for (ChronoField field : ChronoField.values()) {
+            if (!field.isDateBased() || field == ChronoField.YEAR_OF_ERA || field == ChronoField.ERA) {
+                continue;
+            }
+            DateTimeFormatter formatter = new DateTimeFormatterBuilder()
+                    .appendValue(field).toFormatter().withChronology(JapaneseChronology.INSTANCE);
+            assertThat(formatter.format(date)).as(field.toString()).isEqualTo(formatter.format(isoDate));
+        }
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("G y D w W e E", Locale.JAPANESE)
+                .withChronology(JapaneseChronology.INSTANCE);
+        assertThat(formatter.format(date)).isNotNull();
+    }
+
+}
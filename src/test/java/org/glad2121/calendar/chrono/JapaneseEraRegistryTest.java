@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+
+import org.glad2121.calendar.CalendarException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link JapaneseEraRegistry}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseEraRegistryTest {
+
+    static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<japanese-eras>\n"
+            + "  <japanese-era value=\"1\" name=\"Meiji\"  abbr=\"M\" since=\"1868-01-01\"/>\n"
+            + "  <japanese-era value=\"2\" name=\"Taisho\" abbr=\"T\" since=\"1912-07-30\"/>\n"
+            + "  <japanese-era value=\"3\" name=\"Showa\"  abbr=\"S\" since=\"1926-12-25\"/>\n";
+
+    static final String HEISEI =
+            "  <japanese-era value=\"4\" name=\"Heisei\" abbr=\"H\" since=\"1989-01-08\"/>\n";
+
+    static final String REIWA =
+            "  <japanese-era value=\"5\" name=\"Reiwa\"  abbr=\"R\" since=\"2019-05-01\"/>\n";
+
+    static final String FOOTER = "</japanese-eras>\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    JapaneseEras original;
+
+    @Before
+    public void setUp() throws Exception {
+        original = JapaneseEras.current();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        JapaneseEras.publish(original);
+    }
+
+    Path write(String content) throws IOException {
+        Path file = folder.getRoot().toPath().resolve("japanese-eras.xml");
+        Path temp = Files.createTempFile(folder.getRoot().toPath(), "japanese-eras", ".tmp");
+        Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+        return Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    void assertReiwa() {
+        List<JapaneseEra> eras = JapaneseEraRegistry.getEras();
+        assertThat(eras.size()).isEqualTo(5);
+        JapaneseEra reiwa = eras.get(4);
+        assertThat(reiwa.getValue()).isEqualTo(5);
+        assertThat(reiwa.getName()).isEqualTo("Reiwa");
+        assertThat(JapaneseEra.of(5)).isSameAs(reiwa);
+        assertThat(JapaneseEra.valueOf("Reiwa")).isSameAs(reiwa);
+        assertThat(eras.get(3)).isSameAs(JapaneseEra.HEISEI);
+        assertThat(JapaneseChronology.INSTANCE.getCurrentEra()).isSameAs(reiwa);
+
+        JapaneseDate date = JapaneseDate.of(2019, 5, 1);
+        assertThat(date.getEra()).isSameAs(reiwa);
+        assertThat(date.getYearOfEra()).isEqualTo(1);
+        assertThat(JapaneseDate.of(2019, 4, 30).getEra()).isSameAs(JapaneseEra.HEISEI);
+        assertThat(JapaneseDate.of(2019, 4, 30).getYearOfEra()).isEqualTo(31);
+        assertThat(JapaneseDate.of(reiwa, 2, 4, 1)).isEqualTo(JapaneseDate.of(2020, 4, 1));
+
+        assertThat(JapaneseDateFormatter.ABBREVIATED.format(date)).isEqualTo("R01.05.01");
+        assertThat(JapaneseDateFormatter.KANJI.format(date)).isEqualTo("Reiwa元年5月1日");
+        assertThat(JapaneseDateParser.INSTANCE.parse("R01.05.01")).isEqualTo(date);
+        assertThat(JapaneseDateParser.INSTANCE.parse("Reiwa元年5月1日")).isEqualTo(date);
+        assertThat(reiwa.getShortName(Locale.JAPANESE)).isEqualTo("R");
+        assertThat(reiwa.getLongName(Locale.JAPANESE)).isEqualTo("Reiwa");
+    }
+
+    @Test
+    public void testReload() throws Exception {
+        JapaneseDateFormatter.KANJI.format(JapaneseDate.of(2019, 5, 1));
+        JapaneseDateParser.INSTANCE.parse("H31.05.01");
+        Path file = write(HEADER + HEISEI + REIWA + FOOTER);
+        JapaneseEraRegistry.reload(file);
+        assertReiwa();
+
+        // 元号が増えない場合は同じ一覧を使う
+        JapaneseEras current = JapaneseEras.current();
+        JapaneseEraRegistry.reload(file);
+        assertThat(JapaneseEras.current()).isSameAs(current);
+
+        // 元に戻す
+        JapaneseEras.publish(original);
+        assertThat(JapaneseEraRegistry.reload()).isEqualTo(original.getEras());
+        assertThat(JapaneseEras.current()).isSameAs(original);
+        assertThat(JapaneseDate.of(2019, 5, 1).getEra()).isSameAs(JapaneseEra.HEISEI);
+        assertThat(JapaneseDateFormatter.ABBREVIATED.format(JapaneseDate.of(2019, 5, 1)))
+            .isEqualTo("H31.05.01");
+    }
+
+    @Test
+    public void testReloadInvalid() throws Exception {
+        String[] contents = {
+            // 既存の元号の変更
+            HEADER + HEISEI.replace("1989-01-08", "1989-01-09") + REIWA + FOOTER,
+            // 既存の元号の削除
+            HEADER + FOOTER,
+            // 値が連続していない
+            HEADER + HEISEI + REIWA.replace("value=\"5\"", "value=\"6\"") + FOOTER,
+            // 適用開始日が前の元号より前
+            HEADER + HEISEI + REIWA.replace("2019-05-01", "1989-01-08") + FOOTER,
+            // 略称が既存の元号と重複
+            HEADER + HEISEI + REIWA.replace("Reiwa", "Seiwa").replace("abbr=\"R\"", "abbr=\"S\"") + FOOTER,
+            HEADER + HEISEI + REIWA.replace("abbr=\"R\"", "abbr=\"h\"") + FOOTER,
+            // 名前が既存の元号と重複
+            HEADER + HEISEI + REIWA.replace("Reiwa", "Showa") + FOOTER,
+            // 名前が既存の元号のロケールごとの名前と重複
+            HEADER + HEISEI + REIWA.replace("Reiwa", "平成") + FOOTER,
+        };
+        for (String content : contents) {
+            Path file = write(content);
+            try {
+                JapaneseEraRegistry.reload(file);
+                failBecauseExceptionWasNotThrown(CalendarException.class);
+            } catch (CalendarException e) {
+            }
+            assertThat(JapaneseEras.current()).isSameAs(original);
+        }
+        assertThat(JapaneseDateParser.INSTANCE.parse("H28.04.01")).isEqualTo(JapaneseDate.of(2016, 4, 1));
+        try {
+            JapaneseEraRegistry.reload(folder.getRoot().toPath().resolve("missing.xml"));
+            failBecauseExceptionWasNotThrown(CalendarException.class);
+        } catch (CalendarException e) {
+        }
+    }
+
+    @Test
+    public void testWatch() throws Exception {
+        Path file = write(HEADER + HEISEI + FOOTER);
+        try (JapaneseEraRegistry.Watcher watcher = JapaneseEraRegistry.watch(file)) {
+            assertThat(watcher.getFile()).isEqualTo(file.toAbsolutePath());
+
+            // 不正な内容は無視して元の一覧を使い続ける
+            write(HEADER + FOOTER);
+            awaitReload(watcher, 1);
+            assertThat(watcher.getLastFailure()).isInstanceOf(CalendarException.class);
+            assertThat(JapaneseEras.current()).isSameAs(original);
+
+            long count = watcher.getReloadCount();
+            write(HEADER + HEISEI + REIWA + FOOTER);
+            awaitReload(watcher, count + 1);
+            for (int i = 0; i < 100 && JapaneseEras.current() == original; ++i) {
+                Thread.sleep(100);
+            }
+            assertThat(watcher.getLastFailure()).isNull();
+            assertReiwa();
+        }
+    }
+
+    void awaitReload(JapaneseEraRegistry.Watcher watcher, long count) throws InterruptedException {
+        for (int i = 0; i < 300 && watcher.getReloadCount() < count; ++i) {
+            Thread.sleep(100);
+        }
+        assertThat(watcher.getReloadCount()).isGreaterThanOrEqualTo(count);
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JapaneseEraSegments}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseEraSegmentsTest {
+
+    static List<String> split(LocalDate start, LocalDate end) {
+        List<String> list = new ArrayList<>();
+        for (JapaneseEraSegments.Segment segment : JapaneseEraSegments.split(start, end)) {
+            list.add(segment.toString());
+        }
+        return list;
+    }
+
+    @Test
+    public void testSplit() {
+        assertThat(split(LocalDate.of(1988, 6, 1), LocalDate.of(1990, 6, 1))).isEqualTo(Arrays.asList(
+                "S63 [1988-06-01, 1988-12-31]", "S64 [1989-01-01, 1989-01-07]",
+                "H1 [1989-01-08, 1989-12-31]", "H2 [1990-01-01, 1990-05-31]"));
+        assertThat(split(LocalDate.of(1912, 7, 29), LocalDate.of(1912, 8, 1))).isEqualTo(Arrays.asList(
+                "M45 [1912-07-29, 1912-07-29]", "T1 [1912-07-30, 1912-07-31]"));
+        // 年の途中で終わる区間
+        assertThat(split(LocalDate.of(1926, 12, 25), LocalDate.of(1926, 12, 26))).isEqualTo(Arrays.asList(
+                "S1 [1926-12-25, 1926-12-25]"));
+        assertThat(split(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 1, 1))).isEqualTo(Collections.emptyList());
+
+        List<JapaneseEraSegments.Segment> segments = JapaneseEraSegments.split(
+                JapaneseDate.START_EPOCH_DAY, LocalDate.of(2101, 1, 1).toEpochDay());
+        // 1873年から2100年までの228年と、元号の境界の3年
+        assertThat(segments.size()).isEqualTo(228 + 3);
+        long next = JapaneseDate.START_EPOCH_DAY;
+        for (JapaneseEraSegments.Segment segment : segments) {
+            assertThat(segment.getStartEpochDay()).isEqualTo(next);
+            JapaneseDate first = segment.getStart();
+            JapaneseDate last = segment.getLast();
+            assertThat(first.getEra()).isEqualTo(segment.getEra());
+            assertThat(first.getYearOfEra()).isEqualTo(segment.getYearOfEra());
+            assertThat(last.getEra()).isEqualTo(segment.getEra());
+            assertThat(last.getYearOfEra()).isEqualTo(segment.getYearOfEra());
+            assertThat(segment.lengthInDays()).isEqualTo(last.toEpochDay() - first.toEpochDay() + 1);
+            next = segment.getEndEpochDay();
+        }
+
+        assertThatThrownBy(() -> JapaneseEraSegments.split(LocalDate.of(1872, 12, 31), LocalDate.of(1873, 2, 1)))
+            .isInstanceOf(DateTimeException.class);
+    }
+
+    static Map<String, Long> naiveCounts(long[] epochDays) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        long[] sorted = epochDays.clone();
+        Arrays.sort(sorted);
+        for (long epochDay : sorted) {
+            JapaneseDate date = JapaneseDate.ofEpochDay(epochDay);
+            map.merge(date.getEra().getAbbr() + date.getYearOfEra(), 1L, Long::sum);
+        }
+        return map;
+    }
+
+    static Map<String, Long> counts(JapaneseEraSegments.Totals totals) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < totals.size(); ++i) {
+            map.put(totals.getEra(i).getAbbr() + totals.getYearOfEra(i), totals.getCount(i));
+        }
+        return map;
+    }
+
+    @Test
+    public void testCountByEraYear() {
+        long[] epochDays = {
+            LocalDate.of(1989, 1, 8).toEpochDay(), LocalDate.of(1989, 1, 7).toEpochDay(),
+            LocalDate.of(1989, 12, 31).toEpochDay(), LocalDate.of(1912, 7, 30).toEpochDay(),
+            LocalDate.of(1989, 1, 1).toEpochDay(),
+        };
+        JapaneseEraSegments.Totals totals = JapaneseEraSegments.countByEraYear(epochDays);
+        assertThat(totals.toString()).isEqualTo("{T1=1, S64=2, H1=2}");
+        assertThat(totals.getCount(JapaneseEra.SHOWA, 64)).isEqualTo(2);
+        assertThat(totals.getCount(JapaneseEra.SHOWA, 63)).isEqualTo(0);
+        assertThat(totals.getTotalCount()).isEqualTo(5);
+        assertThatThrownBy(() -> totals.getSum(0)).isInstanceOf(IllegalStateException.class);
+
+        // 年の表を作らない広い範囲
+        long[] wide = {
+            LocalDate.of(3000, 1, 1).toEpochDay(), LocalDate.of(1873, 1, 1).toEpochDay(),
+            LocalDate.of(1989, 1, 7).toEpochDay(), LocalDate.of(1989, 1, 8).toEpochDay(),
+            LocalDate.of(3000, 12, 31).toEpochDay(),
+        };
+        assertThat(JapaneseEraSegments.countByEraYear(wide).toString()).isEqualTo("{M6=1, S64=1, H1=1, H1012=2}");
+
+        assertThat(JapaneseEraSegments.countByEraYear(new long[0]).size()).isEqualTo(0);
+        assertThatThrownBy(() -> JapaneseEraSegments.countByEraYear(new long[] { JapaneseDate.START_EPOCH_DAY - 1 }))
+            .isInstanceOf(DateTimeException.class);
+    }
+
+    @Test
+    public void testParallel() {
+        // 並列に集計される件数
+        int size = JapaneseDateArrays.PARALLEL_THRESHOLD * 5 + 3;
+        long start = JapaneseDate.START_EPOCH_DAY;
+        long end = LocalDate.of(2100, 1, 1).toEpochDay();
+        Random random = new Random(2016);
+        long[] unsorted = new long[size];
+        long[] values = new long[size];
+        for (int i = 0; i < size; ++i) {
+            unsorted[i] = start + (long) (random.nextDouble() * (end - start));
+            values[i] = i % 10;
+        }
+        Map<String, Long> expected = naiveCounts(unsorted);
+        assertThat(counts(JapaneseEraSegments.countByEraYear(unsorted))).isEqualTo(expected);
+
+        long[] sorted = unsorted.clone();
+        Arrays.sort(sorted);
+        assertThat(counts(JapaneseEraSegments.countByEraYear(sorted))).isEqualTo(expected);
+
+        JapaneseEraSegments.Totals totals = JapaneseEraSegments.sumByEraYear(unsorted, values);
+        assertThat(counts(totals)).isEqualTo(expected);
+        assertThat(totals.getTotalCount()).isEqualTo(size);
+        long sum = 0;
+        for (int i = 0; i < totals.size(); ++i) {
+            sum += totals.getSum(i);
+        }
+        assertThat(sum).isEqualTo(Arrays.stream(values).sum());
+        int showa64 = totals.indexOf(JapaneseEra.SHOWA, 64);
+        long showa64Sum = 0;
+        for (int i = 0; i < size; ++i) {
+            if (LocalDate.of(1989, 1, 1).toEpochDay() <= unsorted[i] && unsorted[i] < LocalDate.of(1989, 1, 8).toEpochDay()) {
+                showa64Sum += values[i];
+            }
+        }
+        assertThat(totals.getSum(showa64)).isEqualTo(showa64Sum);
+
+        assertThatThrownBy(() -> JapaneseEraSegments.sumByEraYear(unsorted, new long[1]))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -19,6 +19,7 @@ import static org.assertj.core.api.StrictAssertions.*;
 
 import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.format.TextStyle;
 import java.util.Locale;
 
 import org.apache.commons.lang3.SerializationUtils;
@@ -179,4 +180,15 @@ public class JapaneseEraTest {
         assertThat(JapaneseEra.getFirstYearText()).isEqualTo("元");
     }
 
+    @Test
+    public void testGetDisplayName() {
+        JapaneseEra era = JapaneseEra.HEISEI;
+        assertThat(era.getDisplayName(TextStyle.FULL, Locale.JAPANESE)).isEqualTo("平成");
+        assertThat(era.getDisplayName(TextStyle.FULL_STANDALONE, Locale.JAPANESE)).isEqualTo("平成");
+        assertThat(era.getDisplayName(TextStyle.SHORT, Locale.JAPANESE)).isEqualTo("平");
+        assertThat(era.getDisplayName(TextStyle.NARROW, Locale.JAPANESE)).isEqualTo("H");
+        assertThat(era.getDisplayName(TextStyle.FULL, Locale.US)).isEqualTo("Heisei");
+        assertThat(era.getDisplayName(TextStyle.SHORT, Locale.US)).isEqualTo("H");
+    }
+
 }
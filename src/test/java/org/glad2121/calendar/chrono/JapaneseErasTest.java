@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link JapaneseEras}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseErasTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    final JapaneseEras eras = JapaneseEras.current();
+
+    @Test
+    public void testGetByIsoDate() {
+        assertThat(eras.get(LocalDate.of(1868, 1, 1))).isSameAs(JapaneseEra.MEIJI);
+        assertThat(eras.get(LocalDate.of(1912, 7, 29))).isSameAs(JapaneseEra.MEIJI);
+        assertThat(eras.get(LocalDate.of(1912, 7, 30))).isSameAs(JapaneseEra.TAISHO);
+        assertThat(eras.get(LocalDate.of(1926, 12, 24))).isSameAs(JapaneseEra.TAISHO);
+        assertThat(eras.get(LocalDate.of(1926, 12, 25))).isSameAs(JapaneseEra.SHOWA);
+        assertThat(eras.get(LocalDate.of(1989, 1, 7))).isSameAs(JapaneseEra.SHOWA);
+        assertThat(eras.get(LocalDate.of(1989, 1, 8))).isSameAs(JapaneseEra.HEISEI);
+        assertThat(eras.get(LocalDate.of(2016, 4, 1))).isSameAs(JapaneseEra.HEISEI);
+        assertThatThrownBy(() -> eras.get(LocalDate.of(1867, 12, 31)))
+            .isInstanceOf(DateTimeException.class);
+    }
+
+    @Test
+    public void testGetByEpochDay() {
+        for (LocalDate date = LocalDate.of(1868, 1, 1);
+                date.getYear() < 1990; date = date.plusDays(1)) {
+            assertThat(eras.get(date.toEpochDay())).isSameAs(eras.get(date));
+        }
+        assertThatThrownBy(() -> eras.get(LocalDate.of(1867, 12, 31).toEpochDay()))
+            .isInstanceOf(DateTimeException.class);
+    }
+
+    /**
+     * 元号の適用開始日を最後の元号から順に比較して、エポック日の元号のインデックスを返します。
+     */
+    static int indexOfByScan(JapaneseEras eras, long epochDay) {
+        List<JapaneseEra> list = eras.getEras();
+        for (int index = list.size() - 1; index >= 0; --index) {
+            if (list.get(index).getSince().toEpochDay() <= epochDay) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void testIndexOfEpochDay() {
+        List<Long> epochDays = new ArrayList<>();
+        for (JapaneseEra era : eras.getEras()) {
+            LocalDate since = era.getSince();
+            for (int i = -1; i <= 1; ++i) {
+                epochDays.add(since.toEpochDay() + i);
+                epochDays.add(since.withDayOfYear(1).toEpochDay() + i);
+                epochDays.add(since.withDayOfYear(since.lengthOfYear()).toEpochDay() + i);
+            }
+        }
+        epochDays.add(JapaneseDate.MAX_EPOCH_DAY);
+        for (long epochDay : epochDays) {
+            int expected = indexOfByScan(eras, epochDay);
+            if (expected < 0) {
+                assertThatThrownBy(() -> eras.indexOf(epochDay)).isInstanceOf(DateTimeException.class);
+            } else {
+                assertThat(eras.indexOf(epochDay)).as(LocalDate.ofEpochDay(epochDay).toString()).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void testYearOfEra() {
+        assertThat(eras.yearOfEra(eras.indexOf(LocalDate.of(1926, 12, 24)), 1926)).isEqualTo(15);
+        assertThat(eras.yearOfEra(eras.indexOf(LocalDate.of(1926, 12, 25)), 1926)).isEqualTo(1);
+        assertThat(eras.yearOfEra(eras.indexOf(LocalDate.of(1989, 1, 7)), 1989)).isEqualTo(64);
+        assertThat(eras.yearOfEra(eras.indexOf(LocalDate.of(1989, 1, 8)), 1989)).isEqualTo(1);
+    }
+
+    @Test
+    public void testNames() {
+        JapaneseEras.EraNames names = eras.getNames(Locale.JAPAN);
+        assertThat(eras.getNames(Locale.JAPAN)).isSameAs(names);
+        assertThat(names.shortNames[3]).isEqualTo("H");
+        assertThat(names.mediumNames[3]).isEqualTo("平");
+        assertThat(names.longNames[3]).isEqualTo("平成");
+        assertThat(names.firstYearText).isEqualTo("元");
+        assertThat(eras.getLongName(4, Locale.US)).isEqualTo("Heisei");
+        assertThatThrownBy(() -> eras.getLongName(0, Locale.US))
+            .isInstanceOf(DateTimeException.class)
+            .hasMessage("Invalid era value: 0");
+    }
+
+    @Test
+    public void testBinaryTable() throws Exception {
+        assertThat(JapaneseEras.getClassLoader().getResource(JapaneseEras.BINARY_PATH)).isNotNull();
+        JapaneseEras.EraData binary = JapaneseEras.loadData();
+        assertThat(binary.bundles).isNotNull();
+        JapaneseEras.EraData xml;
+        try (InputStream in = JapaneseEras.getResourceAsStream(JapaneseEras.CONFIG_PATH)) {
+            xml = new JapaneseEras.EraData(JapaneseEras.SaxHandler.parse(in), null);
+        }
+        assertThat(binary.eras).isEqualTo(xml.eras);
+
+        // リソースバンドルと同じ順に候補のロケールをたどることを確認する
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            for (Locale defaults : new Locale[] { Locale.JAPAN, Locale.US, Locale.FRANCE }) {
+                Locale.setDefault(defaults);
+                JapaneseEras fromBinary = new JapaneseEras(binary);
+                JapaneseEras fromXml = new JapaneseEras(xml);
+                for (Locale locale : new Locale[] {
+                        Locale.ROOT, Locale.JAPANESE, Locale.JAPAN, Locale.ENGLISH, Locale.US,
+                        Locale.FRENCH, Locale.CHINA, new Locale("ja", "JP", "JP") }) {
+                    for (int value = 1; value <= 4; ++value) {
+                        assertThat(fromBinary.getShortName(value, locale))
+                            .isEqualTo(fromXml.getShortName(value, locale));
+                        assertThat(fromBinary.getMediumName(value, locale))
+                            .isEqualTo(fromXml.getMediumName(value, locale));
+                        assertThat(fromBinary.getLongName(value, locale))
+                            .as(defaults + "/" + locale).isEqualTo(fromXml.getLongName(value, locale));
+                    }
+                    assertThat(fromBinary.getFirstYearText(locale))
+                        .isEqualTo(fromXml.getFirstYearText(locale));
+                }
+            }
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void testXmlOverride() throws Exception {
+        String bin = JapaneseEras.BINARY_PATH;
+        String xml = JapaneseEras.CONFIG_PATH;
+        assertThat(JapaneseEras.isSameLocation(
+                new URL("file:/app/classes/" + bin), bin, new URL("file:/app/classes/" + xml), xml)).isTrue();
+        assertThat(JapaneseEras.isSameLocation(
+                new URL("jar:file:/app/lib/a.jar!/" + bin), bin, new URL("jar:file:/app/lib/a.jar!/" + xml), xml))
+            .isTrue();
+        assertThat(JapaneseEras.isSameLocation(
+                new URL("jar:file:/app/lib/a.jar!/" + bin), bin, new URL("file:/etc/app/" + xml), xml)).isFalse();
+        assertThat(JapaneseEras.isSameLocation(new URL("file:/app/classes/" + bin), bin, null, xml)).isTrue();
+
+        // クラスパスの先頭に置いた設定ファイルは、表があっても読み込む
+        Path dir = folder.getRoot().toPath();
+        Files.write(dir.resolve(xml), Arrays.asList(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<japanese-eras>",
+                "  <japanese-era value=\"1\" name=\"Meiji\"  abbr=\"M\" since=\"1868-01-01\"/>",
+                "  <japanese-era value=\"2\" name=\"Taisho\" abbr=\"T\" since=\"1912-07-30\"/>",
+                "  <japanese-era value=\"3\" name=\"Showa\"  abbr=\"S\" since=\"1926-12-25\"/>",
+                "  <japanese-era value=\"4\" name=\"Heisei\" abbr=\"H\" since=\"1989-01-08\"/>",
+                "  <japanese-era value=\"5\" name=\"Reiwa\"  abbr=\"R\" since=\"2019-05-01\"/>",
+                "</japanese-eras>"), StandardCharsets.UTF_8);
+        URL override = dir.resolve(xml).toUri().toURL();
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        thread.setContextClassLoader(new ClassLoader(original) {
+            @Override
+            public URL getResource(String name) {
+                return xml.equals(name) ? override : super.getResource(name);
+            }
+        });
+        try {
+            assertThat(JapaneseEras.loadData().eras.size()).isEqualTo(5);
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+        assertThat(JapaneseEras.loadData().eras.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void testCandidateBundleNames() {
+        ResourceBundle.Control control =
+                ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_DEFAULT);
+        for (Locale locale : new Locale[] {
+                Locale.ROOT, Locale.JAPANESE, Locale.JAPAN, Locale.US, new Locale("ja", "JP", "JP"),
+                new Locale("de", "DE", "POSIX_X"), new Locale("", "JP"), new Locale("en", "", "X"),
+                Locale.forLanguageTag("ja-Jpan-JP"), Locale.CHINA, Locale.TAIWAN, new Locale("no", "NO") }) {
+            List<String> expected = new ArrayList<>();
+            for (Locale candidate : control.getCandidateLocales(JapaneseEras.RESOURCE_NAME, locale)) {
+                expected.add(control.toBundleName(JapaneseEras.RESOURCE_NAME, candidate));
+            }
+            assertThat(JapaneseEras.getCandidateBundleNames(locale)).as(locale.toString()).isEqualTo(expected);
+        }
+    }
+
+}
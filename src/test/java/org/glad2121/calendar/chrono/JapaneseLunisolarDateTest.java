@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+import static org.glad2121.calendar.chrono.JapaneseLunisolarEra.*;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JapaneseLunisolarDate}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseLunisolarDateTest {
+
+    @Test
+    public void testHistoricalDates() {
+        Object[][] dates = {
+            { 1844, 1, false, 1, "1844-02-18", "天保15年1月1日" },
+            { 1853, 6, false, 3, "1853-07-08", "嘉永6年6月3日" },      // 黒船来航
+            { 1854, 3, false, 3, "1854-03-31", "嘉永7年3月3日" },      // 日米和親条約
+            { 1858, 6, false, 19, "1858-07-29", "安政5年6月19日" },    // 日米修好通商条約
+            { 1860, 3, false, 3, "1860-03-24", "安政7年3月3日" },      // 桜田門外の変
+            { 1860, 3, true, 1, "1860-04-21", "万延元年閏3月1日" },
+            { 1862, 8, false, 21, "1862-09-14", "文久2年8月21日" },    // 生麦事件
+            { 1864, 6, false, 5, "1864-07-08", "元治元年6月5日" },     // 池田屋事件
+            { 1866, 1, false, 21, "1866-03-07", "慶応2年1月21日" },    // 薩長同盟
+            { 1867, 10, false, 14, "1867-11-09", "慶応3年10月14日" },  // 大政奉還
+            { 1868, 4, false, 11, "1868-05-03", "慶応4年4月11日" },    // 江戸開城
+            { 1868, 4, true, 1, "1868-05-22", "慶応4年閏4月1日" },
+            { 1871, 7, false, 14, "1871-08-29", "明治4年7月14日" },    // 廃藩置県
+            { 1872, 12, false, 2, "1872-12-31", "明治5年12月2日" },
+        };
+        for (Object[] d : dates) {
+            JapaneseLunisolarDate date = JapaneseLunisolarDate.of(
+                    (Integer) d[0], (Integer) d[1], (Boolean) d[2], (Integer) d[3]);
+            assertThat(date.toLocalDate()).as(d[5].toString()).isEqualTo(LocalDate.parse(d[4].toString()));
+            assertThat(date.toString()).isEqualTo(d[5]);
+            assertThat(JapaneseLunisolarDate.from(LocalDate.parse(d[4].toString()))).isEqualTo(date);
+        }
+    }
+
+    @Test
+    public void testEras() {
+        String[] since = {
+            "天保15年12月2日", "弘化5年2月28日", "嘉永7年11月27日", "安政7年3月18日",
+            "万延2年2月19日", "文久4年2月20日", "元治2年4月7日", "慶応4年9月8日",
+        };
+        JapaneseLunisolarEra[] eras = JapaneseLunisolarEra.values();
+        for (int i = 1; i < eras.length; ++i) {
+            JapaneseLunisolarEra era = eras[i];
+            JapaneseLunisolarDate first = JapaneseLunisolarDate.ofEpochDay(era.getSince().toEpochDay());
+            assertThat(first.getEra()).isEqualTo(era);
+            assertThat(first.getYearOfEra()).isEqualTo(1);
+            assertThat(first.getYear()).isEqualTo(era.getFirstYear());
+            JapaneseLunisolarDate last = JapaneseLunisolarDate.ofEpochDay(first.toEpochDay() - 1);
+            assertThat(last.getEra()).isEqualTo(eras[i - 1]);
+            assertThat(last.toString().replaceFirst("\\d+日$", (last.getDayOfMonth() + 1) + "日"))
+                .isEqualTo(since[i - 1]);
+        }
+        assertThat(JapaneseLunisolarDate.of(KEIO, 4, 9, false, 7).toLocalDate()).isEqualTo(LocalDate.of(1868, 10, 22));
+        assertThat(JapaneseLunisolarDate.of(MEIJI, 1, 9, false, 8).toString()).isEqualTo("明治元年9月8日");
+        assertThat(JapaneseLunisolarDate.of(TENPO, 15, 1, false, 1).toLocalDate()).isEqualTo(LocalDate.of(1844, 2, 18));
+        assertThatThrownBy(() -> JapaneseLunisolarDate.of(KEIO, 4, 9, false, 8))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseLunisolarDate.of(MEIJI, 0, 1, false, 1))
+            .isInstanceOf(DateTimeException.class);
+    }
+
+    @Test
+    public void testLeapMonths() {
+        int count = 0;
+        for (int year = JapaneseLunisolarDate.FIRST_YEAR; year <= JapaneseLunisolarDate.LAST_YEAR; ++year) {
+            if (JapaneseLunisolarDate.leapMonthOf(year) != 0) {
+                ++count;
+            }
+        }
+        // 19年に7回の割合の閏月（29年間）
+        assertThat(count).isEqualTo(10);
+        assertThat(JapaneseLunisolarDate.leapMonthOf(1868)).isEqualTo(4);
+        assertThat(JapaneseLunisolarDate.leapMonthOf(1869)).isEqualTo(0);
+        JapaneseLunisolarDate leap = JapaneseLunisolarDate.of(1870, 10, true, 1);
+        assertThat(leap.isLeapMonth()).isTrue();
+        assertThat(leap.getMonth()).isEqualTo(10);
+        assertThat(JapaneseLunisolarDate.ofEpochDay(leap.toEpochDay() - 1).isLeapMonth()).isFalse();
+        assertThat(JapaneseLunisolarDate.ofEpochDay(leap.toEpochDay() - 1).getMonth()).isEqualTo(10);
+        assertThatThrownBy(() -> JapaneseLunisolarDate.of(1869, 4, true, 1))
+            .isInstanceOf(DateTimeException.class);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        long start = JapaneseLunisolarDate.MIN_DATE.toEpochDay();
+        long end = JapaneseDate.START_EPOCH_DAY;
+        JapaneseLunisolarDate previous = null;
+        for (long epochDay = start; epochDay < end; ++epochDay) {
+            JapaneseLunisolarDate date = JapaneseLunisolarDate.ofEpochDay(epochDay);
+            assertThat(date.toEpochDay()).isEqualTo(epochDay);
+            assertThat(JapaneseLunisolarDate.toEpochDay(
+                    date.getYear(), date.getMonth(), date.isLeapMonth(), date.getDayOfMonth())).isEqualTo(epochDay);
+            assertThat(date.getDayOfMonth()).isBetween(1, date.lengthOfMonth());
+            if (previous != null && date.getDayOfMonth() == 1) {
+                assertThat(previous.getDayOfMonth()).isEqualTo(previous.lengthOfMonth());
+            }
+            previous = date;
+        }
+        // 表の最後の年の翌年の元日
+        assertThat(JapaneseLunisolarDate.NEW_YEAR_DAYS[JapaneseLunisolarDate.YEARS.length])
+            .isEqualTo((int) LocalDate.of(1873, 1, 29).toEpochDay());
+    }
+
+    @Test
+    public void testRange() {
+        assertThat(JapaneseLunisolarDate.MAX_DATE).isEqualTo(LocalDate.of(1872, 12, 31));
+        assertThatThrownBy(() -> JapaneseLunisolarDate.from(LocalDate.of(1844, 2, 17)))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseLunisolarDate.from(LocalDate.of(1873, 1, 1)))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseLunisolarDate.of(1872, 12, false, 3))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseLunisolarDate.of(1843, 1, false, 1))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseLunisolarDate.of(1844, 13, false, 1))
+            .isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> JapaneseLunisolarDate.of(1844, 1, false, 31))
+            .isInstanceOf(DateTimeException.class);
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2008-2016 GLAD!! (ITO Yoshiichi)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.glad2121.calendar.chrono;
+
+import static org.assertj.core.api.StrictAssertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link JapaneseToday}.
+ *
+ * @author GLAD!!
+ */
+public class JapaneseTodayTest {
+
+    static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+
+    /**
+     * 時刻を変更できる時計。
+     */
+    static final class TestClock extends Clock {
+
+        final ZoneId zone;
+
+        long millis;
+
+        TestClock(ZoneId zone, LocalDateTime dateTime) {
+            this.zone = zone;
+            set(dateTime);
+        }
+
+        void set(LocalDateTime dateTime) {
+            millis = dateTime.atZone(zone).toInstant().toEpochMilli();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis());
+        }
+
+    }
+
+    @Test
+    public void testRollover() {
+        TestClock clock = new TestClock(TOKYO, LocalDateTime.of(2019, 4, 30, 23, 59, 59));
+        JapaneseToday today = JapaneseToday.of(clock);
+        assertThat(today.getClock()).isSameAs(clock);
+        JapaneseDate date = today.get();
+        assertThat(date).isEqualTo(JapaneseDate.of(2019, 4, 30));
+        assertThat(today.get()).isSameAs(date);
+
+        clock.millis += 999;
+        assertThat(today.get()).isSameAs(date);
+        clock.millis += 1;
+        assertThat(today.get()).isEqualTo(JapaneseDate.of(2019, 5, 1));
+
+        // 時計が戻った場合
+        clock.set(LocalDateTime.of(2019, 4, 1, 12, 0));
+        assertThat(today.get()).isEqualTo(JapaneseDate.of(2019, 4, 1));
+        clock.set(LocalDateTime.of(2019, 4, 1, 0, 0));
+        assertThat(today.get()).isEqualTo(JapaneseDate.of(2019, 4, 1));
+        clock.millis -= 1;
+        assertThat(today.get()).isEqualTo(JapaneseDate.of(2019, 3, 31));
+    }
+
+    @Test
+    public void testDaylightSaving() {
+        // 2018年11月4日は午前0時が存在せず、午前1時から始まる
+        ZoneId zone = ZoneId.of("America/Sao_Paulo");
+        TestClock clock = new TestClock(zone, LocalDateTime.of(2018, 11, 3, 23, 59, 59));
+        JapaneseToday today = JapaneseToday.of(clock);
+        assertThat(today.get()).isEqualTo(JapaneseDate.of(2018, 11, 3));
+        clock.millis += 1000;
+        assertThat(today.get()).isEqualTo(JapaneseDate.of(2018, 11, 4));
+        assertThat(clock.instant().atZone(zone).getHour()).isEqualTo(1);
+    }
+
+    @Test
+    public void testNow() {
+        JapaneseToday today = JapaneseToday.of(TOKYO);
+        assertThat(JapaneseToday.of(TOKYO)).isSameAs(today);
+        JapaneseDate date = JapaneseDate.now(TOKYO);
+        LocalDate expected = LocalDate.now(TOKYO);
+        if (expected.toEpochDay() == date.toEpochDay()) {
+            assertThat(today.get()).isSameAs(date);
+        }
+        assertThat(JapaneseDate.now(Clock.fixed(Instant.parse("2019-04-30T15:00:00Z"), TOKYO)))
+                .isEqualTo(JapaneseDate.of(2019, 5, 1));
+    }
+
+}